@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.queue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.Endpoint;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.spi.annotations.Component;
+import org.apache.camel.support.DefaultComponent;
+
+/**
+ * The Queue Component manages {@link QueueEndpoint} and holds the named queues, which are shared by all the endpoints
+ * using the same queue name.
+ */
+@Component("queue")
+public class QueueComponent extends DefaultComponent {
+
+    private final Lock queuesLock = new ReentrantLock();
+    private final Map<String, QueueReference> queues = new HashMap<>();
+
+    @Metadata(defaultValue = "1024")
+    private int size = 1024;
+    @Metadata(defaultValue = "Park")
+    private QueueWaitStrategy waitStrategy = QueueWaitStrategy.Park;
+    @Metadata(label = "producer", defaultValue = "Block")
+    private QueueBackpressure backpressure = QueueBackpressure.Block;
+    @Metadata(label = "consumer", defaultValue = "1")
+    private int concurrentConsumers = 1;
+
+    public QueueComponent() {
+    }
+
+    @Override
+    protected Endpoint createEndpoint(String uri, String remaining, Map<String, Object> parameters) throws Exception {
+        Integer queueSize = getAndRemoveParameter(parameters, "size", Integer.class);
+        QueueReference reference = getOrCreateQueue(remaining, queueSize);
+
+        QueueEndpoint endpoint = new QueueEndpoint(uri, this, reference);
+        endpoint.setWaitStrategy(waitStrategy);
+        endpoint.setBackpressure(backpressure);
+        endpoint.setConcurrentConsumers(concurrentConsumers);
+        setProperties(endpoint, parameters);
+        return endpoint;
+    }
+
+    /**
+     * Gets the named queue, or creates the queue if it does not exist.
+     *
+     * @param  name the name of the queue
+     * @param  size the size of the queue, or <tt>null</tt> to use the size of the existing queue, or the default size
+     * @return      the queue
+     */
+    public QueueReference getOrCreateQueue(String name, Integer size) {
+        queuesLock.lock();
+        try {
+            QueueReference answer = queues.get(name);
+            if (answer == null) {
+                answer = new QueueReference(name, size != null ? size : this.size);
+                queues.put(name, answer);
+            } else if (size != null && RingBuffer.capacityFor(size) != answer.getQueue().capacity()) {
+                throw new IllegalArgumentException(
+                        "Cannot use existing queue " + name + " as the existing queue has a different size: "
+                                                   + answer.getQueue().capacity() + " than the requested size: " + size);
+            }
+            return answer;
+        } finally {
+            queuesLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the named queue.
+     *
+     * @param  name the name of the queue
+     * @return      the queue, or <tt>null</tt> if the queue does not exist
+     */
+    public QueueReference getQueueReference(String name) {
+        queuesLock.lock();
+        try {
+            return queues.get(name);
+        } finally {
+            queuesLock.unlock();
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        queuesLock.lock();
+        try {
+            queues.clear();
+        } finally {
+            queuesLock.unlock();
+        }
+        super.doStop();
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * The default size of the queues, which is rounded up to the next power of two.
+     */
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public QueueWaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    /**
+     * The default strategy used by consumers waiting for messages, and producers waiting for room on the queue.
+     */
+    public void setWaitStrategy(QueueWaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
+    public QueueBackpressure getBackpressure() {
+        return backpressure;
+    }
+
+    /**
+     * The default behavior of producers sending to a full queue.
+     */
+    public void setBackpressure(QueueBackpressure backpressure) {
+        this.backpressure = backpressure;
+    }
+
+    public int getConcurrentConsumers() {
+        return concurrentConsumers;
+    }
+
+    /**
+     * The default number of concurrent threads consuming from the queue, per consumer.
+     */
+    public void setConcurrentConsumers(int concurrentConsumers) {
+        this.concurrentConsumers = concurrentConsumers;
+    }
+
+}
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.queue;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.camel.BatchConsumer;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
+import org.apache.camel.Processor;
+import org.apache.camel.ShutdownRunningTask;
+import org.apache.camel.Suspendable;
+import org.apache.camel.spi.ShutdownAware;
+import org.apache.camel.support.DefaultConsumer;
+import org.apache.camel.support.UnitOfWorkHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The queue consumer, which uses a number of threads that take batches of messages from the queue and process them.
+ * <p/>
+ * Several consumers (such as routes) can consume from the same queue, where each message is only consumed once.
+ */
+public class QueueConsumer extends DefaultConsumer implements BatchConsumer, ShutdownAware, Suspendable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(QueueConsumer.class);
+    private static final long SUSPENDED_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final QueueReference reference;
+    private final RingBuffer<Exchange> queue;
+    private ExecutorService executor;
+    private int maxMessagesPerPoll;
+    private volatile ShutdownRunningTask shutdownRunningTask;
+    private volatile boolean forceShutdown;
+
+    public QueueConsumer(QueueEndpoint endpoint, Processor processor) {
+        super(endpoint, processor);
+        this.reference = endpoint.getQueueReference();
+        this.queue = reference.getQueue();
+        this.maxMessagesPerPoll = endpoint.getMaxMessagesPerPoll();
+    }
+
+    @Override
+    public QueueEndpoint getEndpoint() {
+        return (QueueEndpoint) super.getEndpoint();
+    }
+
+    @Override
+    public void setMaxMessagesPerPoll(int maxMessagesPerPoll) {
+        this.maxMessagesPerPoll = maxMessagesPerPoll;
+    }
+
+    @Override
+    public boolean isBatchAllowed() {
+        if (forceShutdown || !isRunAllowed()) {
+            return false;
+        }
+        ShutdownRunningTask task = shutdownRunningTask;
+        // when shutting down then only complete all the pending messages if we are told to
+        return task == null || task == ShutdownRunningTask.CompleteAllTasks;
+    }
+
+    @Override
+    public boolean deferShutdown(ShutdownRunningTask shutdownRunningTask) {
+        // keep consuming while shutting down, so the pending messages can be completed
+        this.shutdownRunningTask = shutdownRunningTask;
+        return true;
+    }
+
+    @Override
+    public int getPendingExchangesSize() {
+        if (shutdownRunningTask == ShutdownRunningTask.CompleteCurrentTaskOnly) {
+            return 0;
+        }
+        return queue.size();
+    }
+
+    @Override
+    public void prepareShutdown(boolean suspendOnly, boolean forced) {
+        if (forced) {
+            forceShutdown = true;
+        }
+    }
+
+    @Override
+    public boolean isRunAllowed() {
+        // consumer threads should keep running while suspended, and wait until resumed
+        if (isSuspending() || isSuspended()) {
+            return true;
+        }
+        return super.isRunAllowed();
+    }
+
+    /**
+     * The loop of the consumer threads.
+     */
+    protected void doRun() {
+        QueueWaitStrategy waitStrategy = getEndpoint().getWaitStrategy();
+        Queue<Object> batch = new ArrayDeque<>();
+        int idle = 0;
+        while (isRunAllowed() && !forceShutdown) {
+            if (isSuspending() || isSuspended()) {
+                LockSupport.parkNanos(SUSPENDED_PARK_NANOS);
+                continue;
+            }
+            if (shutdownRunningTask == ShutdownRunningTask.CompleteCurrentTaskOnly) {
+                // do not take any more messages while shutting down
+                LockSupport.parkNanos(SUSPENDED_PARK_NANOS);
+                continue;
+            }
+
+            int max = maxMessagesPerPoll > 0 ? maxMessagesPerPoll : Integer.MAX_VALUE;
+            int count = queue.drainTo(batch, max);
+            if (count == 0) {
+                idle = waitStrategy.idle(idle);
+                continue;
+            }
+            idle = 0;
+            reference.onDequeued(count);
+            try {
+                processBatch(batch);
+            } catch (Exception e) {
+                getExceptionHandler().handleException("Error processing batch from queue: " + reference.getName(), e);
+            }
+        }
+        LOG.debug("Stopped consuming from queue: {}", reference.getName());
+    }
+
+    @Override
+    public int processBatch(Queue<Object> exchanges) throws Exception {
+        int total = exchanges.size();
+        int index = 0;
+        for (; index < total && isBatchAllowed(); index++) {
+            Exchange exchange = (Exchange) exchanges.poll();
+            // this consumer grabbed the exchange so mark it is from this route/endpoint
+            exchange.getExchangeExtension().setFromEndpoint(getEndpoint());
+            exchange.getExchangeExtension().setFromRouteId(getRouteId());
+            exchange.setProperty(ExchangePropertyKey.BATCH_INDEX, index);
+            exchange.setProperty(ExchangePropertyKey.BATCH_SIZE, total);
+            exchange.setProperty(ExchangePropertyKey.BATCH_COMPLETE, index == total - 1);
+            try {
+                getProcessor().process(exchange);
+            } catch (Exception e) {
+                exchange.setException(e);
+            }
+            if (exchange.getException() != null) {
+                getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
+            }
+        }
+
+        // fail the messages we are not allowed to process, as putting them back on the queue would reorder them, or
+        // lose them when the queue is full
+        Object remaining;
+        while ((remaining = exchanges.poll()) != null) {
+            Exchange exchange = (Exchange) remaining;
+            exchange.setException(new RejectedExecutionException(
+                    "Cannot process message as the consumer of queue: " + reference.getName() + " is shutting down"));
+            getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
+            // let the producer waiting for the message continue
+            UnitOfWorkHelper.doneSynchronizations(exchange, exchange.getExchangeExtension().handoverCompletions());
+        }
+        return index;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        shutdownRunningTask = null;
+        forceShutdown = false;
+        int concurrentConsumers = getEndpoint().getConcurrentConsumers();
+        executor = getEndpoint().getCamelContext().getExecutorServiceManager().newFixedThreadPool(this,
+                getEndpoint().getEndpointUri(), concurrentConsumers);
+        for (int i = 0; i < concurrentConsumers; i++) {
+            executor.execute(this::doRun);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (executor != null) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdownNow(executor);
+            executor = null;
+        }
+        super.doStop();
+    }
+
+    @Override
+    protected void doShutdown() throws Exception {
+        doStop();
+        super.doShutdown();
+    }
+
+}
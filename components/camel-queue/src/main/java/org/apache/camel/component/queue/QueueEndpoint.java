@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.queue;
+
+import org.apache.camel.Category;
+import org.apache.camel.Consumer;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.WaitForTaskToComplete;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.spi.UriEndpoint;
+import org.apache.camel.spi.UriParam;
+import org.apache.camel.spi.UriPath;
+import org.apache.camel.support.DefaultEndpoint;
+
+/**
+ * Asynchronously call another endpoint from the same Camel Context, using a bounded lock-free in-memory ring buffer
+ * with batching consumers.
+ */
+@ManagedResource(description = "Managed QueueEndpoint")
+@UriEndpoint(firstVersion = "4.14.0", scheme = "queue", title = "Queue", syntax = "queue:name",
+             remote = false, category = { Category.CORE, Category.MESSAGING })
+public class QueueEndpoint extends DefaultEndpoint {
+
+    private final QueueReference reference;
+
+    @UriPath(description = "Name of queue")
+    @Metadata(required = true)
+    private String name;
+    @UriParam(defaultValue = "1024",
+              description = "The size of the queue, which is rounded up to the next power of two. All the endpoints using"
+                            + " the same queue name must use the same size.")
+    private int size;
+    @UriParam(defaultValue = "Park",
+              description = "The strategy used by consumers waiting for messages, and producers waiting for room on the queue.")
+    private QueueWaitStrategy waitStrategy = QueueWaitStrategy.Park;
+    @UriParam(label = "consumer", defaultValue = "1",
+              description = "Number of concurrent threads consuming from the queue. Multiple consumers (such as"
+                            + " several routes) can consume from the same queue, where each message is consumed once.")
+    private int concurrentConsumers = 1;
+    @UriParam(label = "consumer", defaultValue = "100",
+              description = "The maximum number of messages a consumer thread takes from the queue as a batch.")
+    private int maxMessagesPerPoll = 100;
+    @UriParam(label = "producer", defaultValue = "Block",
+              description = "What the producer does when the queue is full.")
+    private QueueBackpressure backpressure = QueueBackpressure.Block;
+    @UriParam(label = "producer", javaType = "java.time.Duration",
+              description = "How long the producer waits for room on a full queue, when using the Block backpressure."
+                            + " Use 0 to wait forever.")
+    private long offerTimeout;
+    @UriParam(label = "producer", defaultValue = "IfReplyExpected",
+              description = "Whether the producer waits for the message to be processed by a consumer, before continuing.")
+    private WaitForTaskToComplete waitForTaskToComplete = WaitForTaskToComplete.IfReplyExpected;
+    @UriParam(label = "producer", defaultValue = "30000", javaType = "java.time.Duration",
+              description = "The timeout used when the producer waits for the message to be processed.")
+    private long timeout = 30000;
+
+    public QueueEndpoint(String endpointUri, QueueComponent component, QueueReference reference) {
+        super(endpointUri, component);
+        this.reference = reference;
+        this.name = reference.getName();
+        this.size = reference.getQueue().capacity();
+    }
+
+    @Override
+    public QueueComponent getComponent() {
+        return (QueueComponent) super.getComponent();
+    }
+
+    @Override
+    public boolean isRemote() {
+        return false;
+    }
+
+    @Override
+    public Producer createProducer() throws Exception {
+        return new QueueProducer(this);
+    }
+
+    @Override
+    public Consumer createConsumer(Processor processor) throws Exception {
+        Consumer answer = new QueueConsumer(this, processor);
+        configureConsumer(answer);
+        return answer;
+    }
+
+    public QueueReference getQueueReference() {
+        return reference;
+    }
+
+    public RingBuffer<Exchange> getQueue() {
+        return reference.getQueue();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Name of queue
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @ManagedAttribute(description = "Queue size")
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * The size of the queue, which is decided when the queue is created, and therefore cannot be changed.
+     */
+    public void setSize(int size) {
+        if (size != this.size) {
+            throw new IllegalArgumentException("Cannot change the size of the existing queue: " + name);
+        }
+    }
+
+    @ManagedAttribute(description = "Wait strategy")
+    public QueueWaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public void setWaitStrategy(QueueWaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
+    @ManagedAttribute(description = "Number of concurrent consumers")
+    public int getConcurrentConsumers() {
+        return concurrentConsumers;
+    }
+
+    public void setConcurrentConsumers(int concurrentConsumers) {
+        this.concurrentConsumers = concurrentConsumers;
+    }
+
+    @ManagedAttribute(description = "Maximum number of messages taken from the queue as a batch")
+    public int getMaxMessagesPerPoll() {
+        return maxMessagesPerPoll;
+    }
+
+    public void setMaxMessagesPerPoll(int maxMessagesPerPoll) {
+        this.maxMessagesPerPoll = maxMessagesPerPoll;
+    }
+
+    @ManagedAttribute(description = "Backpressure when the queue is full")
+    public QueueBackpressure getBackpressure() {
+        return backpressure;
+    }
+
+    public void setBackpressure(QueueBackpressure backpressure) {
+        this.backpressure = backpressure;
+    }
+
+    @ManagedAttribute(description = "Offer timeout in millis when using Block backpressure")
+    public long getOfferTimeout() {
+        return offerTimeout;
+    }
+
+    public void setOfferTimeout(long offerTimeout) {
+        this.offerTimeout = offerTimeout;
+    }
+
+    public WaitForTaskToComplete getWaitForTaskToComplete() {
+        return waitForTaskToComplete;
+    }
+
+    public void setWaitForTaskToComplete(WaitForTaskToComplete waitForTaskToComplete) {
+        this.waitForTaskToComplete = waitForTaskToComplete;
+    }
+
+    @ManagedAttribute(description = "Timeout in millis when waiting for a message to be processed")
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    @ManagedAttribute(description = "Current number of messages on the queue")
+    public int getCurrentQueueSize() {
+        return reference.getQueue().size();
+    }
+
+    @ManagedAttribute(description = "Remaining capacity of the queue")
+    public int getRemainingCapacity() {
+        return reference.getQueue().remainingCapacity();
+    }
+
+    @ManagedAttribute(description = "Number of messages added to the queue")
+    public long getEnqueuedCounter() {
+        return reference.getEnqueuedCounter();
+    }
+
+    @ManagedAttribute(description = "Number of messages taken from the queue by the consumers")
+    public long getDequeuedCounter() {
+        return reference.getDequeuedCounter();
+    }
+
+    @ManagedAttribute(description = "Number of messages discarded because the queue was full")
+    public long getDroppedCounter() {
+        return reference.getDroppedCounter();
+    }
+
+    @ManagedAttribute(description = "Number of messages failed because the queue was full")
+    public long getRejectedCounter() {
+        return reference.getRejectedCounter();
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.queue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangeTimedOutException;
+import org.apache.camel.WaitForTaskToComplete;
+import org.apache.camel.support.DefaultAsyncProducer;
+import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.support.SynchronizationAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The queue producer, which adds a copy of the exchange to the queue.
+ */
+public class QueueProducer extends DefaultAsyncProducer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(QueueProducer.class);
+
+    private final QueueEndpoint endpoint;
+    private final QueueReference reference;
+    private final RingBuffer<Exchange> queue;
+
+    public QueueProducer(QueueEndpoint endpoint) {
+        super(endpoint);
+        this.endpoint = endpoint;
+        this.reference = endpoint.getQueueReference();
+        this.queue = reference.getQueue();
+    }
+
+    @Override
+    public QueueEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        WaitForTaskToComplete wait = endpoint.getWaitForTaskToComplete();
+        boolean waitForReply = wait == WaitForTaskToComplete.Always
+                || wait == WaitForTaskToComplete.IfReplyExpected && ExchangeHelper.isOutCapable(exchange);
+        try {
+            if (waitForReply) {
+                processAndWait(exchange);
+            } else {
+                // the copy is routed independently, so hand over the on completions to the copy
+                Exchange copy = ExchangeHelper.createCorrelatedCopy(exchange, true);
+                addToQueue(copy, exchange);
+            }
+        } catch (InterruptedException e) {
+            LOG.info("Interrupted while adding exchange to queue: {}", reference.getName());
+            Thread.currentThread().interrupt();
+            exchange.setException(e);
+        } catch (Exception e) {
+            exchange.setException(e);
+        }
+        callback.done(true);
+        return true;
+    }
+
+    private void processAndWait(Exchange exchange) throws Exception {
+        Exchange copy = ExchangeHelper.createCorrelatedCopy(exchange, false);
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicBoolean done = new AtomicBoolean();
+        copy.getExchangeExtension().addOnCompletion(new SynchronizationAdapter() {
+            @Override
+            public void onDone(Exchange response) {
+                // only copy the result if we did not time out already
+                if (done.compareAndSet(false, true)) {
+                    try {
+                        ExchangeHelper.copyResults(exchange, response);
+                    } finally {
+                        latch.countDown();
+                    }
+                } else {
+                    LOG.trace("Exchange processed after timeout, ignoring result: {}", response);
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "onDone[" + reference.getName() + "]";
+            }
+        });
+
+        if (!addToQueue(copy, exchange)) {
+            return;
+        }
+
+        long timeout = endpoint.getTimeout();
+        if (timeout > 0) {
+            if (!latch.await(timeout, TimeUnit.MILLISECONDS) && done.compareAndSet(false, true)) {
+                // the copy is still on the queue, or being processed, and its result is ignored
+                exchange.setException(new ExchangeTimedOutException(exchange, timeout));
+            }
+        } else {
+            latch.await();
+        }
+    }
+
+    /**
+     * Adds the copy to the queue, applying the backpressure when the queue is full.
+     *
+     * @return <tt>true</tt> if added, <tt>false</tt> if dropped
+     */
+    protected boolean addToQueue(Exchange copy, Exchange exchange) throws Exception {
+        if (queue.offer(copy)) {
+            reference.onEnqueued();
+            return true;
+        }
+
+        QueueBackpressure backpressure = endpoint.getBackpressure();
+        if (backpressure == QueueBackpressure.Drop) {
+            reference.onDropped();
+            LOG.debug("Discarding exchange as queue is full: {}", copy);
+            // give back the on completions as the copy is not routed
+            copy.getExchangeExtension().handoverCompletions(exchange);
+            return false;
+        } else if (backpressure == QueueBackpressure.Fail) {
+            reference.onRejected();
+            copy.getExchangeExtension().handoverCompletions(exchange);
+            throw new QueueFullException("Queue full: " + reference.getName(), exchange);
+        }
+
+        long offerTimeout = endpoint.getOfferTimeout();
+        long deadline = offerTimeout > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(offerTimeout) : 0;
+        QueueWaitStrategy waitStrategy = endpoint.getWaitStrategy();
+        int idle = 0;
+        while (!queue.offer(copy)) {
+            if (deadline != 0 && System.nanoTime() - deadline >= 0) {
+                reference.onRejected();
+                copy.getExchangeExtension().handoverCompletions(exchange);
+                throw new QueueFullException(
+                        "Failed to insert exchange on queue: " + reference.getName() + " after waiting for: " + offerTimeout
+                                             + " millis",
+                        exchange);
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                copy.getExchangeExtension().handoverCompletions(exchange);
+                throw new InterruptedException();
+            }
+            idle = waitStrategy.idle(idle);
+        }
+        reference.onEnqueued();
+        return true;
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.queue;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.Exchange;
+
+/**
+ * Holder for a named queue, which is shared by all the endpoints using the same queue name, and the statistics of the
+ * queue.
+ */
+public final class QueueReference {
+
+    private final String name;
+    private final RingBuffer<Exchange> queue;
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dequeued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    QueueReference(String name, int size) {
+        this.name = name;
+        this.queue = new RingBuffer<>(size);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public RingBuffer<Exchange> getQueue() {
+        return queue;
+    }
+
+    /**
+     * Number of messages added to the queue.
+     */
+    public long getEnqueuedCounter() {
+        return enqueued.longValue();
+    }
+
+    /**
+     * Number of messages taken from the queue by the consumers.
+     */
+    public long getDequeuedCounter() {
+        return dequeued.longValue();
+    }
+
+    /**
+     * Number of messages discarded because the queue was full, when using the drop backpressure.
+     */
+    public long getDroppedCounter() {
+        return dropped.longValue();
+    }
+
+    /**
+     * Number of messages which failed because the queue was full, when using the fail backpressure, or the block
+     * backpressure timed out.
+     */
+    public long getRejectedCounter() {
+        return rejected.longValue();
+    }
+
+    void onEnqueued() {
+        enqueued.increment();
+    }
+
+    void onDequeued(int count) {
+        dequeued.add(count);
+    }
+
+    void onDropped() {
+        dropped.increment();
+    }
+
+    void onRejected() {
+        rejected.increment();
+    }
+
+    @Override
+    public String toString() {
+        return "Queue[" + name + "]";
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.queue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The strategy used by consumers waiting for messages on an empty queue, and producers waiting for room on a full
+ * queue.
+ */
+public enum QueueWaitStrategy {
+
+    /**
+     * Busy spins, which gives the lowest latency, but uses a CPU core per waiting thread.
+     */
+    Spin,
+    /**
+     * Spins for a short while, and then yields the thread to other threads.
+     */
+    Yield,
+    /**
+     * Spins and yields for a short while, and then parks the thread with an increasing park time (up to 1 millisecond).
+     * This uses the least CPU when the queue is idle.
+     */
+    Park;
+
+    private static final int SPINS = 100;
+    private static final int YIELDS = 100;
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Waits before trying again.
+     *
+     * @param  counter the number of times the thread has waited in a row, starting from 0
+     * @return         the counter to use for the next wait
+     */
+    public int idle(int counter) {
+        if (this == Spin || counter < SPINS) {
+            Thread.onSpinWait();
+        } else if (this == Yield || counter < SPINS + YIELDS) {
+            Thread.yield();
+        } else {
+            int shift = Math.min(counter - SPINS - YIELDS, 20);
+            LockSupport.parkNanos(Math.min(MAX_PARK_NANOS, 1000L << shift));
+        }
+        return counter == Integer.MAX_VALUE ? counter : counter + 1;
+    }
+
+}
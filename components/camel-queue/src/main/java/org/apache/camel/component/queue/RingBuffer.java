@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.queue;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded lock-free multi producer and multi consumer ring buffer.
+ * <p/>
+ * Each slot has a sequence number which tells whether the slot is free for the producer, or has been published for the
+ * consumers, at the current lap of the ring. Producers and consumers claim slots by advancing the tail and head with a
+ * compare and set, so there are no locks, and a consumer can claim a batch of published slots at once.
+ */
+public final class RingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new PaddedAtomicLong();
+    private final AtomicLong tail = new PaddedAtomicLong();
+
+    /**
+     * Creates a new ring buffer.
+     *
+     * @param size the minimum capacity, which is rounded up to the next power of two
+     */
+    public RingBuffer(int size) {
+        this.capacity = capacityFor(size);
+        this.mask = capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * The capacity of a ring buffer created with the given size.
+     */
+    public static int capacityFor(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Size must be positive, was: " + size);
+        }
+        if (size > 1 << 30) {
+            throw new IllegalArgumentException("Size must be at most " + (1 << 30) + ", was: " + size);
+        }
+        return size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+    }
+
+    /**
+     * Adds the element to the ring buffer.
+     *
+     * @return <tt>true</tt> if added, or <tt>false</tt> if the ring buffer is full
+     */
+    public boolean offer(E element) {
+        long pos = tail.get();
+        for (;;) {
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer.lazySet(index, element);
+                    // publish the slot to the consumers
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                // the slot still holds an element from the previous lap
+                return false;
+            } else {
+                // another producer claimed the slot
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes an element from the ring buffer.
+     *
+     * @return the element, or <tt>null</tt> if the ring buffer is empty
+     */
+    public E poll() {
+        long pos = head.get();
+        for (;;) {
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    return take(index, pos);
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                // not published yet
+                return null;
+            } else {
+                // another consumer took the slot
+                pos = head.get();
+            }
+        }
+    }
+
+    /**
+     * Removes up to the given number of elements from the ring buffer, by claiming the published elements at once.
+     *
+     * @param  target the collection to add the elements to
+     * @param  max    the maximum number of elements
+     * @return        the number of elements removed
+     */
+    public int drainTo(Collection<? super E> target, int max) {
+        for (;;) {
+            long pos = head.get();
+            int count = 0;
+            while (count < max && sequences.get((int) (pos + count) & mask) == pos + count + 1) {
+                count++;
+            }
+            if (count == 0) {
+                return 0;
+            }
+            if (head.compareAndSet(pos, pos + count)) {
+                for (int i = 0; i < count; i++) {
+                    target.add(take((int) (pos + i) & mask, pos + i));
+                }
+                return count;
+            }
+        }
+    }
+
+    private E take(int index, long pos) {
+        E answer = buffer.get(index);
+        buffer.lazySet(index, null);
+        // free the slot for the producers in the next lap
+        sequences.set(index, pos + capacity);
+        return answer;
+    }
+
+    /**
+     * The current number of elements in the ring buffer.
+     */
+    public int size() {
+        for (;;) {
+            long before = head.get();
+            long current = tail.get();
+            if (head.get() == before) {
+                long size = current - before;
+                return (int) Math.max(0, Math.min(size, capacity));
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    /**
+     * An {@link AtomicLong} padded to its own cache line, so the head and tail are not updated on the same cache line.
+     */
+    @SuppressWarnings("unused")
+    private static final class PaddedAtomicLong extends AtomicLong {
+        private static final long serialVersionUID = 1L;
+        private long p1;
+        private long p2;
+        private long p3;
+        private long p4;
+        private long p5;
+        private long p6;
+        private long p7;
+    }
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.queue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.ExchangePropertyKey;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.ShutdownRunningTask;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QueueConsumerTest {
+
+    private final List<Object> bodies = new CopyOnWriteArrayList<>();
+    private final List<String> batches = new CopyOnWriteArrayList<>();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private volatile CountDownLatch gate;
+    private CamelContext context;
+    private ProducerTemplate template;
+
+    @BeforeEach
+    public void setUp() {
+        context = new DefaultCamelContext();
+        context.getShutdownStrategy().setTimeout(10);
+        context.start();
+        template = context.createProducerTemplate();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (gate != null) {
+            gate.countDown();
+        }
+        context.stop();
+    }
+
+    private void addRoute(ShutdownRunningTask shutdownRunningTask) throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("queue:test").routeId("queue").autoStartup(false).shutdownRunningTask(shutdownRunningTask)
+                        .process(e -> {
+                            started.countDown();
+                            if (gate != null) {
+                                assertTrue(gate.await(10, TimeUnit.SECONDS));
+                            }
+                            bodies.add(e.getMessage().getBody());
+                            batches.add(e.getProperty(ExchangePropertyKey.BATCH_INDEX) + "/"
+                                        + e.getProperty(ExchangePropertyKey.BATCH_SIZE) + "/"
+                                        + e.getProperty(ExchangePropertyKey.BATCH_COMPLETE));
+                        });
+            }
+        });
+    }
+
+    /**
+     * Sends the messages while the consumer is stopped, so the consumer takes them as one batch when started.
+     */
+    private List<Future<Exchange>> sendBatch(String... messages) throws InterruptedException {
+        List<Future<Exchange>> answer = new ArrayList<>();
+        for (String message : messages) {
+            answer.add(template.asyncSend("queue:test", e -> {
+                e.setPattern(ExchangePattern.InOut);
+                e.getMessage().setBody(message);
+            }));
+            // in order
+            QueueEndpoint endpoint = context.getEndpoint("queue:test", QueueEndpoint.class);
+            for (int i = 0; i < 200 && endpoint.getQueue().size() < answer.size(); i++) {
+                Thread.sleep(5);
+            }
+        }
+        return answer;
+    }
+
+    private Thread stopRoute() {
+        Thread stopper = new Thread(() -> {
+            try {
+                context.getRouteController().stopRoute("queue");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }, "Stopper");
+        stopper.start();
+        return stopper;
+    }
+
+    private QueueConsumer consumer() {
+        return (QueueConsumer) context.getRoute("queue").getConsumer();
+    }
+
+    @Test
+    public void testBatchProperties() throws Exception {
+        addRoute(ShutdownRunningTask.CompleteCurrentTaskOnly);
+        List<Future<Exchange>> replies = sendBatch("a", "b", "c");
+
+        context.getRouteController().startRoute("queue");
+        for (Future<Exchange> reply : replies) {
+            assertNull(reply.get(10, TimeUnit.SECONDS).getException());
+        }
+        assertEquals(List.of("a", "b", "c"), bodies);
+        assertEquals(List.of("0/3/false", "1/3/false", "2/3/true"), batches);
+    }
+
+    @Test
+    public void testShutdownCompleteCurrentTaskOnly() throws Exception {
+        gate = new CountDownLatch(1);
+        addRoute(ShutdownRunningTask.CompleteCurrentTaskOnly);
+        List<Future<Exchange>> replies = sendBatch("a", "b", "c");
+
+        context.getRouteController().startRoute("queue");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        QueueConsumer consumer = consumer();
+        Thread stopper = stopRoute();
+        for (int i = 0; i < 200 && consumer.isBatchAllowed(); i++) {
+            Thread.sleep(25);
+        }
+
+        // the exchange in progress is completed, and the rest of the batch is failed in order
+        gate.countDown();
+        stopper.join(10000);
+        assertEquals(List.of("a"), bodies);
+        assertNull(replies.get(0).get(10, TimeUnit.SECONDS).getException());
+        for (Future<Exchange> reply : replies.subList(1, replies.size())) {
+            assertInstanceOf(RejectedExecutionException.class, reply.get(10, TimeUnit.SECONDS).getException());
+        }
+        assertEquals(0, consumer.getEndpoint().getQueue().size());
+    }
+
+    @Test
+    public void testShutdownCompleteAllTasks() throws Exception {
+        gate = new CountDownLatch(1);
+        addRoute(ShutdownRunningTask.CompleteAllTasks);
+        List<Future<Exchange>> replies = sendBatch("a", "b", "c");
+
+        context.getRouteController().startRoute("queue");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread stopper = stopRoute();
+        Thread.sleep(100);
+
+        // all the pending messages are completed
+        gate.countDown();
+        stopper.join(10000);
+        for (Future<Exchange> reply : replies) {
+            assertNull(reply.get(10, TimeUnit.SECONDS).getException());
+        }
+        assertEquals(List.of("a", "b", "c"), bodies);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.queue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ExchangeTimedOutException;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QueueProducerTest {
+
+    private final List<Object> bodies = new CopyOnWriteArrayList<>();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private volatile CountDownLatch gate;
+    private CamelContext context;
+    private ProducerTemplate template;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        context = new DefaultCamelContext();
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("queue:test?size=2").routeId("queue").autoStartup(false).process(e -> {
+                    started.countDown();
+                    if (gate != null) {
+                        assertTrue(gate.await(10, TimeUnit.SECONDS));
+                    }
+                    bodies.add(e.getMessage().getBody());
+                    e.getMessage().setBody("Bye " + e.getMessage().getBody());
+                });
+            }
+        });
+        context.start();
+        template = context.createProducerTemplate();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (gate != null) {
+            gate.countDown();
+        }
+        context.stop();
+    }
+
+    private QueueReference queue() {
+        return context.getEndpoint("queue:test", QueueEndpoint.class).getQueueReference();
+    }
+
+    private void awaitBodies(int expected) throws InterruptedException {
+        for (int i = 0; i < 200 && bodies.size() < expected; i++) {
+            Thread.sleep(25);
+        }
+        assertEquals(expected, bodies.size());
+    }
+
+    @Test
+    public void testBackpressure() throws Exception {
+        // no consumer is started, so the queue fills up
+        template.sendBody("queue:test", "a");
+        template.sendBody("queue:test", "b");
+        assertEquals(2, queue().getQueue().size());
+
+        template.sendBody("queue:test?backpressure=Drop", "dropped");
+        assertEquals(1, queue().getDroppedCounter());
+
+        CamelExecutionException e = assertThrows(CamelExecutionException.class,
+                () -> template.sendBody("queue:test?backpressure=Fail", "failed"));
+        assertInstanceOf(QueueFullException.class, e.getCause());
+        assertEquals(1, queue().getRejectedCounter());
+
+        e = assertThrows(CamelExecutionException.class,
+                () -> template.sendBody("queue:test?backpressure=Block&offerTimeout=100", "timeout"));
+        assertInstanceOf(QueueFullException.class, e.getCause());
+        assertEquals(2, queue().getRejectedCounter());
+
+        // blocks until the consumer makes room on the queue
+        Future<?> blocked = template.asyncSendBody("queue:test?backpressure=Block", "c");
+        Thread.sleep(100);
+        assertFalse(blocked.isDone());
+
+        context.getRouteController().startRoute("queue");
+        blocked.get(10, TimeUnit.SECONDS);
+        awaitBodies(3);
+        assertEquals(List.of("a", "b", "c"), bodies);
+        assertEquals(3, queue().getEnqueuedCounter());
+        assertEquals(3, queue().getDequeuedCounter());
+    }
+
+    @Test
+    public void testWaitForTaskToComplete() throws Exception {
+        context.getRouteController().startRoute("queue");
+
+        // waits for the reply of the consumer
+        assertEquals("Bye World", template.requestBody("queue:test", "World"));
+        assertEquals("Bye World", template.requestBody("queue:test?waitForTaskToComplete=Always", "World"));
+        // does not wait
+        assertEquals("World", template.requestBody("queue:test?waitForTaskToComplete=Never", "World"));
+        awaitBodies(3);
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        gate = new CountDownLatch(1);
+        context.getRouteController().startRoute("queue");
+
+        CamelExecutionException e = assertThrows(CamelExecutionException.class,
+                () -> template.requestBody("queue:test?timeout=100", "World"));
+        assertInstanceOf(ExchangeTimedOutException.class, e.getCause());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // the message is still processed, but the reply is ignored
+        gate.countDown();
+        awaitBodies(1);
+    }
+}
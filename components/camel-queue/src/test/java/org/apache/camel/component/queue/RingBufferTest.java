@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.queue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RingBufferTest {
+
+    @Test
+    public void testCapacity() {
+        assertEquals(1, RingBuffer.capacityFor(1));
+        assertEquals(2, RingBuffer.capacityFor(2));
+        assertEquals(4, RingBuffer.capacityFor(3));
+        assertEquals(1024, RingBuffer.capacityFor(1000));
+        assertEquals(1024, RingBuffer.capacityFor(1024));
+        assertThrows(IllegalArgumentException.class, () -> RingBuffer.capacityFor(0));
+    }
+
+    @Test
+    public void testOfferPoll() {
+        RingBuffer<String> ring = new RingBuffer<>(3);
+        assertNull(ring.poll());
+        assertTrue(ring.isEmpty());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer("m" + i));
+        }
+        assertFalse(ring.offer("full"));
+        assertEquals(4, ring.size());
+        assertEquals(0, ring.remainingCapacity());
+
+        // wrap around the ring a few times
+        for (int i = 4; i < 20; i++) {
+            assertEquals("m" + (i - 4), ring.poll());
+            assertTrue(ring.offer("m" + i));
+        }
+        assertEquals(4, ring.size());
+    }
+
+    @Test
+    public void testDrainTo() {
+        RingBuffer<Integer> ring = new RingBuffer<>(16);
+        for (int i = 0; i < 10; i++) {
+            ring.offer(i);
+        }
+
+        List<Integer> batch = new ArrayList<>();
+        assertEquals(4, ring.drainTo(batch, 4));
+        assertEquals(List.of(0, 1, 2, 3), batch);
+
+        batch.clear();
+        assertEquals(6, ring.drainTo(batch, 100));
+        assertEquals(List.of(4, 5, 6, 7, 8, 9), batch);
+        assertEquals(0, ring.drainTo(batch, 100));
+        assertTrue(ring.isEmpty());
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        RingBuffer<Integer> ring = new RingBuffer<>(64);
+        int producers = 4;
+        int messages = 20000;
+        Set<Integer> seen = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        AtomicInteger consumed = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers + 2);
+        CountDownLatch latch = new CountDownLatch(producers + 2);
+        for (int p = 0; p < producers; p++) {
+            int base = p * messages;
+            executor.execute(() -> {
+                for (int i = 0; i < messages; i++) {
+                    while (!ring.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+                latch.countDown();
+            });
+        }
+        for (int c = 0; c < 2; c++) {
+            executor.execute(() -> {
+                List<Integer> batch = new ArrayList<>();
+                while (consumed.get() < producers * messages) {
+                    batch.clear();
+                    if (ring.drainTo(batch, 10) == 0) {
+                        Thread.yield();
+                    }
+                    for (Integer i : batch) {
+                        if (!seen.add(i)) {
+                            duplicates.incrementAndGet();
+                        }
+                    }
+                    consumed.addAndGet(batch.size());
+                }
+                latch.countDown();
+            });
+        }
+        assertTrue(latch.await(30, TimeUnit.SECONDS));
+        executor.shutdownNow();
+
+        // every message is consumed exactly once
+        assertEquals(producers * messages, consumed.get());
+        assertEquals(producers * messages, seen.size());
+        assertEquals(0, duplicates.get());
+        assertTrue(ring.isEmpty());
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.event;
+
+/**
+ * What happens to a Spring application event when the queue of an asynchronous event consumer is full.
+ */
+public enum EventBackpressure {
+
+    /**
+     * The publishing thread waits for room on the queue, up to the offer timeout.
+     */
+    Block,
+    /**
+     * Discards the event.
+     */
+    Drop,
+    /**
+     * Discards the oldest event on the queue, to make room for the event.
+     */
+    DropOldest,
+    /**
+     * Rejects the event, which is handled by the exception handler of the consumer.
+     */
+    Fail
+
+}
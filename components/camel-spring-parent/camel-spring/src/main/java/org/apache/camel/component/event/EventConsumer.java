@@ -0,0 +1,297 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.CamelExchangeException;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.ShutdownRunningTask;
+import org.apache.camel.spi.ShutdownAware;
+import org.apache.camel.support.DefaultConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * An <a href="http://camel.apache.org/event.html">Event Consumer</a> for working with Spring ApplicationEvents
+ * <p/>
+ * By default the events are processed on the thread which publishes the event. In async mode the events are put on a
+ * bounded queue, and processed by the consumer threads, optionally as batches of events in a single exchange.
+ */
+public class EventConsumer extends DefaultConsumer implements ShutdownAware {
+    private static final Logger LOG = LoggerFactory.getLogger(EventConsumer.class);
+    private static final long POLL_TIMEOUT = 1000;
+    private static final String STOPPED_MESSAGE = "Event consumer is stopped";
+
+    private EventEndpoint endpoint;
+    private final LongAdder droppedCounter = new LongAdder();
+    private final LongAdder rejectedCounter = new LongAdder();
+    private volatile BlockingQueue<ApplicationEvent> queue;
+    private ExecutorService executor;
+    private volatile ShutdownRunningTask shutdownRunningTask;
+    private volatile boolean forceShutdown;
+
+    public EventConsumer(EventEndpoint endpoint, Processor processor) {
+        super(endpoint, processor);
+        this.endpoint = endpoint;
+    }
+
+    @Override
+    public EventEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Puts the event on the queue of this consumer, when using async mode. When the queue is full the backpressure of
+     * the endpoint decides what happens to the event. When the consumer is stopped the event is rejected.
+     */
+    public void offer(ApplicationEvent event) {
+        BlockingQueue<ApplicationEvent> queue = this.queue;
+        if (queue == null) {
+            onRejected(event, STOPPED_MESSAGE);
+            return;
+        }
+
+        if (!queue.offer(event)) {
+            switch (endpoint.getBackpressure()) {
+                case Drop:
+                    onDropped(event);
+                    break;
+                case DropOldest:
+                    while (!queue.offer(event)) {
+                        ApplicationEvent oldest = queue.poll();
+                        if (oldest != null) {
+                            onDropped(oldest);
+                        }
+                    }
+                    break;
+                case Fail:
+                    onRejected(event, "Event queue is full");
+                    break;
+                default:
+                    offerAndWait(queue, event);
+                    break;
+            }
+        }
+
+        // the consumer may be stopped while the event was put on the queue, which then is not drained anymore
+        if (this.queue != queue && queue.remove(event)) {
+            onRejected(event, STOPPED_MESSAGE);
+        }
+    }
+
+    private void offerAndWait(BlockingQueue<ApplicationEvent> queue, ApplicationEvent event) {
+        long offerTimeout = endpoint.getOfferTimeout();
+        try {
+            if (offerTimeout > 0) {
+                if (!queue.offer(event, offerTimeout, TimeUnit.MILLISECONDS)) {
+                    onRejected(event, "Event queue is full after waiting for: " + offerTimeout + " millis");
+                }
+            } else {
+                queue.put(event);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            onRejected(event, "Interrupted while waiting for room on the event queue");
+        }
+    }
+
+    private void onDropped(ApplicationEvent event) {
+        droppedCounter.increment();
+        LOG.debug("Event queue is full. Dropping event: {}", event);
+    }
+
+    private void onRejected(ApplicationEvent event, String message) {
+        rejectedCounter.increment();
+        Exchange exchange = createExchange(false);
+        exchange.getIn().setBody(event);
+        getExceptionHandler().handleException(message, exchange, new CamelExchangeException(message, exchange));
+        releaseExchange(exchange, false);
+    }
+
+    /**
+     * The loop of the consumer threads, when using async mode.
+     */
+    protected void doRun() {
+        BlockingQueue<ApplicationEvent> queue = this.queue;
+        int batchSize = Math.max(1, endpoint.getBatchSize());
+        List<ApplicationEvent> batch = new ArrayList<>(batchSize);
+        while (isRunAllowed() && !forceShutdown && !Thread.currentThread().isInterrupted()) {
+            try {
+                ApplicationEvent event = queue.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    continue;
+                }
+                batch.add(event);
+                if (batchSize > 1) {
+                    fillBatch(queue, batch, batchSize);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            try {
+                processBatch(batch);
+            } finally {
+                batch.clear();
+            }
+        }
+        LOG.debug("Stopped consuming events from: {}", endpoint);
+    }
+
+    private void fillBatch(BlockingQueue<ApplicationEvent> queue, List<ApplicationEvent> batch, int batchSize) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(endpoint.getBatchTimeout());
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !isRunAllowed()) {
+                return;
+            }
+            try {
+                ApplicationEvent event = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (event == null) {
+                    return;
+                }
+                batch.add(event);
+            } catch (InterruptedException e) {
+                // process the events taken so far
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Processes the events as one exchange. When batching the message body is the list of events, otherwise it is the
+     * event.
+     */
+    protected void processBatch(List<ApplicationEvent> batch) {
+        Exchange exchange = createExchange(false);
+        if (endpoint.getBatchSize() > 1) {
+            exchange.getIn().setBody(new ArrayList<>(batch));
+        } else {
+            exchange.getIn().setBody(batch.get(0));
+        }
+        try {
+            getProcessor().process(exchange);
+        } catch (Exception e) {
+            exchange.setException(e);
+        }
+        if (exchange.getException() != null) {
+            getExceptionHandler().handleException("Error processing Spring application event", exchange,
+                    exchange.getException());
+        }
+        releaseExchange(exchange, false);
+    }
+
+    /**
+     * Number of events waiting on the queue, when using async mode.
+     */
+    public int getQueueSize() {
+        BlockingQueue<ApplicationEvent> queue = this.queue;
+        return queue != null ? queue.size() : 0;
+    }
+
+    /**
+     * Number of events dropped because the queue was full.
+     */
+    public long getDroppedCounter() {
+        return droppedCounter.sum();
+    }
+
+    /**
+     * Number of events rejected because the queue was full, or because the consumer was stopped.
+     */
+    public long getRejectedCounter() {
+        return rejectedCounter.sum();
+    }
+
+    @Override
+    public boolean deferShutdown(ShutdownRunningTask shutdownRunningTask) {
+        if (queue == null) {
+            return false;
+        }
+        // keep consuming while shutting down, so the queued events can be completed
+        this.shutdownRunningTask = shutdownRunningTask;
+        return true;
+    }
+
+    @Override
+    public int getPendingExchangesSize() {
+        if (shutdownRunningTask == ShutdownRunningTask.CompleteCurrentTaskOnly) {
+            return 0;
+        }
+        return getQueueSize();
+    }
+
+    @Override
+    public void prepareShutdown(boolean suspendOnly, boolean forced) {
+        if (forced) {
+            forceShutdown = true;
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        shutdownRunningTask = null;
+        forceShutdown = false;
+        if (endpoint.isAsync()) {
+            queue = new ArrayBlockingQueue<>(endpoint.getQueueSize());
+            int concurrentConsumers = endpoint.getConcurrentConsumers();
+            executor = endpoint.getCamelContext().getExecutorServiceManager().newFixedThreadPool(this,
+                    endpoint.getEndpointUri(), concurrentConsumers);
+            for (int i = 0; i < concurrentConsumers; i++) {
+                executor.execute(this::doRun);
+            }
+        }
+        endpoint.consumerStarted(this);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        endpoint.consumerStopped(this);
+        BlockingQueue<ApplicationEvent> queue = this.queue;
+        // new events are rejected from now on
+        this.queue = null;
+        if (executor != null) {
+            // let the consumer threads complete the exchanges in progress
+            endpoint.getCamelContext().getExecutorServiceManager().shutdownGraceful(executor);
+            executor = null;
+        }
+        if (queue != null) {
+            // the events which are not processed, such as when the shutdown is forced, are failed
+            List<ApplicationEvent> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            if (!remaining.isEmpty()) {
+                LOG.warn("Stopping consumer with {} queued events, which are rejected", remaining.size());
+                for (ApplicationEvent event : remaining) {
+                    onRejected(event, STOPPED_MESSAGE);
+                }
+            }
+        }
+        super.doStop();
+    }
+}
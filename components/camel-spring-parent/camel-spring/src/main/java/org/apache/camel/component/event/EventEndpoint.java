@@ -0,0 +1,299 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.camel.Category;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.processor.loadbalancer.LoadBalancer;
+import org.apache.camel.processor.loadbalancer.TopicLoadBalancer;
+import org.apache.camel.spi.UriEndpoint;
+import org.apache.camel.spi.UriParam;
+import org.apache.camel.spi.UriPath;
+import org.apache.camel.support.DefaultEndpoint;
+import org.apache.camel.support.DefaultProducer;
+import org.apache.camel.util.ObjectHelper;
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationEvent;
+
+import static org.apache.camel.RuntimeCamelException.wrapRuntimeCamelException;
+
+/**
+ * Listen for Spring Application Events.
+ */
+@ManagedResource(description = "Managed EventEndpoint")
+@UriEndpoint(firstVersion = "1.4.0", scheme = "spring-event", title = "Spring Event", syntax = "spring-event:name",
+             remote = false, category = { Category.MESSAGING })
+public class EventEndpoint extends DefaultEndpoint implements ApplicationContextAware {
+    private LoadBalancer loadBalancer;
+    private ApplicationContext applicationContext;
+    private final List<EventConsumer> asyncConsumers = new CopyOnWriteArrayList<>();
+
+    @UriPath(description = "Name of endpoint")
+    private String name;
+    @UriParam(label = "consumer",
+              description = "Whether the consumer processes the events asynchronously. The events are put on a bounded queue,"
+                            + " and processed by the consumer threads, instead of the thread which publishes the event.")
+    private boolean async;
+    @UriParam(label = "consumer", defaultValue = "1000",
+              description = "The maximum number of events waiting on the queue, when using async mode.")
+    private int queueSize = 1000;
+    @UriParam(label = "consumer", defaultValue = "1",
+              description = "Number of concurrent threads processing the events, when using async mode.")
+    private int concurrentConsumers = 1;
+    @UriParam(label = "consumer", defaultValue = "1",
+              description = "The maximum number of events which are processed as a single exchange, when using async mode."
+                            + " When larger than 1 the message body is the list of events.")
+    private int batchSize = 1;
+    @UriParam(label = "consumer", defaultValue = "100", javaType = "java.time.Duration",
+              description = "How long the consumer waits for more events to complete a batch, when using async mode.")
+    private long batchTimeout = 100;
+    @UriParam(label = "consumer", defaultValue = "Block",
+              description = "What happens to an event when the queue is full, when using async mode.")
+    private EventBackpressure backpressure = EventBackpressure.Block;
+    @UriParam(label = "consumer", javaType = "java.time.Duration",
+              description = "How long the publishing thread waits for room on a full queue, when using the Block backpressure."
+                            + " Use 0 to wait forever.")
+    private long offerTimeout;
+
+    public EventEndpoint(String endpointUri, EventComponent component, String name) {
+        super(endpointUri, component);
+        this.applicationContext = component.getApplicationContext();
+        this.name = name;
+    }
+
+    @Override
+    public boolean isRemote() {
+        return false;
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        this.applicationContext = applicationContext;
+    }
+
+    public ApplicationContext getApplicationContext() {
+        return applicationContext;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @ManagedAttribute(description = "Whether the events are processed asynchronously")
+    public boolean isAsync() {
+        return async;
+    }
+
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    @ManagedAttribute(description = "Maximum number of events waiting on the queue")
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    @ManagedAttribute(description = "Number of concurrent consumers")
+    public int getConcurrentConsumers() {
+        return concurrentConsumers;
+    }
+
+    public void setConcurrentConsumers(int concurrentConsumers) {
+        this.concurrentConsumers = concurrentConsumers;
+    }
+
+    @ManagedAttribute(description = "Maximum number of events processed as a single exchange")
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @ManagedAttribute(description = "How long to wait for more events to complete a batch")
+    public long getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    public void setBatchTimeout(long batchTimeout) {
+        this.batchTimeout = batchTimeout;
+    }
+
+    @ManagedAttribute(description = "What happens to an event when the queue is full")
+    public EventBackpressure getBackpressure() {
+        return backpressure;
+    }
+
+    public void setBackpressure(EventBackpressure backpressure) {
+        this.backpressure = backpressure;
+    }
+
+    public long getOfferTimeout() {
+        return offerTimeout;
+    }
+
+    public void setOfferTimeout(long offerTimeout) {
+        this.offerTimeout = offerTimeout;
+    }
+
+    @ManagedAttribute(description = "Number of events waiting on the queues of the consumers")
+    public int getPendingEvents() {
+        int answer = 0;
+        for (EventConsumer consumer : asyncConsumers) {
+            answer += consumer.getQueueSize();
+        }
+        return answer;
+    }
+
+    @ManagedAttribute(description = "Number of events dropped because the queue was full")
+    public long getDroppedCounter() {
+        long answer = 0;
+        for (EventConsumer consumer : asyncConsumers) {
+            answer += consumer.getDroppedCounter();
+        }
+        return answer;
+    }
+
+    @ManagedAttribute(description = "Number of events rejected because the queue was full or the consumer was stopped")
+    public long getRejectedCounter() {
+        long answer = 0;
+        for (EventConsumer consumer : asyncConsumers) {
+            answer += consumer.getRejectedCounter();
+        }
+        return answer;
+    }
+
+    @Override
+    public Producer createProducer() throws Exception {
+        ObjectHelper.notNull(applicationContext, "applicationContext");
+        return new DefaultProducer(this) {
+            public void process(Exchange exchange) throws Exception {
+                ApplicationEvent event = toApplicationEvent(exchange);
+                applicationContext.publishEvent(event);
+            }
+        };
+    }
+
+    @Override
+    public EventConsumer createConsumer(Processor processor) throws Exception {
+        ObjectHelper.notNull(applicationContext, "applicationContext");
+        if (async) {
+            if (queueSize <= 0) {
+                throw new IllegalArgumentException("QueueSize must be positive, was: " + queueSize);
+            }
+            if (concurrentConsumers <= 0) {
+                throw new IllegalArgumentException("ConcurrentConsumers must be positive, was: " + concurrentConsumers);
+            }
+        }
+        EventConsumer answer = new EventConsumer(this, processor);
+        configureConsumer(answer);
+        return answer;
+    }
+
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (async) {
+            // hand over the event to the consumer threads
+            for (EventConsumer consumer : asyncConsumers) {
+                consumer.offer(event);
+            }
+            return;
+        }
+        Exchange exchange = createExchange();
+        exchange.getIn().setBody(event);
+        try {
+            getLoadBalancer().process(exchange);
+        } catch (Exception e) {
+            throw wrapRuntimeCamelException(e);
+        }
+    }
+
+    public LoadBalancer getLoadBalancer() {
+        if (loadBalancer == null) {
+            loadBalancer = createLoadBalancer();
+        }
+        return loadBalancer;
+    }
+
+    public void setLoadBalancer(LoadBalancer loadBalancer) {
+        this.loadBalancer = loadBalancer;
+    }
+
+    @Override
+    public EventComponent getComponent() {
+        return (EventComponent) super.getComponent();
+    }
+
+    // Implementation methods
+    // -------------------------------------------------------------------------
+    public void consumerStarted(EventConsumer consumer) {
+        lock.lock();
+        try {
+            getComponent().consumerStarted(this);
+            if (async) {
+                asyncConsumers.add(consumer);
+            } else {
+                getLoadBalancer().addProcessor(consumer.getAsyncProcessor());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void consumerStopped(EventConsumer consumer) {
+        lock.lock();
+        try {
+            getComponent().consumerStopped(this);
+            if (async) {
+                asyncConsumers.remove(consumer);
+            } else {
+                getLoadBalancer().removeProcessor(consumer.getAsyncProcessor());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    protected LoadBalancer createLoadBalancer() {
+        return new TopicLoadBalancer();
+    }
+
+    protected ApplicationEvent toApplicationEvent(Exchange exchange) {
+        ApplicationEvent event = exchange.getIn().getBody(ApplicationEvent.class);
+        if (event != null) {
+            return event;
+        }
+        return new CamelEvent(this, exchange);
+    }
+}
@@ -0,0 +1,686 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.spi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.LoggingLevel;
+import org.apache.camel.Predicate;
+import org.apache.camel.Processor;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.processor.errorhandler.RedeliveryErrorHandler;
+import org.apache.camel.processor.errorhandler.RedeliveryPolicy;
+import org.apache.camel.spi.CamelLogger;
+import org.apache.camel.spi.ErrorHandler;
+import org.apache.camel.support.AsyncProcessorSupport;
+import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The <a href="http://camel.apache.org/transactional-client.html">Transactional Client</a> EIP pattern.
+ * <p/>
+ * By default every exchange is processed in its own transaction. When a batch size is configured, then the exchanges
+ * from the consumer are grouped into batches of up to the batch size, or as many as arrive within the batch timeout,
+ * which are processed in one transaction, so the cost of the commit is shared by the exchanges. The batches are
+ * processed by the consumer thread which finds no batch in progress, until the batch with its own exchange is done, and
+ * then the next waiting consumer thread takes over. The other consumer threads wait until their exchange has been
+ * processed. As a Spring transaction is bound to a single thread, the exchanges of a batch are processed on the thread
+ * of that consumer.
+ * <p/>
+ * If any exchange in the batch fails, or the commit fails, then the batch is rolled back and <b>every</b> exchange of
+ * the batch is processed again in its own transaction, with the regular error handling and redelivery of this error
+ * handler. This includes the exchanges which were processed successfully before the failure, so any side effect which
+ * is not part of the transaction (such as sending to a non transactional endpoint) happens again for those exchanges.
+ * <p/>
+ * Batching is useful with consumers which have several exchanges inflight at the same time, such as with concurrent
+ * consumers, as the exchanges of a single threaded consumer cannot be grouped.
+ */
+@ManagedResource(description = "Transaction error handler")
+public class TransactionErrorHandler extends RedeliveryErrorHandler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TransactionErrorHandler.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final String transactionKey;
+    private final LoggingLevel rollbackLoggingLevel;
+    private int batchSize;
+    private long batchTimeout = 100;
+    private final BlockingQueue<BatchMember> batchQueue = new LinkedBlockingQueue<>();
+    private final AtomicBoolean batchInProgress = new AtomicBoolean();
+    private final Lock batchLock = new ReentrantLock();
+    private final Condition batchDone = batchLock.newCondition();
+    private final LongAdder batchCounter = new LongAdder();
+    private final LongAdder batchExchangesCounter = new LongAdder();
+    private final LongAdder batchRollbackCounter = new LongAdder();
+    private final LongAdder commitTime = new LongAdder();
+    private final LongAccumulator maxCommitTime = new LongAccumulator(Math::max, 0);
+    private volatile int lastBatchSize;
+    private volatile long lastCommitTime;
+
+    /**
+     * Creates the transaction error handler.
+     *
+     * @param camelContext                 the camel context
+     * @param output                       outer processor that should use this default error handler
+     * @param logger                       logger to use for logging failures and redelivery attempts
+     * @param redeliveryProcessor          an optional processor to run before redelivery attempt
+     * @param redeliveryPolicy             policy for redelivery
+     * @param transactionTemplate          the transaction template
+     * @param retryWhile                   retry while
+     * @param executorService              the {@link java.util.concurrent.ScheduledExecutorService} to be used for
+     *                                     redelivery thread pool. Can be <tt>null</tt>.
+     * @param rollbackLoggingLevel         logging level to use for logging transaction rollback occurred
+     * @param onExceptionOccurredProcessor a custom {@link org.apache.camel.Processor} to process the
+     *                                     {@link org.apache.camel.Exchange} just after an exception was thrown.
+     */
+    public TransactionErrorHandler(CamelContext camelContext, Processor output, CamelLogger logger,
+                                   Processor redeliveryProcessor, RedeliveryPolicy redeliveryPolicy,
+                                   TransactionTemplate transactionTemplate, Predicate retryWhile,
+                                   ScheduledExecutorService executorService,
+                                   LoggingLevel rollbackLoggingLevel, Processor onExceptionOccurredProcessor) {
+
+        super(camelContext, output, logger, redeliveryProcessor, redeliveryPolicy, null, null, false, false, false, retryWhile,
+              executorService, null, onExceptionOccurredProcessor);
+        this.transactionTemplate = transactionTemplate;
+        this.rollbackLoggingLevel = rollbackLoggingLevel;
+        this.transactionKey = ObjectHelper.getIdentityHashCode(transactionTemplate);
+    }
+
+    @Override
+    public ErrorHandler clone(Processor output) {
+        TransactionErrorHandler answer = new TransactionErrorHandler(
+                camelContext, output, logger, redeliveryProcessor, redeliveryPolicy, transactionTemplate, retryWhilePolicy,
+                executorService, rollbackLoggingLevel, onExceptionProcessor);
+        // shallow clone is okay as we do not mutate these
+        if (exceptionPolicies != null) {
+            answer.exceptionPolicies = exceptionPolicies;
+        }
+        answer.setBatchSize(batchSize);
+        answer.setBatchTimeout(batchTimeout);
+        return answer;
+    }
+
+    @ManagedAttribute(description = "The maximum number of exchanges processed in one transaction")
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the maximum number of exchanges to process in one transaction. If the transaction is rolled back, then every
+     * exchange of the batch is processed again in its own transaction. Is default 0, which means every exchange is
+     * processed in its own transaction.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @ManagedAttribute(description = "The maximum time in millis to wait for more exchanges to process in one transaction")
+    public long getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    /**
+     * Sets the maximum time in millis to wait for more exchanges to process in one transaction, from when the first
+     * exchange of the batch arrived. Is default 100.
+     */
+    public void setBatchTimeout(long batchTimeout) {
+        this.batchTimeout = batchTimeout;
+    }
+
+    @ManagedAttribute(description = "Number of batches processed")
+    public long getBatchCounter() {
+        return batchCounter.longValue();
+    }
+
+    @ManagedAttribute(description = "Number of batches which were rolled back, and processed again exchange by exchange")
+    public long getBatchRollbackCounter() {
+        return batchRollbackCounter.longValue();
+    }
+
+    @ManagedAttribute(description = "The number of exchanges in the last batch")
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    @ManagedAttribute(description = "The average number of exchanges per batch")
+    public double getAverageBatchSize() {
+        long batches = batchCounter.longValue();
+        return batches > 0 ? (double) batchExchangesCounter.longValue() / batches : 0;
+    }
+
+    @ManagedAttribute(description = "The time in millis to commit the last batch")
+    public long getLastCommitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(lastCommitTime);
+    }
+
+    @ManagedAttribute(description = "The average time in millis to commit a batch")
+    public long getAverageCommitTime() {
+        long batches = batchCounter.longValue() - batchRollbackCounter.longValue();
+        return batches > 0 ? TimeUnit.NANOSECONDS.toMillis(commitTime.longValue() / batches) : 0;
+    }
+
+    @ManagedAttribute(description = "The maximum time in millis to commit a batch")
+    public long getMaxCommitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(maxCommitTime.get());
+    }
+
+    @Override
+    public boolean supportTransacted() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        if (output == null) {
+            // if no output then don't do any description
+            return "";
+        }
+        return "TransactionErrorHandler:"
+               + propagationBehaviorToString(transactionTemplate.getPropagationBehavior())
+               + "[" + getOutput() + "]";
+    }
+
+    @Override
+    public void process(Exchange exchange) {
+        // we have to run this synchronously as Spring Transaction does *not* support
+        // using multiple threads to span a transaction
+        if (transactionTemplate.getPropagationBehavior() != TransactionDefinition.PROPAGATION_REQUIRES_NEW
+                && exchange.getUnitOfWork() != null
+                && exchange.getUnitOfWork().isTransactedBy(transactionKey)) {
+            // already transacted by this transaction template
+            // so lets just let the error handler process it
+            processByErrorHandler(exchange);
+        } else {
+            // not yet wrapped in transaction so lets do that
+            // and then have it invoke the error handler from within that transaction
+            processInTransaction(exchange);
+        }
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        if (batchSize > 1 && isBatchable(exchange)) {
+            BatchMember member = new BatchMember(exchange);
+            batchQueue.add(member);
+            processBatches(member);
+            callback.done(true);
+            return true;
+        }
+
+        // invoke ths synchronous method as Spring Transaction does *not* support
+        // using multiple threads to span a transaction
+        try {
+            process(exchange);
+        } catch (Throwable e) {
+            exchange.setException(e);
+        }
+
+        // notify callback we are done synchronously
+        callback.done(true);
+        return true;
+    }
+
+    protected void processInTransaction(final Exchange exchange) {
+        // is the exchange redelivered, for example JMS brokers support such details
+        final String redelivered = Boolean.toString(exchange.isExternalRedelivered());
+        final String ids = ExchangeHelper.logIds(exchange);
+
+        try {
+            // mark the beginning of this transaction boundary
+            if (exchange.getUnitOfWork() != null) {
+                exchange.getUnitOfWork().beginTransactedBy(transactionKey);
+            }
+
+            // do in transaction
+            logTransactionBegin(redelivered, ids);
+            doInTransactionTemplate(exchange);
+            logTransactionCommit(redelivered, ids);
+
+        } catch (TransactionRollbackException e) {
+            // do not set as exception, as its just a dummy exception to force spring TX to rollback
+            logTransactionRollback(redelivered, ids, null, true);
+        } catch (Exception e) {
+            exchange.setException(e);
+            logTransactionRollback(redelivered, ids, e, false);
+        } finally {
+            // mark the end of this transaction boundary
+            if (exchange.getUnitOfWork() != null) {
+                exchange.getUnitOfWork().endTransactedBy(transactionKey);
+            }
+        }
+
+        // if it was a local rollback only then remove its marker so outer transaction wont see the marker
+        boolean onlyLast = exchange.isRollbackOnlyLast();
+        exchange.setRollbackOnlyLast(false);
+        if (onlyLast) {
+            // we only want this logged at debug level
+            if (LOG.isDebugEnabled()) {
+                // log exception if there was a cause exception so we have the stack trace
+                Exception cause = exchange.getException();
+                if (cause != null) {
+                    LOG.debug("Transaction rollback ({}) redelivered({}) for {} due exchange was marked for "
+                              + "rollbackOnlyLast and caught: {}",
+                            transactionKey, redelivered, ids, cause.getMessage(), cause);
+                } else {
+                    LOG.debug("Transaction rollback ({}) redelivered({}) for {} "
+                              + "due exchange was marked for rollbackOnlyLast",
+                            transactionKey, redelivered, ids);
+                }
+            }
+            // remove caused exception due we was marked as rollback only last
+            // so by removing the exception, any outer transaction will not be affected
+            exchange.setException(null);
+        }
+    }
+
+    protected void doInTransactionTemplate(final Exchange exchange) {
+
+        // spring transaction template is working best with rollback if you throw it a runtime exception
+        // otherwise it may not rollback messages send to JMS queues etc.
+
+        transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                // wrapper exception to throw if the exchange failed
+                // IMPORTANT: Must be a runtime exception to let Spring regard it as to do "rollback"
+                RuntimeException rce;
+
+                // and now let process the exchange by the error handler
+                processByErrorHandler(exchange);
+
+                // after handling and still an exception or marked as rollback only then rollback
+                if (exchange.getException() != null || exchange.isRollbackOnly() || exchange.isRollbackOnlyLast()) {
+
+                    // wrap exception in transacted exception
+                    if (exchange.getException() != null) {
+                        rce = RuntimeCamelException.wrapRuntimeCamelException(exchange.getException());
+                    } else {
+                        // create dummy exception to force spring transaction manager to rollback
+                        rce = new TransactionRollbackException();
+                    }
+
+                    if (!status.isRollbackOnly()) {
+                        status.setRollbackOnly();
+                    }
+
+                    // throw runtime exception to force rollback (which works best to rollback with Spring transaction manager)
+                    if (LOG.isTraceEnabled()) {
+                        LOG.trace("Throwing runtime exception to force transaction to rollback on {}",
+                                transactionTemplate.getName());
+                    }
+                    throw rce;
+                }
+            }
+        });
+    }
+
+    private boolean isBatchable(Exchange exchange) {
+        // only exchanges which begins a new transaction can be batched, as a transaction in progress cannot be handed
+        // over to the batch thread
+        return isRunAllowed()
+                && (exchange.getUnitOfWork() == null || !exchange.getUnitOfWork().isTransacted())
+                && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    /**
+     * Processes the waiting exchanges in batches until the exchange of the calling thread is done, unless another
+     * thread is already processing the batches, in which case the calling thread waits until either its exchange is
+     * done, or the other thread is done with its own exchange and the calling thread can take over. This bounds the
+     * time a thread spends on the exchanges of other threads to the batches before its own exchange.
+     *
+     * @param member the exchange added by the calling thread
+     */
+    private void processBatches(BatchMember member) {
+        List<BatchMember> batch = new ArrayList<>(batchSize);
+        while (!member.done) {
+            if (batchInProgress.compareAndSet(false, true)) {
+                try {
+                    // the exchange is in the queue, as the batches of other threads are done when they stop
+                    while (!member.done && pollBatch(batch)) {
+                        try {
+                            processBatch(batch);
+                        } catch (Exception e) {
+                            // must continue with the waiting exchanges
+                            LOG.warn("Error processing transaction batch. This exception is ignored.", e);
+                        } finally {
+                            batch.clear();
+                        }
+                    }
+                } finally {
+                    batchLock.lock();
+                    try {
+                        batchInProgress.set(false);
+                        batchDone.signalAll();
+                    } finally {
+                        batchLock.unlock();
+                    }
+                }
+            } else {
+                batchLock.lock();
+                try {
+                    while (!member.done && batchInProgress.get()) {
+                        batchDone.awaitUninterruptibly();
+                    }
+                } finally {
+                    batchLock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Polls the next batch of exchanges, waiting for more exchanges until the batch size or the batch timeout is
+     * reached.
+     *
+     * @param  batch the list to add the exchanges to
+     * @return       <tt>true</tt> if any exchange was polled
+     */
+    private boolean pollBatch(List<BatchMember> batch) {
+        BatchMember first = batchQueue.poll();
+        if (first == null) {
+            return false;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchTimeout);
+        try {
+            while (batch.size() < batchSize) {
+                long remaining = deadline - System.nanoTime();
+                BatchMember next = remaining > 0 && isRunAllowed()
+                        ? batchQueue.poll(remaining, TimeUnit.NANOSECONDS) : batchQueue.poll();
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+            }
+        } catch (InterruptedException e) {
+            // process the exchanges which are polled already
+            Thread.currentThread().interrupt();
+        }
+        return true;
+    }
+
+    /**
+     * Processes the exchanges in one transaction. If the transaction is rolled back, then each exchange is processed
+     * again in its own transaction.
+     *
+     * @param batch the exchanges
+     */
+    protected void processBatch(List<BatchMember> batch) {
+        batchCounter.increment();
+        batchExchangesCounter.add(batch.size());
+        lastBatchSize = batch.size();
+
+        try {
+            if (batch.size() == 1 || !processBatchInTransaction(batch)) {
+                for (BatchMember each : batch) {
+                    try {
+                        processInTransaction(each.exchange);
+                    } catch (Exception e) {
+                        each.exchange.setException(e);
+                    }
+                }
+            }
+        } finally {
+            // the waiting threads continue with their exchanges
+            batchLock.lock();
+            try {
+                for (BatchMember done : batch) {
+                    done.done = true;
+                }
+                batchDone.signalAll();
+            } finally {
+                batchLock.unlock();
+            }
+        }
+    }
+
+    private boolean processBatchInTransaction(List<BatchMember> batch) {
+        PlatformTransactionManager transactionManager = transactionTemplate.getTransactionManager();
+        ObjectHelper.notNull(transactionManager, "transactionManager", transactionTemplate);
+
+        // remember the original exchanges, as they are processed again if the batch is rolled back
+        List<Exchange> originals = new ArrayList<>(batch.size());
+        for (BatchMember member : batch) {
+            originals.add(ExchangeHelper.createCopy(member.exchange, true));
+            if (member.exchange.getUnitOfWork() != null) {
+                member.exchange.getUnitOfWork().beginTransactedBy(transactionKey);
+            }
+        }
+
+        LOG.debug("Transaction begin ({}) for batch of {} exchanges", transactionKey, batch.size());
+        boolean committed = false;
+        try {
+            TransactionStatus status = transactionManager.getTransaction(transactionTemplate);
+            Exchange failed = null;
+            try {
+                for (BatchMember member : batch) {
+                    // the error handling is done when the exchanges are processed again one by one, so the exchange
+                    // is only processed by the output
+                    Exchange exchange = member.exchange;
+                    awaitManager.process(outputAsync, exchange);
+                    if (exchange.getException() != null || exchange.isRollbackOnly() || exchange.isRollbackOnlyLast()) {
+                        failed = exchange;
+                        break;
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                transactionManager.rollback(status);
+                throw e;
+            }
+            if (failed != null) {
+                transactionManager.rollback(status);
+                LOG.debug("Transaction rollback ({}) for batch of {} exchanges due {} failed", transactionKey, batch.size(),
+                        ExchangeHelper.logIds(failed));
+            } else {
+                long start = System.nanoTime();
+                transactionManager.commit(status);
+                long time = System.nanoTime() - start;
+                commitTime.add(time);
+                maxCommitTime.accumulate(time);
+                lastCommitTime = time;
+                committed = true;
+                LOG.debug("Transaction commit ({}) for batch of {} exchanges", transactionKey, batch.size());
+            }
+        } catch (Exception e) {
+            LOG.debug("Transaction rollback ({}) for batch of {} exchanges caught: {}", transactionKey, batch.size(),
+                    e.getMessage(), e);
+        } finally {
+            for (BatchMember member : batch) {
+                if (member.exchange.getUnitOfWork() != null) {
+                    member.exchange.getUnitOfWork().endTransactedBy(transactionKey);
+                }
+            }
+        }
+
+        if (!committed) {
+            batchRollbackCounter.increment();
+            // restore the exchanges so they can be processed again
+            for (int i = 0; i < batch.size(); i++) {
+                Exchange exchange = batch.get(i).exchange;
+                exchange.getProperties().clear();
+                exchange.getVariables().clear();
+                ExchangeHelper.copyResultsPreservePattern(exchange, originals.get(i));
+            }
+        }
+        return committed;
+    }
+
+    /**
+     * Processes the {@link Exchange} using the error handler.
+     * <p/>
+     * This implementation will invoke ensure this occurs synchronously, that means if the async routing engine did kick
+     * in, then this implementation will wait for the task to complete before it continues.
+     *
+     * @param exchange the exchange
+     */
+    protected void processByErrorHandler(final Exchange exchange) {
+        awaitManager.process(new AsyncProcessorSupport() {
+            @Override
+            public boolean process(Exchange exchange, AsyncCallback callback) {
+                return TransactionErrorHandler.super.process(exchange, callback);
+            }
+        }, exchange);
+    }
+
+    /**
+     * Logs the transaction begin
+     */
+    private void logTransactionBegin(String redelivered, String ids) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Transaction begin ({}) redelivered({}) for {})", transactionKey, redelivered, ids);
+        }
+    }
+
+    /**
+     * Logs the transaction commit
+     */
+    private void logTransactionCommit(String redelivered, String ids) {
+        if ("true".equals(redelivered)) {
+            // okay its a redelivered message so log at INFO level if rollbackLoggingLevel is INFO or higher
+            // this allows people to know that the redelivered message was committed this time
+            if (rollbackLoggingLevel == LoggingLevel.INFO || rollbackLoggingLevel == LoggingLevel.WARN
+                    || rollbackLoggingLevel == LoggingLevel.ERROR) {
+                LOG.info("Transaction commit ({}) redelivered({}) for {})", transactionKey, redelivered, ids);
+                // return after we have logged
+                return;
+            }
+        }
+
+        // log non redelivered by default at DEBUG level
+        LOG.debug("Transaction commit ({}) redelivered({}) for {})", transactionKey, redelivered, ids);
+    }
+
+    /**
+     * Logs the transaction rollback.
+     */
+    private void logTransactionRollback(String redelivered, String ids, Throwable e, boolean rollbackOnly) {
+        if (rollbackLoggingLevel == LoggingLevel.OFF) {
+            return;
+        } else if (rollbackLoggingLevel == LoggingLevel.ERROR && LOG.isErrorEnabled()) {
+            if (rollbackOnly) {
+                LOG.error("Transaction rollback ({}) redelivered({}) for {} due exchange was marked for rollbackOnly",
+                        transactionKey, redelivered, ids);
+            } else {
+                LOG.error("Transaction rollback ({}) redelivered({}) for {} caught: {}", transactionKey, redelivered, ids,
+                        e.getMessage());
+            }
+        } else if (rollbackLoggingLevel == LoggingLevel.WARN && LOG.isWarnEnabled()) {
+            if (rollbackOnly) {
+                LOG.warn("Transaction rollback ({}) redelivered({}) for {} due exchange was marked for rollbackOnly",
+                        transactionKey, redelivered, ids);
+            } else {
+                LOG.warn("Transaction rollback ({}) redelivered({}) for {} caught: {}", transactionKey, redelivered, ids,
+                        e.getMessage());
+            }
+        } else if (rollbackLoggingLevel == LoggingLevel.INFO && LOG.isInfoEnabled()) {
+            if (rollbackOnly) {
+                LOG.info("Transaction rollback ({}) redelivered({}) for {} due exchange was marked for rollbackOnly",
+                        transactionKey, redelivered, ids);
+            } else {
+                LOG.info("Transaction rollback ({}) redelivered({}) for {} caught: {}", transactionKey, redelivered, ids,
+                        e.getMessage());
+            }
+        } else if (rollbackLoggingLevel == LoggingLevel.DEBUG && LOG.isDebugEnabled()) {
+            if (rollbackOnly) {
+                LOG.debug("Transaction rollback ({}) redelivered({}) for {} due exchange was marked for rollbackOnly",
+                        transactionKey, redelivered, ids);
+            } else {
+                LOG.debug("Transaction rollback ({}) redelivered({}) for {} caught: {}", transactionKey, redelivered, ids,
+                        e.getMessage());
+            }
+        } else if (rollbackLoggingLevel == LoggingLevel.TRACE && LOG.isTraceEnabled()) {
+            if (rollbackOnly) {
+                LOG.trace("Transaction rollback ({}) redelivered({}) for {} due exchange was marked for rollbackOnly",
+                        transactionKey, redelivered, ids);
+            } else {
+                LOG.trace("Transaction rollback ({}) redelivered({}) for {} caught: {}", transactionKey, redelivered, ids,
+                        e.getMessage());
+            }
+        }
+    }
+
+    private static String propagationBehaviorToString(int propagationBehavior) {
+        String rc;
+        switch (propagationBehavior) {
+            case TransactionDefinition.PROPAGATION_MANDATORY:
+                rc = "PROPAGATION_MANDATORY";
+                break;
+            case TransactionDefinition.PROPAGATION_NESTED:
+                rc = "PROPAGATION_NESTED";
+                break;
+            case TransactionDefinition.PROPAGATION_NEVER:
+                rc = "PROPAGATION_NEVER";
+                break;
+            case TransactionDefinition.PROPAGATION_NOT_SUPPORTED:
+                rc = "PROPAGATION_NOT_SUPPORTED";
+                break;
+            case TransactionDefinition.PROPAGATION_REQUIRED:
+                rc = "PROPAGATION_REQUIRED";
+                break;
+            case TransactionDefinition.PROPAGATION_REQUIRES_NEW:
+                rc = "PROPAGATION_REQUIRES_NEW";
+                break;
+            case TransactionDefinition.PROPAGATION_SUPPORTS:
+                rc = "PROPAGATION_SUPPORTS";
+                break;
+            default:
+                rc = "UNKNOWN";
+        }
+        return rc;
+    }
+
+    /**
+     * An exchange waiting to be processed in a batch.
+     */
+    protected static final class BatchMember {
+
+        private final Exchange exchange;
+        private volatile boolean done;
+
+        private BatchMember(Exchange exchange) {
+            this.exchange = exchange;
+        }
+
+        public Exchange getExchange() {
+            return exchange;
+        }
+    }
+
+}
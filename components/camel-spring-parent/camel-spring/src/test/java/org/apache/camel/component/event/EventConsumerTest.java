@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.ExceptionHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.support.GenericApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventConsumerTest {
+
+    private final List<Object> bodies = new CopyOnWriteArrayList<>();
+    private final List<String> threads = new CopyOnWriteArrayList<>();
+    private final List<Object> rejected = new CopyOnWriteArrayList<>();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private volatile CountDownLatch gate;
+    private CamelContext context;
+    private EventEndpoint endpoint;
+    private EventConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        context = new DefaultCamelContext();
+        context.addComponent("spring-event", new EventComponent(new GenericApplicationContext()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (gate != null) {
+            gate.countDown();
+        }
+        context.stop();
+    }
+
+    private void startRoute(String uri) throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from(uri).routeId("events").process(e -> {
+                    bodies.add(e.getMessage().getBody());
+                    threads.add(Thread.currentThread().getName());
+                    started.countDown();
+                    if (gate != null) {
+                        assertTrue(gate.await(10, TimeUnit.SECONDS));
+                    }
+                });
+            }
+        });
+        context.start();
+        endpoint = context.getEndpoint(uri, EventEndpoint.class);
+        consumer = assertInstanceOf(EventConsumer.class, context.getRoute("events").getConsumer());
+        consumer.setExceptionHandler(new RecordingExceptionHandler());
+    }
+
+    private void publish(String... names) {
+        for (String name : names) {
+            endpoint.onApplicationEvent(new TestEvent(name));
+        }
+    }
+
+    private void awaitBodies(int expected) throws InterruptedException {
+        for (int i = 0; i < 200 && bodies.size() < expected; i++) {
+            Thread.sleep(25);
+        }
+        assertEquals(expected, bodies.size());
+    }
+
+    private static List<String> names(Object body) {
+        return ((List<?>) body).stream().map(String::valueOf).toList();
+    }
+
+    @Test
+    void shouldProcessOnConsumerThread() throws Exception {
+        startRoute("spring-event:test?async=true");
+
+        publish("a", "b", "c");
+
+        awaitBodies(3);
+        assertEquals("[a, b, c]", bodies.toString());
+        for (String thread : threads) {
+            assertNotEquals(Thread.currentThread().getName(), thread);
+        }
+    }
+
+    @Test
+    void shouldProcessBatches() throws Exception {
+        startRoute("spring-event:test?async=true&batchSize=3&batchTimeout=500");
+
+        // a full batch
+        publish("a", "b", "c");
+        awaitBodies(1);
+        // a batch which is completed by the timeout
+        publish("d", "e");
+        awaitBodies(2);
+
+        assertEquals(List.of("a", "b", "c"), names(bodies.get(0)));
+        assertEquals(List.of("d", "e"), names(bodies.get(1)));
+    }
+
+    @Test
+    void shouldApplyBackpressureWhenQueueIsFull() throws Exception {
+        gate = new CountDownLatch(1);
+        startRoute("spring-event:test?async=true&queueSize=2&backpressure=Fail&offerTimeout=50");
+
+        // the consumer thread is busy with the first event, so the queue fills up
+        publish("a");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        publish("b", "c");
+        assertEquals(2, endpoint.getPendingEvents());
+
+        publish("d");
+        assertEquals(1, endpoint.getRejectedCounter());
+
+        endpoint.setBackpressure(EventBackpressure.DropOldest);
+        publish("e");
+        assertEquals(1, endpoint.getDroppedCounter());
+
+        endpoint.setBackpressure(EventBackpressure.Drop);
+        publish("f");
+        assertEquals(2, endpoint.getDroppedCounter());
+
+        // rejected after waiting for the offer timeout
+        endpoint.setBackpressure(EventBackpressure.Block);
+        publish("g");
+        assertEquals(2, endpoint.getRejectedCounter());
+        assertEquals("[d, g]", rejected.toString());
+
+        gate.countDown();
+        awaitBodies(3);
+        assertEquals("[a, c, e]", bodies.toString());
+    }
+
+    @Test
+    void shouldRejectQueuedEventsOnStop() throws Exception {
+        gate = new CountDownLatch(1);
+        startRoute("spring-event:test?async=true");
+
+        publish("a");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        publish("b", "c");
+        assertEquals(2, consumer.getQueueSize());
+
+        Thread stopper = new Thread(consumer::stop, "Stopper");
+        stopper.start();
+        // the queue is detached when the consumer is stopping
+        for (int i = 0; i < 200 && consumer.getQueueSize() > 0; i++) {
+            Thread.sleep(25);
+        }
+        consumer.offer(new TestEvent("d"));
+
+        // the exchange in progress is completed, and the queued events are failed
+        gate.countDown();
+        stopper.join(10000);
+        assertTrue(consumer.isStopped());
+        assertEquals("[a]", bodies.toString());
+        assertEquals("[d, b, c]", rejected.toString());
+        assertEquals(3, consumer.getRejectedCounter());
+    }
+
+    private final class RecordingExceptionHandler implements ExceptionHandler {
+
+        @Override
+        public void handleException(Throwable exception) {
+            handleException(null, null, exception);
+        }
+
+        @Override
+        public void handleException(String message, Throwable exception) {
+            handleException(message, null, exception);
+        }
+
+        @Override
+        public void handleException(String message, Exchange exchange, Throwable exception) {
+            rejected.add(exchange.getIn().getBody());
+        }
+    }
+
+    private static final class TestEvent extends ApplicationEvent {
+
+        TestEvent(String name) {
+            super(name);
+        }
+
+        @Override
+        public String toString() {
+            return (String) getSource();
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.spi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.LoggingLevel;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.processor.errorhandler.RedeliveryPolicy;
+import org.apache.camel.spi.CamelLogger;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.service.ServiceHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionErrorHandlerBatchTest {
+
+    private final CountingTransactionManager transactionManager = new CountingTransactionManager();
+    private final Map<Object, AtomicInteger> attempts = new ConcurrentHashMap<>();
+    private final List<String> threads = new CopyOnWriteArrayList<>();
+    private final Map<Object, String> processedBy = new ConcurrentHashMap<>();
+    private volatile CountDownLatch gate;
+    private CamelContext context;
+    private TransactionErrorHandler errorHandler;
+
+    @BeforeEach
+    void setUp() {
+        context = new DefaultCamelContext();
+        context.start();
+        RedeliveryPolicy redeliveryPolicy = new RedeliveryPolicy().maximumRedeliveries(2).redeliveryDelay(0);
+        errorHandler = new TransactionErrorHandler(
+                context, this::process, new CamelLogger(TransactionErrorHandlerBatchTest.class.getName()), null,
+                redeliveryPolicy, new TransactionTemplate(transactionManager), null, null, LoggingLevel.DEBUG, null);
+        errorHandler.setBatchTimeout(5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (gate != null) {
+            gate.countDown();
+        }
+        ServiceHelper.stopService(errorHandler);
+        context.stop();
+    }
+
+    private void process(Exchange exchange) {
+        Object body = exchange.getMessage().getBody();
+        int attempt = attempts.computeIfAbsent(body, k -> new AtomicInteger()).incrementAndGet();
+        threads.add(Thread.currentThread().getName());
+        processedBy.put(body, Thread.currentThread().getName());
+        if (gate != null && "slow".equals(body)) {
+            try {
+                assertTrue(gate.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // fails always, or the first two attempts only
+        if ("fail".equals(body) || "flaky".equals(body) && attempt <= 2) {
+            throw new IllegalArgumentException("Forced " + body);
+        }
+        exchange.getMessage().setHeader("processed", true);
+    }
+
+    /**
+     * Processes the exchanges as one batch. The first exchange is processed by a consumer thread which then waits for
+     * the other exchanges, which are added by other consumer threads one by one, so the order of the batch is known.
+     */
+    private List<Exchange> processBatch(String... bodies) throws Exception {
+        errorHandler.setBatchSize(bodies.length);
+        ServiceHelper.startService(errorHandler);
+
+        List<Exchange> exchanges = new ArrayList<>();
+        for (String body : bodies) {
+            Exchange exchange = new DefaultExchange(context);
+            exchange.getMessage().setBody(body);
+            exchanges.add(exchange);
+        }
+        CountDownLatch done = new CountDownLatch(bodies.length);
+        List<Thread> consumers = new ArrayList<>();
+        for (int i = 0; i < bodies.length; i++) {
+            Exchange exchange = exchanges.get(i);
+            Thread consumer = new Thread(() -> {
+                // the callback is called by the consumer thread when its exchange is done
+                if (errorHandler.process(exchange, doneSync -> assertTrue(doneSync))) {
+                    done.countDown();
+                }
+            }, i == 0 ? "Consumer" : "Waiting" + i);
+            consumers.add(consumer);
+            consumer.start();
+            // wait for the consumer thread to wait for more exchanges, or for its exchange to be processed
+            awaitWaiting(consumer);
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (Thread consumer : consumers) {
+            consumer.join(10000);
+        }
+        assertEquals(1, errorHandler.getBatchCounter());
+        assertEquals(bodies.length, errorHandler.getLastBatchSize());
+        // the exchanges are processed on the consumer thread as the transaction is bound to a thread
+        for (String thread : threads) {
+            assertEquals("Consumer", thread);
+        }
+        return exchanges;
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        while (thread.getState() != Thread.State.TIMED_WAITING && thread.getState() != Thread.State.WAITING
+                && thread.getState() != Thread.State.TERMINATED) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void shouldStopProcessingBatchesAfterOwnBatch() throws Exception {
+        gate = new CountDownLatch(1);
+        errorHandler.setBatchSize(2);
+        errorHandler.setBatchTimeout(200);
+        ServiceHelper.startService(errorHandler);
+
+        List<Thread> consumers = new ArrayList<>();
+        for (String body : List.of("slow", "b", "c", "d", "e")) {
+            Exchange exchange = new DefaultExchange(context);
+            exchange.getMessage().setBody(body);
+            Thread consumer = new Thread(
+                    () -> errorHandler.process(exchange, doneSync -> assertTrue(doneSync)),
+                    "Consumer-" + body);
+            consumers.add(consumer);
+            consumer.start();
+            // the first batch is processed by the first thread, while the other exchanges are waiting
+            awaitWaiting(consumer);
+        }
+        gate.countDown();
+        for (Thread consumer : consumers) {
+            consumer.join(10000);
+            assertFalse(consumer.isAlive());
+        }
+
+        assertEquals(5, processedBy.size());
+        // the first thread is done after its own batch, and leaves the other batches to the waiting threads
+        assertEquals("Consumer-slow", processedBy.get("slow"));
+        assertEquals("Consumer-slow", processedBy.get("b"));
+        for (String body : List.of("c", "d", "e")) {
+            assertNotEquals("Consumer-slow", processedBy.get(body));
+        }
+        assertEquals(3, errorHandler.getBatchCounter());
+        assertEquals(3, transactionManager.commits.get());
+    }
+
+    @Test
+    void shouldCommitBatchInOneTransaction() throws Exception {
+        List<Exchange> exchanges = processBatch("a", "b", "c", "d");
+
+        assertEquals(1, transactionManager.begins.get());
+        assertEquals(1, transactionManager.commits.get());
+        assertEquals(0, transactionManager.rollbacks.get());
+        assertEquals(0, errorHandler.getBatchRollbackCounter());
+        for (Exchange exchange : exchanges) {
+            assertNull(exchange.getException());
+            assertEquals(Boolean.TRUE, exchange.getMessage().getHeader("processed"));
+            assertEquals(1, attempts.get(exchange.getMessage().getBody()).get());
+        }
+    }
+
+    @Test
+    void shouldRollbackBatchAndProcessEveryExchangeAgain() throws Exception {
+        List<Exchange> exchanges = processBatch("a", "b", "fail");
+
+        assertEquals(1, errorHandler.getBatchRollbackCounter());
+        // the batch, and then a transaction for each exchange
+        assertEquals(4, transactionManager.begins.get());
+        assertEquals(2, transactionManager.commits.get());
+        assertEquals(2, transactionManager.rollbacks.get());
+        // every exchange is processed again, including the ones which did not fail
+        assertEquals(2, attempts.get("a").get());
+        assertEquals(2, attempts.get("b").get());
+        assertNull(exchanges.get(0).getException());
+        assertNull(exchanges.get(1).getException());
+        // processed once in the batch, and then with the redeliveries in its own transaction
+        assertEquals(4, attempts.get("fail").get());
+        assertNotNull(exchanges.get(2).getException());
+    }
+
+    @Test
+    void shouldRedeliverExchangeInItsOwnTransaction() throws Exception {
+        List<Exchange> exchanges = processBatch("flaky", "a");
+
+        assertEquals(1, errorHandler.getBatchRollbackCounter());
+        assertEquals(3, transactionManager.begins.get());
+        assertEquals(2, transactionManager.commits.get());
+        assertEquals(1, transactionManager.rollbacks.get());
+        // failed in the batch, and then succeeded by redelivery in its own transaction
+        assertEquals(3, attempts.get("flaky").get());
+        assertNull(exchanges.get(0).getException());
+        assertEquals(Boolean.TRUE, exchanges.get(0).getMessage().getHeader("processed"));
+        // the batch stopped at the failed exchange
+        assertEquals(1, attempts.get("a").get());
+        assertNull(exchanges.get(1).getException());
+    }
+
+    private static class CountingTransactionManager implements PlatformTransactionManager {
+
+        private final AtomicInteger begins = new AtomicInteger();
+        private final AtomicInteger commits = new AtomicInteger();
+        private final AtomicInteger rollbacks = new AtomicInteger();
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            begins.incrementAndGet();
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            if (status.isRollbackOnly()) {
+                rollbacks.incrementAndGet();
+            } else {
+                commits.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            rollbacks.incrementAndGet();
+        }
+    }
+}
@@ -1419,6 +1419,24 @@ public interface CamelContext extends CamelContextLifecycle, RuntimeConfiguratio
      */
     void setSourceLocationEnabled(Boolean sourceLocationEnabled);
 
+    /**
+     * Whether routes should be created, warmed up and started in parallel during startup.
+     *
+     * Routes are started in their startup order, where each route with an explicit startupOrder is started on its own,
+     * and consecutive routes with an auto assigned startup order are started concurrently as a group. This can speed up
+     * startup when having many routes.
+     */
+    Boolean isParallelRouteStartup();
+
+    /**
+     * Whether routes should be created, warmed up and started in parallel during startup.
+     *
+     * Routes are started in their startup order, where each route with an explicit startupOrder is started on its own,
+     * and consecutive routes with an auto assigned startup order are started concurrently as a group. This can speed up
+     * startup when having many routes.
+     */
+    void setParallelRouteStartup(Boolean parallelRouteStartup);
+
     /**
      * Whether to support JBang style //DEPS to specify additional dependencies when running Camel JBang
      */
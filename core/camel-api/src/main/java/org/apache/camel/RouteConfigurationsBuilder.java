@@ -16,6 +16,8 @@
  */
 package org.apache.camel;
 
+import java.util.Set;
+
 /**
  * A route configurations builder is capable of building route configurations using the builder and model classes.
  */
@@ -37,4 +39,18 @@ public interface RouteConfigurationsBuilder {
      */
     void updateRouteConfigurationsToCamelContext(CamelContext context) throws Exception;
 
+    /**
+     * Adds or updates the route configurations from this builder to the CamelContext, and tells which of them have
+     * changed, so the routes using them can be updated as well.
+     *
+     * @param  context   the Camel context
+     * @return           the ids of the route configurations which are added or changed, as applied to the routes, or
+     *                   <tt>null</tt> if not known, in which case any of the routes may be affected
+     * @throws Exception is thrown if initialization of route configurations failed
+     */
+    default Set<String> updateChangedRouteConfigurationsToCamelContext(CamelContext context) throws Exception {
+        updateRouteConfigurationsToCamelContext(context);
+        return null;
+    }
+
 }
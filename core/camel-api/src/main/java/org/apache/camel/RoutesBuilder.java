@@ -16,8 +16,12 @@
  */
 package org.apache.camel;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
+import org.apache.camel.spi.RouteReloadChange;
+
 /**
  * A routes builder is capable of building routes using the builder and model classes.
  * <p/>
@@ -53,4 +57,21 @@ public interface RoutesBuilder {
      */
     Set<String> updateRoutesToCamelContext(CamelContext context) throws Exception;
 
+    /**
+     * Adds or updates the routes from this Route Builder to the CamelContext, where existing routes whose definitions
+     * did not change are kept running, and only the added or changed routes are (re)started.
+     *
+     * @param  context   the Camel context
+     * @return           the changes of the routes from this Route Builder
+     * @throws Exception is thrown if initialization of routes failed
+     */
+    default List<RouteReloadChange> updateChangedRoutesToCamelContext(CamelContext context) throws Exception {
+        // cannot compare so all the routes are updated
+        List<RouteReloadChange> answer = new ArrayList<>();
+        for (String id : updateRoutesToCamelContext(context)) {
+            answer.add(new RouteReloadChange(id, RouteReloadChange.Kind.Updated, null));
+        }
+        return answer;
+    }
+
 }
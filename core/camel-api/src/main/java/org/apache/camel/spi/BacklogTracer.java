@@ -16,6 +16,8 @@
  */
 package org.apache.camel.spi;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 
 /**
@@ -169,6 +171,32 @@ public interface BacklogTracer {
      */
     void setTraceFilter(String filter);
 
+    /**
+     * Whether the traced messages are stored in a preallocated lock-free ring buffer, where the messages are captured
+     * as is and only formatted when they are dumped. This reduces the overhead of tracing on busy routes. Only messages
+     * whose body, headers, properties and variables are immutable (such as strings and numbers) are captured as is, and
+     * any other message is formatted when it is traced.
+     */
+    boolean isRingBuffer();
+
+    /**
+     * Whether the traced messages are stored in a preallocated lock-free ring buffer, where the messages are captured
+     * as is and only formatted when they are dumped. This reduces the overhead of tracing on busy routes. Only messages
+     * whose body, headers, properties and variables are immutable (such as strings and numbers) are captured as is, and
+     * any other message is formatted when it is traced.
+     */
+    void setRingBuffer(boolean ringBuffer);
+
+    /**
+     * Traces only one out of every N exchanges. The default is 1 which traces every exchange.
+     */
+    int getSamplingRate();
+
+    /**
+     * Traces only one out of every N exchanges. The default is 1 which traces every exchange.
+     */
+    void setSamplingRate(int samplingRate);
+
     /**
      * Gets the trace counter (total number of traced messages)
      */
@@ -214,6 +242,20 @@ public interface BacklogTracer {
      */
     String dumpTracedMessagesAsJSon(String nodeId);
 
+    /**
+     * Dumps all tracing data as XML to the writer, one traced message at a time
+     */
+    default void dumpAllTracedMessagesAsXml(Writer writer) throws IOException {
+        writer.write(dumpAllTracedMessagesAsXml());
+    }
+
+    /**
+     * Dumps all tracing data as JSon to the writer, one traced message at a time
+     */
+    default void dumpAllTracedMessagesAsJSon(Writer writer) throws IOException {
+        writer.write(dumpAllTracedMessagesAsJSon());
+    }
+
     /**
      * Clears the backlog of traced messages.
      */
@@ -68,6 +68,7 @@ public interface CamelEvent {
         RouteRestartingFailure,
         ServiceStartupFailure,
         ServiceStopFailure,
+        ThreadPoolResized,
         StepStarted,
         StepCompleted,
         StepFailed,
@@ -398,6 +399,22 @@ public interface CamelEvent {
          * Total number of routes being reloaded in this batch
          */
         int getTotal();
+
+        /**
+         * The kind of change of the route, when only the routes whose definitions changed are reloaded, or
+         * <tt>null</tt> if all the routes were reloaded.
+         */
+        default RouteReloadChange.Kind getChange() {
+            return null;
+        }
+
+        /**
+         * A human readable description of the differences between the previous and the reloaded route definition, or
+         * <tt>null</tt> if not known.
+         */
+        default String getDiff() {
+            return null;
+        }
     }
 
     interface RouteStartingEvent extends RouteEvent {
@@ -484,6 +501,25 @@ public interface CamelEvent {
         }
     }
 
+    /**
+     * An adaptive thread pool changed its core pool size.
+     */
+    interface ThreadPoolResizedEvent extends ServiceEvent {
+
+        String getThreadPoolId();
+
+        int getOldPoolSize();
+
+        int getNewPoolSize();
+
+        String getReason();
+
+        @Override
+        default Type getType() {
+            return Type.ThreadPoolResized;
+        }
+    }
+
     /**
      * Special event only in use for camel-tracing / camel-opentelemetry. This event is NOT (by default) in use.
      */
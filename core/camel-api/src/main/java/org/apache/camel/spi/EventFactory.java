@@ -185,6 +185,20 @@ public interface EventFactory {
      */
     CamelEvent createServiceStopFailureEvent(CamelContext context, Object service, Throwable cause);
 
+    /**
+     * Creates an {@link CamelEvent} for an adaptive thread pool changed its core pool size
+     *
+     * @param  context      camel context
+     * @param  threadPool   the thread pool
+     * @param  threadPoolId the id of the thread pool
+     * @param  oldPoolSize  the old core pool size
+     * @param  newPoolSize  the new core pool size
+     * @param  reason       the reason of the resize
+     * @return              the created event
+     */
+    CamelEvent createThreadPoolResizedEvent(
+            CamelContext context, Object threadPool, String threadPoolId, int oldPoolSize, int newPoolSize, String reason);
+
     /**
      * Creates an {@link CamelEvent} for {@link Route} is starting.
      *
@@ -243,6 +257,20 @@ public interface EventFactory {
      */
     CamelEvent createRouteReloaded(Route route, int index, int total);
 
+    /**
+     * Creates an {@link CamelEvent} for {@link Route} has been reloaded successfully, when only the routes whose
+     * definitions changed are reloaded.
+     *
+     * @param  route  the route
+     * @param  index  the route index in this batch
+     * @param  total  total number of routes being reloaded in this batch
+     * @param  change the change of the route
+     * @return        the reloaded event
+     */
+    default CamelEvent createRouteReloaded(Route route, int index, int total, RouteReloadChange change) {
+        return createRouteReloaded(route, index, total);
+    }
+
     /**
      * Creates an {@link CamelEvent} for {@link Route} being restarted by {@link SupervisingRouteController}.
      *
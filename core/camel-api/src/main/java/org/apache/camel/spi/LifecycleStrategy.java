@@ -28,6 +28,11 @@ import org.apache.camel.VetoCamelContextStartException;
 
 /**
  * Strategy for lifecycle notifications.
+ * <p/>
+ * When {@link CamelContext#isParallelRouteStartup()} is enabled, then the routes are created, initialized and warmed up
+ * concurrently, and the notifications for different routes (such as {@link #onServiceAdd(CamelContext, Service, Route)}
+ * for the services of a route) may be invoked from several threads at the same time. A strategy must then be
+ * thread-safe.
  */
 public interface LifecycleStrategy {
 
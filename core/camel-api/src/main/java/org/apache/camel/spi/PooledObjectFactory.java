@@ -49,6 +49,20 @@ public interface PooledObjectFactory<T> extends Service, CamelContextAware {
          */
         long getDiscardedCounter();
 
+        /**
+         * Number of times the pool had no free object, and a new object had to be created.
+         */
+        default long getMissCounter() {
+            return 0;
+        }
+
+        /**
+         * Number of times a thread had to wait for another thread which was using the pool.
+         */
+        default long getContentionCounter() {
+            return 0;
+        }
+
         /**
          * Reset the counters
          */
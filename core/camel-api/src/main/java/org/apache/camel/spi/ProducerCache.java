@@ -34,6 +34,18 @@ import org.apache.camel.Service;
  */
 public interface ProducerCache extends Service {
 
+    /**
+     * Global option for the maximum number of non-singleton producers per endpoint (in use or idle). When the pool of
+     * an endpoint is exhausted, then the callers wait for a producer to be released. By default, there is no limit.
+     */
+    String MAXIMUM_POOL_SIZE = "CamelProducerCacheMaximumPoolSize";
+
+    /**
+     * Global option for the time in millis after which an idle non-singleton producer is stopped. By default, the idle
+     * producers are kept.
+     */
+    String IDLE_TIMEOUT = "CamelProducerCacheIdleTimeout";
+
     /**
      * Acquires a pooled producer which you <b>must</b> release back again after usage using the
      * {@link #releaseProducer(org.apache.camel.Endpoint, org.apache.camel.AsyncProducer)} method.
@@ -46,6 +58,23 @@ public interface ProducerCache extends Service {
      */
     AsyncProducer acquireProducer(Endpoint endpoint);
 
+    /**
+     * Acquires a pooled producer without blocking, which you <b>must</b> release back again after usage using the
+     * {@link #releaseProducer(org.apache.camel.Endpoint, org.apache.camel.AsyncProducer)} method.
+     * <p/>
+     * If the pool of the endpoint is exhausted, then <tt>null</tt> is returned, and the callback is called when a
+     * producer is released back to the pool.
+     * <p/>
+     * The default implementation acquires the producer using {@link #acquireProducer(Endpoint)}, which may block.
+     *
+     * @param  endpoint the endpoint
+     * @param  callback the callback when the producer could not be acquired right away
+     * @return          the producer, or <tt>null</tt> if the callback will be called with the producer
+     */
+    default AsyncProducer acquireProducer(Endpoint endpoint, AcquireCallback callback) {
+        return acquireProducer(endpoint);
+    }
+
     /**
      * Releases an acquired producer back after usage.
      *
@@ -132,6 +161,55 @@ public interface ProducerCache extends Service {
      */
     EndpointUtilizationStatistics getEndpointUtilizationStatistics();
 
+    /**
+     * Gets the maximum number of non-singleton producers per endpoint, or 0 if unlimited
+     */
+    default int getMaximumPoolSize() {
+        return 0;
+    }
+
+    /**
+     * Gets the time in millis after which an idle non-singleton producer is stopped, or 0 if never
+     */
+    default long getIdleTimeout() {
+        return 0;
+    }
+
+    /**
+     * Number of times a producer was acquired from the cache
+     */
+    default long getHits() {
+        return 0;
+    }
+
+    /**
+     * Number of times a producer had to be created
+     */
+    default long getMisses() {
+        return 0;
+    }
+
+    /**
+     * Number of times a producer had to be waited for, as the pool of the endpoint was exhausted
+     */
+    default long getWaits() {
+        return 0;
+    }
+
+    /**
+     * The total time in millis waited for producers
+     */
+    default long getWaitTime() {
+        return 0;
+    }
+
+    /**
+     * Resets the hit, miss and wait statistics
+     */
+    default void resetStatistics() {
+        // noop
+    }
+
     /**
      * Sends an exchange to an endpoint using a supplied callback supporting the asynchronous routing engine.
      * <p/>
@@ -147,6 +225,20 @@ public interface ProducerCache extends Service {
     boolean doInAsyncProducer(
             Endpoint endpoint, Exchange exchange, AsyncCallback callback, AsyncProducerCallback producerCallback);
 
+    /**
+     * Callback when a producer is acquired after waiting for it.
+     */
+    interface AcquireCallback {
+
+        /**
+         * Called when the producer is acquired, or could not be acquired.
+         *
+         * @param producer the producer, or <tt>null</tt> if it could not be acquired
+         * @param cause    the cause if the producer could not be acquired
+         */
+        void onAcquired(AsyncProducer producer, Throwable cause);
+    }
+
     /**
      * Callback for sending a exchange message to a endpoint using an {@link AsyncProcessor} capable producer.
      * <p/>
@@ -35,4 +35,12 @@ public interface ResourceReloadStrategy extends ReloadStrategy {
      */
     void setResourceReload(ResourceReload listener);
 
+    /**
+     * Whether only the routes which are changed are reloaded. Then the definitions of the routes are remembered when
+     * the routes are created, so they can be compared with the reloaded routes.
+     */
+    default boolean isIncremental() {
+        return false;
+    }
+
 }
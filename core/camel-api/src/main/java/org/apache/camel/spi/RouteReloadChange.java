@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+/**
+ * The outcome of reloading a route, when only the routes whose definitions changed are reloaded.
+ *
+ * @see org.apache.camel.RoutesBuilder#updateChangedRoutesToCamelContext(org.apache.camel.CamelContext)
+ */
+public final class RouteReloadChange {
+
+    /**
+     * The kind of change of the route.
+     */
+    public enum Kind {
+        /**
+         * A new route which was added.
+         */
+        Added,
+        /**
+         * An existing route whose definition changed, so it was stopped and restarted.
+         */
+        Updated,
+        /**
+         * An existing route whose definition did not change, so it was kept running.
+         */
+        Unchanged,
+        /**
+         * An existing route which no longer exists in the reloaded resources, so it was removed.
+         */
+        Removed
+    }
+
+    private final String routeId;
+    private final Kind kind;
+    private final String diff;
+
+    public RouteReloadChange(String routeId, Kind kind, String diff) {
+        this.routeId = routeId;
+        this.kind = kind;
+        this.diff = diff;
+    }
+
+    /**
+     * The route id
+     */
+    public String getRouteId() {
+        return routeId;
+    }
+
+    /**
+     * The kind of change
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * A human readable description of the differences between the previous and the reloaded route definition, or
+     * <tt>null</tt> if not known (such as for added and removed routes).
+     */
+    public String getDiff() {
+        return diff;
+    }
+
+    @Override
+    public String toString() {
+        return diff != null ? routeId + " (" + kind + ": " + diff + ")" : routeId + " (" + kind + ")";
+    }
+}
@@ -16,8 +16,10 @@
  */
 package org.apache.camel.spi;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.camel.CamelContextAware;
@@ -123,6 +125,24 @@ public interface RoutesLoader extends CamelContextAware {
      */
     Set<String> updateRoutes(Collection<Resource> resources) throws Exception;
 
+    /**
+     * Loads or updates existing {@link RoutesBuilder} from the give list of {@link Resource} into the current
+     * {@link org.apache.camel.CamelContext}.
+     *
+     * Unlike {@link #updateRoutes(Collection)}, existing routes whose definitions did not change are kept running, and
+     * only the added or changed routes are (re)started.
+     *
+     * @param  resources the resources to be loaded or updated.
+     * @return           the changes of the routes that was loaded or updated.
+     */
+    default List<RouteReloadChange> updateChangedRoutes(Collection<Resource> resources) throws Exception {
+        List<RouteReloadChange> answer = new ArrayList<>();
+        for (String id : updateRoutes(resources)) {
+            answer.add(new RouteReloadChange(id, RouteReloadChange.Kind.Updated, null));
+        }
+        return answer;
+    }
+
     /**
      * Find {@link RoutesBuilder} from the give list of {@link Resource}.
      *
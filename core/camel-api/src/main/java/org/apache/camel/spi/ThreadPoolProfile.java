@@ -41,6 +41,8 @@ public class ThreadPoolProfile implements Serializable, Cloneable {
     private Integer maxQueueSize;
     private Boolean allowCoreThreadTimeOut;
     private ThreadPoolRejectedPolicy rejectedPolicy;
+    private Boolean adaptive;
+    private Long adaptiveInterval;
 
     /**
      * Creates a new thread pool profile, with no id set.
@@ -235,6 +237,46 @@ public class ThreadPoolProfile implements Serializable, Cloneable {
         this.rejectedPolicy = rejectedPolicy;
     }
 
+    /**
+     * Whether the thread pool adapts its core pool size to the load, between the pool size and the max pool size.
+     *
+     * @return <tt>true</tt> if the thread pool is adaptive
+     */
+    public Boolean getAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Sets whether the thread pool adapts its core pool size to the load, between the pool size and the max pool size.
+     * <p/>
+     * The thread pool measures the task queue wait time and thread utilization, and grows when tasks are waiting and
+     * more threads improve the throughput, and shrinks when the threads are mostly idle. This requires a bounded task
+     * queue (max queue size larger than 0).
+     *
+     * @param adaptive <tt>true</tt> to adapt the core pool size
+     */
+    public void setAdaptive(Boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Gets the interval in millis the load is measured over, before an adaptive thread pool decides whether to resize.
+     *
+     * @return the interval
+     */
+    public Long getAdaptiveInterval() {
+        return adaptiveInterval;
+    }
+
+    /**
+     * Sets the interval in millis the load is measured over, before an adaptive thread pool decides whether to resize.
+     *
+     * @param adaptiveInterval the interval
+     */
+    public void setAdaptiveInterval(Long adaptiveInterval) {
+        this.adaptiveInterval = adaptiveInterval;
+    }
+
     /**
      * Overwrites each attribute that is null with the attribute from defaultProfile
      *
@@ -265,11 +307,18 @@ public class ThreadPoolProfile implements Serializable, Cloneable {
         if (rejectedPolicy == null) {
             rejectedPolicy = defaultProfile.getRejectedPolicy();
         }
+        if (adaptive == null) {
+            adaptive = defaultProfile.getAdaptive();
+        }
+        if (adaptiveInterval == null) {
+            adaptiveInterval = defaultProfile.getAdaptiveInterval();
+        }
     }
 
     public boolean isEmpty() {
         return poolSize == null && maxPoolSize == null && keepAliveTime == null && timeUnit == null
-                && maxQueueSize == null && allowCoreThreadTimeOut == null && rejectedPolicy == null;
+                && maxQueueSize == null && allowCoreThreadTimeOut == null && rejectedPolicy == null && adaptive == null
+                && adaptiveInterval == null;
     }
 
     @Override
@@ -284,6 +333,8 @@ public class ThreadPoolProfile implements Serializable, Cloneable {
         cloned.setAllowCoreThreadTimeOut(allowCoreThreadTimeOut);
         cloned.setRejectedPolicy(rejectedPolicy);
         cloned.setTimeUnit(timeUnit);
+        cloned.setAdaptive(adaptive);
+        cloned.setAdaptiveInterval(adaptiveInterval);
         return cloned;
     }
 
@@ -291,7 +342,8 @@ public class ThreadPoolProfile implements Serializable, Cloneable {
     public String toString() {
         return "ThreadPoolProfile[" + id + " (" + defaultProfile + ") size:" + poolSize + "-" + maxPoolSize
                + ", keepAlive:" + keepAliveTime + " " + timeUnit + ", maxQueue:" + maxQueueSize
-               + ", allowCoreThreadTimeOut:" + allowCoreThreadTimeOut + ", rejectedPolicy:" + rejectedPolicy + "]";
+               + ", allowCoreThreadTimeOut:" + allowCoreThreadTimeOut + ", rejectedPolicy:" + rejectedPolicy
+               + ", adaptive:" + adaptive + "]";
     }
 
 }
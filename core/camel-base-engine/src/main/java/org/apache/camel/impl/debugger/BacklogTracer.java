@@ -16,25 +16,39 @@
  */
 package org.apache.camel.impl.debugger;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.UUID;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
+import org.apache.camel.Message;
 import org.apache.camel.NamedNode;
 import org.apache.camel.Predicate;
 import org.apache.camel.spi.BacklogTracerEventMessage;
 import org.apache.camel.spi.Language;
 import org.apache.camel.support.CamelContextHelper;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.MessageHelper;
 import org.apache.camel.support.PatternHelper;
 import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.StringHelper;
 import org.apache.camel.util.json.JsonArray;
 import org.apache.camel.util.json.JsonObject;
+import org.apache.camel.util.json.Jsonable;
 import org.apache.camel.util.json.Jsoner;
 
 /**
@@ -42,6 +56,13 @@ import org.apache.camel.util.json.Jsoner;
  * <p/>
  * This tracer allows to store message tracers per node in the Camel routes. The tracers is stored in a backlog queue
  * (FIFO based) which allows to pull the traced messages on demand.
+ * <p/>
+ * When using the ring buffer, the tracers are stored in a preallocated ring buffer instead of the queue, where the
+ * newest tracers overwrite the oldest without locking. The messages are then captured as is (a shallow copy of the
+ * headers, properties and variables, and a reference to the body) and are only formatted when they are dumped. This is
+ * only done when the body and the captured values are immutable (such as strings and numbers), as the message may
+ * otherwise be changed after it was traced. Any other message (such as with a stream or byte array body) is formatted
+ * when tracing.
  */
 public final class BacklogTracer extends ServiceSupport implements org.apache.camel.spi.BacklogTracer {
 
@@ -54,6 +75,11 @@ public final class BacklogTracer extends ServiceSupport implements org.apache.ca
     private final AtomicLong traceCounter = new AtomicLong();
     // use a queue with an upper limit to avoid storing too many messages
     private final Queue<BacklogTracerEventMessage> queue = new LinkedBlockingQueue<>(MAX_BACKLOG_SIZE);
+    // the ring buffer and its sequence of the next slot to write, when using the ring buffer
+    private volatile AtomicReferenceArray<BacklogTracerEventMessage> ring;
+    private final AtomicLong ringSequence = new AtomicLong();
+    private boolean ringBuffer;
+    private int samplingRate = 1;
     // how many of the last messages to keep in the backlog at total
     private int backlogSize = 100;
     private boolean removeOnDump = true;
@@ -97,6 +123,9 @@ public final class BacklogTracer extends ServiceSupport implements org.apache.ca
         if (!enabled) {
             return false;
         }
+        if (samplingRate > 1 && !shouldTraceSample(exchange)) {
+            return false;
+        }
 
         boolean pattern = true;
         boolean filter = true;
@@ -130,11 +159,102 @@ public final class BacklogTracer extends ServiceSupport implements org.apache.ca
         return false;
     }
 
+    private boolean shouldTraceSample(Exchange exchange) {
+        // sample by the correlation id if present, so the split/multicast exchanges are traced together with their parent
+        String id = exchange.getProperty(ExchangePropertyKey.CORRELATION_ID, String.class);
+        if (id == null) {
+            id = exchange.getExchangeId();
+        }
+        return Math.floorMod(id.hashCode(), samplingRate) == 0;
+    }
+
+    /**
+     * Captures the message of the exchange to be traced. The message is formatted right away, unless using the ring
+     * buffer and the message is immutable, where the message is formatted when the traced message is dumped.
+     *
+     * @param  exchange the exchange
+     * @return          the supplier of the formatted message
+     */
+    public Supplier<JsonObject> captureMessage(Exchange exchange) {
+        Message message = exchange.getIn();
+        Object body = message.getBody();
+        if (!ringBuffer || !isImmutable(exchange, message)) {
+            JsonObject data = dumpMessage(message);
+            return () -> data;
+        }
+
+        // shallow copy of the message so it can be formatted later
+        DefaultExchange copy = new DefaultExchange(camelContext, exchange.getPattern());
+        copy.setExchangeId(exchange.getExchangeId());
+        if (includeExchangeProperties) {
+            exchange.getAllProperties().forEach(copy::setProperty);
+        }
+        if (includeExchangeVariables && exchange.hasVariables()) {
+            exchange.getVariables().forEach(copy::setVariable);
+        }
+        Message in = copy.getIn();
+        if (message.hasHeaders()) {
+            in.getHeaders().putAll(message.getHeaders());
+        }
+        in.setBody(body);
+        String exchangeType = ObjectHelper.classCanonicalName(exchange);
+        String messageType = ObjectHelper.classCanonicalName(message);
+        return () -> {
+            JsonObject data = dumpMessage(in);
+            JsonObject jo = data.getMap("message");
+            jo.put("exchangeType", exchangeType);
+            jo.put("messageType", messageType);
+            return data;
+        };
+    }
+
+    private boolean isImmutable(Exchange exchange, Message message) {
+        if (!isImmutable(message.getBody())) {
+            return false;
+        }
+        if (message.hasHeaders() && !isImmutable(message.getHeaders().values())) {
+            return false;
+        }
+        if (includeExchangeProperties && !isImmutable(exchange.getAllProperties().values())) {
+            return false;
+        }
+        return !includeExchangeVariables || !exchange.hasVariables() || isImmutable(exchange.getVariables().values());
+    }
+
+    private static boolean isImmutable(Collection<Object> values) {
+        for (Object value : values) {
+            if (!isImmutable(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value == null || value instanceof String || value instanceof Boolean || value instanceof Character
+                || value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+                || value instanceof Double || value instanceof Float || value instanceof BigDecimal
+                || value instanceof BigInteger || value instanceof Enum || value instanceof UUID;
+    }
+
+    private JsonObject dumpMessage(Message message) {
+        return MessageHelper.dumpAsJSonObject(message, includeExchangeProperties, includeExchangeVariables, true,
+                true, bodyIncludeStreams, bodyIncludeFiles, bodyMaxChars);
+    }
+
     public void traceEvent(DefaultBacklogTracerEventMessage event) {
         if (!enabled) {
             return;
         }
 
+        AtomicReferenceArray<BacklogTracerEventMessage> buffer = ring;
+        if (buffer != null) {
+            // overwrite the oldest slot, no need to make room
+            long sequence = ringSequence.getAndIncrement();
+            buffer.set((int) (sequence % buffer.length()), event);
+            return;
+        }
+
         // ensure there is space on the queue by polling until at least single slot is free
         int drain = queue.size() - backlogSize + 1;
         if (drain > 0) {
@@ -185,6 +305,35 @@ public final class BacklogTracer extends ServiceSupport implements org.apache.ca
                     "The backlog size cannot be greater than the max size of " + MAX_BACKLOG_SIZE + ", was: " + backlogSize);
         }
         this.backlogSize = backlogSize;
+        if (ringBuffer) {
+            ring = new AtomicReferenceArray<>(backlogSize);
+        }
+    }
+
+    @Override
+    public boolean isRingBuffer() {
+        return ringBuffer;
+    }
+
+    @Override
+    public void setRingBuffer(boolean ringBuffer) {
+        this.ringBuffer = ringBuffer;
+        // changing the ring buffer discards the traced messages
+        ring = ringBuffer ? new AtomicReferenceArray<>(backlogSize) : null;
+        queue.clear();
+    }
+
+    @Override
+    public int getSamplingRate() {
+        return samplingRate;
+    }
+
+    @Override
+    public void setSamplingRate(int samplingRate) {
+        if (samplingRate <= 0) {
+            throw new IllegalArgumentException("The sampling rate must be a positive number, was: " + samplingRate);
+        }
+        this.samplingRate = samplingRate;
     }
 
     @Override
@@ -317,6 +466,16 @@ public final class BacklogTracer extends ServiceSupport implements org.apache.ca
 
     @Override
     public long getQueueSize() {
+        AtomicReferenceArray<BacklogTracerEventMessage> buffer = ring;
+        if (buffer != null) {
+            long size = 0;
+            for (int i = 0; i < buffer.length(); i++) {
+                if (buffer.get(i) != null) {
+                    size++;
+                }
+            }
+            return size;
+        }
         return queue.size();
     }
 
@@ -326,6 +485,11 @@ public final class BacklogTracer extends ServiceSupport implements org.apache.ca
     }
 
     public List<BacklogTracerEventMessage> dumpTracedMessages(String nodeId) {
+        AtomicReferenceArray<BacklogTracerEventMessage> buffer = ring;
+        if (buffer != null) {
+            return nodeId != null ? dumpRing(buffer, nodeId) : new ArrayList<>();
+        }
+
         List<BacklogTracerEventMessage> answer = new ArrayList<>();
         if (nodeId != null) {
             for (BacklogTracerEventMessage message : queue) {
@@ -362,8 +526,35 @@ public final class BacklogTracer extends ServiceSupport implements org.apache.ca
         return Jsoner.prettyPrint(root.toJson());
     }
 
+    /**
+     * Dumps the traced messages in the ring buffer from the oldest to the newest.
+     */
+    private List<BacklogTracerEventMessage> dumpRing(AtomicReferenceArray<BacklogTracerEventMessage> buffer, String nodeId) {
+        List<BacklogTracerEventMessage> answer = new ArrayList<>();
+        long end = ringSequence.get();
+        for (long sequence = Math.max(0, end - buffer.length()); sequence < end; sequence++) {
+            int index = (int) (sequence % buffer.length());
+            BacklogTracerEventMessage message = buffer.get(index);
+            if (message == null
+                    || nodeId != null && !nodeId.equals(message.getToNode()) && !nodeId.equals(message.getRouteId())) {
+                continue;
+            }
+            // the slot may have been overwritten by a newer message, which is dumped on its turn
+            if (removeOnDump && !buffer.compareAndSet(index, message, null)) {
+                continue;
+            }
+            answer.add(message);
+        }
+        return answer;
+    }
+
     @Override
     public List<BacklogTracerEventMessage> dumpAllTracedMessages() {
+        AtomicReferenceArray<BacklogTracerEventMessage> buffer = ring;
+        if (buffer != null) {
+            return dumpRing(buffer, null);
+        }
+
         List<BacklogTracerEventMessage> answer = new ArrayList<>(queue);
         if (isRemoveOnDump()) {
             queue.clear();
@@ -401,9 +592,42 @@ public final class BacklogTracer extends ServiceSupport implements org.apache.ca
         return Jsoner.prettyPrint(root.toJson());
     }
 
+    @Override
+    public void dumpAllTracedMessagesAsXml(Writer writer) throws IOException {
+        writer.write("<" + BacklogTracerEventMessage.ROOT_TAG + "s>");
+        for (BacklogTracerEventMessage event : dumpAllTracedMessages()) {
+            writer.write("\n");
+            writer.write(event.toXml(2));
+        }
+        writer.write("\n</" + BacklogTracerEventMessage.ROOT_TAG + "s>");
+        writer.flush();
+    }
+
+    @Override
+    public void dumpAllTracedMessagesAsJSon(Writer writer) throws IOException {
+        // not pretty printed, as that requires the whole document
+        writer.write("{\"traces\":[");
+        boolean first = true;
+        for (BacklogTracerEventMessage event : dumpAllTracedMessages()) {
+            if (!first) {
+                writer.write(",");
+            }
+            first = false;
+            ((Jsonable) event.asJSon()).toJson(writer);
+        }
+        writer.write("]}");
+        writer.flush();
+    }
+
     @Override
     public void clear() {
         queue.clear();
+        AtomicReferenceArray<BacklogTracerEventMessage> buffer = ring;
+        if (buffer != null) {
+            for (int i = 0; i < buffer.length(); i++) {
+                buffer.set(i, null);
+            }
+        }
     }
 
     public long incrementTraceCounter() {
@@ -412,7 +636,7 @@ public final class BacklogTracer extends ServiceSupport implements org.apache.ca
 
     @Override
     protected void doStop() throws Exception {
-        queue.clear();
+        clear();
     }
 
 }
@@ -18,6 +18,7 @@ package org.apache.camel.impl.debugger;
 
 import java.text.SimpleDateFormat;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.spi.BacklogTracerEventMessage;
@@ -54,7 +55,8 @@ public final class DefaultBacklogTracerEventMessage implements BacklogTracerEven
     private Map<String, String> endpointServiceMetadata;
     private final boolean rest;
     private final boolean template;
-    private final JsonObject data;
+    private volatile JsonObject data;
+    private Supplier<JsonObject> dataSupplier;
     private volatile String dataAsJson;
     private volatile String dataAsXml;
     private Throwable exception;
@@ -83,6 +85,32 @@ public final class DefaultBacklogTracerEventMessage implements BacklogTracerEven
         this.data = data;
     }
 
+    /**
+     * Creates an event message where the message data is created on demand (when the message is dumped) from the given
+     * supplier.
+     */
+    public DefaultBacklogTracerEventMessage(CamelContext camelContext, boolean first, boolean last, long uid, long timestamp,
+                                            String location, String routeId, String toNode, String exchangeId,
+                                            boolean rest, boolean template, Supplier<JsonObject> dataSupplier) {
+        this(camelContext, first, last, uid, timestamp, location, routeId, toNode, exchangeId, rest, template,
+             (JsonObject) null);
+        this.dataSupplier = dataSupplier;
+    }
+
+    private JsonObject getData() {
+        JsonObject answer = data;
+        if (answer == null) {
+            synchronized (this) {
+                if (data == null) {
+                    data = dataSupplier.get();
+                    dataSupplier = null;
+                }
+                answer = data;
+            }
+        }
+        return answer;
+    }
+
     /**
      * Callback when the message has been processed at the given node
      */
@@ -153,7 +181,7 @@ public final class DefaultBacklogTracerEventMessage implements BacklogTracerEven
 
     public String getMessageAsXml(int indent) {
         if (dataAsXml == null) {
-            dataAsXml = toXML(data, indent);
+            dataAsXml = toXML(getData(), indent);
         }
         return dataAsXml;
     }
@@ -161,7 +189,7 @@ public final class DefaultBacklogTracerEventMessage implements BacklogTracerEven
     @Override
     public String getMessageAsJSon() {
         if (dataAsJson == null) {
-            dataAsJson = data.toJson();
+            dataAsJson = getData().toJson();
         }
         return dataAsJson;
     }
@@ -524,7 +552,7 @@ public final class DefaultBacklogTracerEventMessage implements BacklogTracerEven
             }
             jo.put("endpointService", es);
         }
-        jo.put("message", data.getMap("message"));
+        jo.put("message", getData().getMap("message"));
         if (exception != null) {
             if (exceptionAsJsonObject == null) {
                 try {
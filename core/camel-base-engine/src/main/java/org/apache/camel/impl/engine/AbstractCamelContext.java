@@ -35,6 +35,7 @@ import java.util.StringJoiner;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -165,6 +166,7 @@ import org.apache.camel.spi.ShutdownStrategy;
 import org.apache.camel.spi.StartupConditionStrategy;
 import org.apache.camel.spi.StartupStepRecorder;
 import org.apache.camel.spi.StreamCachingStrategy;
+import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.spi.Tracer;
 import org.apache.camel.spi.Transformer;
 import org.apache.camel.spi.TransformerKey;
@@ -245,6 +247,7 @@ public abstract class AbstractCamelContext extends BaseService
     // special flags to control the first startup which can are special
     private volatile boolean firstStartDone;
     private volatile boolean doNotStartRoutesOnFirstStart;
+    private volatile ExecutorService routeStartupExecutorService;
     private Boolean autoStartup = Boolean.TRUE;
     private String autoStartupExcludePattern;
     private Boolean backlogTrace = Boolean.FALSE;
@@ -270,6 +273,7 @@ public abstract class AbstractCamelContext extends BaseService
     private Boolean loadHealthChecks = Boolean.FALSE;
     private Boolean devConsole = Boolean.FALSE;
     private Boolean sourceLocationEnabled = Boolean.FALSE;
+    private Boolean parallelRouteStartup = Boolean.FALSE;
     private Boolean typeConverterStatisticsEnabled = Boolean.FALSE;
     private String dumpRoutes;
     private Boolean useMDCLogging = Boolean.FALSE;
@@ -3155,6 +3159,11 @@ public abstract class AbstractCamelContext extends BaseService
         // Camel again and get the route back as before
         routeStartupOrder.clear();
 
+        if (routeStartupExecutorService != null) {
+            getExecutorServiceManager().shutdownNow(routeStartupExecutorService);
+            routeStartupExecutorService = null;
+        }
+
         EventHelper.notifyCamelContextRoutesStopped(this);
 
         // but clear any suspend routes
@@ -3878,6 +3887,46 @@ public abstract class AbstractCamelContext extends BaseService
         this.sourceLocationEnabled = sourceLocationEnabled;
     }
 
+    @Override
+    public Boolean isParallelRouteStartup() {
+        return parallelRouteStartup != null && parallelRouteStartup;
+    }
+
+    @Override
+    public void setParallelRouteStartup(Boolean parallelRouteStartup) {
+        this.parallelRouteStartup = parallelRouteStartup;
+    }
+
+    /**
+     * Gets the thread pool shared by the phases of starting routes in parallel, which is created on first use and shut
+     * down when Camel is stopped.
+     */
+    ExecutorService getRouteStartupExecutorService() {
+        ExecutorService answer = routeStartupExecutorService;
+        if (answer == null) {
+            lock.lock();
+            try {
+                answer = routeStartupExecutorService;
+                if (answer == null) {
+                    int threads = Runtime.getRuntime().availableProcessors();
+                    ThreadPoolProfile profile = new ThreadPoolProfile("RouteStartup");
+                    profile.setPoolSize(threads);
+                    profile.setMaxPoolSize(threads);
+                    profile.setMaxQueueSize(Integer.MAX_VALUE);
+                    // the threads are only needed while routes are being started
+                    profile.setKeepAliveTime(10L);
+                    profile.setTimeUnit(TimeUnit.SECONDS);
+                    profile.setAllowCoreThreadTimeOut(true);
+                    answer = getExecutorServiceManager().newThreadPool(this, "RouteStartup", profile);
+                    routeStartupExecutorService = answer;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return answer;
+    }
+
     @Override
     public void setTypeConverterStatisticsEnabled(Boolean typeConverterStatisticsEnabled) {
         this.typeConverterStatisticsEnabled = typeConverterStatisticsEnabled;
@@ -25,6 +25,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -39,6 +41,7 @@ import org.apache.camel.spi.ThreadPoolFactory;
 import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.support.CamelContextHelper;
 import org.apache.camel.support.DefaultThreadPoolFactory;
+import org.apache.camel.support.EventHelper;
 import org.apache.camel.support.OrderedComparator;
 import org.apache.camel.support.ResolverHelper;
 import org.apache.camel.support.service.ServiceHelper;
@@ -48,6 +51,7 @@ import org.apache.camel.util.StopWatch;
 import org.apache.camel.util.StringHelper;
 import org.apache.camel.util.TimeUtils;
 import org.apache.camel.util.URISupport;
+import org.apache.camel.util.concurrent.AdaptiveThreadPoolExecutor;
 import org.apache.camel.util.concurrent.CamelThreadFactory;
 import org.apache.camel.util.concurrent.SizedScheduledExecutorService;
 import org.apache.camel.util.concurrent.ThreadHelper;
@@ -65,6 +69,8 @@ public class BaseExecutorServiceManager extends ServiceSupport implements Execut
     private final List<ExecutorService> executorServices = new CopyOnWriteArrayList<>();
     private final Map<String, ThreadPoolProfile> threadPoolProfiles = new ConcurrentHashMap<>();
     private final List<ThreadFactoryListener> threadFactoryListeners = new CopyOnWriteArrayList<>();
+    private final Map<ExecutorService, ScheduledFuture<?>> adaptiveEvaluations = new ConcurrentHashMap<>();
+    private ScheduledThreadPoolExecutor adaptiveTimer;
     private ThreadPoolFactory threadPoolFactory;
     private String threadNamePattern;
     private long shutdownAwaitTermination = 10000;
@@ -374,6 +380,12 @@ public class BaseExecutorServiceManager extends ServiceSupport implements Execut
             }
         }
 
+        // adaptive thread pools no longer need to evaluate their load
+        ScheduledFuture<?> evaluation = adaptiveEvaluations.remove(executorService);
+        if (evaluation != null) {
+            evaluation.cancel(false);
+        }
+
         // remove reference as its shutdown (do not remove if fail-safe)
         if (!failSafe) {
             executorServices.remove(executorService);
@@ -523,6 +535,14 @@ public class BaseExecutorServiceManager extends ServiceSupport implements Execut
         // clear list
         executorServices.clear();
 
+        synchronized (adaptiveEvaluations) {
+            adaptiveEvaluations.clear();
+            if (adaptiveTimer != null) {
+                adaptiveTimer.shutdownNow();
+                adaptiveTimer = null;
+            }
+        }
+
         // do not clear the default profile as we could potential be restarted
         Iterator<ThreadPoolProfile> it = threadPoolProfiles.values().iterator();
         while (it.hasNext()) {
@@ -594,10 +614,35 @@ public class BaseExecutorServiceManager extends ServiceSupport implements Execut
             }
         }
 
+        // publish the sizing decisions of adaptive thread pools as events
+        if (executorService instanceof AdaptiveThreadPoolExecutor adaptive) {
+            final String threadPoolId = id;
+            adaptive.addResizeListener((executor, oldPoolSize, newPoolSize, reason) -> EventHelper
+                    .notifyThreadPoolResized(camelContext, executor, threadPoolId, oldPoolSize, newPoolSize, reason));
+            scheduleLoadEvaluation(adaptive);
+        }
+
         // now call strategy to allow custom logic
         onNewExecutorService(executorService);
     }
 
+    /**
+     * Evaluates the load of the adaptive thread pool periodically, as the pool only evaluates its load by itself when
+     * it is running tasks, and would otherwise not shrink when it becomes idle.
+     */
+    private void scheduleLoadEvaluation(AdaptiveThreadPoolExecutor executor) {
+        synchronized (adaptiveEvaluations) {
+            if (adaptiveTimer == null) {
+                // a single daemon thread evaluates all the adaptive thread pools, which is cheap
+                adaptiveTimer = new ScheduledThreadPoolExecutor(1, createThreadFactory(this, "AdaptiveThreadPool", true));
+                adaptiveTimer.setRemoveOnCancelPolicy(true);
+            }
+            long interval = executor.getInterval();
+            adaptiveEvaluations.put(executor,
+                    adaptiveTimer.scheduleWithFixedDelay(executor::evaluateLoad, interval, interval, TimeUnit.MILLISECONDS));
+        }
+    }
+
     protected ThreadFactory createThreadFactory(Object source, String name, boolean daemon) {
         ThreadFactory factory = new CamelThreadFactory(threadNamePattern, name, daemon);
         for (ThreadFactoryListener listener : threadFactoryListeners) {
@@ -24,6 +24,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.CamelContext;
@@ -74,6 +75,9 @@ import org.apache.camel.support.PluginHelper;
 import org.apache.camel.support.SimpleEventNotifierSupport;
 import org.apache.camel.support.SynchronizationAdapter;
 import org.apache.camel.support.UnitOfWorkHelper;
+import org.apache.camel.support.jfr.ExchangeCompletedEvent;
+import org.apache.camel.support.jfr.ExchangeCreatedEvent;
+import org.apache.camel.support.jfr.ProcessorStepEvent;
 import org.apache.camel.support.processor.DelegateAsyncProcessor;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.StopWatch;
@@ -122,6 +126,11 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
     private final List<CamelInternalProcessorAdvice<?>> advices = new ArrayList<>();
     private byte statefulAdvices;
     private PooledObjectFactory<CamelInternalTask> taskFactory;
+    // the step to emit as JFR event (only when this is a channel)
+    private boolean processorStepEvent;
+    private String stepRouteId;
+    private String stepNodeId;
+    private String stepNodeLabel;
 
     public CamelInternalProcessor(CamelContext camelContext) {
         this.camelContext = camelContext;
@@ -199,6 +208,20 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
         addAdvice(CamelInternalProcessor.wrap(processor));
     }
 
+    /**
+     * Emits a {@link ProcessorStepEvent} JFR event, when enabled, with the duration of the processing of each exchange.
+     *
+     * @param routeId   the route id
+     * @param nodeId    the node id of the processor
+     * @param nodeLabel the label of the processor
+     */
+    protected void setProcessorStepEvent(String routeId, String nodeId, String nodeLabel) {
+        this.processorStepEvent = true;
+        this.stepRouteId = routeId;
+        this.stepNodeId = nodeId;
+        this.stepNodeLabel = nodeLabel;
+    }
+
     @Override
     public void setRouteOnAdvices(Route route) {
         RoutePolicyAdvice task = getAdvice(RoutePolicyAdvice.class);
@@ -219,6 +242,7 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
         private final Object[] states;
         private Exchange exchange;
         private AsyncCallback originalCallback;
+        private ProcessorStepEvent stepEvent;
 
         private AsyncAfterTask(Object[] states) {
             this.states = states;
@@ -235,15 +259,26 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
             return states;
         }
 
+        @Override
+        public void setStepEvent(ProcessorStepEvent stepEvent) {
+            this.stepEvent = stepEvent;
+        }
+
         @Override
         public void reset() {
             Arrays.fill(this.states, null);
             this.exchange = null;
             this.originalCallback = null;
+            this.stepEvent = null;
         }
 
         @Override
         public void done(boolean doneSync) {
+            if (stepEvent != null) {
+                stepEvent.failed = exchange.isFailed();
+                stepEvent.commit();
+                stepEvent = null;
+            }
             try {
                 AdviceIterator.runAfterTasks(advices, states, exchange);
             } finally {
@@ -339,6 +374,19 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
             return true;
         }
 
+        if (processorStepEvent) {
+            // the event is only allocated when enabled in the JFR recording
+            ProcessorStepEvent step = new ProcessorStepEvent();
+            if (step.isEnabled()) {
+                step.routeId = stepRouteId;
+                step.nodeId = stepNodeId;
+                step.nodeLabel = stepNodeLabel;
+                step.exchangeId = exchange.getExchangeId();
+                step.begin();
+                afterTask.setStepEvent(step);
+            }
+        }
+
         if (exchange.isTransacted()) {
             return processTransacted(exchange, afterTask);
         }
@@ -651,12 +699,7 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
                 long timestamp = System.currentTimeMillis();
                 String toNode = processorDefinition.getId();
                 String exchangeId = exchange.getExchangeId();
-                boolean includeExchangeProperties = backlogTracer.isIncludeExchangeProperties();
-                boolean includeExchangeVariables = backlogTracer.isIncludeExchangeVariables();
-                JsonObject data = MessageHelper.dumpAsJSonObject(exchange.getIn(), includeExchangeProperties,
-                        includeExchangeVariables, true,
-                        true, backlogTracer.isBodyIncludeStreams(), backlogTracer.isBodyIncludeFiles(),
-                        backlogTracer.getBodyMaxChars());
+                Supplier<JsonObject> data = backlogTracer.captureMessage(exchange);
 
                 // if first we should add a pseudo trace message as well, so we have a starting message (eg from the route)
                 String routeId = routeDefinition != null ? routeDefinition.getRouteId() : null;
@@ -696,13 +739,8 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
                     // create pseudo last
                     String routeId = routeDefinition != null ? routeDefinition.getRouteId() : null;
                     String exchangeId = exchange.getExchangeId();
-                    boolean includeExchangeProperties = backlogTracer.isIncludeExchangeProperties();
-                    boolean includeExchangeVariables = backlogTracer.isIncludeExchangeVariables();
                     long created = exchange.getClock().getCreated();
-                    JsonObject data = MessageHelper.dumpAsJSonObject(exchange.getIn(), includeExchangeProperties,
-                            includeExchangeVariables, true,
-                            true, backlogTracer.isBodyIncludeStreams(), backlogTracer.isBodyIncludeFiles(),
-                            backlogTracer.getBodyMaxChars());
+                    Supplier<JsonObject> data = backlogTracer.captureMessage(exchange);
                     DefaultBacklogTracerEventMessage pseudoLast = new DefaultBacklogTracerEventMessage(
                             camelContext,
                             false, true, backlogTracer.incrementTraceCounter(), created, source, routeId, null,
@@ -871,6 +909,14 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
                 created = createUnitOfWork(exchange);
                 exchange.getExchangeExtension().setUnitOfWork(created);
                 uow = created;
+
+                ExchangeCreatedEvent event = new ExchangeCreatedEvent();
+                if (event.isEnabled()) {
+                    event.routeId = routeId;
+                    event.exchangeId = exchange.getExchangeId();
+                    event.endpointUri = exchange.getFromEndpoint() != null ? exchange.getFromEndpoint().getEndpointUri() : null;
+                    event.commit();
+                }
             } else {
                 // reuse existing exchange
                 if (uow.onPrepare(exchange)) {
@@ -896,6 +942,14 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
 
             // execute done on uow if we created it, and the consumer is not doing it
             if (uow != null) {
+                ExchangeCompletedEvent event = new ExchangeCompletedEvent();
+                if (event.isEnabled()) {
+                    event.routeId = routeId;
+                    event.exchangeId = exchange.getExchangeId();
+                    event.failed = exchange.isFailed();
+                    event.elapsed = exchange.getClock().elapsed();
+                    event.commit();
+                }
                 UnitOfWorkHelper.doneUow(uow, exchange);
             }
 
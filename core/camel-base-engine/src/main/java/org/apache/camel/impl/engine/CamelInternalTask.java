@@ -18,6 +18,7 @@ package org.apache.camel.impl.engine;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.Exchange;
+import org.apache.camel.support.jfr.ProcessorStepEvent;
 
 /**
  * Task uses to hold state during {@link CamelInternalProcessor}.
@@ -37,6 +38,11 @@ interface CamelInternalTask extends AsyncCallback {
      */
     Object[] getStates();
 
+    /**
+     * Sets the JFR event of the processing step to commit when the task is done
+     */
+    void setStepEvent(ProcessorStepEvent stepEvent);
+
     /**
      * Resets the task after its done and can be reused for another exchange.
      */
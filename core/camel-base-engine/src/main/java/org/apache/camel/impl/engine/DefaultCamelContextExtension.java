@@ -79,7 +79,9 @@ import org.apache.camel.spi.TransformerRegistry;
 import org.apache.camel.spi.TypeConverterRegistry;
 import org.apache.camel.spi.UuidGenerator;
 import org.apache.camel.spi.ValidatorRegistry;
+import org.apache.camel.support.CamelContextHelper;
 import org.apache.camel.support.EndpointHelper;
+import org.apache.camel.support.LRUCacheFactory;
 import org.apache.camel.support.NormalizedUri;
 import org.apache.camel.support.PluginHelper;
 import org.apache.camel.support.service.ServiceHelper;
@@ -118,6 +120,7 @@ class DefaultCamelContextExtension implements ExtendedCamelContext {
     private volatile CamelContextNameStrategy nameStrategy;
     private volatile ManagementNameStrategy managementNameStrategy;
     private volatile PropertiesComponent propertiesComponent;
+    private volatile Map<String, NormalizedEndpointUri> normalizedUris;
     private volatile RestRegistryFactory restRegistryFactory;
     private volatile RestConfiguration restConfiguration;
     private volatile RestRegistry restRegistry;
@@ -250,14 +253,42 @@ class DefaultCamelContextExtension implements ExtendedCamelContext {
 
     @Override
     public NormalizedEndpointUri normalizeUri(String uri) {
+        // uris with property placeholders are not cached as the placeholders may resolve to other values later
+        Map<String, NormalizedEndpointUri> cache
+                = uri.contains(PropertiesComponent.PREFIX_TOKEN) ? null : getNormalizedUris();
+        NormalizedEndpointUri answer = cache != null ? cache.get(uri) : null;
+        if (answer != null) {
+            return answer;
+        }
+
+        String key = uri;
         try {
             uri = EndpointHelper.resolveEndpointUriPropertyPlaceholders(camelContext, uri);
-            return NormalizedUri.newNormalizedUri(uri, false);
+            answer = NormalizedUri.newNormalizedUri(uri, false);
         } catch (ResolveEndpointFailedException e) {
             throw e;
         } catch (Exception e) {
             throw new ResolveEndpointFailedException(uri, e);
         }
+        if (cache != null) {
+            cache.put(key, answer);
+        }
+        return answer;
+    }
+
+    private Map<String, NormalizedEndpointUri> getNormalizedUris() {
+        if (normalizedUris == null) {
+            lock.lock();
+            try {
+                if (normalizedUris == null) {
+                    // the dynamic endpoints (such as toD and recipient list) normalize the same uris over and over again
+                    normalizedUris = LRUCacheFactory.newLRUCache(CamelContextHelper.getMaximumEndpointCacheSize(camelContext));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return normalizedUris;
     }
 
     @Override
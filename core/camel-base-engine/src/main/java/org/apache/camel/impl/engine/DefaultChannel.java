@@ -227,6 +227,8 @@ public class DefaultChannel extends CamelInternalProcessor implements Channel {
         }
         // add advice that keeps track of which node is processing
         addAdvice(new NodeHistoryAdvice(targetOutputDef));
+        // emit JFR event for each step when enabled in the recording
+        setProcessorStepEvent(route.getRouteId(), targetOutputDef.getId(), targetOutputDef.getLabel());
 
         // sort interceptors according to ordered
         interceptors.sort(OrderedComparator.get());
@@ -163,6 +163,28 @@ public class DefaultExchangeFactoryManager extends ServiceSupport implements Exc
             return answer;
         }
 
+        @Override
+        public long getMissCounter() {
+            long answer = 0;
+            if (statisticsEnabled) {
+                for (ExchangeFactory ef : factories.values()) {
+                    answer += ef.getStatistics().getMissCounter();
+                }
+            }
+            return answer;
+        }
+
+        @Override
+        public long getContentionCounter() {
+            long answer = 0;
+            if (statisticsEnabled) {
+                for (ExchangeFactory ef : factories.values()) {
+                    answer += ef.getStatistics().getContentionCounter();
+                }
+            }
+            return answer;
+        }
+
     }
 
     @Override
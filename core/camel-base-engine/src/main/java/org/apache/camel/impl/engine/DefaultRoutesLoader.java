@@ -24,10 +24,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelContextAware;
 import org.apache.camel.FailedToStartRouteException;
+import org.apache.camel.Route;
 import org.apache.camel.RouteConfigurationsBuilder;
 import org.apache.camel.RoutesBuilder;
 import org.apache.camel.StaticService;
@@ -35,10 +37,12 @@ import org.apache.camel.spi.ExtendedRoutesBuilderLoader;
 import org.apache.camel.spi.FactoryFinder;
 import org.apache.camel.spi.ModelineFactory;
 import org.apache.camel.spi.Resource;
+import org.apache.camel.spi.RouteReloadChange;
 import org.apache.camel.spi.RoutesBuilderLoader;
 import org.apache.camel.spi.RoutesLoader;
 import org.apache.camel.support.PluginHelper;
 import org.apache.camel.support.ResolverHelper;
+import org.apache.camel.support.ResourceHelper;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.util.FileUtil;
@@ -191,20 +195,23 @@ public class DefaultRoutesLoader extends ServiceSupport implements RoutesLoader,
                         throw e;
                     }
                 }
+            } else if (ParallelStartupHelper.isParallel(camelContext, entry.getValue().size())) {
+                // the resources are independent so they can be parsed concurrently, but keep their order
+                List<Resource> files = entry.getValue();
+                RoutesBuilder[] builders = new RoutesBuilder[files.size()];
+                List<Integer> indexes = IntStream.range(0, files.size()).boxed().toList();
+                ParallelStartupHelper.doInParallel(camelContext, this, "Load Routes", indexes,
+                        i -> builders[i] = doLoadRoutesBuilder(loader, files.get(i)));
+                for (RoutesBuilder builder : builders) {
+                    if (builder != null) {
+                        answer.add(builder);
+                    }
+                }
             } else {
                 for (Resource resource : entry.getValue()) {
-                    try {
-                        RoutesBuilder builder = loader.loadRoutesBuilder(resource);
-                        if (builder != null) {
-                            answer.add(builder);
-                        }
-                    } catch (Exception e) {
-                        if (isIgnoreLoadingError()) {
-                            LOG.warn("Loading resources error: {} due to: {}. This exception is ignored.", resource,
-                                    e.getMessage());
-                        } else {
-                            throw e;
-                        }
+                    RoutesBuilder builder = doLoadRoutesBuilder(loader, resource);
+                    if (builder != null) {
+                        answer.add(builder);
                     }
                 }
             }
@@ -213,6 +220,20 @@ public class DefaultRoutesLoader extends ServiceSupport implements RoutesLoader,
         return answer;
     }
 
+    private RoutesBuilder doLoadRoutesBuilder(RoutesBuilderLoader loader, Resource resource) throws Exception {
+        try {
+            return loader.loadRoutesBuilder(resource);
+        } catch (Exception e) {
+            if (isIgnoreLoadingError()) {
+                LOG.warn("Loading resources error: {} due to: {}. This exception is ignored.", resource,
+                        e.getMessage());
+                return null;
+            } else {
+                throw e;
+            }
+        }
+    }
+
     @Override
     public void preParseRoute(Resource resource, boolean optional) throws Exception {
         RoutesBuilderLoader loader = resolveRoutesBuilderLoader(resource, optional);
@@ -314,6 +335,94 @@ public class DefaultRoutesLoader extends ServiceSupport implements RoutesLoader,
         return answer;
     }
 
+    @Override
+    public List<RouteReloadChange> updateChangedRoutes(Collection<Resource> resources) throws Exception {
+        List<RouteReloadChange> answer = new ArrayList<>();
+        if (resources == null || resources.isEmpty()) {
+            return answer;
+        }
+
+        Collection<RoutesBuilder> builders = findRoutesBuilders(resources);
+        // the ids of the route configurations which are changed (null if not known)
+        Set<String> configurationIds = new LinkedHashSet<>();
+        for (RoutesBuilder builder : builders) {
+            // update any existing route configurations first
+            if (builder instanceof RouteConfigurationsBuilder rcb) {
+                Set<String> changed = rcb.updateChangedRouteConfigurationsToCamelContext(getCamelContext());
+                if (changed == null) {
+                    configurationIds = null;
+                } else if (configurationIds != null) {
+                    configurationIds.addAll(changed);
+                }
+            }
+        }
+        Set<String> ids = new LinkedHashSet<>();
+        for (RoutesBuilder builder : builders) {
+            // update any existing routes which are changed
+            updateChangedRoutes(builder, ids, answer);
+        }
+
+        // routes from other resources which use a changed route configuration must be updated as well,
+        // which are reloaded, so they are compared with the route configuration applied
+        if (configurationIds == null || !configurationIds.isEmpty()) {
+            Set<Resource> others = new LinkedHashSet<>();
+            for (Route route : getCamelContext().getRoutes()) {
+                Resource source = route.getSourceResource();
+                if (source != null && !ids.contains(route.getRouteId()) && !isSameLocation(source, resources)
+                        && usesRouteConfiguration(route, configurationIds)) {
+                    others.add(source);
+                }
+            }
+            if (!others.isEmpty()) {
+                LOG.debug("Reloading routes from: {} as the route configurations they use are changed", others);
+                for (RoutesBuilder builder : findRoutesBuilders(others)) {
+                    updateChangedRoutes(builder, ids, answer);
+                }
+            }
+        }
+
+        return answer;
+    }
+
+    private void updateChangedRoutes(RoutesBuilder builder, Set<String> ids, List<RouteReloadChange> answer)
+            throws Exception {
+        List<RouteReloadChange> changes = builder.updateChangedRoutesToCamelContext(getCamelContext());
+        // check we do not have duplicate route ids in this group of resources
+        for (RouteReloadChange change : changes) {
+            if (!ids.add(change.getRouteId())) {
+                throw new FailedToStartRouteException(
+                        change.getRouteId(),
+                        "duplicate route id detected " + change.getRouteId()
+                                             + ". Please correct ids to be unique among all your routes.");
+            }
+        }
+        answer.addAll(changes);
+    }
+
+    private static boolean isSameLocation(Resource source, Collection<Resource> resources) {
+        for (Resource resource : resources) {
+            if (ResourceHelper.isSameLocation(resource, source)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean usesRouteConfiguration(Route route, Set<String> configurationIds) {
+        if (configurationIds == null) {
+            return true;
+        }
+        String applied = route.getConfigurationId();
+        if (applied != null) {
+            for (String id : applied.split(",")) {
+                if (configurationIds.contains(id.trim())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     protected RoutesBuilderLoader resolveRoutesBuilderLoader(Resource resource, boolean optional) throws Exception {
         RoutesBuilderLoader answer = null;
 
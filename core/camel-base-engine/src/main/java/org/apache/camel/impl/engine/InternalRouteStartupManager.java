@@ -43,6 +43,7 @@ import org.apache.camel.spi.RouteStartupOrder;
 import org.apache.camel.support.OrderedComparator;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.URISupport;
+import org.apache.camel.util.function.ThrowingRunnable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -79,17 +80,19 @@ final class InternalRouteStartupManager {
 
         camelContext.setStartingRoutes(true);
         try {
+            if (ParallelStartupHelper.isParallel(camelContext, routeServices.size())) {
+                ParallelStartupHelper.doInParallel(camelContext, this, "Init Routes", routeServices.values(),
+                        routeService -> doInParallelRoute(camelContext, routeService, () -> doInitRoute(routeService)));
+                return;
+            }
+
             for (RouteService routeService : routeServices.values()) {
                 StartupStep step = camelContext.getCamelContextExtension().getStartupStepRecorder().beginStep(Route.class,
                         routeService.getId(),
                         "Init Route");
                 try {
-                    LOG.debug("Initializing route id: {}", routeService.getId());
                     setupRoute.set(routeService.getRoute());
-                    // initializing route is called doSetup as we do not want to change the service state on the RouteService
-                    // so it can remain as stopped, when Camel is booting as this was the previous behavior - otherwise its state
-                    // would be initialized
-                    routeService.setUp();
+                    doInitRoute(routeService);
                 } finally {
                     setupRoute.remove();
                     camelContext.getCamelContextExtension().getStartupStepRecorder().endStep(step);
@@ -100,6 +103,55 @@ final class InternalRouteStartupManager {
         }
     }
 
+    private void doInitRoute(RouteService routeService) throws Exception {
+        LOG.debug("Initializing route id: {}", routeService.getId());
+        // initializing route is called doSetup as we do not want to change the service state on the RouteService
+        // so it can remain as stopped, when Camel is booting as this was the previous behavior - otherwise its state
+        // would be initialized
+        routeService.setUp();
+    }
+
+    /**
+     * Runs the task for the route from a parallel startup thread, which must be flagged as starting routes and have the
+     * route being setup as it would be when running from the calling thread.
+     */
+    private void doInParallelRoute(
+            AbstractCamelContext camelContext, RouteService routeService, ThrowingRunnable<Exception> task)
+            throws Exception {
+        camelContext.setStartingRoutes(true);
+        setupRoute.set(routeService.getRoute());
+        try {
+            task.run();
+        } finally {
+            setupRoute.remove();
+            camelContext.setStartingRoutes(false);
+        }
+    }
+
+    /**
+     * Splits the routes to start into groups that can be started concurrently. Routes with an explicit startup order
+     * are started one by one in their own group, while consecutive routes with an auto assigned startup order do not
+     * depend on each other and are grouped together. The groups are returned in startup order.
+     */
+    List<List<DefaultRouteStartupOrder>> groupByStartupOrder(Map<Integer, DefaultRouteStartupOrder> inputs) {
+        List<List<DefaultRouteStartupOrder>> groups = new ArrayList<>();
+        List<DefaultRouteStartupOrder> current = null;
+        for (DefaultRouteStartupOrder order : inputs.values()) {
+            boolean explicit = order.getRoute().getStartupOrder() != null;
+            if (explicit) {
+                groups.add(List.of(order));
+                current = null;
+            } else {
+                if (current == null) {
+                    current = new ArrayList<>();
+                    groups.add(current);
+                }
+                current.add(order);
+            }
+        }
+        return groups;
+    }
+
     /**
      * Starts or resumes the routes
      *
@@ -305,7 +357,21 @@ final class InternalRouteStartupManager {
     }
 
     void doWarmUpRoutes(AbstractCamelContext camelContext, Map<Integer, DefaultRouteStartupOrder> inputs, boolean autoStartup)
-            throws FailedToStartRouteException {
+            throws Exception {
+        if (ParallelStartupHelper.isParallel(camelContext, inputs.size())) {
+            // warm up each group concurrently, and the groups one after the other to keep their ordering
+            for (List<DefaultRouteStartupOrder> group : groupByStartupOrder(inputs)) {
+                ParallelStartupHelper.doInParallel(camelContext, this, "Warmup Routes", group,
+                        order -> doInParallelRoute(camelContext, order.getRouteService(), () -> {
+                            LOG.debug("Warming up route id: {} having autoStartup={}", order.getRouteService().getId(),
+                                    autoStartup);
+                            order.getRouteService().setUp();
+                            order.getRouteService().warmUp();
+                        }));
+            }
+            return;
+        }
+
         // now prepare the routes by starting its services before we start the
         // input
         for (Map.Entry<Integer, DefaultRouteStartupOrder> entry : inputs.entrySet()) {
@@ -354,6 +420,11 @@ final class InternalRouteStartupManager {
             AbstractCamelContext camelContext,
             Map<Integer, DefaultRouteStartupOrder> inputs, boolean resumeOnly, boolean addingRoute)
             throws Exception {
+        if (!resumeOnly && ParallelStartupHelper.isParallel(camelContext, inputs.size())) {
+            doStartRouteConsumersInParallel(camelContext, inputs, addingRoute);
+            return;
+        }
+
         List<Endpoint> routeInputs = new ArrayList<>();
 
         for (Map.Entry<Integer, DefaultRouteStartupOrder> entry : inputs.entrySet()) {
@@ -477,6 +548,135 @@ final class InternalRouteStartupManager {
         }
     }
 
+    /**
+     * Starts the route consumers concurrently within each group of routes, and the groups one after the other. Checking
+     * for clashes and invoking the lifecycle strategies for the consumers is done from the calling thread, while
+     * starting the consumers and the route services happen concurrently. Each route is added to the startup order as
+     * soon as it has been started, and if a route fails to start then the consumers started by the group are stopped
+     * again.
+     */
+    private void doStartRouteConsumersInParallel(
+            AbstractCamelContext camelContext, Map<Integer, DefaultRouteStartupOrder> inputs, boolean addingRoute)
+            throws Exception {
+        List<Endpoint> routeInputs = new ArrayList<>();
+
+        for (List<DefaultRouteStartupOrder> group : groupByStartupOrder(inputs)) {
+            List<DefaultRouteStartupOrder> toStart = new ArrayList<>(group.size());
+
+            for (DefaultRouteStartupOrder order : group) {
+                Route route = order.getRoute();
+                RouteService routeService = order.getRouteService();
+
+                if (addingRoute && !routeService.isAutoStartup()) {
+                    routeLogger.log(
+                            "Skipping starting of route " + routeService.getId() + " as it's configured with autoStartup=false",
+                            getRouteLoggerLogLevel(camelContext));
+                    continue;
+                }
+
+                Consumer consumer = routeService.getInput();
+                if (consumer != null) {
+                    Endpoint endpoint = consumer.getEndpoint();
+
+                    if (!doCheckMultipleConsumerSupportClash(endpoint, routeInputs)) {
+                        throw new FailedToStartRouteException(
+                                routeService.getId(), "Multiple consumers for the same endpoint is not allowed: " + endpoint);
+                    }
+                    List<Endpoint> existingEndpoints = new ArrayList<>();
+                    for (Route existingRoute : camelContext.getRoutes()) {
+                        if (route.getId().equals(existingRoute.getId())) {
+                            continue;
+                        }
+                        ServiceStatus status = camelContext.getRouteStatus(existingRoute.getId());
+                        if (status != null && (status.isStarted() || status.isStarting())) {
+                            existingEndpoints.add(existingRoute.getEndpoint());
+                        }
+                    }
+                    if (!doCheckMultipleConsumerSupportClash(endpoint, existingEndpoints)) {
+                        throw new FailedToStartRouteException(
+                                routeService.getId(), "Multiple consumers for the same endpoint is not allowed: " + endpoint);
+                    }
+                    routeInputs.add(endpoint);
+                    for (LifecycleStrategy strategy : camelContext.getLifecycleStrategies()) {
+                        strategy.onServiceAdd(camelContext.getCamelContextReference(), consumer, route);
+                    }
+                }
+                toStart.add(order);
+            }
+
+            // the consumers started by this group, so they can be stopped again if another route fails to start
+            List<Consumer> started = new ArrayList<>(toStart.size());
+            Lock startedLock = new ReentrantLock();
+            try {
+                ParallelStartupHelper.doInParallel(camelContext, this, "Start Routes", toStart,
+                        order -> doInParallelRoute(camelContext, order.getRouteService(),
+                                () -> doStartRouteConsumer(camelContext, order, started, startedLock)));
+            } catch (Exception e) {
+                startedLock.lock();
+                try {
+                    for (int i = started.size() - 1; i >= 0; i--) {
+                        Consumer consumer = started.get(i);
+                        try {
+                            ServiceHelper.stopService(consumer);
+                        } catch (Exception ex) {
+                            LOG.warn("Error stopping consumer: {} after failing to start routes. This exception is ignored.",
+                                    consumer, ex);
+                        }
+                    }
+                } finally {
+                    startedLock.unlock();
+                }
+                throw e;
+            }
+        }
+    }
+
+    private void doStartRouteConsumer(
+            AbstractCamelContext camelContext, DefaultRouteStartupOrder order, List<Consumer> started, Lock startedLock)
+            throws Exception {
+        Route route = order.getRoute();
+        RouteService routeService = order.getRouteService();
+        Consumer consumer = routeService.getInput();
+        try {
+            if (consumer != null) {
+                LOG.debug("Starting consumer (order: {}) on route: {}", order.getStartupOrder(), route.getId());
+                camelContext.startService(consumer);
+            }
+            // no need to start children as they are already warmed up
+            routeService.start();
+            route.getProperties().remove("route.start.exception");
+        } catch (Exception e) {
+            route.getProperties().put("route.start.exception", e);
+            throw e;
+        }
+        if (consumer == null) {
+            return;
+        }
+
+        // log and keep track of the order in which the routes was started, so we know how to stop them in reverse order
+        startedLock.lock();
+        try {
+            started.add(consumer);
+            String uri = URISupport.sanitizeUri(consumer.getEndpoint().getEndpointBaseUri());
+            routeLogger.log("Route: " + route.getId() + " started and consuming from: " + uri,
+                    getRouteLoggerLogLevel(camelContext));
+
+            List<RouteStartupOrder> routeStartupOrder = camelContext.getCamelContextExtension().getRouteStartupOrder();
+            boolean found = false;
+            for (RouteStartupOrder other : routeStartupOrder) {
+                if (other.getRoute().getId().equals(route.getId())) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                routeStartupOrder.add(order);
+            }
+        } finally {
+            startedLock.unlock();
+        }
+    }
+
     private boolean doCheckMultipleConsumerSupportClash(Endpoint endpoint, List<Endpoint> routeInputs) {
         // is multiple consumers supported
         boolean multipleConsumersSupported = false;
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.StartupStep;
+import org.apache.camel.spi.StartupStepRecorder;
+import org.apache.camel.support.startup.DefaultStartupStepRecorder;
+import org.apache.camel.util.StopWatch;
+import org.apache.camel.util.TimeUtils;
+import org.apache.camel.util.function.ThrowingConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Helper for running a startup phase (creating, initializing, warming up or starting routes) concurrently when
+ * {@link CamelContext#isParallelRouteStartup()} is enabled.
+ * <p/>
+ * The phase is recorded as a single step from the calling thread in the {@link StartupStepRecorder}, which gives the
+ * time taken by the phase as a whole. The steps recorded by the routes from the pool threads are children of this step.
+ * <p/>
+ * The pool threads run with the same thread local state of the {@link CamelContext} as the calling thread (such as
+ * whether routes are being setup or the model is locked). Lifecycle strategies may be called from the pool threads for
+ * different routes at the same time, and must therefore be thread-safe when parallel route startup is enabled.
+ * <p/>
+ * The phases share the thread pool of the {@link AbstractCamelContext}, and a phase started from a thread that is
+ * already running a parallel startup task runs on the calling thread, so nested phases cannot wait on each other for
+ * the pool threads.
+ */
+public final class ParallelStartupHelper {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelStartupHelper.class);
+    private static final ThreadLocal<Boolean> IN_PARALLEL = new ThreadLocal<>();
+
+    private ParallelStartupHelper() {
+    }
+
+    /**
+     * Whether the given number of routes should be processed in parallel.
+     */
+    public static boolean isParallel(CamelContext camelContext, int size) {
+        return size > 1 && camelContext.isParallelRouteStartup();
+    }
+
+    /**
+     * Runs the task for every item concurrently and waits for all of them to complete.
+     *
+     * @param  camelContext the camel context
+     * @param  source       the source used for naming the threads
+     * @param  phase        the name of the startup phase
+     * @param  items        the items to process
+     * @param  task         the task to run for each item
+     * @throws Exception    the first exception thrown by a task, the remaining tasks are cancelled
+     */
+    public static <T> void doInParallel(
+            CamelContext camelContext, Object source, String phase, Collection<T> items,
+            ThrowingConsumer<T, Exception> task)
+            throws Exception {
+
+        int threads = Math.min(items.size(), Runtime.getRuntime().availableProcessors());
+
+        StartupStepRecorder recorder = camelContext.getCamelContextExtension().getStartupStepRecorder();
+        StartupStep step = recorder.beginStep(ParallelStartupHelper.class, phase,
+                phase + " (" + items.size() + " routes using " + threads + " threads)");
+
+        StopWatch watch = new StopWatch();
+        if (Boolean.TRUE.equals(IN_PARALLEL.get())) {
+            try {
+                for (T item : items) {
+                    task.accept(item);
+                }
+            } finally {
+                recorder.endStep(step);
+            }
+            return;
+        }
+
+        // the pool threads must see the same state as the calling thread
+        final CallerState state = new CallerState(camelContext, step);
+        ExecutorService shared = camelContext instanceof AbstractCamelContext acc
+                ? acc.getRouteStartupExecutorService() : null;
+        ExecutorService executor = shared != null
+                ? shared : camelContext.getExecutorServiceManager().newFixedThreadPool(source, "RouteStartup", threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(items.size());
+            for (T item : items) {
+                futures.add(executor.submit(() -> {
+                    IN_PARALLEL.set(Boolean.TRUE);
+                    state.apply();
+                    try {
+                        task.accept(item);
+                    } finally {
+                        state.clear();
+                        IN_PARALLEL.remove();
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    for (Future<?> other : futures) {
+                        other.cancel(true);
+                    }
+                    Throwable cause = e.getCause();
+                    if (cause instanceof Exception ex) {
+                        throw ex;
+                    }
+                    throw e;
+                }
+            }
+        } finally {
+            if (shared == null) {
+                camelContext.getExecutorServiceManager().shutdownNow(executor);
+            }
+            recorder.endStep(step);
+        }
+
+        LOG.debug("{} of {} routes using {} threads took {}", phase, items.size(), threads,
+                TimeUtils.printDuration(watch.taken(), true));
+    }
+
+    /**
+     * The thread local state of the calling thread, which is applied to the pool threads while running the tasks.
+     */
+    private static final class CallerState {
+
+        private final CamelContext camelContext;
+        private final StartupStep step;
+        private final boolean startingRoutes;
+        private final boolean lockModel;
+        private final boolean setupRoutes;
+
+        CallerState(CamelContext camelContext, StartupStep step) {
+            this.camelContext = camelContext;
+            this.step = step;
+            this.startingRoutes = camelContext instanceof AbstractCamelContext acc && acc.isStartingRoutes();
+            this.lockModel = camelContext instanceof AbstractCamelContext acc && acc.isLockModel();
+            this.setupRoutes = camelContext.getCamelContextExtension().isSetupRoutes();
+        }
+
+        void apply() {
+            if (camelContext instanceof AbstractCamelContext acc) {
+                acc.setStartingRoutes(startingRoutes);
+                acc.setLockModel(lockModel);
+            }
+            camelContext.getCamelContextExtension().setupRoutes(!setupRoutes);
+            if (camelContext.getCamelContextExtension().getStartupStepRecorder() instanceof DefaultStartupStepRecorder dsr) {
+                dsr.attachStep(step);
+            }
+        }
+
+        void clear() {
+            if (camelContext.getCamelContextExtension().getStartupStepRecorder() instanceof DefaultStartupStepRecorder dsr) {
+                dsr.detachStep(step);
+            }
+            camelContext.getCamelContextExtension().setupRoutes(true);
+            if (camelContext instanceof AbstractCamelContext acc) {
+                acc.setLockModel(false);
+                acc.setStartingRoutes(false);
+            }
+        }
+    }
+}
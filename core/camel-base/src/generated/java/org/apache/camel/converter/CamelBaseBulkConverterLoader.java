@@ -41,7 +41,7 @@ public final class CamelBaseBulkConverterLoader implements TypeConverterLoader,
 
     @Override
     public int size() {
-        return 130;
+        return 131;
     }
 
     @Override
@@ -199,6 +199,9 @@ public final class CamelBaseBulkConverterLoader implements TypeConverterLoader,
             if (value instanceof java.lang.String) {
                 return org.apache.camel.converter.IOConverter.toReader((java.lang.String) value);
             }
+            if (value instanceof java.nio.ByteBuffer) {
+                return org.apache.camel.converter.NIOConverter.toReader((java.nio.ByteBuffer) value, exchange);
+            }
         } else if (to == java.io.Writer.class) {
             if (value instanceof java.io.OutputStream) {
                 return org.apache.camel.converter.IOConverter.toWriter((java.io.OutputStream) value, exchange);
@@ -400,10 +403,10 @@ public final class CamelBaseBulkConverterLoader implements TypeConverterLoader,
                 return org.apache.camel.converter.NIOConverter.toByteBuffer((java.io.ByteArrayOutputStream) value);
             }
             if (value instanceof java.io.File) {
-                return org.apache.camel.converter.NIOConverter.toByteBuffer((java.io.File) value);
+                return org.apache.camel.converter.NIOConverter.toByteBuffer((java.io.File) value, exchange);
             }
             if (value instanceof java.nio.file.Path) {
-                return org.apache.camel.converter.NIOConverter.toByteBuffer((java.nio.file.Path) value);
+                return org.apache.camel.converter.NIOConverter.toByteBuffer((java.nio.file.Path) value, exchange);
             }
             if (value instanceof java.lang.String) {
                 return org.apache.camel.converter.NIOConverter.toByteBuffer((java.lang.String) value, exchange);
@@ -569,6 +572,7 @@ public final class CamelBaseBulkConverterLoader implements TypeConverterLoader,
         registry.addConverter(new TypeConvertible<>(java.io.InputStream.class, java.io.Reader.class), this);
         registry.addConverter(new TypeConvertible<>(byte[].class, java.io.Reader.class), this);
         registry.addConverter(new TypeConvertible<>(java.lang.String.class, java.io.Reader.class), this);
+        registry.addConverter(new TypeConvertible<>(java.nio.ByteBuffer.class, java.io.Reader.class), this);
         registry.addConverter(new TypeConvertible<>(java.io.OutputStream.class, java.io.Writer.class), this);
         registry.addConverter(new TypeConvertible<>(java.lang.Object.class, java.lang.Boolean.class), this);
         registry.addConverter(new TypeConvertible<>(java.lang.String.class, java.lang.Boolean.class), this);
@@ -797,6 +801,9 @@ public final class CamelBaseBulkConverterLoader implements TypeConverterLoader,
             if (from == java.lang.String.class) {
                 return this;
             }
+            if (from == java.nio.ByteBuffer.class) {
+                return this;
+            }
         } else if (to == java.io.Writer.class) {
             if (from == java.io.OutputStream.class) {
                 return this;
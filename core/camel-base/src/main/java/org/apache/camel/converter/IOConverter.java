@@ -50,6 +50,7 @@ import org.apache.camel.Converter;
 import org.apache.camel.Exchange;
 import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.InputStreamIterator;
+import org.apache.camel.util.ByteBufferInputStream;
 import org.apache.camel.util.IOHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -287,12 +288,12 @@ public final class IOConverter {
 
     @Converter(order = 35)
     public static byte[] toBytes(InputStream stream) throws IOException {
-        ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        IOHelper.copyAndCloseInput(IOHelper.buffered(stream), bos);
-
-        // no need to close the ByteArrayOutputStream as it's close()
-        // implementation is noop
-        return bos.toByteArray();
+        try {
+            // read directly into the resulting array instead of copying through a ByteArrayOutputStream
+            return stream.readAllBytes();
+        } finally {
+            IOHelper.close(stream, null, LOG);
+        }
     }
 
     @Converter(order = 36)
@@ -302,9 +303,11 @@ public final class IOConverter {
 
     @Converter(order = 37)
     public static ByteBuffer covertToByteBuffer(InputStream is) throws IOException {
-        ByteArrayOutputStream os = new ByteArrayOutputStream();
-        IOHelper.copyAndCloseInput(is, os);
-        return ByteBuffer.wrap(os.toByteArray());
+        if (is instanceof ByteBufferInputStream bbis) {
+            // the stream already reads from a buffer
+            return bbis.getBuffer();
+        }
+        return ByteBuffer.wrap(toBytes(is));
     }
 
     @Converter(order = 38)
@@ -20,14 +20,26 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 import org.apache.camel.Converter;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePropertyKey;
+import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.util.ByteBufferInputStream;
+import org.apache.camel.util.IOHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,12 +47,28 @@ import static org.apache.camel.util.BufferCaster.cast;
 
 /**
  * Some core java.nio based <a href="http://camel.apache.org/type-converter.html">Type Converters</a>
+ * <p/>
+ * The converters avoid copying the content of the buffers where possible: buffers are read as streams and decoded to
+ * text in chunks, without copying the buffer into a byte array first. Large files can be memory mapped, which is turned
+ * on with the {@link #MAPPED_FILE_THRESHOLD} global option.
  */
 @Converter(generateBulkLoader = true)
 public final class NIOConverter {
 
     private static final Logger LOG = LoggerFactory.getLogger(NIOConverter.class);
 
+    /**
+     * Global option on {@link org.apache.camel.CamelContext#getGlobalOptions()} with the minimum size in bytes of the
+     * files which are memory mapped when converted to {@link ByteBuffer}, instead of being read into the heap. Is
+     * default 0, which means files are never memory mapped.
+     * <p/>
+     * A mapped file is read-only, and is only unmapped when the buffer is garbage collected, which keeps the file open
+     * until then (on Windows this prevents the file from being deleted or moved). Mapping small files costs more than
+     * reading them, so a threshold of 1 MB or more is recommended.
+     */
+    public static final String MAPPED_FILE_THRESHOLD = "CamelNIOMappedFileThreshold";
+    private static final int DECODE_CHUNK_SIZE = 8192;
+
     /**
      * Utility classes should not have a public constructor.
      */
@@ -49,14 +77,45 @@ public final class NIOConverter {
 
     @Converter(order = 1)
     public static byte[] toByteArray(ByteBuffer buffer) {
-        byte[] bArray = new byte[buffer.limit()];
-        buffer.get(bArray);
+        // always copy as the backing array of the buffer may be shared, and must not be changed via the result
+        byte[] bArray = new byte[buffer.remaining()];
+        buffer.duplicate().get(bArray);
         return bArray;
     }
 
     @Converter(order = 2)
     public static String toString(ByteBuffer buffer, Exchange exchange) throws IOException {
-        return IOConverter.toString(toByteArray(buffer), exchange);
+        Charset charset = ExchangeHelper.getCharset(exchange);
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), charset);
+        }
+        return decode(buffer.duplicate(), charset);
+    }
+
+    /**
+     * Decodes a direct or memory mapped buffer in chunks, so the content is not copied into a byte array, nor decoded
+     * into a char buffer of the size of the content, before creating the string.
+     */
+    private static String decode(ByteBuffer buffer, Charset charset) {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        StringBuilder sb = new StringBuilder((int) (buffer.remaining() * decoder.averageCharsPerByte()));
+        CharBuffer chars = CharBuffer.allocate(DECODE_CHUNK_SIZE);
+        CoderResult result;
+        do {
+            result = decoder.decode(buffer, chars, true);
+            cast(chars).flip();
+            sb.append(chars);
+            cast(chars).clear();
+        } while (result.isOverflow());
+        do {
+            result = decoder.flush(chars);
+            cast(chars).flip();
+            sb.append(chars);
+            cast(chars).clear();
+        } while (result.isOverflow());
+        return sb.toString();
     }
 
     @Converter(order = 3)
@@ -70,12 +129,12 @@ public final class NIOConverter {
     }
 
     @Converter(order = 5)
-    public static ByteBuffer toByteBuffer(File file) throws IOException {
-        return toByteBuffer(file.toPath());
+    public static ByteBuffer toByteBuffer(File file, Exchange exchange) throws IOException {
+        return toByteBuffer(file.toPath(), exchange);
     }
 
     @Converter(order = 6)
-    public static ByteBuffer toByteBuffer(Path file) throws IOException {
+    public static ByteBuffer toByteBuffer(Path file, Exchange exchange) throws IOException {
         long length = Files.size(file);
         if (length > Integer.MAX_VALUE) {
             // very big file we cannot load into memory
@@ -83,7 +142,20 @@ public final class NIOConverter {
                     "Cannot convert file: " + file + " to ByteBuffer. The file length is too large: "
                                   + length);
         }
-        return ByteBuffer.wrap(Files.readAllBytes(file));
+        long threshold = getMappedFileThreshold(exchange);
+        if (threshold <= 0 || length < threshold) {
+            return ByteBuffer.wrap(Files.readAllBytes(file));
+        }
+        // map the file read-only so the content is paged in by the OS instead of being copied to the heap,
+        // and the mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        }
+    }
+
+    private static long getMappedFileThreshold(Exchange exchange) {
+        String threshold = exchange != null ? exchange.getContext().getGlobalOption(MAPPED_FILE_THRESHOLD) : null;
+        return threshold != null ? Long.parseLong(threshold) : 0;
     }
 
     @Converter(order = 7)
@@ -147,7 +219,14 @@ public final class NIOConverter {
 
     @Converter(order = 13)
     public static InputStream toInputStream(ByteBuffer bufferbuffer) {
-        return IOConverter.toInputStream(toByteArray(bufferbuffer));
+        // no buffering required as the stream reads from the buffer
+        return new ByteBufferInputStream(bufferbuffer);
+    }
+
+    @Converter(order = 14)
+    public static Reader toReader(ByteBuffer buffer, Exchange exchange) {
+        // the reader decodes the buffer in chunks as it is read
+        return IOHelper.buffered(new InputStreamReader(new ByteBufferInputStream(buffer), ExchangeHelper.getCharset(exchange)));
     }
 
 }
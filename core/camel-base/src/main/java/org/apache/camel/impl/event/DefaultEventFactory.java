@@ -24,6 +24,7 @@ import org.apache.camel.Processor;
 import org.apache.camel.Route;
 import org.apache.camel.spi.CamelEvent;
 import org.apache.camel.spi.EventFactory;
+import org.apache.camel.spi.RouteReloadChange;
 
 /**
  * Default implementation of the {@link org.apache.camel.spi.EventFactory}.
@@ -195,6 +196,16 @@ public class DefaultEventFactory implements EventFactory {
         return answer;
     }
 
+    @Override
+    public CamelEvent createThreadPoolResizedEvent(
+            CamelContext context, Object threadPool, String threadPoolId, int oldPoolSize, int newPoolSize, String reason) {
+        CamelEvent answer = new ThreadPoolResizedEvent(context, threadPool, threadPoolId, oldPoolSize, newPoolSize, reason);
+        if (timestampEnabled) {
+            answer.setTimestamp(System.currentTimeMillis());
+        }
+        return answer;
+    }
+
     @Override
     public CamelEvent createRouteStartingEvent(Route route) {
         CamelEvent answer = new RouteStartingEvent(route);
@@ -279,6 +290,15 @@ public class DefaultEventFactory implements EventFactory {
         return answer;
     }
 
+    @Override
+    public CamelEvent createRouteReloaded(Route route, int index, int total, RouteReloadChange change) {
+        CamelEvent answer = new RouteReloadedEvent(route, index, total, change);
+        if (timestampEnabled) {
+            answer.setTimestamp(System.currentTimeMillis());
+        }
+        return answer;
+    }
+
     @Override
     public CamelEvent createExchangeCreatedEvent(Exchange exchange) {
         CamelEvent answer = new ExchangeCreatedEvent(exchange);
@@ -20,6 +20,7 @@ import java.io.Serial;
 
 import org.apache.camel.Route;
 import org.apache.camel.spi.CamelEvent;
+import org.apache.camel.spi.RouteReloadChange;
 
 public class RouteReloadedEvent extends AbstractRouteEvent implements CamelEvent.RouteReloadedEvent {
 
@@ -27,11 +28,19 @@ public class RouteReloadedEvent extends AbstractRouteEvent implements CamelEvent
 
     private final int index;
     private final int total;
+    private final RouteReloadChange.Kind change;
+    private final String diff;
 
     public RouteReloadedEvent(Route source, int index, int total) {
+        this(source, index, total, null);
+    }
+
+    public RouteReloadedEvent(Route source, int index, int total, RouteReloadChange change) {
         super(source);
         this.index = index;
         this.total = total;
+        this.change = change != null ? change.getKind() : null;
+        this.diff = change != null ? change.getDiff() : null;
     }
 
     @Override
@@ -44,8 +53,21 @@ public class RouteReloadedEvent extends AbstractRouteEvent implements CamelEvent
         return total;
     }
 
+    @Override
+    public RouteReloadChange.Kind getChange() {
+        return change;
+    }
+
+    @Override
+    public String getDiff() {
+        return diff;
+    }
+
     @Override
     public String toString() {
+        if (change != null) {
+            return "Route reloaded: " + getRoute().getId() + " (" + change + (diff != null ? ": " + diff : "") + ")";
+        }
         return "Route reloaded: " + getRoute().getId();
     }
 }
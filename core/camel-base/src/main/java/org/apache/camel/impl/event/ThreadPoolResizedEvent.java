@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.event;
+
+import java.io.Serial;
+import java.util.EventObject;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.spi.CamelEvent;
+
+public class ThreadPoolResizedEvent extends EventObject implements CamelEvent.ThreadPoolResizedEvent {
+    private static final @Serial long serialVersionUID = 4318224916218346723L;
+
+    private final CamelContext context;
+    private final Object threadPool;
+    private final String threadPoolId;
+    private final int oldPoolSize;
+    private final int newPoolSize;
+    private final String reason;
+    private long timestamp;
+
+    public ThreadPoolResizedEvent(CamelContext context, Object threadPool, String threadPoolId, int oldPoolSize,
+                                  int newPoolSize, String reason) {
+        super(threadPool);
+        this.context = context;
+        this.threadPool = threadPool;
+        this.threadPoolId = threadPoolId;
+        this.oldPoolSize = oldPoolSize;
+        this.newPoolSize = newPoolSize;
+        this.reason = reason;
+    }
+
+    public CamelContext getContext() {
+        return context;
+    }
+
+    @Override
+    public Object getService() {
+        return threadPool;
+    }
+
+    @Override
+    public String getThreadPoolId() {
+        return threadPoolId;
+    }
+
+    @Override
+    public int getOldPoolSize() {
+        return oldPoolSize;
+    }
+
+    @Override
+    public int getNewPoolSize() {
+        return newPoolSize;
+    }
+
+    @Override
+    public String getReason() {
+        return reason;
+    }
+
+    @Override
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "Thread pool resized: " + threadPoolId + " from " + oldPoolSize + " to " + newPoolSize + " due to " + reason;
+    }
+}
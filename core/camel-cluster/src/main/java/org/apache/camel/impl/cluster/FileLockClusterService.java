@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.cluster;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.support.cluster.AbstractCamelClusterService;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * A {@link org.apache.camel.cluster.CamelClusterService} that elects a leader per namespace by acquiring an exclusive
+ * {@link java.nio.channels.FileChannel#tryLock() file lock} on a file located in the configured root directory.
+ * <p/>
+ * The leader periodically renews its lease by writing a heartbeat file next to the lock file, which lets the other
+ * members know who the current leader is and measure how long it took to take over once the leader went away. This
+ * service requires no network service and is meant for multiple JVMs running on the same host or sharing a volume.
+ */
+@ManagedResource(description = "File lock based cluster service")
+public class FileLockClusterService extends AbstractCamelClusterService<FileLockClusterView> {
+
+    private String root;
+    private long acquireLockDelay;
+    private TimeUnit acquireLockDelayUnit;
+    private long acquireLockInterval;
+    private TimeUnit acquireLockIntervalUnit;
+    private int heartbeatTimeoutMultiplier;
+    private ScheduledExecutorService executor;
+
+    private final Lock executorLock = new ReentrantLock();
+    private final LongAdder failoverCount = new LongAdder();
+    private final AtomicLong lastFailoverTime = new AtomicLong(-1);
+    private final AtomicLong maxFailoverTime = new AtomicLong(-1);
+
+    public FileLockClusterService() {
+        this.acquireLockDelay = 1;
+        this.acquireLockDelayUnit = TimeUnit.SECONDS;
+        this.acquireLockInterval = 500;
+        this.acquireLockIntervalUnit = TimeUnit.MILLISECONDS;
+        this.heartbeatTimeoutMultiplier = 5;
+    }
+
+    @Override
+    protected FileLockClusterView createView(String namespace) throws Exception {
+        return new FileLockClusterView(this, namespace);
+    }
+
+    @ManagedAttribute(description = "The root directory where lock and heartbeat files are stored")
+    public String getRoot() {
+        return root;
+    }
+
+    /**
+     * Sets the root path.
+     */
+    public void setRoot(String root) {
+        this.root = root;
+    }
+
+    public long getAcquireLockDelay() {
+        return acquireLockDelay;
+    }
+
+    /**
+     * The time to wait before starting to try to acquire lock.
+     */
+    public void setAcquireLockDelay(long acquireLockDelay) {
+        this.acquireLockDelay = acquireLockDelay;
+    }
+
+    public void setAcquireLockDelay(long pollDelay, TimeUnit pollDelayUnit) {
+        setAcquireLockDelay(pollDelay);
+        setAcquireLockDelayUnit(pollDelayUnit);
+    }
+
+    public TimeUnit getAcquireLockDelayUnit() {
+        return acquireLockDelayUnit;
+    }
+
+    /**
+     * The time unit for the acquireLockDelay, default to TimeUnit.SECONDS.
+     */
+    public void setAcquireLockDelayUnit(TimeUnit acquireLockDelayUnit) {
+        this.acquireLockDelayUnit = acquireLockDelayUnit;
+    }
+
+    public long getAcquireLockInterval() {
+        return acquireLockInterval;
+    }
+
+    /**
+     * The time to wait between attempts to acquire the lock, which is also the interval at which the leader renews its
+     * heartbeat.
+     */
+    public void setAcquireLockInterval(long acquireLockInterval) {
+        this.acquireLockInterval = acquireLockInterval;
+    }
+
+    public void setAcquireLockInterval(long pollInterval, TimeUnit pollIntervalUnit) {
+        setAcquireLockInterval(pollInterval);
+        setAcquireLockIntervalUnit(pollIntervalUnit);
+    }
+
+    public TimeUnit getAcquireLockIntervalUnit() {
+        return acquireLockIntervalUnit;
+    }
+
+    /**
+     * The time unit for the acquireLockInterval, default to TimeUnit.MILLISECONDS.
+     */
+    public void setAcquireLockIntervalUnit(TimeUnit acquireLockIntervalUnit) {
+        this.acquireLockIntervalUnit = acquireLockIntervalUnit;
+    }
+
+    public int getHeartbeatTimeoutMultiplier() {
+        return heartbeatTimeoutMultiplier;
+    }
+
+    /**
+     * Multiplier applied to the acquireLockInterval to compute the time after which a heartbeat that has not been
+     * renewed is considered stale, default to 5.
+     */
+    public void setHeartbeatTimeoutMultiplier(int heartbeatTimeoutMultiplier) {
+        this.heartbeatTimeoutMultiplier = heartbeatTimeoutMultiplier;
+    }
+
+    @ManagedAttribute(description = "Number of times this service took over the leadership from another member")
+    public long getFailoverCount() {
+        return failoverCount.sum();
+    }
+
+    @ManagedAttribute(description = "Time in millis between the last heartbeat of the previous leader and the last takeover (-1 if none)")
+    public long getLastFailoverTime() {
+        return lastFailoverTime.get();
+    }
+
+    @ManagedAttribute(description = "Longest observed failover time in millis (-1 if none)")
+    public long getMaxFailoverTime() {
+        return maxFailoverTime.get();
+    }
+
+    long getHeartbeatTimeoutMillis() {
+        return acquireLockIntervalUnit.toMillis(acquireLockInterval) * Math.max(1, heartbeatTimeoutMultiplier);
+    }
+
+    void onFailover(long elapsed) {
+        failoverCount.increment();
+        lastFailoverTime.set(elapsed);
+        maxFailoverTime.accumulateAndGet(elapsed, Math::max);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (ObjectHelper.isEmpty(getId())) {
+            // the id is written to the heartbeat file to identify the leader
+            setId(ObjectHelper.notNull(getCamelContext(), "CamelContext").getUuidGenerator().generateUuid());
+        }
+
+        super.doStart();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        CamelContext context = getCamelContext();
+
+        executorLock.lock();
+        try {
+            if (executor != null) {
+                if (context != null) {
+                    context.getExecutorServiceManager().shutdown(executor);
+                } else {
+                    executor.shutdown();
+                }
+
+                executor = null;
+            }
+        } finally {
+            executorLock.unlock();
+        }
+    }
+
+    ScheduledExecutorService getExecutor() {
+        executorLock.lock();
+        try {
+            if (executor == null) {
+                // Camel context should be set at this stage.
+                final CamelContext context = ObjectHelper.notNull(getCamelContext(), "CamelContext");
+
+                executor = context.getExecutorServiceManager().newSingleThreadScheduledExecutor(
+                        this,
+                        "FileLockClusterService-" + getId());
+            }
+
+            return executor;
+        } finally {
+            executorLock.unlock();
+        }
+    }
+}
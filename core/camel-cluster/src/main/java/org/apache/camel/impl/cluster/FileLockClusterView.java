@@ -0,0 +1,402 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.cluster;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.cluster.CamelClusterMember;
+import org.apache.camel.support.cluster.AbstractCamelClusterView;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cluster view backed by an exclusive lock on the file {@code <root>/<namespace>}.
+ * <p/>
+ * The member holding the lock is the leader and renews a heartbeat in {@code <root>/<namespace>.dat} at every lock
+ * interval. The heartbeat contains the id of the leader and the time of the last renewal so followers can expose the
+ * current leader and the new leader can compute the failover time.
+ */
+public class FileLockClusterView extends AbstractCamelClusterView {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileLockClusterView.class);
+
+    private static final int HEARTBEAT_MAGIC = 0x43464c48;
+    private static final int HEARTBEAT_MAX_SIZE = 512;
+
+    private final ClusterMember localMember;
+    private final Path path;
+    private final Path heartbeatPath;
+    private final ByteBuffer heartbeatBuffer;
+    private FileChannel lockChannel;
+    private FileChannel heartbeatChannel;
+    private FileLock lock;
+    private ScheduledFuture<?> task;
+    private volatile Heartbeat lastHeartbeat;
+
+    FileLockClusterView(FileLockClusterService cluster, String namespace) {
+        super(cluster, namespace);
+
+        ObjectHelper.notNull(cluster.getRoot(), "root");
+
+        this.localMember = new ClusterMember();
+        this.path = Paths.get(cluster.getRoot(), namespace);
+        this.heartbeatPath = Paths.get(cluster.getRoot(), namespace + ".dat");
+        this.heartbeatBuffer = ByteBuffer.allocate(HEARTBEAT_MAX_SIZE);
+    }
+
+    @Override
+    public Optional<CamelClusterMember> getLeader() {
+        if (localMember.isLeader()) {
+            return Optional.of(localMember);
+        }
+
+        Heartbeat heartbeat = lastHeartbeat;
+        if (heartbeat != null && !heartbeat.isStale(heartbeatTimeout())) {
+            return Optional.of(new RemoteMember(heartbeat.leaderId));
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public CamelClusterMember getLocalMember() {
+        return this.localMember;
+    }
+
+    @Override
+    public List<CamelClusterMember> getMembers() {
+        // Only the leader is known as followers do not advertise themselves
+        return getLeader().filter(member -> !member.isLocal()).map(Collections::singletonList)
+                .orElse(Collections.emptyList());
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (lockChannel != null) {
+            closeInternal();
+
+            fireLeadershipChangedEvent((CamelClusterMember) null);
+        }
+
+        if (!Files.exists(path.getParent())) {
+            Files.createDirectories(path.getParent());
+        }
+
+        FileLockClusterService service = getClusterService().unwrap(FileLockClusterService.class);
+        ScheduledExecutorService executor = service.getExecutor();
+
+        task = executor.scheduleWithFixedDelay(
+                this::tryLock,
+                TimeUnit.MILLISECONDS.convert(service.getAcquireLockDelay(), service.getAcquireLockDelayUnit()),
+                TimeUnit.MILLISECONDS.convert(service.getAcquireLockInterval(), service.getAcquireLockIntervalUnit()),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        boolean wasLeader = localMember.isLeader();
+
+        closeInternal();
+
+        if (wasLeader) {
+            fireLeadershipChangedEvent((CamelClusterMember) null);
+        }
+    }
+
+    // *********************************
+    // Helpers
+    // *********************************
+
+    private synchronized void closeInternal() {
+        if (task != null) {
+            task.cancel(true);
+            task = null;
+        }
+
+        releaseLock();
+
+        IOHelper.close(heartbeatChannel);
+        heartbeatChannel = null;
+        lastHeartbeat = null;
+    }
+
+    private synchronized void releaseLock() {
+        if (lock != null) {
+            try {
+                lock.release();
+            } catch (Exception e) {
+                LOG.debug("Failed to release lock on file {}", path, e);
+            }
+            lock = null;
+        }
+
+        IOHelper.close(lockChannel);
+        lockChannel = null;
+        // the heartbeat was our own, which must not be reported as a remote leader
+        lastHeartbeat = null;
+    }
+
+    private long heartbeatTimeout() {
+        return getClusterService().unwrap(FileLockClusterService.class).getHeartbeatTimeoutMillis();
+    }
+
+    private void tryLock() {
+        if (!isStarting() && !isStarted()) {
+            return;
+        }
+
+        try {
+            if (localMember.isLeader()) {
+                renewLease();
+            } else {
+                acquireLease();
+            }
+        } catch (Exception e) {
+            LOG.debug("Exception caught while trying to acquire or renew the lock on file {}", path, e);
+        }
+    }
+
+    private void renewLease() {
+        boolean lost;
+
+        synchronized (this) {
+            Heartbeat current = null;
+            try {
+                current = readHeartbeat();
+                Heartbeat own = lastHeartbeat;
+                if (current != null && own != null && !Objects.equals(current.leaderId, localMember.getId())
+                        && current.timestamp > own.timestamp) {
+                    // the file system does not honour the lock (i.e. some network file systems) and another
+                    // member claimed the leadership, so step down rather than having two leaders
+                    LOG.warn("Heartbeat on file {} renewed by member {}, stepping down", heartbeatPath, current.leaderId);
+                    lost = true;
+                } else {
+                    writeHeartbeat();
+                    LOG.trace("Holding the lock on file {} (lock={})", path, lock);
+                    lost = false;
+                }
+            } catch (IOException e) {
+                LOG.warn("Failed to renew heartbeat on file {}, releasing the lock", heartbeatPath, e);
+                lost = true;
+            }
+
+            if (lost) {
+                releaseLock();
+                // follow the member which claimed the leadership, if any
+                if (current != null && !Objects.equals(current.leaderId, localMember.getId())) {
+                    lastHeartbeat = current;
+                }
+            }
+        }
+
+        if (lost) {
+            fireLeadershipChangedEvent((CamelClusterMember) null);
+        }
+    }
+
+    private void acquireLease() throws IOException {
+        boolean acquired;
+        boolean hadLock;
+
+        synchronized (this) {
+            hadLock = lock != null;
+            if (hadLock) {
+                LOG.info("Lock on file {} lost (lock={})", path, lock);
+                releaseLock();
+            }
+
+            LOG.debug("Try to acquire a lock on {}", path);
+
+            lockChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                lock = lockChannel.tryLock(0, Math.max(1, lockChannel.size()), false);
+            } catch (OverlappingFileLockException e) {
+                // another view in this JVM already holds the lock
+                lock = null;
+            }
+
+            if (lock != null) {
+                Heartbeat previous = readHeartbeat();
+                long now = System.currentTimeMillis();
+
+                writeHeartbeat();
+                acquired = true;
+
+                LOG.info("Lock on file {} acquired (lock={})", path, lock);
+
+                if (previous != null && !Objects.equals(previous.leaderId, localMember.getId())) {
+                    long elapsed = Math.max(0, now - previous.timestamp);
+                    getClusterService().unwrap(FileLockClusterService.class).onFailover(elapsed);
+
+                    LOG.info("Took over leadership of {} from member {} in {} millis", getNamespace(), previous.leaderId,
+                            elapsed);
+                }
+            } else {
+                IOHelper.close(lockChannel);
+                lockChannel = null;
+                acquired = false;
+
+                // keep track of the leader as seen through its heartbeat
+                Heartbeat current = readHeartbeat();
+                if (current != null && current.isStale(heartbeatTimeout())) {
+                    LOG.debug("Lock on file {} not acquired and heartbeat of member {} is stale", path, current.leaderId);
+                } else {
+                    LOG.debug("Lock on file {} not acquired", path);
+                }
+                lastHeartbeat = current;
+            }
+        }
+
+        if (acquired) {
+            fireLeadershipChangedEvent(localMember);
+        } else if (hadLock) {
+            fireLeadershipChangedEvent((CamelClusterMember) null);
+        }
+    }
+
+    private FileChannel heartbeatChannel() throws IOException {
+        if (heartbeatChannel == null || !heartbeatChannel.isOpen()) {
+            heartbeatChannel = FileChannel.open(heartbeatPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        }
+        return heartbeatChannel;
+    }
+
+    private void writeHeartbeat() throws IOException {
+        if (lock == null || !lock.isValid()) {
+            throw new IOException("Lock on file " + path + " is no longer valid");
+        }
+
+        Heartbeat heartbeat = new Heartbeat(localMember.getId(), System.currentTimeMillis());
+        byte[] id = heartbeat.leaderId.getBytes(StandardCharsets.UTF_8);
+
+        heartbeatBuffer.clear();
+        heartbeatBuffer.putInt(HEARTBEAT_MAGIC);
+        heartbeatBuffer.putLong(heartbeat.timestamp);
+        heartbeatBuffer.putShort((short) Math.min(id.length, HEARTBEAT_MAX_SIZE - 14));
+        heartbeatBuffer.put(id, 0, Math.min(id.length, HEARTBEAT_MAX_SIZE - 14));
+        heartbeatBuffer.flip();
+
+        FileChannel channel = heartbeatChannel();
+        int size = heartbeatBuffer.remaining();
+        channel.write(heartbeatBuffer, 0);
+        channel.truncate(size);
+
+        lastHeartbeat = heartbeat;
+    }
+
+    private Heartbeat readHeartbeat() throws IOException {
+        if (!Files.exists(heartbeatPath)) {
+            return null;
+        }
+
+        FileChannel channel = heartbeatChannel();
+        ByteBuffer buffer = ByteBuffer.allocate(HEARTBEAT_MAX_SIZE);
+        channel.read(buffer, 0);
+        buffer.flip();
+
+        if (buffer.remaining() < 14 || buffer.getInt() != HEARTBEAT_MAGIC) {
+            return null;
+        }
+
+        long timestamp = buffer.getLong();
+        int length = buffer.getShort();
+        if (length < 0 || length > buffer.remaining()) {
+            // partially written heartbeat
+            return null;
+        }
+
+        byte[] id = new byte[length];
+        buffer.get(id);
+
+        return new Heartbeat(new String(id, StandardCharsets.UTF_8), timestamp);
+    }
+
+    private static final class Heartbeat {
+        private final String leaderId;
+        private final long timestamp;
+
+        Heartbeat(String leaderId, long timestamp) {
+            this.leaderId = leaderId;
+            this.timestamp = timestamp;
+        }
+
+        boolean isStale(long timeout) {
+            return System.currentTimeMillis() - timestamp > timeout;
+        }
+    }
+
+    private final class ClusterMember implements CamelClusterMember {
+        @Override
+        public boolean isLeader() {
+            synchronized (FileLockClusterView.this) {
+                return lock != null && lock.isValid();
+            }
+        }
+
+        @Override
+        public boolean isLocal() {
+            return true;
+        }
+
+        @Override
+        public String getId() {
+            return getClusterService().getId();
+        }
+    }
+
+    private static final class RemoteMember implements CamelClusterMember {
+        private final String id;
+
+        RemoteMember(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean isLeader() {
+            return true;
+        }
+
+        @Override
+        public boolean isLocal() {
+            return false;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.cluster;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.cluster.CamelClusterEventListener;
+import org.apache.camel.cluster.CamelClusterMember;
+import org.apache.camel.cluster.CamelClusterView;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileLockClusterServiceTest {
+
+    private static final String NAMESPACE = "my-ns";
+
+    @TempDir
+    File dir;
+
+    private CamelContext context1;
+    private CamelContext context2;
+    private FileLockClusterService service1;
+    private FileLockClusterService service2;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        context1 = new DefaultCamelContext();
+        context1.start();
+        context2 = new DefaultCamelContext();
+        context2.start();
+        // two members sharing the same root directory
+        service1 = newService(context1, "member-1");
+        service2 = newService(context2, "member-2");
+    }
+
+    @AfterEach
+    void tearDown() {
+        context1.stop();
+        context2.stop();
+    }
+
+    private FileLockClusterService newService(CamelContext context, String id) throws Exception {
+        FileLockClusterService service = new FileLockClusterService();
+        service.setId(id);
+        service.setRoot(dir.getAbsolutePath());
+        service.setAcquireLockDelay(10, TimeUnit.MILLISECONDS);
+        service.setAcquireLockInterval(50, TimeUnit.MILLISECONDS);
+        context.addService(service);
+        return service;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 200 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(25);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private static boolean isLeader(CamelClusterView view) {
+        return view.getLocalMember().isLeader();
+    }
+
+    private static String leaderId(CamelClusterView view) {
+        return view.getLeader().map(CamelClusterMember::getId).orElse(null);
+    }
+
+    @Test
+    void shouldElectSingleLeader() throws Exception {
+        CamelClusterView view1 = service1.getView(NAMESPACE);
+        CamelClusterView view2 = service2.getView(NAMESPACE);
+
+        await(() -> isLeader(view1) || isLeader(view2));
+        CamelClusterView leader = isLeader(view1) ? view1 : view2;
+        CamelClusterView follower = leader == view1 ? view2 : view1;
+
+        // the follower knows the leader from its heartbeat
+        await(() -> follower.getLeader().isPresent());
+        assertEquals(leader.getLocalMember().getId(), leaderId(follower));
+        assertFalse(follower.getLeader().get().isLocal());
+        assertEquals(1, follower.getMembers().size());
+        assertTrue(leader.getLeader().get().isLocal());
+        assertTrue(leader.getMembers().isEmpty());
+        assertTrue(new File(dir, NAMESPACE).exists());
+        assertTrue(new File(dir, NAMESPACE + ".dat").exists());
+
+        // and the leadership does not change while the leader renews its heartbeat
+        Thread.sleep(300);
+        assertTrue(isLeader(leader));
+        assertFalse(isLeader(follower));
+        assertEquals(leader.getLocalMember().getId(), leaderId(follower));
+        assertEquals(0, service1.getFailoverCount() + service2.getFailoverCount());
+    }
+
+    @Test
+    void shouldMoveLeadershipWhenLeaderViewStops() throws Exception {
+        CamelClusterView view1 = service1.getView(NAMESPACE);
+        CamelClusterView view2 = service2.getView(NAMESPACE);
+
+        await(() -> isLeader(view1) || isLeader(view2));
+        CamelClusterView leader = isLeader(view1) ? view1 : view2;
+        CamelClusterView follower = leader == view1 ? view2 : view1;
+        FileLockClusterService leaderService = (FileLockClusterService) leader.getClusterService();
+        FileLockClusterService followerService = (FileLockClusterService) follower.getClusterService();
+        assertNotSame(leaderService, followerService);
+        await(() -> follower.getLeader().isPresent());
+
+        List<CamelClusterMember> leaders = new CopyOnWriteArrayList<>();
+        follower.addEventListener((CamelClusterEventListener.Leadership) (view, member) -> {
+            if (member != null) {
+                leaders.add(member);
+            }
+        });
+
+        leaderService.stopView(NAMESPACE);
+        assertFalse(isLeader(leader));
+        assertFalse(leaderService.isLeader(NAMESPACE));
+
+        // the follower takes over the lock
+        await(() -> isLeader(follower));
+        assertTrue(followerService.isLeader(NAMESPACE));
+        assertEquals(1, followerService.getFailoverCount());
+        assertTrue(followerService.getLastFailoverTime() >= 0);
+        assertEquals(followerService.getLastFailoverTime(), followerService.getMaxFailoverTime());
+        await(() -> leaders.stream().anyMatch(CamelClusterMember::isLocal));
+
+        // the former leader becomes a follower when its view starts again
+        leaderService.startView(NAMESPACE);
+        await(() -> followerService.getId().equals(leaderId(leader)));
+        assertFalse(isLeader(leader));
+        assertTrue(isLeader(follower));
+        assertEquals(0, leaderService.getFailoverCount());
+    }
+}
@@ -84,6 +84,8 @@ public class CamelContextConfigurer extends org.apache.camel.support.component.P
         case "modeline": target.setModeline(property(camelContext, java.lang.Boolean.class, value)); return true;
         case "namestrategy":
         case "nameStrategy": target.setNameStrategy(property(camelContext, org.apache.camel.spi.CamelContextNameStrategy.class, value)); return true;
+        case "parallelroutestartup":
+        case "parallelRouteStartup": target.setParallelRouteStartup(property(camelContext, java.lang.Boolean.class, value)); return true;
         case "propertiescomponent":
         case "propertiesComponent": target.setPropertiesComponent(property(camelContext, org.apache.camel.spi.PropertiesComponent.class, value)); return true;
         case "restconfiguration":
@@ -204,6 +206,8 @@ public class CamelContextConfigurer extends org.apache.camel.support.component.P
         case "modeline": return java.lang.Boolean.class;
         case "namestrategy":
         case "nameStrategy": return org.apache.camel.spi.CamelContextNameStrategy.class;
+        case "parallelroutestartup":
+        case "parallelRouteStartup": return java.lang.Boolean.class;
         case "propertiescomponent":
         case "propertiesComponent": return org.apache.camel.spi.PropertiesComponent.class;
         case "restconfiguration":
@@ -325,6 +329,8 @@ public class CamelContextConfigurer extends org.apache.camel.support.component.P
         case "modeline": return target.isModeline();
         case "namestrategy":
         case "nameStrategy": return target.getNameStrategy();
+        case "parallelroutestartup":
+        case "parallelRouteStartup": return target.isParallelRouteStartup();
         case "propertiescomponent":
         case "propertiesComponent": return target.getPropertiesComponent();
         case "restconfiguration":
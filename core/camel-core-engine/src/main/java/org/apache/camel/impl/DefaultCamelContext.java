@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.apache.camel.CamelContext;
@@ -37,6 +38,7 @@ import org.apache.camel.RouteTemplateContext;
 import org.apache.camel.StartupStep;
 import org.apache.camel.api.management.JmxSystemPropertyKeys;
 import org.apache.camel.impl.engine.DefaultExecutorServiceManager;
+import org.apache.camel.impl.engine.ParallelStartupHelper;
 import org.apache.camel.impl.engine.RouteService;
 import org.apache.camel.impl.engine.SimpleCamelContext;
 import org.apache.camel.model.BeanFactoryDefinition;
@@ -68,6 +70,7 @@ import org.apache.camel.spi.ModelReifierFactory;
 import org.apache.camel.spi.PackageScanClassResolver;
 import org.apache.camel.spi.PropertiesComponent;
 import org.apache.camel.spi.Registry;
+import org.apache.camel.spi.ResourceReloadStrategy;
 import org.apache.camel.spi.StartupStepRecorder;
 import org.apache.camel.spi.Transformer;
 import org.apache.camel.spi.TransformerKey;
@@ -638,6 +641,15 @@ public class DefaultCamelContext extends SimpleCamelContext implements ModelCame
         removeRouteDefinitions(toBeRemoved);
     }
 
+    private boolean isIncrementalReload() {
+        for (ResourceReloadStrategy strategy : hasServices(ResourceReloadStrategy.class)) {
+            if (strategy.isIncremental()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public void startRouteDefinitions(List<RouteDefinition> routeDefinitions) throws Exception {
         // indicate we are staring the route using this thread so
         // we are able to query this if needed
@@ -654,7 +666,19 @@ public class DefaultCamelContext extends SimpleCamelContext implements ModelCame
         if (registry instanceof LocalBeanRepositoryAware localBeanRepositoryAware) {
             localBeans = localBeanRepositoryAware;
         }
+        // when creating routes in parallel then the routes are collected and created together,
+        // but routes from templates use local properties and beans, and are therefore created one by one
+        final boolean parallel = ParallelStartupHelper.isParallel(this, routeDefinitions.size());
+        final List<RouteDefinition> routeDefinitionsToCreate = new ArrayList<>();
         try {
+            if (isIncrementalReload()) {
+                // remember the definitions before the routes are created, so they can be compared when reloading
+                for (RouteDefinition routeDefinition : routeDefinitions) {
+                    if (routeDefinition.getDiffSnapshot() == null) {
+                        routeDefinition.updateDiffSnapshot();
+                    }
+                }
+            }
             RouteDefinitionHelper.forceAssignIds(getCamelContextReference(), routeDefinitions);
             List<RouteDefinition> routeDefinitionsToRemove = null;
             for (RouteDefinition routeDefinition : routeDefinitions) {
@@ -673,6 +697,9 @@ public class DefaultCamelContext extends SimpleCamelContext implements ModelCame
                     if (routeDefinition.isTemplate() != null && routeDefinition.isTemplate()
                             && routeDefinition.getTemplateParameters() != null) {
 
+                        // create and start the pending routes first to keep the order of the routes
+                        createAndStartRoutesInParallel(routeDefinitionsToCreate);
+
                         // apply configurer if any present
                         if (routeDefinition.getRouteTemplateContext().getConfigurer() != null) {
                             routeDefinition.getRouteTemplateContext().getConfigurer()
@@ -756,6 +783,13 @@ public class DefaultCamelContext extends SimpleCamelContext implements ModelCame
                         RouteDefinitionHelper.forceAssignIds(this, routeDefinition.getInput());
                         RouteDefinitionHelper.forceAssignIds(this, routeDefinition);
 
+                        boolean templated = routeDefinition.isTemplate() != null && routeDefinition.isTemplate()
+                                && routeDefinition.getTemplateParameters() != null;
+                        if (parallel && !templated) {
+                            routeDefinitionsToCreate.add(routeDefinition);
+                            continue;
+                        }
+
                         StartupStepRecorder recorder
                                 = getCamelContextReference().getCamelContextExtension().getStartupStepRecorder();
                         StartupStep step = recorder.beginStep(Route.class, routeDefinition.getRouteId(), "Create Route");
@@ -782,6 +816,7 @@ public class DefaultCamelContext extends SimpleCamelContext implements ModelCame
                     }
                 }
             }
+            createAndStartRoutesInParallel(routeDefinitionsToCreate);
             if (routeDefinitionsToRemove != null) {
                 // Remove all the excluded routes
                 model.removeRouteDefinitions(routeDefinitionsToRemove);
@@ -794,6 +829,34 @@ public class DefaultCamelContext extends SimpleCamelContext implements ModelCame
         }
     }
 
+    /**
+     * Creates the routes from the prepared route definitions concurrently, and then starts the route services in the
+     * order of the route definitions.
+     */
+    private void createAndStartRoutesInParallel(List<RouteDefinition> routeDefinitions) throws Exception {
+        if (routeDefinitions.isEmpty()) {
+            return;
+        }
+
+        Map<String, Route> routes = new ConcurrentHashMap<>();
+        ParallelStartupHelper.doInParallel(this, this, "Create Routes", routeDefinitions, routeDefinition -> {
+            setStartingRoutes(true);
+            getCamelContextExtension().createRoute(routeDefinition.getRouteId());
+            try {
+                routes.put(routeDefinition.getRouteId(), model.getModelReifierFactory().createRoute(this, routeDefinition));
+            } finally {
+                getCamelContextExtension().createRoute(null);
+                setStartingRoutes(false);
+            }
+        });
+
+        for (RouteDefinition routeDefinition : routeDefinitions) {
+            RouteService routeService = new RouteService(routes.get(routeDefinition.getRouteId()));
+            startRouteService(routeService, true);
+        }
+        routeDefinitions.clear();
+    }
+
     @Override
     protected ExecutorServiceManager createExecutorServiceManager() {
         return new DefaultExecutorServiceManager(this);
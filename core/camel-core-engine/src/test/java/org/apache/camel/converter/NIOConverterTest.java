@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NIOConverterTest {
+
+    private CamelContext context;
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() {
+        context = new DefaultCamelContext();
+        context.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    @Test
+    void shouldCopyBufferToByteArray() {
+        byte[] data = "Hello".getBytes();
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+
+        byte[] bytes = context.getTypeConverter().convertTo(byte[].class, buffer);
+
+        assertArrayEquals(data, bytes);
+        assertNotSame(data, bytes);
+        // the buffer is not changed by the conversion, nor by changing the result
+        bytes[0] = 'J';
+        assertEquals('H', data[0]);
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    void shouldReadFileByDefault() throws Exception {
+        Path file = Files.write(dir.resolve("hello.txt"), "Hello World".getBytes());
+        Exchange exchange = new DefaultExchange(context);
+
+        ByteBuffer buffer = context.getTypeConverter().convertTo(ByteBuffer.class, exchange, file);
+
+        assertFalse(buffer instanceof MappedByteBuffer);
+        assertEquals("Hello World", context.getTypeConverter().convertTo(String.class, exchange, buffer));
+    }
+
+    @Test
+    void shouldMapFileFromThreshold() throws Exception {
+        context.getGlobalOptions().put(NIOConverter.MAPPED_FILE_THRESHOLD, "5");
+        Path small = Files.write(dir.resolve("small.txt"), "Hi".getBytes());
+        Path large = Files.write(dir.resolve("large.txt"), "Hello World".getBytes());
+        Exchange exchange = new DefaultExchange(context);
+
+        ByteBuffer buffer = context.getTypeConverter().convertTo(ByteBuffer.class, exchange, small.toFile());
+        assertFalse(buffer instanceof MappedByteBuffer);
+
+        buffer = context.getTypeConverter().convertTo(ByteBuffer.class, exchange, large.toFile());
+        assertInstanceOf(MappedByteBuffer.class, buffer);
+        assertTrue(buffer.isReadOnly());
+        assertEquals("Hello World", context.getTypeConverter().convertTo(String.class, exchange, buffer));
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Consumer;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.Route;
+import org.apache.camel.ServiceStatus;
+import org.apache.camel.StartupStep;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.engine.ParallelStartupHelper;
+import org.apache.camel.support.DefaultComponent;
+import org.apache.camel.support.DefaultConsumer;
+import org.apache.camel.support.DefaultEndpoint;
+import org.apache.camel.support.startup.BacklogStartupStepRecorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelRouteStartupTest {
+
+    private final List<String> started = new CopyOnWriteArrayList<>();
+    private final List<String> threads = new CopyOnWriteArrayList<>();
+    private final List<RecordingConsumer> consumers = new CopyOnWriteArrayList<>();
+    private CamelContext context;
+
+    @BeforeEach
+    void setUp() {
+        context = new DefaultCamelContext();
+        context.setParallelRouteStartup(true);
+        context.addComponent("record", new RecordingComponent());
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    @Test
+    void shouldStartGroupsInStartupOrder() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                for (int i = 0; i < 30; i++) {
+                    from("record:auto" + i).routeId("auto" + i).process(e -> {
+                    });
+                    // mix routes with an explicit startup order in between the others
+                    if (i == 5) {
+                        from("record:late2").routeId("late2").startupOrder(2001).process(e -> {
+                        });
+                        from("record:early3").routeId("early3").startupOrder(3).process(e -> {
+                        });
+                    } else if (i == 15) {
+                        from("record:early1").routeId("early1").startupOrder(1).process(e -> {
+                        });
+                        from("record:late1").routeId("late1").startupOrder(2000).process(e -> {
+                        });
+                    } else if (i == 25) {
+                        from("record:early2").routeId("early2").startupOrder(2).process(e -> {
+                        });
+                    }
+                }
+            }
+        });
+        context.start();
+
+        assertEquals(35, context.getRoutes().size());
+        for (Route route : context.getRoutes()) {
+            assertEquals(ServiceStatus.Started, context.getRouteController().getRouteStatus(route.getRouteId()));
+        }
+        assertEquals(35, context.getCamelContextExtension().getRouteStartupOrder().size());
+
+        assertEquals(35, started.size());
+        assertEquals(List.of("early1", "early2", "early3"), started.subList(0, 3));
+        assertEquals(List.of("late1", "late2"), started.subList(33, 35));
+        for (String name : started.subList(3, 33)) {
+            assertTrue(name.startsWith("auto"), name);
+        }
+        // the routes with an auto assigned startup order are started by the shared startup thread pool
+        for (String name : threads) {
+            assertTrue(name.contains("RouteStartup"), name);
+        }
+    }
+
+    @Test
+    void shouldStopStartedConsumersWhenRouteFailsToStart() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                for (int i = 0; i < 10; i++) {
+                    from("record:auto" + i).routeId("auto" + i).process(e -> {
+                    });
+                }
+                from("record:fail").routeId("fail").process(e -> {
+                });
+            }
+        });
+
+        assertThrows(Exception.class, () -> context.start());
+
+        assertFalse(consumers.isEmpty());
+        for (RecordingConsumer consumer : consumers) {
+            assertFalse(consumer.isStarted(), consumer.getEndpoint().getEndpointUri());
+        }
+    }
+
+    @Test
+    void shouldRunTasksWithStateOfCallingThread() throws Exception {
+        context.start();
+        DefaultCamelContext camelContext = (DefaultCamelContext) context;
+        BacklogStartupStepRecorder recorder = new BacklogStartupStepRecorder();
+        recorder.setEnabled(true);
+        camelContext.getCamelContextExtension().setStartupStepRecorder(recorder);
+
+        List<StartupStep> steps = new CopyOnWriteArrayList<>();
+        List<Boolean> states = new CopyOnWriteArrayList<>();
+        String caller = Thread.currentThread().getName();
+        StartupStep parent = recorder.beginStep(ParallelRouteStartupTest.class, "test", "Test");
+        camelContext.setLockModel(true);
+        camelContext.getCamelContextExtension().setupRoutes(false);
+        try {
+            ParallelStartupHelper.doInParallel(context, this, "Test Phase", List.of(1, 2, 3, 4), i -> {
+                assertFalse(caller.equals(Thread.currentThread().getName()));
+                states.add(camelContext.isLockModel() && camelContext.getCamelContextExtension().isSetupRoutes());
+                StartupStep step = recorder.beginStep(ParallelRouteStartupTest.class, "task" + i, "Task");
+                steps.add(step);
+                recorder.endStep(step);
+            });
+        } finally {
+            camelContext.getCamelContextExtension().setupRoutes(true);
+            camelContext.setLockModel(false);
+            recorder.endStep(parent);
+        }
+
+        assertEquals(List.of(true, true, true, true), states);
+        // the steps of the tasks are children of the step of the phase
+        StartupStep phase = recorder.steps().filter(s -> "Test Phase".equals(s.getName())).findFirst().orElseThrow();
+        assertEquals(parent.getId(), phase.getParentId());
+        assertEquals(parent.getLevel() + 1, phase.getLevel());
+        assertEquals(4, steps.size());
+        for (StartupStep step : steps) {
+            assertEquals(phase.getId(), step.getParentId());
+            assertEquals(phase.getLevel() + 1, step.getLevel());
+        }
+        // and the pool threads do not keep the state
+        ParallelStartupHelper.doInParallel(context, this, "Test Phase", List.of(1, 2), i -> {
+            assertFalse(camelContext.isLockModel());
+            assertFalse(camelContext.getCamelContextExtension().isSetupRoutes());
+        });
+    }
+
+    private class RecordingComponent extends DefaultComponent {
+
+        @Override
+        protected Endpoint createEndpoint(String uri, String remaining, Map<String, Object> parameters) {
+            return new RecordingEndpoint(uri, this, remaining);
+        }
+    }
+
+    private class RecordingEndpoint extends DefaultEndpoint {
+
+        private final String name;
+
+        RecordingEndpoint(String endpointUri, RecordingComponent component, String name) {
+            super(endpointUri, component);
+            this.name = name;
+        }
+
+        @Override
+        public Producer createProducer() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Consumer createConsumer(Processor processor) {
+            RecordingConsumer consumer = new RecordingConsumer(this, processor, name);
+            consumers.add(consumer);
+            return consumer;
+        }
+    }
+
+    private class RecordingConsumer extends DefaultConsumer {
+
+        private final String name;
+
+        RecordingConsumer(Endpoint endpoint, Processor processor, String name) {
+            super(endpoint, processor);
+            this.name = name;
+        }
+
+        @Override
+        protected void doStart() throws Exception {
+            if ("fail".equals(name)) {
+                throw new IllegalStateException("Forced failure starting " + name);
+            }
+            super.doStart();
+            started.add(name);
+            if (name.startsWith("auto")) {
+                threads.add(Thread.currentThread().getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Route;
+import org.apache.camel.RoutesBuilder;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.builder.RouteConfigurationBuilder;
+import org.apache.camel.model.RouteConfigurationDefinition;
+import org.apache.camel.spi.Resource;
+import org.apache.camel.spi.RouteReloadChange;
+import org.apache.camel.support.PluginHelper;
+import org.apache.camel.support.ResourceHelper;
+import org.apache.camel.support.RouteWatcherReloadStrategy;
+import org.apache.camel.support.RoutesBuilderLoaderSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RouteReloadChangedTest {
+
+    private final Resource resource = ResourceHelper.fromString("mem:routes.java", "");
+    private final Resource configResource = ResourceHelper.fromString("mem:config.java", "");
+    // the builders which are loaded from the resources when reloading
+    private final Map<String, Supplier<RoutesBuilder>> sources = new ConcurrentHashMap<>();
+    private CamelContext context;
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        context = new DefaultCamelContext();
+        RouteWatcherReloadStrategy reloader = new RouteWatcherReloadStrategy(dir.toString());
+        reloader.setIncremental(true);
+        context.addService(reloader);
+        context.getRegistry().bind("routes-builder-loader-java", new TestRoutesBuilderLoader());
+        context.addRoutes(configuration(false));
+        context.addRoutes(routes("b"));
+        context.start();
+        sources.put(resource.getLocation(), () -> routes("b"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    private RouteConfigurationBuilder configuration(boolean intercepted) {
+        RouteConfigurationBuilder builder = new RouteConfigurationBuilder() {
+            @Override
+            public void configuration() {
+                RouteConfigurationDefinition configuration = routeConfiguration();
+                configuration.onException(IllegalStateException.class).maximumRedeliveries(0).log("failed");
+                if (intercepted) {
+                    configuration.interceptFrom().setHeader("configured").constant("true");
+                }
+            }
+        };
+        builder.setResource(configResource);
+        return builder;
+    }
+
+    private RouteBuilder routes(String body) {
+        RouteBuilder builder = new RouteBuilder() {
+            @Override
+            public void configure() {
+                onException(IllegalArgumentException.class).maximumRedeliveries(0).transform().constant("error");
+                intercept().setHeader("intercepted").constant("true");
+
+                from("direct:a").routeId("a").to("direct:b");
+                if (body != null) {
+                    from("direct:b").transform().constant(body).to("direct:c");
+                }
+                from("direct:c").setHeader("c").constant("true");
+            }
+        };
+        builder.setResource(resource);
+        return builder;
+    }
+
+    private static Map<RouteReloadChange.Kind, List<String>> kinds(List<RouteReloadChange> changes) {
+        return changes.stream().collect(Collectors.groupingBy(RouteReloadChange::getKind,
+                Collectors.mapping(RouteReloadChange::getRouteId, Collectors.toList())));
+    }
+
+    private String routeIdOf(String uri) {
+        return context.getRoutes().stream().filter(r -> r.getEndpoint().getEndpointUri().equals(uri))
+                .map(Route::getRouteId).findFirst().orElse(null);
+    }
+
+    @Test
+    void shouldKeepUnchangedRoutes() throws Exception {
+        Route a = context.getRoute("a");
+        String b = routeIdOf("direct://b");
+        String c = routeIdOf("direct://c");
+
+        List<RouteReloadChange> changes = routes("b").updateChangedRoutesToCamelContext(context);
+
+        assertEquals(Map.of(RouteReloadChange.Kind.Unchanged, List.of("a", b, c)), kinds(changes));
+        assertSame(a, context.getRoute("a"));
+        assertEquals(b, routeIdOf("direct://b"));
+        assertEquals(c, routeIdOf("direct://c"));
+        assertEquals("b", context.createProducerTemplate().requestBody("direct:a", "hello"));
+    }
+
+    @Test
+    void shouldReplaceChangedRouteWithoutId() throws Exception {
+        String b = routeIdOf("direct://b");
+        String c = routeIdOf("direct://c");
+
+        List<RouteReloadChange> changes = routes("x").updateChangedRoutesToCamelContext(context);
+
+        String added = routeIdOf("direct://b");
+        assertNotNull(added);
+        assertEquals(Map.of(RouteReloadChange.Kind.Unchanged, List.of("a", c),
+                RouteReloadChange.Kind.Added, List.of(added),
+                RouteReloadChange.Kind.Removed, List.of(b)), kinds(changes));
+        assertNull(context.getRoute(b));
+        assertEquals(3, context.getRoutes().size());
+        assertEquals("x", context.createProducerTemplate().requestBody("direct:a", "hello"));
+    }
+
+    @Test
+    void shouldRemoveRouteWithoutId() throws Exception {
+        String b = routeIdOf("direct://b");
+        String c = routeIdOf("direct://c");
+
+        List<RouteReloadChange> changes = routes(null).updateChangedRoutesToCamelContext(context);
+
+        assertEquals(Map.of(RouteReloadChange.Kind.Unchanged, List.of("a", c),
+                RouteReloadChange.Kind.Removed, List.of(b)), kinds(changes));
+        assertNull(routeIdOf("direct://b"));
+        assertEquals(2, context.getRoutes().size());
+    }
+
+    @Test
+    void shouldUpdateRoutesUsingChangedConfiguration() throws Exception {
+        String b = routeIdOf("direct://b");
+        String c = routeIdOf("direct://c");
+        sources.put(configResource.getLocation(), () -> configuration(true));
+
+        // only the route configuration is reloaded, but the routes using it are changed as well
+        List<RouteReloadChange> changes = PluginHelper.getRoutesLoader(context).updateChangedRoutes(List.of(configResource));
+
+        Map<RouteReloadChange.Kind, List<String>> kinds = kinds(changes);
+        assertEquals(List.of("a"), kinds.get(RouteReloadChange.Kind.Updated));
+        assertEquals(List.of(b, c), kinds.get(RouteReloadChange.Kind.Removed));
+        assertEquals(List.of(routeIdOf("direct://b"), routeIdOf("direct://c")), kinds.get(RouteReloadChange.Kind.Added));
+        assertNull(kinds.get(RouteReloadChange.Kind.Unchanged));
+        assertEquals(3, context.getRoutes().size());
+        Exchange out = context.createProducerTemplate().request("direct:a", e -> e.getMessage().setBody("hello"));
+        assertEquals("b", out.getMessage().getBody());
+        assertEquals("true", out.getMessage().getHeader("configured"));
+    }
+
+    @Test
+    void shouldKeepRoutesUsingUnchangedConfiguration() throws Exception {
+        Route a = context.getRoute("a");
+        sources.put(configResource.getLocation(), () -> configuration(false));
+
+        List<RouteReloadChange> changes = PluginHelper.getRoutesLoader(context).updateChangedRoutes(List.of(configResource));
+
+        assertTrue(changes.isEmpty());
+        assertSame(a, context.getRoute("a"));
+        assertEquals(3, context.getRoutes().size());
+    }
+
+    private final class TestRoutesBuilderLoader extends RoutesBuilderLoaderSupport {
+
+        @Override
+        public String getSupportedExtension() {
+            return "java";
+        }
+
+        @Override
+        public RoutesBuilder loadRoutesBuilder(Resource resource) {
+            return sources.get(resource.getLocation()).get();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.debugger;
+
+import java.util.function.Supplier;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.util.json.JsonObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BacklogTracerRingBufferTest {
+
+    private CamelContext context;
+    private BacklogTracer tracer;
+
+    @BeforeEach
+    void setUp() {
+        context = new DefaultCamelContext();
+        context.start();
+        tracer = BacklogTracer.createTracer(context);
+        tracer.setRingBuffer(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    private static JsonObject messageOf(Supplier<JsonObject> captured) {
+        return (JsonObject) captured.get().get("message");
+    }
+
+    private static String bodyOf(Supplier<JsonObject> captured) {
+        return ((JsonObject) messageOf(captured).get("body")).getString("value");
+    }
+
+    @Test
+    void shouldCaptureImmutableMessage() {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello");
+        exchange.getIn().setHeader("count", 1);
+
+        Supplier<JsonObject> captured = tracer.captureMessage(exchange);
+        exchange.getIn().setBody("Bye");
+        exchange.getIn().setHeader("count", 2);
+
+        assertEquals("Hello", bodyOf(captured));
+        JsonObject header = (JsonObject) messageOf(captured).getCollection("headers").iterator().next();
+        assertEquals(1, header.getInteger("value"));
+    }
+
+    @Test
+    void shouldFormatMutableBodyWhenTraced() {
+        Exchange exchange = new DefaultExchange(context);
+        StringBuilder body = new StringBuilder("Hello");
+        exchange.getIn().setBody(body);
+
+        Supplier<JsonObject> captured = tracer.captureMessage(exchange);
+        body.append(" World");
+
+        assertEquals("Hello", bodyOf(captured));
+    }
+
+    @Test
+    void shouldFormatBytesWhenTraced() {
+        Exchange exchange = new DefaultExchange(context);
+        byte[] body = "Hello".getBytes();
+        exchange.getIn().setBody(body);
+
+        Supplier<JsonObject> captured = tracer.captureMessage(exchange);
+        body[0] = 'J';
+
+        assertEquals("Hello", bodyOf(captured));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.ThreadPoolProfileBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.util.concurrent.AdaptiveThreadPoolExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveThreadPoolTest {
+
+    private CamelContext context;
+
+    @BeforeEach
+    void setUp() {
+        context = new DefaultCamelContext();
+        context.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    @Test
+    void shouldShrinkWhenIdle() throws Exception {
+        ThreadPoolProfile profile = new ThreadPoolProfileBuilder("adaptive").poolSize(1).maxPoolSize(8).maxQueueSize(1000)
+                .adaptive(true).adaptiveInterval(50L).build();
+        ExecutorService pool = context.getExecutorServiceManager().newThreadPool(this, "Adaptive", profile);
+        AdaptiveThreadPoolExecutor executor = assertInstanceOf(AdaptiveThreadPoolExecutor.class, pool);
+
+        // tasks which wait (such as on IO) so the pool grows
+        CountDownLatch latch = new CountDownLatch(200);
+        for (int i = 0; i < 200; i++) {
+            executor.execute(() -> {
+                sleep(10);
+                latch.countDown();
+            });
+        }
+        assertTrue(latch.await(20, TimeUnit.SECONDS));
+        int grown = executor.getCorePoolSize();
+        assertTrue(grown > 1, "Should have grown, was: " + grown);
+
+        // no more tasks are submitted, so the load is only evaluated by the executor service manager
+        for (int i = 0; i < 100 && executor.getCorePoolSize() > 1; i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(1, executor.getCorePoolSize());
+        assertTrue(executor.getResizeCounter() > 1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
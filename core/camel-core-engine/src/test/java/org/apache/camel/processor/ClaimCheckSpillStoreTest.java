@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.ClaimCheckRepository;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ClaimCheckSpillStoreTest {
+
+    @TempDir
+    File dir;
+
+    private CamelContext context;
+    private ClaimCheckSpillStore store;
+    private ClaimCheckRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        context = new DefaultCamelContext();
+        context.start();
+        store = new ClaimCheckSpillStore();
+        store.setCamelContext(context);
+        store.setDirectory(dir);
+        store.setSpillThreshold(100);
+        store.setMaxResidentBytes(150);
+        store.start();
+        repository = store.createRepository();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.stop();
+        context.stop();
+    }
+
+    private Exchange exchange(Object body) {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getMessage().setBody(body);
+        return exchange;
+    }
+
+    private static byte[] bytes(int size) {
+        byte[] bytes = new byte[size];
+        Arrays.fill(bytes, (byte) 'x');
+        return bytes;
+    }
+
+    private int spillFiles() {
+        return dir.list().length;
+    }
+
+    @Test
+    void shouldSpillAndReloadLargeBodies() {
+        byte[] body = bytes(1000);
+        repository.add("bytes", exchange(body));
+        repository.push(exchange("text é".repeat(50)));
+
+        assertEquals(2, store.getSpilledExchanges());
+        assertEquals(2, spillFiles());
+        assertEquals(0, store.getResidentBytes());
+
+        assertArrayEquals(body, repository.get("bytes").getMessage().getBody(byte[].class));
+        // the spill file is kept until the exchange is removed
+        assertArrayEquals(body, repository.get("bytes").getMessage().getBody(byte[].class));
+        assertArrayEquals(body, repository.getAndRemove("bytes").getMessage().getBody(byte[].class));
+        assertEquals("text é".repeat(50), repository.pop().getMessage().getBody());
+
+        assertNull(repository.get("bytes"));
+        assertEquals(0, store.getSpilledExchanges());
+        assertEquals(0, store.getSpilledBytes());
+        assertEquals(0, spillFiles());
+        assertEquals(2, store.getSpillCounter());
+    }
+
+    @Test
+    void shouldPreserveHeadersOfSpilledExchanges() {
+        Exchange exchange = exchange(bytes(1000));
+        exchange.getMessage().setHeader("name", "value");
+        exchange.getMessage().setHeader("count", 3);
+        exchange.setProperty("flag", true);
+        exchange.setVariable("text", new StringBuilder("builder"));
+        repository.add("key", exchange);
+        assertEquals(1, store.getSpilledExchanges());
+
+        Exchange answer = repository.get("key");
+        assertEquals("value", answer.getMessage().getHeader("name"));
+        assertEquals(3, answer.getMessage().getHeader("count"));
+        assertEquals(true, answer.getProperty("flag"));
+        assertEquals("builder", answer.getVariable("text"));
+        assertEquals(exchange.getExchangeId(), answer.getExchangeId());
+    }
+
+    @Test
+    void shouldKeepExchangesWithValuesWhichCannotBeStored() {
+        Exchange exchange = exchange(bytes(1000));
+        Object value = new Object();
+        exchange.getMessage().setHeader("object", value);
+        repository.add("key", exchange);
+
+        // the header would be lost, so the exchange is not spilled
+        assertEquals(0, store.getSpilledExchanges());
+        assertEquals(1, store.getResidentExchanges());
+        assertSame(value, repository.get("key").getMessage().getHeader("object"));
+
+        // unless serialized values are allowed
+        store.setAllowSerializedHeaders(true);
+        exchange = exchange(bytes(1000));
+        exchange.getMessage().setHeader("list", new ArrayList<>(List.of("a")));
+        repository.add("list", exchange);
+        assertEquals(1, store.getSpilledExchanges());
+        assertEquals(List.of("a"), repository.get("list").getMessage().getHeader("list"));
+    }
+
+    @Test
+    void shouldSpillFromThresholdAndMaxResidentBytes() {
+        repository.add("small", exchange(bytes(99)));
+        assertEquals(0, store.getSpilledExchanges());
+        assertEquals(99, store.getResidentBytes());
+
+        repository.add("threshold", exchange(bytes(100)));
+        assertEquals(1, store.getSpilledExchanges());
+
+        // below the threshold, but the resident bytes would exceed the maximum
+        repository.add("full", exchange(bytes(60)));
+        assertEquals(2, store.getSpilledExchanges());
+        assertEquals(99, store.getResidentBytes());
+
+        repository.getAndRemove("small");
+        assertEquals(0, store.getResidentBytes());
+        repository.add("fits", exchange(bytes(60)));
+        assertEquals(2, store.getSpilledExchanges());
+        assertEquals(60, store.getResidentBytes());
+
+        repository.clear();
+        assertEquals(0, store.getResidentBytes());
+        assertEquals(0, spillFiles());
+    }
+
+    @Test
+    void shouldReturnCopiesOfResidentExchanges() {
+        Exchange exchange = exchange("small");
+        exchange.getMessage().setHeader("name", "value");
+        repository.add("key", exchange);
+        assertEquals(1, store.getResidentExchanges());
+
+        Exchange first = repository.get("key");
+        first.getMessage().setHeader("name", "changed");
+        first.getMessage().setBody("changed".getBytes(StandardCharsets.UTF_8));
+
+        Exchange second = repository.get("key");
+        assertNotSame(first, second);
+        assertEquals("value", second.getMessage().getHeader("name"));
+        assertEquals("small", second.getMessage().getBody());
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.Route;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.direct.DirectComponent;
+import org.apache.camel.component.direct.DirectConsumerNotAvailableException;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.reifier.SendReifier;
+import org.apache.camel.support.RoutePolicySupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class InlinedSendProcessorTest {
+
+    private final CountingRoutePolicy policy = new CountingRoutePolicy();
+    private final List<ExchangePattern> patterns = new CopyOnWriteArrayList<>();
+    private CamelContext context;
+    private ProducerTemplate template;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        context = new DefaultCamelContext();
+        context.getGlobalOptions().put(SendReifier.DIRECT_INLINING, "true");
+        // fail right away when the target route is stopped
+        context.getComponent("direct", DirectComponent.class).setBlock(false);
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start").routeId("start")
+                        .to("direct:target").id("toTarget")
+                        .process(e -> patterns.add(e.getPattern()));
+
+                from("direct:target").routeId("target").routePolicy(policy)
+                        .onException(IllegalArgumentException.class).handled(true).transform().constant("handled").end()
+                        .setExchangePattern(ExchangePattern.InOut)
+                        .process(e -> {
+                            if ("fail".equals(e.getMessage().getBody())) {
+                                throw new IllegalArgumentException("Forced");
+                            }
+                        })
+                        .transform().simple("Hello ${body}");
+            }
+        });
+        context.start();
+        template = context.createProducerTemplate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    private InlinedSendProcessor inlined() {
+        return assertInstanceOf(InlinedSendProcessor.class, context.getProcessor("toTarget"));
+    }
+
+    @Test
+    void shouldInlineIntoTargetRoute() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Hello World", template.requestBody("direct:start", "World"));
+        }
+
+        Route target = context.getRoute("target");
+        assertSame(target, inlined().getTarget());
+        // the route policy of the target route is still applied
+        assertEquals(3, policy.begin.get());
+        assertEquals(3, policy.done.get());
+        assertEquals(0, context.getInflightRepository().size());
+    }
+
+    @Test
+    void shouldHandleExceptionInTargetRoute() {
+        assertEquals("handled", template.requestBody("direct:start", "fail"));
+
+        assertSame(context.getRoute("target"), inlined().getTarget());
+        assertEquals(1, policy.begin.get());
+        assertEquals(1, policy.done.get());
+    }
+
+    @Test
+    void shouldRestoreExchangePattern() {
+        template.sendBody("direct:start", "World");
+        template.requestBody("direct:start", "World");
+
+        // the target route changes the pattern to InOut, which must not leak back into the calling route
+        assertEquals(List.of(ExchangePattern.InOnly, ExchangePattern.InOut), patterns);
+    }
+
+    @Test
+    void shouldFallbackWhenTargetRouteIsStopped() throws Exception {
+        assertEquals("Hello World", template.requestBody("direct:start", "World"));
+
+        context.getRouteController().stopRoute("target");
+
+        Exchange exchange = template.request("direct:start", e -> e.getMessage().setBody("World"));
+        // sent as a regular send to the direct endpoint which has no consumer
+        assertInstanceOf(DirectConsumerNotAvailableException.class, exchange.getException());
+        assertNull(inlined().getTarget());
+        assertEquals(1, policy.done.get());
+
+        context.getRouteController().startRoute("target");
+        assertEquals("Hello World", template.requestBody("direct:start", "World"));
+        assertEquals(2, policy.done.get());
+    }
+
+    private static class CountingRoutePolicy extends RoutePolicySupport {
+
+        private final AtomicInteger begin = new AtomicInteger();
+        private final AtomicInteger done = new AtomicInteger();
+
+        @Override
+        public void onExchangeBegin(Route route, Exchange exchange) {
+            begin.incrementAndGet();
+        }
+
+        @Override
+        public void onExchangeDone(Route route, Exchange exchange) {
+            done.incrementAndGet();
+        }
+    }
+}
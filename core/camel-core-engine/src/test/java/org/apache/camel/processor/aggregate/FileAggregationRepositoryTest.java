@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Set;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileAggregationRepositoryTest {
+
+    private CamelContext context;
+    private FileAggregationRepository repository;
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() {
+        context = new DefaultCamelContext();
+        context.start();
+        repository = newRepository();
+        repository.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.stop();
+        context.stop();
+    }
+
+    private FileAggregationRepository newRepository() {
+        FileAggregationRepository answer = new FileAggregationRepository(dir.toFile());
+        answer.setCamelContext(context);
+        // force every write so the tests do not depend on the background sync
+        answer.setSyncInterval(0);
+        answer.setMaxSegmentSize(4096);
+        return answer;
+    }
+
+    private void restart() {
+        repository.stop();
+        repository = newRepository();
+        repository.start();
+    }
+
+    private Exchange exchange(String body) {
+        Exchange answer = new DefaultExchange(context);
+        answer.getMessage().setBody(body);
+        answer.getMessage().setHeader("foo", body.length());
+        return answer;
+    }
+
+    private File[] segments() {
+        File[] answer = dir.toFile().listFiles((d, name) -> name.endsWith(".log"));
+        Arrays.sort(answer, Comparator.comparing(File::getName));
+        return answer;
+    }
+
+    @Test
+    void shouldAddGetRemoveAndConfirm() {
+        repository.add(context, "a", exchange("one"));
+        repository.add(context, "a", exchange("two"));
+        repository.add(context, "b", exchange("three"));
+
+        Exchange a = repository.get(context, "a");
+        assertEquals("two", a.getMessage().getBody());
+        assertEquals(3, a.getMessage().getHeader("foo"));
+        assertEquals(Set.of("a", "b"), repository.getKeys());
+        assertNull(repository.get(context, "c"));
+
+        // removed exchanges are completed until they are confirmed
+        repository.remove(context, "a", a);
+        assertNull(repository.get(context, "a"));
+        assertEquals(Set.of("b"), repository.getKeys());
+        assertEquals(Set.of(a.getExchangeId()), repository.scan(context));
+        assertEquals("two", repository.recover(context, a.getExchangeId()).getMessage().getBody());
+
+        assertTrue(repository.confirmWithResult(context, a.getExchangeId()));
+        assertFalse(repository.confirmWithResult(context, a.getExchangeId()));
+        assertTrue(repository.scan(context).isEmpty());
+        assertNull(repository.recover(context, a.getExchangeId()));
+    }
+
+    @Test
+    void shouldRecoverAfterRestart() {
+        repository.add(context, "a", exchange("one"));
+        repository.add(context, "b", exchange("two"));
+        repository.add(context, "a", exchange("three"));
+        Exchange b = repository.get(context, "b");
+        repository.remove(context, "b", b);
+        Exchange c = exchange("four");
+        repository.add(context, "c", c);
+        repository.remove(context, "c", c);
+        repository.confirm(context, c.getExchangeId());
+
+        restart();
+
+        assertEquals(Set.of("a"), repository.getKeys());
+        assertEquals("three", repository.get(context, "a").getMessage().getBody());
+        assertEquals(Set.of(b.getExchangeId()), repository.scan(context));
+        assertEquals("two", repository.recover(context, b.getExchangeId()).getMessage().getBody());
+    }
+
+    @Test
+    void shouldTruncateTornRecord() throws Exception {
+        repository.add(context, "a", exchange("one"));
+        repository.stop();
+
+        // a record which was partially written when crashing
+        File segment = segments()[segments().length - 1];
+        long size = segment.length();
+        Files.write(segment.toPath(), new byte[] { 0, 0, 1, 0, 1, 2, 3, 4, 5, 6 }, StandardOpenOption.APPEND);
+
+        repository = newRepository();
+        repository.start();
+
+        assertEquals(size, segment.length());
+        assertEquals(Set.of("a"), repository.getKeys());
+        assertEquals("one", repository.get(context, "a").getMessage().getBody());
+
+        // and the log can be written after the truncated record
+        repository.add(context, "b", exchange("two"));
+        restart();
+        assertEquals(Set.of("a", "b"), repository.getKeys());
+        assertEquals("two", repository.get(context, "b").getMessage().getBody());
+    }
+
+    @Test
+    void shouldCompactSegments() throws Exception {
+        repository.add(context, "removed", exchange("gone"));
+        Exchange completed = exchange("completed");
+        repository.add(context, "completed", completed);
+        repository.remove(context, "completed", completed);
+        // superseding the same keys fills up several segments with records which are no longer live
+        for (int i = 0; i < 50; i++) {
+            repository.add(context, "a", exchange("a" + i));
+            repository.add(context, "b", exchange("b" + i));
+        }
+        Exchange removed = repository.get(context, "removed");
+        repository.remove(context, "removed", removed);
+        int before = repository.getSegmentSize();
+        long diskSize = repository.getDiskSize();
+        assertTrue(before > 3, "Should have several segments, was: " + before);
+
+        assertTrue(repository.compact() > 0);
+
+        assertTrue(repository.getSegmentSize() < before);
+        assertTrue(repository.getDiskSize() < diskSize);
+        assertEquals(repository.getSegmentSize(), segments().length);
+        assertEquals(Set.of("a", "b"), repository.getKeys());
+        assertEquals("a49", repository.get(context, "a").getMessage().getBody());
+        assertEquals("b49", repository.get(context, "b").getMessage().getBody());
+        assertEquals(Set.of(completed.getExchangeId(), removed.getExchangeId()), repository.scan(context));
+
+        // the compacted log is replayed to the same state, and the removed key stays removed
+        repository.add(context, "a", exchange("a50"));
+        restart();
+        assertEquals(Set.of("a", "b"), repository.getKeys());
+        assertEquals("a50", repository.get(context, "a").getMessage().getBody());
+        assertEquals("b49", repository.get(context, "b").getMessage().getBody());
+        assertEquals(Set.of(completed.getExchangeId(), removed.getExchangeId()), repository.scan(context));
+        assertEquals("completed", repository.recover(context, completed.getExchangeId()).getMessage().getBody());
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.errorhandler;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedeliveryTimerTest {
+
+    private CamelContext context;
+    private RedeliveryTimer timer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        context = new DefaultCamelContext();
+        context.start();
+        timer = new RedeliveryTimer();
+        timer.setCamelContext(context);
+        timer.setTickDuration(5);
+        timer.setWheelSize(16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.stop();
+        context.stop();
+    }
+
+    @Test
+    void shouldExpireAfterDelay() throws Exception {
+        timer.start();
+        long[] delays = { 20, 50, 120, 300 };
+        List<RecordingTimeout> timeouts = new CopyOnWriteArrayList<>();
+        for (long delay : delays) {
+            RecordingTimeout timeout = new RecordingTimeout();
+            timeouts.add(timeout);
+            assertTrue(timer.schedule(timeout, "route1", delay, true));
+        }
+        assertEquals(4, timer.pendingRedeliveries("route1"));
+
+        for (int i = 0; i < delays.length; i++) {
+            RecordingTimeout timeout = timeouts.get(i);
+            assertTrue(timeout.latch.await(5, TimeUnit.SECONDS));
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(timeout.expired - timeout.scheduled);
+            // expired within the precision of a tick, with some slack for a busy machine
+            assertTrue(elapsed >= delays[i] - timer.getTickDuration(), "Expired too early: " + elapsed);
+            assertTrue(elapsed < delays[i] + 100, "Expired too late: " + elapsed);
+            // the expired timeouts are handed over to the thread pool
+            assertFalse(timeout.thread.contains("RedeliveryTimer"), timeout.thread);
+        }
+        assertEquals(0, timer.getPendingRedeliveries());
+        assertEquals(0, timer.pendingRedeliveries("route1"));
+        assertEquals(4, timer.getRedeliveryCounter());
+    }
+
+    @Test
+    void shouldLimitPendingRedeliveries() {
+        timer.setMaxPendingRedeliveries(2);
+        timer.start();
+
+        assertTrue(timer.schedule(new RecordingTimeout(), "route1", 10000, true));
+        assertTrue(timer.schedule(new RecordingTimeout(), "route2", 10000, true));
+        assertFalse(timer.schedule(new RecordingTimeout(), "route1", 10000, true));
+        // redeliveries which are not limited are always scheduled
+        assertTrue(timer.schedule(new RecordingTimeout(), "route1", 10000, false));
+
+        assertEquals(3, timer.getPendingRedeliveries());
+        assertEquals(2, timer.pendingRedeliveries("route1"));
+        assertEquals(1, timer.getRejectedCounter());
+        assertEquals(3, timer.getRedeliveryCounter());
+    }
+
+    @Test
+    void shouldExpirePendingRedeliveriesOnStop() throws Exception {
+        timer.start();
+        RecordingTimeout first = new RecordingTimeout();
+        RecordingTimeout second = new RecordingTimeout();
+        assertTrue(timer.schedule(first, "route1", 60000, true));
+        assertTrue(timer.schedule(second, "route1", 60000, true));
+
+        timer.stop();
+
+        assertEquals(0, first.latch.getCount());
+        assertEquals(0, second.latch.getCount());
+        assertEquals(0, timer.getPendingRedeliveries());
+        assertFalse(timer.schedule(new RecordingTimeout(), "route1", 10, true));
+        assertEquals(1, timer.getRejectedCounter());
+    }
+
+    @Test
+    void shouldRedeliverFromThreadPool() throws Exception {
+        List<String> threads = new CopyOnWriteArrayList<>();
+        AtomicInteger attempts = new AtomicInteger();
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                errorHandler(defaultErrorHandler().maximumRedeliveries(3).redeliveryDelay(10).asyncDelayedRedelivery());
+
+                from("direct:start").process(e -> {
+                    threads.add(Thread.currentThread().getName());
+                    if (attempts.incrementAndGet() < 3) {
+                        throw new IllegalArgumentException("Forced");
+                    }
+                });
+            }
+        });
+
+        context.createProducerTemplate().sendBody("direct:start", "Hello");
+
+        assertEquals(3, attempts.get());
+        for (String thread : threads.subList(1, 3)) {
+            assertFalse(thread.contains("RedeliveryTimer"), thread);
+        }
+    }
+
+    private static class RecordingTimeout extends RedeliveryTimer.Timeout {
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private final long scheduled = System.nanoTime();
+        private volatile long expired;
+        private volatile String thread;
+
+        @Override
+        protected void expire() {
+            expired = System.nanoTime();
+            thread = Thread.currentThread().getName();
+            latch.countDown();
+        }
+    }
+}
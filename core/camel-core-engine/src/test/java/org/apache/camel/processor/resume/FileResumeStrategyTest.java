@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resume;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.resume.Deserializable;
+import org.apache.camel.resume.ResumeAdapter;
+import org.apache.camel.support.resume.OffsetKeys;
+import org.apache.camel.support.resume.Offsets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileResumeStrategyTest {
+
+    @TempDir
+    File dir;
+
+    private CamelContext context;
+    private File file;
+    private FileResumeStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        context = new DefaultCamelContext();
+        context.start();
+        file = new File(dir, "offsets.dat");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (strategy != null) {
+            strategy.stop();
+        }
+        context.stop();
+    }
+
+    private FileResumeStrategy start(long flushInterval, int flushSize) {
+        strategy = new FileResumeStrategy(
+                FileResumeStrategyConfigurationBuilder.newBuilder()
+                        .withFile(file).withFlushInterval(flushInterval).withFlushSize(flushSize).build());
+        strategy.setCamelContext(context);
+        strategy.setAdapter(new CollectingAdapter());
+        strategy.start();
+        return strategy;
+    }
+
+    private Map<Object, Object> restart() throws Exception {
+        strategy.stop();
+        start(60000, 1000);
+        strategy.loadCache();
+        return ((CollectingAdapter) strategy.getAdapter()).offsets;
+    }
+
+    private void update(String key, long value) throws Exception {
+        strategy.updateLastOffset(OffsetKeys.of(key), Offsets.of(value));
+    }
+
+    @Test
+    void shouldWriteChecksummedRecords() throws Exception {
+        start(0, 1);
+        CountDownLatch written = new CountDownLatch(1);
+        strategy.updateLastOffset(OffsetKeys.of("a"), Offsets.of(42L), cause -> written.countDown());
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+
+        ByteBuffer record = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        // the key is the type and the string, and the value is the type and the long
+        int length = record.getInt();
+        assertEquals(Integer.BYTES + 5 + 12, length);
+        assertEquals(8 + length, record.capacity());
+        int checksum = record.getInt();
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 8, length);
+        assertEquals((int) crc.getValue(), checksum);
+        assertEquals(5, record.getInt());
+        assertEquals(1, strategy.getRecordSize());
+    }
+
+    @Test
+    void shouldTruncatePartiallyWrittenRecord() throws Exception {
+        start(60000, 1000);
+        update("a", 1);
+        update("b", 2);
+        strategy.flush();
+        long size = file.length();
+
+        // a torn record at the end of the file
+        strategy.stop();
+        Files.write(file.toPath(), new byte[] { 0, 0, 0, 30, 1, 2, 3, 4, 5 }, StandardOpenOption.APPEND);
+        start(60000, 1000);
+        assertEquals(size, file.length());
+        assertEquals(2, strategy.getRecordSize());
+
+        // a record with a wrong checksum
+        strategy.stop();
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        bytes[bytes.length - 1]++;
+        Files.write(file.toPath(), bytes);
+
+        Map<Object, Object> offsets = restart();
+        assertEquals(1, strategy.getRecordSize());
+        assertEquals(Map.of("a", 1L), offsets);
+
+        // and new records are appended after the last valid record
+        update("c", 3);
+        strategy.flush();
+        assertEquals(Map.of("a", 1L, "c", 3L), restart());
+    }
+
+    @Test
+    void shouldCompactToLastOffsets() throws Exception {
+        start(60000, 1000);
+        for (int i = 1; i < 1000; i++) {
+            update("key" + i % 4, i);
+            strategy.flush();
+        }
+        assertEquals(999, strategy.getRecordSize());
+        assertEquals(4, strategy.getOffsetKeySize());
+
+        update("key0", 1000);
+        strategy.flush();
+        assertEquals(4, strategy.getRecordSize());
+
+        Map<Object, Object> offsets = restart();
+        assertEquals(4, strategy.getRecordSize());
+        assertEquals(Map.of("key0", 1000L, "key1", 997L, "key2", 998L, "key3", 999L), offsets);
+    }
+
+    @Test
+    void shouldFlushOnFlushThread() throws Exception {
+        start(60000, 2);
+        CountDownLatch written = new CountDownLatch(1);
+        AtomicReference<String> thread = new AtomicReference<>();
+        update("a", 1);
+        strategy.updateLastOffset(OffsetKeys.of("a"), Offsets.of(2L), cause -> {
+            thread.set(Thread.currentThread().getName());
+            written.countDown();
+        });
+
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+        assertNotEquals(Thread.currentThread().getName(), thread.get());
+        // only the last offset of the key is written in the batch
+        assertEquals(1, strategy.getRecordSize());
+    }
+
+    @Test
+    void shouldRejectFlushSizeWithoutFlushInterval() {
+        assertThrows(IllegalArgumentException.class, () -> start(0, 10));
+        strategy = null;
+    }
+
+    private static final class CollectingAdapter implements ResumeAdapter, Deserializable {
+
+        private final Map<Object, Object> offsets = new ConcurrentHashMap<>();
+
+        @Override
+        public void resume() {
+        }
+
+        @Override
+        public boolean deserialize(ByteBuffer keyBuffer, ByteBuffer valueBuffer) {
+            offsets.put(deserializeKey(keyBuffer), deserializeValue(valueBuffer));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.util.ParallelGZIPOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GZIPHelperTest {
+
+    private CamelContext context;
+    private byte[] data;
+
+    @BeforeEach
+    void setUp() {
+        context = new DefaultCamelContext();
+        context.getGlobalOptions().put(GZIPHelper.PARALLEL_THRESHOLD, "1024");
+        context.start();
+        // several blocks of content which compresses a little
+        data = new byte[ParallelGZIPOutputStream.DEFAULT_BLOCK_SIZE * 3 + 100];
+        Random random = new Random(1);
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) ('a' + random.nextInt(8));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    private static byte[] uncompress(InputStream in) throws IOException {
+        try (InputStream is = GZIPHelper.uncompressGzip("gzip", in)) {
+            return is.readAllBytes();
+        }
+    }
+
+    private static long gzipThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> t.isAlive() && t.getName().contains("GZIPHelper")).count();
+    }
+
+    @Test
+    void shouldCompressInParallelWithContext() throws Exception {
+        assertInstanceOf(ParallelGZIPOutputStream.class,
+                GZIPHelper.newGzipOutputStream(new ByteArrayOutputStream(), data.length, context));
+
+        byte[] compressed = GZIPHelper.compressGZIP(data, context);
+        assertArrayEquals(data, uncompress(new ByteArrayInputStream(compressed)));
+
+        try (InputStream in = GZIPHelper.compressGzip("gzip", new ByteArrayInputStream(data), context)) {
+            assertArrayEquals(data, uncompress(in));
+        }
+    }
+
+    @Test
+    void shouldUseParallelThresholdOfContext() throws Exception {
+        assertEquals(1024, GZIPHelper.getParallelThreshold(context));
+        assertEquals(GZIPHelper.DEFAULT_PARALLEL_THRESHOLD, GZIPHelper.getParallelThreshold(null));
+
+        context.getGlobalOptions().put(GZIPHelper.PARALLEL_THRESHOLD, "0");
+        assertInstanceOf(GZIPOutputStream.class,
+                GZIPHelper.newGzipOutputStream(new ByteArrayOutputStream(), data.length, context));
+        assertArrayEquals(data, uncompress(new ByteArrayInputStream(GZIPHelper.compressGZIP(data, context))));
+    }
+
+    @Test
+    void shouldCompressSequentiallyWithoutContext() throws Exception {
+        assertInstanceOf(GZIPOutputStream.class,
+                GZIPHelper.newGzipOutputStream(new ByteArrayOutputStream(), data.length, null));
+
+        assertArrayEquals(data, uncompress(new ByteArrayInputStream(GZIPHelper.compressGZIP(data))));
+        assertArrayEquals(data, uncompress(GZIPHelper.compressGzip("gzip", data)));
+    }
+
+    @Test
+    void shouldUseThreadPoolOfContext() throws Exception {
+        assertArrayEquals(data, uncompress(new ByteArrayInputStream(GZIPHelper.compressGZIP(data, context))));
+
+        // the blocks are compressed on a thread pool of the CamelContext
+        assertTrue(gzipThreads() > 0);
+
+        // which is shutdown with the CamelContext
+        context.stop();
+        for (int i = 0; i < 100 && gzipThreads() > 0; i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, gzipThreads());
+    }
+
+    @Test
+    void shouldFinishWhenClosedBeforeRead() throws Exception {
+        ClosingInputStream in = new ClosingInputStream(data);
+        InputStream is = GZIPHelper.compressGzip("gzip", in, context);
+
+        // read the header and some of the first block only
+        assertTrue(is.read(new byte[10]) > 0);
+        is.close();
+
+        assertTrue(in.closed);
+        assertEquals(-1, is.read());
+        // closing again does nothing
+        is.close();
+    }
+
+    private static final class ClosingInputStream extends ByteArrayInputStream {
+
+        private volatile boolean closed;
+
+        ClosingInputStream(byte[] buf) {
+            super(buf);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
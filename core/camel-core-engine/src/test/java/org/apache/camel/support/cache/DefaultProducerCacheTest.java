@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.cache;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProducer;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Consumer;
+import org.apache.camel.Exchange;
+import org.apache.camel.FailedToCreateProducerException;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultAsyncProducer;
+import org.apache.camel.support.DefaultEndpoint;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.service.ServiceSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DefaultProducerCacheTest {
+
+    private CamelContext context;
+    private PooledEndpoint endpoint;
+    private DefaultProducerCache cache;
+
+    @BeforeEach
+    void setUp() {
+        context = new DefaultCamelContext();
+        context.start();
+        endpoint = new PooledEndpoint(context);
+        cache = new DefaultProducerCache(this, context, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.stop();
+        context.stop();
+    }
+
+    @Test
+    void shouldAcquireAsynchronouslyWhenExhausted() throws Exception {
+        cache.setMaximumPoolSize(1);
+        cache.start();
+
+        AsyncProducer first = cache.acquireProducer(endpoint);
+        List<AsyncProducer> used = new CopyOnWriteArrayList<>();
+        AtomicReference<Boolean> done = new AtomicReference<>();
+        Exchange exchange = new DefaultExchange(context);
+
+        boolean sync = cache.doInAsyncProducer(endpoint, exchange, done::set, (producer, ex, callback) -> {
+            used.add(producer);
+            callback.done(true);
+            return true;
+        });
+
+        // the exchange continues when the producer is released, without blocking the caller
+        assertFalse(sync);
+        assertNull(done.get());
+        assertEquals(1, cache.getWaits());
+
+        cache.releaseProducer(endpoint, first);
+
+        assertEquals(List.of(first), used);
+        assertEquals(Boolean.FALSE, done.get());
+        assertNull(exchange.getException());
+        assertEquals(1, endpoint.created.get());
+        assertEquals(1, cache.getMisses());
+        // the producer is back in the pool
+        assertSame(first, cache.acquireProducer(endpoint));
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void shouldCapPoolSize() throws Exception {
+        cache.setMaximumPoolSize(2);
+        cache.start();
+
+        AsyncProducer first = cache.acquireProducer(endpoint);
+        AsyncProducer second = cache.acquireProducer(endpoint);
+        assertNotSame(first, second);
+
+        AtomicReference<AsyncProducer> waiter = new AtomicReference<>();
+        assertNull(cache.acquireProducer(endpoint, (producer, cause) -> waiter.set(producer)));
+
+        // the synchronous acquire blocks until a producer is released
+        CompletableFuture<AsyncProducer> blocked = CompletableFuture.supplyAsync(() -> cache.acquireProducer(endpoint));
+        Thread.sleep(100);
+        assertFalse(blocked.isDone());
+        assertEquals(2, endpoint.created.get());
+
+        // the first release is handed over to the oldest waiter
+        cache.releaseProducer(endpoint, first);
+        assertSame(first, waiter.get());
+        assertFalse(blocked.isDone());
+
+        cache.releaseProducer(endpoint, second);
+        assertSame(second, blocked.get(5, TimeUnit.SECONDS));
+
+        assertEquals(2, endpoint.created.get());
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.getWaits());
+    }
+
+    @Test
+    void shouldHandOverFailedCreationToWaiter() throws Exception {
+        cache.setMaximumPoolSize(1);
+        cache.start();
+        endpoint.failures.set(1);
+        endpoint.creating = new CountDownLatch(1);
+        endpoint.gate = new CountDownLatch(1);
+
+        CompletableFuture<AsyncProducer> failed = CompletableFuture.supplyAsync(() -> cache.acquireProducer(endpoint));
+        assertTrue(endpoint.creating.await(5, TimeUnit.SECONDS));
+
+        // the pool is exhausted while the first producer is being created
+        CompletableFuture<AsyncProducer> waiter = new CompletableFuture<>();
+        assertNull(cache.acquireProducer(endpoint, (producer, cause) -> {
+            if (cause != null) {
+                waiter.completeExceptionally(cause);
+            } else {
+                waiter.complete(producer);
+            }
+        }));
+
+        // the failed creation lets the waiter create the producer instead
+        endpoint.gate.countDown();
+        AsyncProducer producer = waiter.get(5, TimeUnit.SECONDS);
+        assertNotNull(producer);
+        assertTrue(((ServiceSupport) producer).isStarted());
+
+        Exception cause = null;
+        try {
+            failed.join();
+        } catch (Exception e) {
+            cause = e;
+        }
+        assertNotNull(cause);
+        assertInstanceOf(FailedToCreateProducerException.class, cause.getCause());
+        assertEquals(2, endpoint.created.get());
+
+        // the pool holds the one producer which was created
+        cache.releaseProducer(endpoint, producer);
+        assertSame(producer, cache.acquireProducer(endpoint));
+    }
+
+    @Test
+    void shouldStopIdleProducers() throws Exception {
+        cache.setIdleTimeout(50);
+        cache.start();
+
+        AsyncProducer first = cache.acquireProducer(endpoint);
+        cache.releaseProducer(endpoint, first);
+        assertEquals(1, cache.size());
+
+        Thread.sleep(150);
+        cache.cleanUp();
+
+        assertTrue(((ServiceSupport) first).isStopped());
+        assertEquals(0, cache.size());
+
+        AsyncProducer second = cache.acquireProducer(endpoint);
+        assertNotSame(first, second);
+        assertEquals(2, endpoint.created.get());
+        assertEquals(2, cache.getMisses());
+    }
+
+    private static class PooledEndpoint extends DefaultEndpoint {
+
+        private final AtomicInteger created = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private volatile CountDownLatch creating;
+        private volatile CountDownLatch gate;
+
+        PooledEndpoint(CamelContext context) {
+            setCamelContext(context);
+        }
+
+        @Override
+        protected String createEndpointUri() {
+            return "pooled:test";
+        }
+
+        @Override
+        public boolean isSingletonProducer() {
+            return false;
+        }
+
+        @Override
+        public Producer createProducer() throws Exception {
+            created.incrementAndGet();
+            if (creating != null) {
+                creating.countDown();
+                assertTrue(gate.await(5, TimeUnit.SECONDS));
+            }
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException("Forced");
+            }
+            return new DefaultAsyncProducer(this) {
+                @Override
+                public boolean process(Exchange exchange, AsyncCallback callback) {
+                    callback.done(true);
+                    return true;
+                }
+            };
+        }
+
+        @Override
+        public Consumer createConsumer(Processor processor) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.state;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FileStateRepositoryTest {
+
+    @TempDir
+    File dir;
+
+    private CamelContext context;
+    private File file;
+
+    @BeforeEach
+    void setUp() {
+        context = new DefaultCamelContext();
+        context.start();
+        file = new File(dir, "state.dat");
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    private FileStateRepository newAsyncRepository(long flushInterval) {
+        FileStateRepository repository = new FileStateRepository(file, new HashMap<>());
+        repository.setCamelContext(context);
+        repository.setAsyncWrite(true);
+        repository.setFlushInterval(flushInterval);
+        repository.start();
+        return repository;
+    }
+
+    private List<String> lines() throws IOException {
+        return Files.readAllLines(file.toPath()).stream().sorted().toList();
+    }
+
+    @Test
+    void shouldWriteStatesOnFlush() throws Exception {
+        // the flush interval is long so only the explicit flush writes the states
+        FileStateRepository repository = newAsyncRepository(60000);
+
+        repository.setState("a", "1");
+        repository.setState("b", "2");
+        repository.setState("a", "3");
+
+        // the states are visible before they are written
+        assertEquals("3", repository.getState("a"));
+        assertEquals("2", repository.getState("b"));
+        assertEquals(2, repository.getPendingSize());
+        assertEquals(0, file.length());
+
+        repository.flush();
+        assertEquals(0, repository.getPendingSize());
+        assertEquals(List.of("a=3", "b=2"), lines());
+
+        // the flushed states are loaded by a new repository, as after a crash
+        FileStateRepository restarted = FileStateRepository.fileStateRepository(file);
+        restarted.start();
+        assertEquals("3", restarted.getState("a"));
+        assertEquals("2", restarted.getState("b"));
+        restarted.stop();
+
+        // and the pending states are written when the repository is stopped
+        repository.setState("c", "4");
+        assertEquals(1, repository.getPendingSize());
+        repository.stop();
+
+        restarted = FileStateRepository.fileStateRepository(file);
+        restarted.start();
+        assertEquals("3", restarted.getState("a"));
+        assertEquals("2", restarted.getState("b"));
+        assertEquals("4", restarted.getState("c"));
+        restarted.stop();
+    }
+
+    @Test
+    void shouldFlushPendingStatesInBackground() throws Exception {
+        FileStateRepository repository = newAsyncRepository(50);
+
+        repository.setState("a", "1");
+        repository.setState("b", "2");
+
+        for (int i = 0; i < 200 && repository.getPendingSize() > 0; i++) {
+            Thread.sleep(25);
+        }
+        assertEquals(0, repository.getPendingSize());
+        assertEquals(List.of("a=1", "b=2"), lines());
+
+        repository.stop();
+    }
+
+    @Test
+    void shouldCompactKeepingLatestValuePerKey() throws Exception {
+        FileStateRepository repository = newAsyncRepository(60000);
+        // any non-empty file store is compacted on the next flush
+        repository.setMaxFileStoreSize(1);
+
+        repository.setState("a", "1");
+        repository.setState("b", "1");
+        repository.flush();
+        assertEquals(List.of("a=1", "b=1"), lines());
+
+        for (int i = 2; i <= 100; i++) {
+            repository.setState("a", Integer.toString(i));
+            repository.flush();
+            // the file store only has the latest value of each key
+            assertEquals(List.of("a=" + i, "b=1"), lines());
+        }
+        assertFalse(new File(dir, "state.dat.tmp").exists());
+
+        // new keys are kept by the compaction, again with their latest value
+        repository.setState("c", "1");
+        repository.setState("c", "2");
+        repository.flush();
+        assertEquals(List.of("a=100", "b=1", "c=2"), lines());
+
+        FileStateRepository restarted = FileStateRepository.fileStateRepository(file);
+        restarted.start();
+        assertEquals("100", restarted.getState("a"));
+        assertEquals("1", restarted.getState("b"));
+        assertEquals("2", restarted.getState("c"));
+        assertNull(restarted.getState("d"));
+        restarted.stop();
+
+        repository.stop();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.throttling;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.throttling.AdaptiveConcurrencyRoutePolicy.LimitAlgorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Feeds windows of latency samples to the limit algorithms, so the limit does not depend on the timing of the test.
+ */
+class AdaptiveConcurrencyRoutePolicyTest {
+
+    private static final int MIN = 5;
+    private static final int MAX = 50;
+
+    private CamelContext context;
+    private AdaptiveConcurrencyRoutePolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        context = new DefaultCamelContext();
+        context.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        policy.stop();
+        context.stop();
+    }
+
+    private void start(LimitAlgorithm algorithm, int initialLimit) {
+        policy = new AdaptiveConcurrencyRoutePolicy();
+        policy.setCamelContext(context);
+        policy.setLimitAlgorithm(algorithm);
+        policy.setInitialLimit(initialLimit);
+        policy.setMinLimit(MIN);
+        policy.setMaxLimit(MAX);
+        policy.start();
+    }
+
+    /**
+     * Ends a window of samples with the given latency, while the limit is in use.
+     */
+    private int window(long latencyMillis, boolean drop) {
+        return window(latencyMillis, policy.getCurrentLimit(), drop);
+    }
+
+    private int window(long latencyMillis, int inflight, boolean drop) {
+        long latency = TimeUnit.MILLISECONDS.toNanos(latencyMillis);
+        policy.endWindow(10, latency * 10, latency, inflight, drop);
+        int limit = policy.getCurrentLimit();
+        assertTrue(limit >= MIN && limit <= MAX, "Limit out of bounds: " + limit);
+        return limit;
+    }
+
+    private int windows(int count, long latencyMillis, boolean drop) {
+        int limit = 0;
+        for (int i = 0; i < count; i++) {
+            limit = window(latencyMillis, drop);
+        }
+        return limit;
+    }
+
+    @Test
+    void shouldAdjustAimdLimit() {
+        start(LimitAlgorithm.Aimd, 10);
+
+        // grows by one per window while the limit is in use
+        assertEquals(11, window(10, false));
+        assertEquals(12, window(10, false));
+        assertEquals(12, window(10, 3, false));
+        // backs off when exchanges are dropped
+        assertEquals(10, window(10, true));
+
+        assertEquals(MAX, windows(100, 10, false));
+        assertEquals(MIN, windows(100, 10, true));
+    }
+
+    @Test
+    void shouldAdjustVegasLimit() {
+        start(LimitAlgorithm.Vegas, 10);
+
+        // no exchanges are queueing at the no load latency
+        assertEquals(16, window(10, false));
+        assertEquals(23, window(10, false));
+        assertEquals(23, window(10, 5, false));
+
+        // many exchanges are queueing when the latency goes up
+        int limit = window(100, false);
+        assertEquals(21, limit);
+        assertTrue(windows(5, 100, false) < limit);
+        // dropping exchanges reduces the limit too
+        limit = policy.getCurrentLimit();
+        assertTrue(window(10, true) < limit);
+
+        assertEquals(MAX, windows(100, 10, false));
+        assertEquals(MIN, windows(100, 10, true));
+    }
+
+    @Test
+    void shouldAdjustGradientLimit() {
+        start(LimitAlgorithm.Gradient, 20);
+
+        // grows while the latency is stable
+        int limit = windows(10, 10, false);
+        assertTrue(limit > 20, "Limit should grow: " + limit);
+        assertEquals(limit, window(10, 3, false));
+
+        // shrinks when the latency goes above the long term latency
+        int reduced = windows(10, 40, false);
+        assertTrue(reduced < limit, "Limit should shrink: " + reduced);
+
+        assertEquals(MAX, windows(200, 10, false));
+        assertEquals(MIN, windows(50, 1000, false));
+    }
+}
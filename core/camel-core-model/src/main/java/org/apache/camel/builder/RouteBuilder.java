@@ -18,9 +18,12 @@ package org.apache.camel.builder;
 
 import java.io.Reader;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -43,6 +46,7 @@ import org.apache.camel.model.OnCompletionDefinition;
 import org.apache.camel.model.OnExceptionDefinition;
 import org.apache.camel.model.RouteConfigurationDefinition;
 import org.apache.camel.model.RouteDefinition;
+import org.apache.camel.model.RouteDefinitionDiffHelper;
 import org.apache.camel.model.RouteTemplateDefinition;
 import org.apache.camel.model.RouteTemplatesDefinition;
 import org.apache.camel.model.RoutesDefinition;
@@ -59,8 +63,10 @@ import org.apache.camel.spi.PropertiesComponent;
 import org.apache.camel.spi.Resource;
 import org.apache.camel.spi.ResourceAware;
 import org.apache.camel.spi.RestConfiguration;
+import org.apache.camel.spi.RouteReloadChange;
 import org.apache.camel.spi.SupervisingRouteController;
 import org.apache.camel.support.LifecycleStrategySupport;
+import org.apache.camel.support.ResourceHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.StringHelper;
 import org.apache.camel.util.function.ThrowingBiConsumer;
@@ -781,7 +787,19 @@ public abstract class RouteBuilder extends BuilderSupport implements RoutesBuild
     @Override
     public Set<String> updateRoutesToCamelContext(CamelContext context) throws Exception {
         Set<String> answer = new LinkedHashSet<>();
+        for (RouteReloadChange change : doUpdateRoutesToCamelContext(context, false)) {
+            answer.add(change.getRouteId());
+        }
+        return answer;
+    }
 
+    @Override
+    public List<RouteReloadChange> updateChangedRoutesToCamelContext(CamelContext context) throws Exception {
+        return doUpdateRoutesToCamelContext(context, true);
+    }
+
+    private List<RouteReloadChange> doUpdateRoutesToCamelContext(CamelContext context, boolean changedOnly)
+            throws Exception {
         // must configure routes before rests
         configureRoutes(context);
         configureRests(context);
@@ -799,7 +817,16 @@ public abstract class RouteBuilder extends BuilderSupport implements RoutesBuild
         }
 
         // trigger update of the routes
-        populateOrUpdateRoutes();
+        List<RouteReloadChange> answer;
+        if (changedOnly) {
+            answer = populateOrUpdateChangedRoutes();
+        } else {
+            populateOrUpdateRoutes();
+            answer = new ArrayList<>();
+            for (RouteDefinition route : routeCollection.getRoutes()) {
+                answer.add(new RouteReloadChange(route.getRouteId(), RouteReloadChange.Kind.Updated, null));
+            }
+        }
 
         // trigger reloaded routes to be started if under supervising controller
         // as this requires to be done manually via the controller
@@ -812,11 +839,6 @@ public abstract class RouteBuilder extends BuilderSupport implements RoutesBuild
             context.addLifecycleStrategy(LifecycleStrategySupport.adapt(onCamelContextEvent));
         }
 
-        for (RouteDefinition route : routeCollection.getRoutes()) {
-            String id = route.getRouteId();
-            answer.add(id);
-        }
-
         return answer;
     }
 
@@ -994,6 +1016,118 @@ public abstract class RouteBuilder extends BuilderSupport implements RoutesBuild
                 .addRouteDefinitions(getRouteCollection().getRoutes());
     }
 
+    /**
+     * Adds or updates the routes, where existing routes whose definitions did not change are kept running.
+     * <p/>
+     * Routes without a custom id are matched with the unchanged routes without a custom id loaded from the same
+     * resource. The existing routes from the same resource which are changed or no longer exist are stopped and removed
+     * before the updated routes are added.
+     *
+     * @return the changes of the routes
+     */
+    protected List<RouteReloadChange> populateOrUpdateChangedRoutes() throws Exception {
+        CamelContext camelContext = notNullCamelContext();
+        getRouteCollection().setCamelContext(camelContext);
+        if (resource != null) {
+            getRouteCollection().setResource(resource);
+        }
+        Model model = camelContext.getCamelContextExtension().getContextPlugin(Model.class);
+
+        // the existing routes loaded from the same resource
+        Map<String, RouteDefinition> previous = new LinkedHashMap<>();
+        if (resource != null) {
+            for (Route route : camelContext.getRoutes()) {
+                RouteDefinition existing = model.getRouteDefinition(route.getRouteId());
+                if (existing != null
+                        && ResourceHelper.isSameLocation(resource, route.getSourceResource())) {
+                    previous.put(route.getRouteId(), existing);
+                }
+            }
+        }
+
+        List<RouteDefinition> changed = new ArrayList<>();
+        Map<RouteDefinition, RouteReloadChange> changes = new LinkedHashMap<>();
+        for (RouteDefinition route : getRouteCollection().getRoutes()) {
+            // compare the definitions before the routes are created, as creating a route changes its definition
+            route.updateDiffSnapshot();
+            if (!route.hasCustomIdAssigned()) {
+                // beans are re-created on reload, and the routes may refer to them
+                RouteDefinition existing = beans.isEmpty() ? findUnchangedRoute(route, previous.values()) : null;
+                if (existing != null) {
+                    // keep the existing route running
+                    previous.remove(existing.getRouteId());
+                    changes.put(route, new RouteReloadChange(existing.getRouteId(), RouteReloadChange.Kind.Unchanged, null));
+                } else {
+                    // the id is auto assigned when the route is added
+                    changes.put(route, null);
+                    changed.add(route);
+                }
+                continue;
+            }
+            String id = route.getRouteId();
+            previous.remove(id);
+            RouteDefinition existing = camelContext.getRoute(id) != null ? model.getRouteDefinition(id) : null;
+            if (existing == null) {
+                changes.put(route, null);
+                changed.add(route);
+                continue;
+            }
+            String diff;
+            if (!beans.isEmpty()) {
+                diff = "beans reloaded";
+            } else if (existing.getDiffSnapshot() == null) {
+                diff = "previous definition unknown";
+            } else {
+                diff = RouteDefinitionDiffHelper.diff(existing.getDiffSnapshot(), route.getDiffSnapshot());
+            }
+            if (diff == null) {
+                // keep the existing route running
+                changes.put(route, new RouteReloadChange(id, RouteReloadChange.Kind.Unchanged, null));
+            } else {
+                changes.put(route, new RouteReloadChange(id, RouteReloadChange.Kind.Updated, diff));
+                changed.add(route);
+            }
+        }
+
+        // must stop and remove existing running routes which are changed or removed, before adding the updated
+        // routes, as they may use the same endpoints
+        List<String> removed = new ArrayList<>();
+        for (RouteDefinition route : changed) {
+            if (changes.get(route) != null) {
+                removed.add(route.getRouteId());
+            }
+        }
+        removed.addAll(previous.keySet());
+        for (String id : removed) {
+            camelContext.getRouteController().stopRoute(id);
+            camelContext.removeRoute(id);
+        }
+        model.addRouteDefinitions(changed);
+
+        List<RouteReloadChange> answer = new ArrayList<>(changes.size() + previous.size());
+        for (Map.Entry<RouteDefinition, RouteReloadChange> entry : changes.entrySet()) {
+            RouteReloadChange change = entry.getValue();
+            if (change == null) {
+                change = new RouteReloadChange(entry.getKey().getRouteId(), RouteReloadChange.Kind.Added, null);
+            }
+            answer.add(change);
+        }
+        for (String id : previous.keySet()) {
+            answer.add(new RouteReloadChange(id, RouteReloadChange.Kind.Removed, null));
+        }
+        return answer;
+    }
+
+    private static RouteDefinition findUnchangedRoute(RouteDefinition route, Collection<RouteDefinition> candidates) {
+        for (RouteDefinition candidate : candidates) {
+            if (!candidate.hasCustomIdAssigned() && candidate.getDiffSnapshot() != null
+                    && RouteDefinitionDiffHelper.diff(candidate.getDiffSnapshot(), route.getDiffSnapshot()) == null) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
     protected void populateRests() throws Exception {
         CamelContext camelContext = notNullCamelContext();
         getRestCollection().setCamelContext(camelContext);
@@ -16,7 +16,10 @@
  */
 package org.apache.camel.builder;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.camel.CamelContext;
@@ -24,6 +27,7 @@ import org.apache.camel.RouteConfigurationsBuilder;
 import org.apache.camel.model.Model;
 import org.apache.camel.model.RouteConfigurationDefinition;
 import org.apache.camel.model.RouteConfigurationsDefinition;
+import org.apache.camel.model.RouteDefinitionDiffHelper;
 
 /**
  * A <a href="http://camel.apache.org/dsl.html">Java DSL</a> which is used for building route configuration(s).
@@ -97,6 +101,43 @@ public abstract class RouteConfigurationBuilder extends RouteBuilder implements
         }
     }
 
+    @Override
+    public Set<String> updateChangedRouteConfigurationsToCamelContext(CamelContext context) throws Exception {
+        setCamelContext(context);
+        routeConfigurationCollection.setCamelContext(context);
+        if (initializedConfiguration.compareAndSet(false, true)) {
+            configuration();
+        }
+        Set<String> answer = new LinkedHashSet<>();
+        List<RouteConfigurationDefinition> list = getRouteConfigurationCollection().getRouteConfigurations();
+        if (!list.isEmpty()) {
+            Model model = context.getCamelContextExtension().getContextPlugin(Model.class);
+            for (RouteConfigurationDefinition def : list) {
+                RouteConfigurationDefinition existing = null;
+                for (RouteConfigurationDefinition candidate : model.getRouteConfigurationDefinitions()) {
+                    if (Objects.equals(candidate.getId(), def.getId())) {
+                        existing = candidate;
+                    }
+                }
+                if (existing == null) {
+                    // a new route configuration may apply to any route
+                    answer = null;
+                } else {
+                    def.updateDiffSnapshot();
+                    if (answer != null && (existing.getDiffSnapshot() == null
+                            || RouteDefinitionDiffHelper.diff(existing.getDiffSnapshot(), def.getDiffSnapshot()) != null)) {
+                        // the id as applied to the routes
+                        answer.add(def.getId() != null ? def.getId() : "<default>");
+                    }
+                    // remove existing before updating
+                    model.removeRouteConfiguration(existing);
+                }
+            }
+            populateRoutesConfiguration();
+        }
+        return answer;
+    }
+
     @Override
     protected void initializeCamelContext(CamelContext camelContext) {
         super.initializeCamelContext(camelContext);
@@ -112,6 +153,10 @@ public abstract class RouteConfigurationBuilder extends RouteBuilder implements
         if (getResource() != null) {
             getRouteConfigurationCollection().setResource(getResource());
         }
+        for (RouteConfigurationDefinition def : getRouteConfigurationCollection().getRouteConfigurations()) {
+            // remember the route configuration before it is applied to the routes, to compare it when reloading
+            def.updateDiffSnapshot();
+        }
         camelContext.getCamelContextExtension().getContextPlugin(Model.class)
                 .addRouteConfigurations(getRouteConfigurationCollection().getRouteConfigurations());
     }
@@ -97,6 +97,20 @@ public class ThreadPoolProfileBuilder {
         return this;
     }
 
+    public ThreadPoolProfileBuilder adaptive(Boolean adaptive) {
+        if (adaptive != null) {
+            profile.setAdaptive(adaptive);
+        }
+        return this;
+    }
+
+    public ThreadPoolProfileBuilder adaptiveInterval(Long adaptiveInterval) {
+        if (adaptiveInterval != null) {
+            profile.setAdaptiveInterval(adaptiveInterval);
+        }
+        return this;
+    }
+
     /**
      * Builds the thread pool profile
      *
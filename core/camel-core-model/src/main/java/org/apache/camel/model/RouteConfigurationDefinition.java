@@ -59,6 +59,7 @@ public class RouteConfigurationDefinition extends OptionalIdentifiedDefinition<R
     @XmlAttribute
     @Metadata(label = "advanced")
     private String precondition;
+    private transient RouteDefinitionDiffHelper.Snapshot diffSnapshot;
 
     public RouteConfigurationDefinition() {
     }
@@ -88,6 +89,26 @@ public class RouteConfigurationDefinition extends OptionalIdentifiedDefinition<R
         this.resource = resource;
     }
 
+    /**
+     * This is used internally by Camel to remember this route configuration when it is added, so it can be compared
+     * with its updated definition when the routes are reloaded.
+     *
+     * This method is not intended for Camel end users.
+     */
+    public void updateDiffSnapshot() {
+        diffSnapshot = RouteDefinitionDiffHelper.snapshot(this);
+    }
+
+    /**
+     * This is used internally by Camel to remember this route configuration when it is added, so it can be compared
+     * with its updated definition when the routes are reloaded.
+     *
+     * This method is not intended for Camel end users.
+     */
+    public RouteDefinitionDiffHelper.Snapshot getDiffSnapshot() {
+        return diffSnapshot;
+    }
+
     public ErrorHandlerDefinition getErrorHandler() {
         return errorHandler;
     }
@@ -66,6 +66,7 @@ public class RouteDefinition extends OutputDefinition<RouteDefinition>
     private FromDefinition input;
     private String routeConfigurationId;
     private transient Set<String> appliedRouteConfigurationIds;
+    private transient RouteDefinitionDiffHelper.Snapshot diffSnapshot;
     private String group;
     private String nodePrefixId;
     private String streamCache;
@@ -966,6 +967,26 @@ public class RouteDefinition extends OutputDefinition<RouteDefinition>
         return appliedRouteConfigurationIds;
     }
 
+    /**
+     * This is used internally by Camel to remember the definition of this route before the route is created, so the
+     * route can be compared with its updated definition when the routes are reloaded.
+     *
+     * This method is not intended for Camel end users.
+     */
+    public void updateDiffSnapshot() {
+        diffSnapshot = RouteDefinitionDiffHelper.snapshot(this);
+    }
+
+    /**
+     * This is used internally by Camel to remember the definition of this route before the route is created, so the
+     * route can be compared with its updated definition when the routes are reloaded.
+     *
+     * This method is not intended for Camel end users.
+     */
+    public RouteDefinitionDiffHelper.Snapshot getDiffSnapshot() {
+        return diffSnapshot;
+    }
+
     /**
      * The group name for this route. Multiple routes can belong to the same group.
      */
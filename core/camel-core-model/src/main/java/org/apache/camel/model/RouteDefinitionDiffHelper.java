@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.model;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.camel.builder.ExpressionClause;
+
+/**
+ * Helper for comparing {@link RouteDefinition}s, such as when reloading routes to find out which routes have changed.
+ * <p/>
+ * The definitions are compared structurally by walking the fields of the model classes, ignoring the state which is not
+ * part of the route itself (such as the source location, line numbers and auto assigned ids). Any field which is not a
+ * model class is compared with its <tt>equals</tt> method, which means objects such as processors and predicates
+ * created in the Java DSL are only equal if they are the same instance, so such routes are reported as changed.
+ * <p/>
+ * Creating a route from its definition changes the definition (for example intercepts are moved out of the outputs), so
+ * a route which is running must be compared using a {@link Snapshot} of its definition taken before the route was
+ * created. The route configurations applied to a route are part of its prepared definition, so a route is changed when
+ * any of its route configurations is changed.
+ */
+public final class RouteDefinitionDiffHelper {
+
+    private static final int MAX_DIFFS = 5;
+    private static final int MAX_VALUE_LENGTH = 60;
+
+    // state which is not part of the route definition (parents, source locations, lifecycle flags etc.)
+    private static final Set<String> IGNORED_FIELDS = Set.of(
+            "camelContext", "customId", "lineNumber", "location", "parent", "blocks", "index", "routeConfiguration",
+            "appliedRouteConfigurationIds", "prepared", "inlined", "resource", "routeTemplateContext",
+            "endpointUriToString");
+
+    private static final Map<Class<?>, List<Field>> FIELDS = new ConcurrentHashMap<>();
+
+    private RouteDefinitionDiffHelper() {
+    }
+
+    /**
+     * Compares the two route definitions.
+     *
+     * @param  existing the existing route
+     * @param  updated  the updated route
+     * @return          <tt>null</tt> if the routes are equal, otherwise a human readable description of (the first of)
+     *                  their differences
+     */
+    public static String diff(RouteDefinition existing, RouteDefinition updated) {
+        return diff(snapshot(existing), snapshot(updated));
+    }
+
+    /**
+     * Compares the two snapshots of route definitions.
+     *
+     * @param  existing the snapshot of the existing route
+     * @param  updated  the snapshot of the updated route
+     * @return          <tt>null</tt> if the routes are equal, otherwise a human readable description of (the first of)
+     *                  their differences
+     */
+    public static String diff(Snapshot existing, Snapshot updated) {
+        Context ctx = new Context();
+        compare("route", existing, updated, ctx);
+        if (ctx.diffs.isEmpty()) {
+            return null;
+        }
+        String answer = String.join(", ", ctx.diffs);
+        return ctx.truncated ? answer + ", ..." : answer;
+    }
+
+    /**
+     * Takes a snapshot of the route definition, which is not affected by later changes to the definition.
+     *
+     * @param  route the route
+     * @return       the snapshot
+     */
+    public static Snapshot snapshot(RouteDefinition route) {
+        return (Snapshot) copy(route, new IdentityHashMap<>());
+    }
+
+    /**
+     * Takes a snapshot of the route configuration definition, which is not affected by later changes to the definition.
+     *
+     * @param  configuration the route configuration
+     * @return               the snapshot
+     */
+    public static Snapshot snapshot(RouteConfigurationDefinition configuration) {
+        return (Snapshot) copy(configuration, new IdentityHashMap<>());
+    }
+
+    private static Object copy(Object value, Map<Object, Snapshot> visited) {
+        if (value instanceof List<?> list) {
+            List<Object> answer = new ArrayList<>(list.size());
+            for (Object element : list) {
+                answer.add(copy(element, visited));
+            }
+            return answer;
+        } else if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> answer = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                answer.put(entry.getKey(), copy(entry.getValue(), visited));
+            }
+            return answer;
+        } else if (value instanceof ExpressionClause<?> clause && clause.getExpressionType() != null) {
+            // the expressions of the Java DSL builders are compared by their language expression
+            return copy(clause.getExpressionType(), visited);
+        } else if (value == null || !isModel(value.getClass())) {
+            return value;
+        }
+
+        // the model may have cycles (such as rests referring to their routes)
+        Snapshot answer = visited.get(value);
+        if (answer != null) {
+            return answer;
+        }
+        answer = new Snapshot(value.getClass());
+        visited.put(value, answer);
+        for (Field field : fieldsOf(value.getClass())) {
+            if ("id".equals(field.getName()) && !hasCustomId(value)) {
+                // auto assigned ids change every time the routes are loaded
+                continue;
+            }
+            if ("errorHandlerFactory".equals(field.getName()) && value instanceof RouteDefinition route) {
+                // the default error handler is assigned lazily when the route is created
+                answer.fields.put("errorHandler", copy(route.getErrorHandlerFactory(), visited));
+                continue;
+            }
+            answer.fields.put(field.getName(), copy(getField(field, value), visited));
+        }
+        return answer;
+    }
+
+    private static void compare(String path, Object a, Object b, Context ctx) {
+        if (a == b || ctx.truncated) {
+            return;
+        }
+        if (a == null || b == null || a.getClass() != b.getClass()) {
+            ctx.add(path, a, b);
+            return;
+        }
+
+        if (a instanceof List<?> la) {
+            List<?> lb = (List<?>) b;
+            int size = Math.min(la.size(), lb.size());
+            for (int i = 0; i < size; i++) {
+                compare(path + "[" + i + "]", la.get(i), lb.get(i), ctx);
+            }
+            if (la.size() != lb.size()) {
+                ctx.add(path + ".size", la.size(), lb.size());
+            }
+        } else if (a instanceof Map<?, ?> ma) {
+            Map<?, ?> mb = (Map<?, ?>) b;
+            if (!ma.keySet().equals(mb.keySet())) {
+                ctx.add(path + ".keys", ma.keySet(), mb.keySet());
+            } else {
+                for (Map.Entry<?, ?> entry : ma.entrySet()) {
+                    compare(path + "[" + entry.getKey() + "]", entry.getValue(), mb.get(entry.getKey()), ctx);
+                }
+            }
+        } else if (a instanceof Snapshot sa) {
+            Snapshot sb = (Snapshot) b;
+            if (sa.type != sb.type) {
+                ctx.add(path, sa, sb);
+                return;
+            }
+            if (ctx.visited.put(sa, sb) != null) {
+                return;
+            }
+            Set<String> names = new LinkedHashSet<>(sa.fields.keySet());
+            names.addAll(sb.fields.keySet());
+            for (String name : names) {
+                compare(path + "." + name, sa.fields.get(name), sb.fields.get(name), ctx);
+            }
+        } else if (!Objects.equals(a, b)) {
+            ctx.add(path, a, b);
+        }
+    }
+
+    private static boolean isModel(Class<?> type) {
+        return type.getName().startsWith("org.apache.camel.model.");
+    }
+
+    private static boolean hasCustomId(Object definition) {
+        return definition instanceof OptionalIdentifiedDefinition<?> def && def.hasCustomIdAssigned();
+    }
+
+    private static List<Field> fieldsOf(Class<?> type) {
+        return FIELDS.computeIfAbsent(type, t -> {
+            List<Field> answer = new ArrayList<>();
+            for (Class<?> c = t; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()
+                            || IGNORED_FIELDS.contains(field.getName())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    answer.add(field);
+                }
+            }
+            return answer;
+        });
+    }
+
+    private static Object getField(Field field, Object target) {
+        try {
+            return field.get(target);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot read field: " + field, e);
+        }
+    }
+
+    private static String format(Object value) {
+        String s = String.valueOf(value);
+        return s.length() > MAX_VALUE_LENGTH ? s.substring(0, MAX_VALUE_LENGTH) + "..." : s;
+    }
+
+    /**
+     * A snapshot of a model class with the values of its fields.
+     */
+    public static final class Snapshot {
+        private final Class<?> type;
+        private final Map<String, Object> fields = new LinkedHashMap<>();
+
+        private Snapshot(Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        public String toString() {
+            return type.getSimpleName();
+        }
+    }
+
+    private static final class Context {
+        private final List<String> diffs = new ArrayList<>();
+        private final Map<Object, Object> visited = new IdentityHashMap<>();
+        private boolean truncated;
+
+        void add(String path, Object a, Object b) {
+            if (diffs.size() == MAX_DIFFS) {
+                truncated = true;
+            } else {
+                diffs.add(path + ": " + format(a) + " -> " + format(b));
+            }
+        }
+    }
+}
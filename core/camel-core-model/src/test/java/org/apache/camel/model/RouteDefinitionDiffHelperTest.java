@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RouteDefinitionDiffHelperTest {
+
+    private static RouteDefinition createRoute(String uri, String predicate) {
+        RouteDefinition route = new RouteDefinition();
+        route.from("timer:foo").routeId("foo")
+                .filter().simple(predicate)
+                .to(uri)
+                .end()
+                .to("log:done");
+        // simulate the route being loaded from another location
+        route.setLineNumber(predicate.length());
+        route.setLocation("file:" + uri);
+        return route;
+    }
+
+    @Test
+    public void testEqual() {
+        RouteDefinition a = createRoute("log:a", "${body} > 5");
+        RouteDefinition b = createRoute("log:a", "${body} > 5");
+        Assertions.assertNull(RouteDefinitionDiffHelper.diff(a, b));
+    }
+
+    @Test
+    public void testChangedUri() {
+        RouteDefinition a = createRoute("log:a", "${body} > 5");
+        RouteDefinition b = createRoute("log:b", "${body} > 5");
+        String diff = RouteDefinitionDiffHelper.diff(a, b);
+        Assertions.assertNotNull(diff);
+        Assertions.assertTrue(diff.contains("log:a -> log:b"), diff);
+    }
+
+    @Test
+    public void testChangedExpression() {
+        RouteDefinition a = createRoute("log:a", "${body} > 5");
+        RouteDefinition b = createRoute("log:a", "${body} > 6");
+        String diff = RouteDefinitionDiffHelper.diff(a, b);
+        Assertions.assertNotNull(diff);
+        Assertions.assertTrue(diff.contains("expression"), diff);
+    }
+
+    @Test
+    public void testAddedOutput() {
+        RouteDefinition a = createRoute("log:a", "${body} > 5");
+        RouteDefinition b = createRoute("log:a", "${body} > 5");
+        b.to("log:extra");
+        String diff = RouteDefinitionDiffHelper.diff(a, b);
+        Assertions.assertNotNull(diff);
+        Assertions.assertTrue(diff.contains("outputs.size: 2 -> 3"), diff);
+    }
+
+    @Test
+    public void testAutoAssignedIdIgnored() {
+        RouteDefinition a = createRoute("log:a", "${body} > 5");
+        RouteDefinition b = createRoute("log:a", "${body} > 5");
+        a.getOutputs().get(1).setGeneratedId("to1");
+        b.getOutputs().get(1).setGeneratedId("to7");
+        Assertions.assertNull(RouteDefinitionDiffHelper.diff(a, b));
+
+        b.getOutputs().get(1).setId("myLog");
+        Assertions.assertNotNull(RouteDefinitionDiffHelper.diff(a, b));
+    }
+
+    private static RouteDefinition createPreparedRoute(String uri) {
+        RoutesDefinition routes = new RoutesDefinition();
+        routes.onException(IllegalArgumentException.class).maximumRedeliveries(2).to("log:error");
+        routes.intercept().to("log:intercepted");
+        RouteDefinition route = routes.from("timer:foo").routeId("foo").to(uri);
+        routes.prepareRoute(route);
+        return route;
+    }
+
+    @Test
+    public void testPreparedRoute() {
+        RouteDefinition a = createPreparedRoute("log:a");
+        a.updateDiffSnapshot();
+        // simulate creating the route, which moves the intercept out of the outputs of the definition
+        Assertions.assertTrue(a.getOutputs().removeIf(InterceptDefinition.class::isInstance));
+
+        RouteDefinition b = createPreparedRoute("log:a");
+        b.updateDiffSnapshot();
+        Assertions.assertNotNull(RouteDefinitionDiffHelper.diff(a, b));
+        Assertions.assertNull(RouteDefinitionDiffHelper.diff(a.getDiffSnapshot(), b.getDiffSnapshot()));
+
+        RouteDefinition c = createPreparedRoute("log:c");
+        c.updateDiffSnapshot();
+        String diff = RouteDefinitionDiffHelper.diff(a.getDiffSnapshot(), c.getDiffSnapshot());
+        Assertions.assertNotNull(diff);
+        Assertions.assertTrue(diff.contains("log:a -> log:c"), diff);
+    }
+}
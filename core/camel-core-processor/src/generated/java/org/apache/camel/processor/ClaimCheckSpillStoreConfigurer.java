@@ -0,0 +1,72 @@
+/* Generated by camel build tools - do NOT edit this file! */
+package org.apache.camel.processor;
+
+import javax.annotation.processing.Generated;
+import java.util.Map;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.spi.ExtendedPropertyConfigurerGetter;
+import org.apache.camel.spi.PropertyConfigurerGetter;
+import org.apache.camel.spi.ConfigurerStrategy;
+import org.apache.camel.spi.GeneratedPropertyConfigurer;
+import org.apache.camel.util.CaseInsensitiveMap;
+import org.apache.camel.processor.ClaimCheckSpillStore;
+
+/**
+ * Generated by camel build tools - do NOT edit this file!
+ */
+@Generated("org.apache.camel.maven.packaging.GenerateConfigurerMojo")
+@SuppressWarnings("unchecked")
+public class ClaimCheckSpillStoreConfigurer extends org.apache.camel.support.component.PropertyConfigurerSupport implements GeneratedPropertyConfigurer, PropertyConfigurerGetter {
+
+    @Override
+    public boolean configure(CamelContext camelContext, Object obj, String name, Object value, boolean ignoreCase) {
+        org.apache.camel.processor.ClaimCheckSpillStore target = (org.apache.camel.processor.ClaimCheckSpillStore) obj;
+        switch (ignoreCase ? name.toLowerCase() : name) {
+        case "allowserializedheaders":
+        case "allowSerializedHeaders": target.setAllowSerializedHeaders(property(camelContext, boolean.class, value)); return true;
+        case "deserializationfilter":
+        case "deserializationFilter": target.setDeserializationFilter(property(camelContext, java.lang.String.class, value)); return true;
+        case "directory": target.setDirectory(property(camelContext, java.io.File.class, value)); return true;
+        case "maxresidentbytes":
+        case "maxResidentBytes": target.setMaxResidentBytes(property(camelContext, long.class, value)); return true;
+        case "spillthreshold":
+        case "spillThreshold": target.setSpillThreshold(property(camelContext, long.class, value)); return true;
+        default: return false;
+        }
+    }
+
+    @Override
+    public Class<?> getOptionType(String name, boolean ignoreCase) {
+        switch (ignoreCase ? name.toLowerCase() : name) {
+        case "allowserializedheaders":
+        case "allowSerializedHeaders": return boolean.class;
+        case "deserializationfilter":
+        case "deserializationFilter": return java.lang.String.class;
+        case "directory": return java.io.File.class;
+        case "maxresidentbytes":
+        case "maxResidentBytes": return long.class;
+        case "spillthreshold":
+        case "spillThreshold": return long.class;
+        default: return null;
+        }
+    }
+
+    @Override
+    public Object getOptionValue(Object obj, String name, boolean ignoreCase) {
+        org.apache.camel.processor.ClaimCheckSpillStore target = (org.apache.camel.processor.ClaimCheckSpillStore) obj;
+        switch (ignoreCase ? name.toLowerCase() : name) {
+        case "allowserializedheaders":
+        case "allowSerializedHeaders": return target.isAllowSerializedHeaders();
+        case "deserializationfilter":
+        case "deserializationFilter": return target.getDeserializationFilter();
+        case "directory": return target.getDirectory();
+        case "maxresidentbytes":
+        case "maxResidentBytes": return target.getMaxResidentBytes();
+        case "spillthreshold":
+        case "spillThreshold": return target.getSpillThreshold();
+        default: return null;
+        }
+    }
+}
+
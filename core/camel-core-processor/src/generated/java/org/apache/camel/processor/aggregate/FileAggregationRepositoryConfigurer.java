@@ -0,0 +1,108 @@
+/* Generated by camel build tools - do NOT edit this file! */
+package org.apache.camel.processor.aggregate;
+
+import javax.annotation.processing.Generated;
+import java.util.Map;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.spi.ExtendedPropertyConfigurerGetter;
+import org.apache.camel.spi.PropertyConfigurerGetter;
+import org.apache.camel.spi.ConfigurerStrategy;
+import org.apache.camel.spi.GeneratedPropertyConfigurer;
+import org.apache.camel.util.CaseInsensitiveMap;
+import org.apache.camel.processor.aggregate.FileAggregationRepository;
+
+/**
+ * Generated by camel build tools - do NOT edit this file!
+ */
+@Generated("org.apache.camel.maven.packaging.GenerateConfigurerMojo")
+@SuppressWarnings("unchecked")
+public class FileAggregationRepositoryConfigurer extends org.apache.camel.support.component.PropertyConfigurerSupport implements GeneratedPropertyConfigurer, PropertyConfigurerGetter {
+
+    @Override
+    public boolean configure(CamelContext camelContext, Object obj, String name, Object value, boolean ignoreCase) {
+        org.apache.camel.processor.aggregate.FileAggregationRepository target = (org.apache.camel.processor.aggregate.FileAggregationRepository) obj;
+        switch (ignoreCase ? name.toLowerCase() : name) {
+        case "allowserializedheaders":
+        case "allowSerializedHeaders": target.setAllowSerializedHeaders(property(camelContext, boolean.class, value)); return true;
+        case "compactionthreshold":
+        case "compactionThreshold": target.setCompactionThreshold(property(camelContext, double.class, value)); return true;
+        case "deadletteruri":
+        case "deadLetterUri": target.setDeadLetterUri(property(camelContext, java.lang.String.class, value)); return true;
+        case "deserializationfilter":
+        case "deserializationFilter": target.setDeserializationFilter(property(camelContext, java.lang.String.class, value)); return true;
+        case "directory": target.setDirectory(property(camelContext, java.io.File.class, value)); return true;
+        case "maxsegmentsize":
+        case "maxSegmentSize": target.setMaxSegmentSize(property(camelContext, long.class, value)); return true;
+        case "maximumredeliveries":
+        case "maximumRedeliveries": target.setMaximumRedeliveries(property(camelContext, int.class, value)); return true;
+        case "optimisticlocking":
+        case "optimisticLocking": target.setOptimisticLocking(property(camelContext, boolean.class, value)); return true;
+        case "recoveryinterval":
+        case "recoveryInterval": target.setRecoveryInterval(property(camelContext, long.class, value)); return true;
+        case "syncinterval":
+        case "syncInterval": target.setSyncInterval(property(camelContext, long.class, value)); return true;
+        case "userecovery":
+        case "useRecovery": target.setUseRecovery(property(camelContext, boolean.class, value)); return true;
+        default: return false;
+        }
+    }
+
+    @Override
+    public Class<?> getOptionType(String name, boolean ignoreCase) {
+        switch (ignoreCase ? name.toLowerCase() : name) {
+        case "allowserializedheaders":
+        case "allowSerializedHeaders": return boolean.class;
+        case "compactionthreshold":
+        case "compactionThreshold": return double.class;
+        case "deadletteruri":
+        case "deadLetterUri": return java.lang.String.class;
+        case "deserializationfilter":
+        case "deserializationFilter": return java.lang.String.class;
+        case "directory": return java.io.File.class;
+        case "maxsegmentsize":
+        case "maxSegmentSize": return long.class;
+        case "maximumredeliveries":
+        case "maximumRedeliveries": return int.class;
+        case "optimisticlocking":
+        case "optimisticLocking": return boolean.class;
+        case "recoveryinterval":
+        case "recoveryInterval": return long.class;
+        case "syncinterval":
+        case "syncInterval": return long.class;
+        case "userecovery":
+        case "useRecovery": return boolean.class;
+        default: return null;
+        }
+    }
+
+    @Override
+    public Object getOptionValue(Object obj, String name, boolean ignoreCase) {
+        org.apache.camel.processor.aggregate.FileAggregationRepository target = (org.apache.camel.processor.aggregate.FileAggregationRepository) obj;
+        switch (ignoreCase ? name.toLowerCase() : name) {
+        case "allowserializedheaders":
+        case "allowSerializedHeaders": return target.isAllowSerializedHeaders();
+        case "compactionthreshold":
+        case "compactionThreshold": return target.getCompactionThreshold();
+        case "deadletteruri":
+        case "deadLetterUri": return target.getDeadLetterUri();
+        case "deserializationfilter":
+        case "deserializationFilter": return target.getDeserializationFilter();
+        case "directory": return target.getDirectory();
+        case "maxsegmentsize":
+        case "maxSegmentSize": return target.getMaxSegmentSize();
+        case "maximumredeliveries":
+        case "maximumRedeliveries": return target.getMaximumRedeliveries();
+        case "optimisticlocking":
+        case "optimisticLocking": return target.isOptimisticLocking();
+        case "recoveryinterval":
+        case "recoveryInterval": return target.getRecoveryInterval();
+        case "syncinterval":
+        case "syncInterval": return target.getSyncInterval();
+        case "userecovery":
+        case "useRecovery": return target.isUseRecovery();
+        default: return null;
+        }
+    }
+}
+
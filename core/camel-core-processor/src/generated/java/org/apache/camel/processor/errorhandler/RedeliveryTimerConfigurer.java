@@ -0,0 +1,63 @@
+/* Generated by camel build tools - do NOT edit this file! */
+package org.apache.camel.processor.errorhandler;
+
+import javax.annotation.processing.Generated;
+import java.util.Map;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.spi.ExtendedPropertyConfigurerGetter;
+import org.apache.camel.spi.PropertyConfigurerGetter;
+import org.apache.camel.spi.ConfigurerStrategy;
+import org.apache.camel.spi.GeneratedPropertyConfigurer;
+import org.apache.camel.util.CaseInsensitiveMap;
+import org.apache.camel.processor.errorhandler.RedeliveryTimer;
+
+/**
+ * Generated by camel build tools - do NOT edit this file!
+ */
+@Generated("org.apache.camel.maven.packaging.GenerateConfigurerMojo")
+@SuppressWarnings("unchecked")
+public class RedeliveryTimerConfigurer extends org.apache.camel.support.component.PropertyConfigurerSupport implements GeneratedPropertyConfigurer, PropertyConfigurerGetter {
+
+    @Override
+    public boolean configure(CamelContext camelContext, Object obj, String name, Object value, boolean ignoreCase) {
+        org.apache.camel.processor.errorhandler.RedeliveryTimer target = (org.apache.camel.processor.errorhandler.RedeliveryTimer) obj;
+        switch (ignoreCase ? name.toLowerCase() : name) {
+        case "maxpendingredeliveries":
+        case "maxPendingRedeliveries": target.setMaxPendingRedeliveries(property(camelContext, int.class, value)); return true;
+        case "tickduration":
+        case "tickDuration": target.setTickDuration(property(camelContext, long.class, value)); return true;
+        case "wheelsize":
+        case "wheelSize": target.setWheelSize(property(camelContext, int.class, value)); return true;
+        default: return false;
+        }
+    }
+
+    @Override
+    public Class<?> getOptionType(String name, boolean ignoreCase) {
+        switch (ignoreCase ? name.toLowerCase() : name) {
+        case "maxpendingredeliveries":
+        case "maxPendingRedeliveries": return int.class;
+        case "tickduration":
+        case "tickDuration": return long.class;
+        case "wheelsize":
+        case "wheelSize": return int.class;
+        default: return null;
+        }
+    }
+
+    @Override
+    public Object getOptionValue(Object obj, String name, boolean ignoreCase) {
+        org.apache.camel.processor.errorhandler.RedeliveryTimer target = (org.apache.camel.processor.errorhandler.RedeliveryTimer) obj;
+        switch (ignoreCase ? name.toLowerCase() : name) {
+        case "maxpendingredeliveries":
+        case "maxPendingRedeliveries": return target.getMaxPendingRedeliveries();
+        case "tickduration":
+        case "tickDuration": return target.getTickDuration();
+        case "wheelsize":
+        case "wheelSize": return target.getWheelSize();
+        default: return null;
+        }
+    }
+}
+
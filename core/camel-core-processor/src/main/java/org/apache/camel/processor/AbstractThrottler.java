@@ -26,6 +26,7 @@ import org.apache.camel.Expression;
 import org.apache.camel.Traceable;
 import org.apache.camel.spi.IdAware;
 import org.apache.camel.spi.RouteIdAware;
+import org.apache.camel.support.jfr.ThrottlerWaitEvent;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -81,6 +82,34 @@ public abstract class AbstractThrottler extends BaseProcessorSupport implements
         return doneSync;
     }
 
+    /**
+     * Begins the JFR event for an exchange which is blocked waiting for a permit.
+     *
+     * @return the event, or <tt>null</tt> if the event is not enabled in the JFR recording
+     */
+    protected ThrottlerWaitEvent beginWaitEvent(Exchange exchange, String key) {
+        ThrottlerWaitEvent event = new ThrottlerWaitEvent();
+        if (event.isEnabled()) {
+            event.routeId = routeId;
+            event.throttlerId = id;
+            event.mode = getMode();
+            event.correlationKey = key;
+            event.exchangeId = exchange.getExchangeId();
+            event.begin();
+            return event;
+        }
+        return null;
+    }
+
+    /**
+     * Commits the JFR event when the exchange got a permit.
+     */
+    protected static void commitWaitEvent(ThrottlerWaitEvent event) {
+        if (event != null) {
+            event.commit();
+        }
+    }
+
     @Override
     public boolean isRejectExecution() {
         return rejectExecution;
@@ -26,8 +26,10 @@ import org.apache.camel.Expression;
 import org.apache.camel.spi.ClaimCheckRepository;
 import org.apache.camel.spi.IdAware;
 import org.apache.camel.spi.RouteIdAware;
+import org.apache.camel.support.CamelContextHelper;
 import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.LanguageSupport;
+import org.apache.camel.support.SynchronizationAdapter;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
@@ -40,6 +42,10 @@ import org.slf4j.LoggerFactory;
  * repository is not shared among {@link Exchange}s, but a private instance is created per {@link Exchange}. This guards
  * against concurrent and thread-safe issues. For off-memory persistent storage of data, then use any of the many Camel
  * components that support persistent storage, and do not use this Claim Check EIP implementation.
+ * <p/>
+ * If a {@link ClaimCheckSpillStore} is configured (or is in the registry), then a {@link SpillingClaimCheckRepository}
+ * is used which spills the exchanges with large message bodies to disk, so the heap used by the claim checks is
+ * bounded. The spilled exchanges are removed when the {@link Exchange} is done.
  */
 public class ClaimCheckProcessor extends BaseProcessorSupport implements IdAware, RouteIdAware, CamelContextAware {
 
@@ -53,6 +59,7 @@ public class ClaimCheckProcessor extends BaseProcessorSupport implements IdAware
     private String key;
     private Expression keyExpression;
     private String filter;
+    private ClaimCheckSpillStore spillStore;
 
     @Override
     public CamelContext getCamelContext() {
@@ -116,6 +123,14 @@ public class ClaimCheckProcessor extends BaseProcessorSupport implements IdAware
         this.filter = filter;
     }
 
+    public ClaimCheckSpillStore getSpillStore() {
+        return spillStore;
+    }
+
+    public void setSpillStore(ClaimCheckSpillStore spillStore) {
+        this.spillStore = spillStore;
+    }
+
     @Override
     public boolean process(Exchange exchange, AsyncCallback callback) {
         // the repository is scoped per exchange
@@ -194,11 +209,23 @@ public class ClaimCheckProcessor extends BaseProcessorSupport implements IdAware
         }
     }
 
-    private static ClaimCheckRepository getClaimCheckRepository(Exchange exchange) {
+    private ClaimCheckRepository getClaimCheckRepository(Exchange exchange) {
         ClaimCheckRepository repo
                 = exchange.getProperty(ExchangePropertyKey.CLAIM_CHECK_REPOSITORY, ClaimCheckRepository.class);
         if (repo == null) {
-            repo = new DefaultClaimCheckRepository();
+            if (spillStore != null) {
+                ClaimCheckRepository spilling = spillStore.createRepository();
+                // remove the spilled exchanges when the exchange is done
+                exchange.getExchangeExtension().addOnCompletion(new SynchronizationAdapter() {
+                    @Override
+                    public void onDone(Exchange exchange) {
+                        spilling.clear();
+                    }
+                });
+                repo = spilling;
+            } else {
+                repo = new DefaultClaimCheckRepository();
+            }
             exchange.setProperty(ExchangePropertyKey.CLAIM_CHECK_REPOSITORY, repo);
         }
         return repo;
@@ -211,6 +238,14 @@ public class ClaimCheckProcessor extends BaseProcessorSupport implements IdAware
         }
         CamelContextAware.trySetCamelContext(aggregationStrategy, camelContext);
 
+        if (spillStore == null) {
+            spillStore = CamelContextHelper.findSingleByType(camelContext, ClaimCheckSpillStore.class);
+        }
+        if (spillStore != null && !camelContext.hasService(spillStore)) {
+            // the store is shared by the claim checks, so its lifecycle is managed by camel context
+            camelContext.addService(spillStore, true, true);
+        }
+
         if (LanguageSupport.hasSimpleFunction(key)) {
             keyExpression = camelContext.resolveLanguage("simple").createExpression(key);
         } else {
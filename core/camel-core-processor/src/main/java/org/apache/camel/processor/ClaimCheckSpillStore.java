@@ -0,0 +1,489 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.StreamCache;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.converter.stream.InputStreamCache;
+import org.apache.camel.spi.ClaimCheckRepository;
+import org.apache.camel.spi.Configurer;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.DefaultExchangeHolder;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Storage of the exchanges of the Claim Check EIP which keeps small exchanges in memory, and spills exchanges with
+ * large message bodies to files on disk, so the heap used by the claim checks is bounded.
+ * <p/>
+ * When this store is in the registry, the {@link ClaimCheckProcessor} uses a {@link SpillingClaimCheckRepository} per
+ * {@link Exchange} which stores the exchanges in this store, instead of the in-memory
+ * {@link DefaultClaimCheckRepository}.
+ * <p/>
+ * An exchange is spilled when the size of its message body is at least the spill threshold, or when keeping it in
+ * memory would exceed the maximum number of resident bytes of all the claim checks. The headers and properties of a
+ * spilled exchange are serialized with {@link DefaultExchangeHolder}, and the body is written as is. Only bodies of
+ * type <tt>byte[]</tt>, {@link String} and {@link StreamCache} can be spilled, other bodies are always kept in memory.
+ * Stream caches which are already spooled to disk are kept as is, as they do not use the heap.
+ * <p/>
+ * {@link DefaultExchangeHolder} only stores headers, exchange properties and variables of simple types (and serialized
+ * Java objects when allowed), so an exchange with other values is kept in memory instead of losing them. Internal
+ * exchange properties of Camel are not stored, as they are set again when the exchange is routed.
+ */
+@Metadata(label = "bean",
+          description = "Storage of the exchanges of the Claim Check EIP which spills exchanges with large message bodies to disk,"
+                        + " so the heap used by the claim checks is bounded.")
+@Configurer(metadataOnly = true)
+@ManagedResource(description = "Claim check spill store")
+public class ClaimCheckSpillStore extends ServiceSupport implements CamelContextAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClaimCheckSpillStore.class);
+
+    private static final String SPILL_PREFIX = "claimcheck-";
+    private static final String SPILL_SUFFIX = ".spill";
+    private static final byte BYTES = 1;
+    private static final byte STRING = 2;
+    private static final byte STREAM_CACHE = 3;
+
+    private final AtomicLong residentBytes = new AtomicLong();
+    private final LongAdder residentExchanges = new LongAdder();
+    private final LongAdder spilledBytes = new LongAdder();
+    private final LongAdder spilledExchanges = new LongAdder();
+    private final LongAdder spillCounter = new LongAdder();
+    private CamelContext camelContext;
+    private ObjectInputFilter inputFilter;
+    private Path spillPath;
+    private boolean temporaryDirectory;
+
+    @Metadata(description = "The directory of the spill files. If not set, a temporary directory is used.")
+    private File directory;
+    @Metadata(description = "The size in bytes of the message body from which the exchange is spilled to disk",
+              defaultValue = "1048576")
+    private long spillThreshold = 1024 * 1024;
+    @Metadata(description = "The maximum number of bytes of message bodies kept in memory by all the claim checks."
+                            + " Exchanges are spilled to disk when this is exceeded.",
+              defaultValue = "67108864")
+    private long maxResidentBytes = 64 * 1024 * 1024;
+    @Metadata(description = "Whether headers and properties which are serialized Java objects are allowed to be stored")
+    private boolean allowSerializedHeaders;
+    @Metadata(description = "The filter of the classes which are allowed to be deserialized (see java.io.ObjectInputFilter)",
+              defaultValue = "java.**;org.apache.camel.**;!*")
+    private String deserializationFilter = "java.**;org.apache.camel.**;!*";
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(File directory) {
+        this.directory = directory;
+    }
+
+    @ManagedAttribute(description = "The size in bytes of the message body from which the exchange is spilled to disk")
+    public long getSpillThreshold() {
+        return spillThreshold;
+    }
+
+    public void setSpillThreshold(long spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+
+    @ManagedAttribute(description = "The maximum number of bytes of message bodies kept in memory")
+    public long getMaxResidentBytes() {
+        return maxResidentBytes;
+    }
+
+    public void setMaxResidentBytes(long maxResidentBytes) {
+        this.maxResidentBytes = maxResidentBytes;
+    }
+
+    public boolean isAllowSerializedHeaders() {
+        return allowSerializedHeaders;
+    }
+
+    public void setAllowSerializedHeaders(boolean allowSerializedHeaders) {
+        this.allowSerializedHeaders = allowSerializedHeaders;
+    }
+
+    public String getDeserializationFilter() {
+        return deserializationFilter;
+    }
+
+    public void setDeserializationFilter(String deserializationFilter) {
+        this.deserializationFilter = deserializationFilter;
+    }
+
+    @ManagedAttribute(description = "The directory of the spill files")
+    public String getSpillDirectory() {
+        return spillPath != null ? spillPath.toString() : null;
+    }
+
+    @ManagedAttribute(description = "Number of bytes of message bodies kept in memory")
+    public long getResidentBytes() {
+        return residentBytes.get();
+    }
+
+    @ManagedAttribute(description = "Number of exchanges kept in memory")
+    public long getResidentExchanges() {
+        return residentExchanges.sum();
+    }
+
+    @ManagedAttribute(description = "Number of bytes of the spill files")
+    public long getSpilledBytes() {
+        return spilledBytes.sum();
+    }
+
+    @ManagedAttribute(description = "Number of exchanges spilled to disk")
+    public long getSpilledExchanges() {
+        return spilledExchanges.sum();
+    }
+
+    @ManagedAttribute(description = "Total number of exchanges which have been spilled to disk")
+    public long getSpillCounter() {
+        return spillCounter.sum();
+    }
+
+    /**
+     * Creates a new {@link ClaimCheckRepository} which stores its exchanges in this store.
+     */
+    public ClaimCheckRepository createRepository() {
+        return new SpillingClaimCheckRepository(this);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(camelContext, "camelContext", this);
+        inputFilter = ObjectInputFilter.Config.createFilter(deserializationFilter);
+
+        if (directory != null) {
+            spillPath = directory.toPath();
+            Files.createDirectories(spillPath);
+            // remove spill files left behind by a crash
+            deleteSpillFiles();
+        } else {
+            spillPath = Files.createTempDirectory(SPILL_PREFIX);
+            temporaryDirectory = true;
+        }
+        LOG.debug("Spilling claim checks larger than {} bytes to directory: {}", spillThreshold, spillPath);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (spillPath != null) {
+            deleteSpillFiles();
+            if (temporaryDirectory) {
+                FileUtil.deleteFile(spillPath);
+            }
+            spillPath = null;
+            temporaryDirectory = false;
+        }
+        residentBytes.set(0);
+        residentExchanges.reset();
+        spilledBytes.reset();
+        spilledExchanges.reset();
+    }
+
+    /**
+     * Stores the exchange, either in memory or in a spill file.
+     */
+    Entry store(Exchange exchange) {
+        Object body = exchange.getMessage().getBody();
+        long size = sizeOf(body);
+        if (size < spillThreshold && reserve(size)) {
+            residentExchanges.increment();
+            return new Entry(exchange, size, null);
+        }
+
+        Path file = isSpillable(exchange) ? spill(exchange, body) : null;
+        if (file == null) {
+            // the exchange cannot be spilled so keep it in memory even if this exceeds the maximum
+            residentBytes.addAndGet(size);
+            residentExchanges.increment();
+            return new Entry(exchange, size, null);
+        }
+        return new Entry(null, fileSize(file), file);
+    }
+
+    /**
+     * Loads the exchange of the entry. The exchange is a new copy each time, so the stored exchange is not changed by
+     * the caller.
+     */
+    Exchange load(Entry entry) {
+        if (entry.exchange != null) {
+            Exchange answer = entry.exchange.copy();
+            if (answer.getMessage().getBody() instanceof StreamCache cache) {
+                answer.getMessage().setBody(copyStreamCache(cache, answer));
+            }
+            return answer;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry.file)))) {
+            byte[] payload = new byte[in.readInt()];
+            in.readFully(payload);
+            byte type = in.readByte();
+            // the body is read directly into an array of its size
+            byte[] data = new byte[Math.toIntExact(entry.size - payload.length - 5)];
+            in.readFully(data);
+
+            Exchange answer = unmarshal(payload);
+            if (type == STRING) {
+                answer.getMessage().setBody(new String(data, StandardCharsets.UTF_8));
+            } else {
+                answer.getMessage().setBody(type == STREAM_CACHE ? new InputStreamCache(data) : data);
+            }
+            return answer;
+        } catch (IOException e) {
+            throw new RuntimeCamelException("Error reading spill file: " + entry.file, e);
+        }
+    }
+
+    /**
+     * Releases the memory or spill file of the entry, when the exchange is removed.
+     */
+    void release(Entry entry) {
+        if (entry.file == null) {
+            residentBytes.addAndGet(-entry.size);
+            residentExchanges.decrement();
+            return;
+        }
+        try {
+            if (Files.deleteIfExists(entry.file)) {
+                spilledBytes.add(-entry.size);
+                spilledExchanges.decrement();
+            }
+        } catch (IOException e) {
+            LOG.warn("Error deleting spill file: {} due to {}. This exception is ignored.", entry.file, e.getMessage(), e);
+        }
+    }
+
+    private boolean reserve(long size) {
+        while (true) {
+            long current = residentBytes.get();
+            if (current + size > maxResidentBytes) {
+                return false;
+            }
+            if (residentBytes.compareAndSet(current, current + size)) {
+                return true;
+            }
+        }
+    }
+
+    private Path spill(Exchange exchange, Object body) {
+        final byte type;
+        final ByteBuffer data;
+        if (body instanceof byte[] bytes) {
+            type = BYTES;
+            data = ByteBuffer.wrap(bytes);
+        } else if (body instanceof String text) {
+            type = STRING;
+            data = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        } else if (body instanceof StreamCache cache && cache.inMemory()) {
+            type = STREAM_CACHE;
+            data = null;
+        } else {
+            return null;
+        }
+
+        // the exchange is a private copy, so the body is removed before the headers and properties are serialized
+        exchange.getMessage().setBody(null);
+        byte[] payload = marshal(exchange);
+
+        Path file = null;
+        try {
+            file = Files.createTempFile(spillPath, SPILL_PREFIX, SPILL_SUFFIX);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(payload.length + 5);
+                header.putInt(payload.length).put(payload).put(type).flip();
+                if (data != null) {
+                    writeFully(channel, new ByteBuffer[] { header, data });
+                } else {
+                    writeFully(channel, new ByteBuffer[] { header });
+                    StreamCache cache = (StreamCache) body;
+                    cache.reset();
+                    cache.writeTo(Channels.newOutputStream(channel));
+                    cache.reset();
+                }
+            }
+        } catch (IOException e) {
+            if (file != null) {
+                FileUtil.deleteFile(file);
+            }
+            throw new RuntimeCamelException("Error spilling exchange: " + exchange.getExchangeId(), e);
+        }
+
+        spilledBytes.add(fileSize(file));
+        spilledExchanges.increment();
+        spillCounter.increment();
+        LOG.trace("Spilled exchange: {} to file: {}", exchange.getExchangeId(), file);
+        return file;
+    }
+
+    /**
+     * Whether the headers, exchange properties and variables of the exchange are all stored by
+     * {@link DefaultExchangeHolder}, which excludes the values that it cannot store.
+     */
+    private boolean isSpillable(Exchange exchange) {
+        if (!isStorable(exchange.getMessage().getHeaders(), false)
+                || !isStorable(exchange.getProperties(), true)
+                || !isStorable(exchange.getVariables(), true)) {
+            LOG.debug("Cannot spill exchange: {} as it has values which cannot be stored", exchange.getExchangeId());
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isStorable(Map<String, Object> values, boolean allowThrowable) {
+        for (Object value : values.values()) {
+            if (value == null || value instanceof Number || value instanceof CharSequence || value instanceof Character
+                    || value instanceof Boolean || value instanceof Date) {
+                continue;
+            }
+            if (allowThrowable && value instanceof Throwable) {
+                continue;
+            }
+            if (!allowSerializedHeaders || !(value instanceof Serializable)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Object copyStreamCache(StreamCache cache, Exchange exchange) {
+        try {
+            return cache.copy(exchange);
+        } catch (IOException e) {
+            throw new RuntimeCamelException("Error copying stream cache of exchange: " + exchange.getExchangeId(), e);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer[] buffers) throws IOException {
+        ByteBuffer last = buffers[buffers.length - 1];
+        while (last.hasRemaining()) {
+            channel.write(buffers);
+        }
+    }
+
+    private byte[] marshal(Exchange exchange) {
+        DefaultExchangeHolder holder = DefaultExchangeHolder.marshal(exchange, true, allowSerializedHeaders);
+        try {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream(1024);
+            try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+                oos.writeObject(holder);
+            }
+            return bos.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeCamelException("Error marshalling exchange: " + exchange.getExchangeId(), e);
+        }
+    }
+
+    private Exchange unmarshal(byte[] payload) {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            ois.setObjectInputFilter(inputFilter);
+            DefaultExchangeHolder holder = (DefaultExchangeHolder) ois.readObject();
+            Exchange answer = new DefaultExchange(camelContext);
+            DefaultExchangeHolder.unmarshal(answer, holder);
+            return answer;
+        } catch (IOException | ClassNotFoundException e) {
+            throw new RuntimeCamelException("Error unmarshalling exchange", e);
+        }
+    }
+
+    private void deleteSpillFiles() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spillPath, SPILL_PREFIX + "*" + SPILL_SUFFIX)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static long fileSize(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * The size in bytes of the message body, or 0 if the body does not use the heap or its size is not known.
+     */
+    private static long sizeOf(Object body) {
+        if (body instanceof byte[] bytes) {
+            return bytes.length;
+        } else if (body instanceof String text) {
+            return text.length();
+        } else if (body instanceof StreamCache cache && cache.inMemory()) {
+            return Math.max(0, cache.length());
+        }
+        return 0;
+    }
+
+    /**
+     * An exchange which is either kept in memory or spilled to a file.
+     */
+    static final class Entry {
+        private final Exchange exchange;
+        private final long size;
+        private final Path file;
+
+        private Entry(Exchange exchange, long size, Path file) {
+            this.exchange = exchange;
+            this.size = size;
+            this.file = file;
+        }
+    }
+}
@@ -34,6 +34,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.Expression;
 import org.apache.camel.RuntimeExchangeException;
 import org.apache.camel.spi.Synchronization;
+import org.apache.camel.support.jfr.ThrottlerWaitEvent;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -125,7 +126,7 @@ public class ConcurrentRequestsThrottler extends AbstractThrottler {
                     return processAsynchronously(exchange, callback, throttlingState);
                 }
 
-                doThrottle(exchange, throttlingState, state, queuedStart);
+                doThrottle(exchange, key, throttlingState, state, queuedStart);
             }
         } else {
             // permit acquired
@@ -146,7 +147,8 @@ public class ConcurrentRequestsThrottler extends AbstractThrottler {
         return doneSync;
     }
 
-    private static void doThrottle(Exchange exchange, ThrottlingState throttlingState, State state, long queuedStart)
+    private void doThrottle(
+            Exchange exchange, String key, ThrottlingState throttlingState, State state, long queuedStart)
             throws InterruptedException {
         // block waiting for a permit
         long start = 0;
@@ -154,7 +156,9 @@ public class ConcurrentRequestsThrottler extends AbstractThrottler {
         if (LOG.isTraceEnabled()) {
             start = System.nanoTime();
         }
+        ThrottlerWaitEvent event = beginWaitEvent(exchange, key);
         throttlingState.acquire(exchange);
+        commitWaitEvent(event);
         if (LOG.isTraceEnabled()) {
             elapsed = System.nanoTime() - start;
         }
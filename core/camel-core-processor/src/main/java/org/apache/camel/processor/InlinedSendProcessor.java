@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Consumer;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.ExchangePropertyKey;
+import org.apache.camel.Route;
+import org.apache.camel.StatefulService;
+import org.apache.camel.support.AsyncProcessorConverterHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link SendProcessor} which sends to a direct endpoint by calling the processor of the route that consumes from the
+ * endpoint, instead of going through the direct producer and consumer.
+ * <p/>
+ * The route processor is the same processor that the direct consumer would call, so the route policies, inflight
+ * tracking, unit of work, route statistics and error handling of the target route are kept as-is. When the target route
+ * is not consuming (such as not started yet, suspended or removed), or when the exchange must be sent using the regular
+ * producer (such as when sending events are emitted), then the exchange is sent as a regular {@link SendProcessor}.
+ */
+public class InlinedSendProcessor extends SendProcessor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InlinedSendProcessor.class);
+    private static final long RESOLVE_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private volatile Route target;
+    private volatile AsyncProcessor targetProcessor;
+    private volatile long lastResolved;
+
+    public InlinedSendProcessor(Endpoint destination) {
+        super(destination);
+    }
+
+    /**
+     * The route which the exchanges are inlined into, or <tt>null</tt> if the target route has not been resolved.
+     */
+    public Route getTarget() {
+        return target;
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        AsyncProcessor processor = targetProcessor;
+        if (processor == null || !isConsuming(target)) {
+            processor = resolveTarget();
+        }
+        if (processor == null || !isStarted()
+                || camelContext.getCamelContextExtension().isEventNotificationApplicable()
+                || exchange.getProperty(ExchangePropertyKey.OTEL_ACTIVE_SPAN) != null) {
+            return super.process(exchange, callback);
+        }
+
+        if (extendedStatistics) {
+            counter.incrementAndGet();
+        }
+        // set property which endpoint we send to
+        exchange.setProperty(ExchangePropertyKey.TO_ENDPOINT, destination.getEndpointUri());
+
+        // we should preserve existing MEP as the target route may change it
+        final ExchangePattern existingPattern = exchange.getPattern();
+
+        LOG.debug(">>>> {} (inlined) {}", destination, exchange);
+        return processor.process(exchange, doneSync -> {
+            // restore previous MEP
+            exchange.setPattern(existingPattern);
+            callback.done(doneSync);
+        });
+    }
+
+    private AsyncProcessor resolveTarget() {
+        long now = System.nanoTime();
+        if (lastResolved != 0 && now - lastResolved < RESOLVE_INTERVAL) {
+            // avoid scanning the routes on every exchange when there is no consuming route
+            return null;
+        }
+        lastResolved = now;
+
+        String uri = destination.getEndpointUri();
+        for (Route route : camelContext.getRoutes()) {
+            // only inline into routes which consume from the same endpoint without any options, as otherwise
+            // the direct consumer may behave differently (such as being forced synchronous)
+            if (uri.equals(route.getEndpoint().getEndpointUri()) && isConsuming(route)) {
+                LOG.debug("Inlining {} into route: {}", destination, route.getRouteId());
+                target = route;
+                targetProcessor = AsyncProcessorConverterHelper.convert(route.getProcessor());
+                lastResolved = 0;
+                return targetProcessor;
+            }
+        }
+        target = null;
+        targetProcessor = null;
+        return null;
+    }
+
+    private static boolean isConsuming(Route route) {
+        if (route == null) {
+            return false;
+        }
+        Consumer consumer = route.getConsumer();
+        return consumer instanceof StatefulService ss && ss.isStarted();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        target = null;
+        targetProcessor = null;
+        lastResolved = 0;
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.processor.ClaimCheckSpillStore.Entry;
+import org.apache.camel.spi.ClaimCheckRepository;
+
+/**
+ * A {@link ClaimCheckRepository} which keeps small exchanges in memory and spills exchanges with large message bodies
+ * to disk, using a {@link ClaimCheckSpillStore}.
+ * <p/>
+ * The exchanges which are spilled are loaded from disk every time they are retrieved, and the exchanges kept in memory
+ * are copied, so {@link #get(String)} returns a new copy of the exchange each time. The spill files are deleted when
+ * the exchanges are removed from the repository.
+ */
+public class SpillingClaimCheckRepository implements ClaimCheckRepository {
+
+    private final ClaimCheckSpillStore store;
+    private final Map<String, Entry> map = new HashMap<>();
+    private final Deque<Entry> stack = new ArrayDeque<>();
+
+    public SpillingClaimCheckRepository(ClaimCheckSpillStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public boolean add(String key, Exchange exchange) {
+        Entry entry = store.store(exchange);
+        Entry old;
+        synchronized (this) {
+            old = map.put(key, entry);
+        }
+        if (old != null) {
+            store.release(old);
+        }
+        return old == null;
+    }
+
+    @Override
+    public synchronized boolean contains(String key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public Exchange get(String key) {
+        Entry entry;
+        synchronized (this) {
+            entry = map.get(key);
+        }
+        return entry != null ? store.load(entry) : null;
+    }
+
+    @Override
+    public Exchange getAndRemove(String key) {
+        Entry entry;
+        synchronized (this) {
+            entry = map.remove(key);
+        }
+        return entry != null ? loadAndRelease(entry) : null;
+    }
+
+    @Override
+    public void push(Exchange exchange) {
+        Entry entry = store.store(exchange);
+        synchronized (this) {
+            stack.push(entry);
+        }
+    }
+
+    @Override
+    public Exchange pop() {
+        Entry entry;
+        synchronized (this) {
+            entry = stack.poll();
+        }
+        return entry != null ? loadAndRelease(entry) : null;
+    }
+
+    @Override
+    public void clear() {
+        Entry[] entries;
+        synchronized (this) {
+            entries = new Entry[map.size() + stack.size()];
+            int i = 0;
+            for (Entry entry : map.values()) {
+                entries[i++] = entry;
+            }
+            for (Entry entry : stack) {
+                entries[i++] = entry;
+            }
+            map.clear();
+            stack.clear();
+        }
+        for (Entry entry : entries) {
+            store.release(entry);
+        }
+    }
+
+    @Override
+    public void start() {
+        // noop
+    }
+
+    @Override
+    public void stop() {
+        // noop
+    }
+
+    private Exchange loadAndRelease(Entry entry) {
+        try {
+            return store.load(entry);
+        } finally {
+            store.release(entry);
+        }
+    }
+}
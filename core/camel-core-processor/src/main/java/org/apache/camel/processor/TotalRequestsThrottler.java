@@ -33,6 +33,7 @@ import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.Expression;
 import org.apache.camel.RuntimeExchangeException;
+import org.apache.camel.support.jfr.ThrottlerWaitEvent;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -125,7 +126,9 @@ public class TotalRequestsThrottler extends AbstractThrottler {
                     if (LOG.isTraceEnabled()) {
                         start = System.currentTimeMillis();
                     }
+                    ThrottlerWaitEvent event = beginWaitEvent(exchange, key);
                     permit = throttlingState.take();
+                    commitWaitEvent(event);
                     if (LOG.isTraceEnabled()) {
                         elapsed = System.currentTimeMillis() - start;
                     }
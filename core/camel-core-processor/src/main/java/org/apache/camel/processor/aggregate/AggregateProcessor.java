@@ -66,6 +66,7 @@ import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.LRUCacheFactory;
 import org.apache.camel.support.LoggingExceptionHandler;
 import org.apache.camel.support.NoLock;
+import org.apache.camel.support.jfr.AggregationCompletedEvent;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.StopWatch;
@@ -816,6 +817,17 @@ public class AggregateProcessor extends BaseProcessorSupport
             answer = aggregated;
         }
 
+        AggregationCompletedEvent event = new AggregationCompletedEvent();
+        if (event.isEnabled()) {
+            event.routeId = routeId;
+            event.aggregatorId = id;
+            event.correlationKey = key;
+            event.completedBy = aggregated.getProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, String.class);
+            event.size = aggregated.getProperty(ExchangePropertyKey.AGGREGATED_SIZE, 0, Integer.class);
+            event.discarded = answer == null;
+            event.commit();
+        }
+
         return answer;
     }
 
@@ -1558,6 +1570,7 @@ public class AggregateProcessor extends BaseProcessorSupport
             LOG.info("Optimistic locking is enabled");
         }
 
+        CamelContextAware.trySetCamelContext(aggregationRepository, camelContext);
         ServiceHelper.startService(aggregationStrategy, processor, aggregationRepository);
 
         // should we use recover checker
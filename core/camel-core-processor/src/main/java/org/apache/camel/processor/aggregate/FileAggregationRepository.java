@@ -0,0 +1,974 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.Configurer;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.spi.OptimisticLockingAggregationRepository;
+import org.apache.camel.spi.RecoverableAggregationRepository;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.DefaultExchangeHolder;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A file based {@link org.apache.camel.spi.AggregationRepository} which stores the aggregated {@link Exchange}s on
+ * disk, so the in progress aggregations survive a restart or crash of the JVM.
+ * <p/>
+ * The exchanges are appended to a log of segment files in the given directory, and an in-memory index keeps track of
+ * the position of the current exchange of each correlation key. Completed exchanges are kept in the log until they are
+ * confirmed, so they can be recovered (see {@link RecoverableAggregationRepository}). When the repository is started,
+ * the log is replayed to rebuild the index, and a partially written record at the end of the log (from a crash) is
+ * truncated.
+ * <p/>
+ * The log is forced to disk in batches every sync interval, instead of on every write. Set the sync interval to 0 to
+ * force the log on every write. A crash can lose the writes since the last sync, but never corrupts the log.
+ * <p/>
+ * Segments where most of the records are superseded by newer records are compacted in the background by copying the
+ * live records to a new segment and deleting the old segment. The records are copied without locking the repository,
+ * which is only locked briefly to move the index to the copied records.
+ * <p/>
+ * Supports both optimistic locking and non-optimistic locking modes. Defaults to non-optimistic locking mode. The
+ * version of the exchanges is stored as the {@link #VERSION_PROPERTY} exchange property.
+ */
+@Metadata(label = "bean",
+          description = "A file based AggregationRepository which stores the aggregated Exchanges in an append-only log on disk,"
+                        + " so they survive a restart or crash.",
+          annotations = { "interfaceName=org.apache.camel.spi.AggregationRepository" })
+@Configurer(metadataOnly = true)
+@ManagedResource(description = "File based aggregation repository")
+public class FileAggregationRepository extends ServiceSupport
+        implements RecoverableAggregationRepository, OptimisticLockingAggregationRepository, CamelContextAware {
+
+    /**
+     * The exchange property with the version of the exchange when using optimistic locking.
+     */
+    public static final String VERSION_PROPERTY = "CamelFileAggregationRepositoryVersion";
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileAggregationRepository.class);
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    // the record header is the length and checksum of the record body
+    private static final int HEADER_SIZE = 8;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte COMPLETE = 3;
+    private static final byte CONFIRM = 4;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock compactionLock = new ReentrantLock();
+    private final AtomicLong segmentIds = new AtomicLong();
+    private final Map<String, Location> index = new HashMap<>();
+    private final Map<String, Location> completed = new HashMap<>();
+    private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+    private Segment active;
+    private long sequence;
+    private volatile boolean dirty;
+    private ObjectInputFilter inputFilter;
+    private ScheduledExecutorService executorService;
+    private CamelContext camelContext;
+
+    @Metadata(description = "The directory of the segment files of the repository", required = true)
+    private File directory;
+    @Metadata(description = "The maximum size of a segment file in bytes, before a new segment file is started",
+              defaultValue = "" + 64 * 1024 * 1024)
+    private long maxSegmentSize = 64 * 1024 * 1024;
+    @Metadata(description = "The ratio of live records in a segment file below which the segment is compacted",
+              defaultValue = "0.5")
+    private double compactionThreshold = 0.5;
+    @Metadata(description = "Interval in millis between forcing the written records to disk. Use 0 to force on every write.",
+              defaultValue = "1000")
+    private long syncInterval = 1000;
+    @Metadata(description = "Whether to use optimistic locking")
+    private boolean optimisticLocking;
+    @Metadata(description = "Whether headers and properties which are serialized Java objects are allowed to be stored")
+    private boolean allowSerializedHeaders;
+    @Metadata(description = "The filter of the classes which are allowed to be deserialized (see java.io.ObjectInputFilter)",
+              defaultValue = "java.**;org.apache.camel.**;!*")
+    private String deserializationFilter = "java.**;org.apache.camel.**;!*";
+    @Metadata(description = "Whether or not recovery is enabled", defaultValue = "true")
+    private boolean useRecovery = true;
+    @Metadata(description = "Interval in millis between recovery scans", defaultValue = "5000")
+    private long recoveryInterval = 5000;
+    @Metadata(description = "The maximum number of redelivery attempts of a recovered exchange before it is moved to the dead letter channel")
+    private int maximumRedeliveries;
+    @Metadata(description = "The uri of the dead letter channel which exhausted recovered exchanges are sent to")
+    private String deadLetterUri;
+
+    public FileAggregationRepository() {
+    }
+
+    public FileAggregationRepository(File directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(File directory) {
+        this.directory = directory;
+    }
+
+    @ManagedAttribute(description = "The maximum size of a segment file in bytes")
+    public long getMaxSegmentSize() {
+        return maxSegmentSize;
+    }
+
+    public void setMaxSegmentSize(long maxSegmentSize) {
+        this.maxSegmentSize = maxSegmentSize;
+    }
+
+    public double getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    public void setCompactionThreshold(double compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    @ManagedAttribute(description = "Interval in millis between forcing the written records to disk")
+    public long getSyncInterval() {
+        return syncInterval;
+    }
+
+    public void setSyncInterval(long syncInterval) {
+        this.syncInterval = syncInterval;
+    }
+
+    public boolean isOptimisticLocking() {
+        return optimisticLocking;
+    }
+
+    public void setOptimisticLocking(boolean optimisticLocking) {
+        this.optimisticLocking = optimisticLocking;
+    }
+
+    public boolean isAllowSerializedHeaders() {
+        return allowSerializedHeaders;
+    }
+
+    public void setAllowSerializedHeaders(boolean allowSerializedHeaders) {
+        this.allowSerializedHeaders = allowSerializedHeaders;
+    }
+
+    public String getDeserializationFilter() {
+        return deserializationFilter;
+    }
+
+    public void setDeserializationFilter(String deserializationFilter) {
+        this.deserializationFilter = deserializationFilter;
+    }
+
+    @Override
+    public boolean isUseRecovery() {
+        return useRecovery;
+    }
+
+    @Override
+    public void setUseRecovery(boolean useRecovery) {
+        this.useRecovery = useRecovery;
+    }
+
+    @Override
+    public long getRecoveryInterval() {
+        return recoveryInterval;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void setRecoveryInterval(long interval, TimeUnit timeUnit) {
+        this.recoveryInterval = timeUnit.toMillis(interval);
+    }
+
+    @Override
+    public void setRecoveryInterval(long recoveryInterval) {
+        this.recoveryInterval = recoveryInterval;
+    }
+
+    @Override
+    public int getMaximumRedeliveries() {
+        return maximumRedeliveries;
+    }
+
+    @Override
+    public void setMaximumRedeliveries(int maximumRedeliveries) {
+        this.maximumRedeliveries = maximumRedeliveries;
+    }
+
+    @Override
+    public String getDeadLetterUri() {
+        return deadLetterUri;
+    }
+
+    @Override
+    public void setDeadLetterUri(String deadLetterUri) {
+        this.deadLetterUri = deadLetterUri;
+    }
+
+    @ManagedAttribute(description = "Number of in progress aggregated exchanges")
+    public int getInProgressSize() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "Number of completed exchanges which are not confirmed yet")
+    public int getCompletedSize() {
+        lock.readLock().lock();
+        try {
+            return completed.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "Number of segment files")
+    public int getSegmentSize() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "Total size of the segment files in bytes")
+    public long getDiskSize() {
+        lock.readLock().lock();
+        try {
+            long answer = 0;
+            for (Segment segment : segments.values()) {
+                answer += segment.size;
+            }
+            return answer;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Exchange add(CamelContext camelContext, String key, Exchange oldExchange, Exchange newExchange)
+            throws OptimisticLockingException {
+        if (!optimisticLocking) {
+            throw new UnsupportedOperationException();
+        }
+        byte[] payload = marshal(newExchange);
+        lock.writeLock().lock();
+        try {
+            Location current = index.get(key);
+            if (oldExchange == null) {
+                if (current != null) {
+                    throw new OptimisticLockingException();
+                }
+            } else {
+                Long version = oldExchange.getProperty(VERSION_PROPERTY, Long.class);
+                if (current == null || version == null || current.sequence != version) {
+                    throw new OptimisticLockingException();
+                }
+            }
+            Location location = append(PUT, key, payload);
+            replace(index, key, location);
+            newExchange.setProperty(VERSION_PROPERTY, location.sequence);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return oldExchange;
+    }
+
+    /**
+     * Add the given {@link Exchange} under the correlation key.
+     * <p/>
+     * The previous exchange is not read back from disk, so this method always returns <tt>null</tt>.
+     */
+    @Override
+    public Exchange add(CamelContext camelContext, String key, Exchange exchange) {
+        if (optimisticLocking) {
+            throw new UnsupportedOperationException();
+        }
+        byte[] payload = marshal(exchange);
+        lock.writeLock().lock();
+        try {
+            replace(index, key, append(PUT, key, payload));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return null;
+    }
+
+    @Override
+    public Exchange get(CamelContext camelContext, String key) {
+        Location location;
+        byte[] payload;
+        lock.readLock().lock();
+        try {
+            location = index.get(key);
+            if (location == null) {
+                return null;
+            }
+            payload = read(location);
+        } finally {
+            lock.readLock().unlock();
+        }
+        Exchange answer = unmarshal(camelContext, payload);
+        answer.setProperty(VERSION_PROPERTY, location.sequence);
+        return answer;
+    }
+
+    @Override
+    public void remove(CamelContext camelContext, String key, Exchange exchange) {
+        byte[] payload = marshal(exchange);
+        lock.writeLock().lock();
+        try {
+            Location current = index.get(key);
+            if (optimisticLocking) {
+                Long version = exchange.getProperty(VERSION_PROPERTY, Long.class);
+                if (current == null || version == null || current.sequence != version) {
+                    throw new OptimisticLockingException();
+                }
+            }
+            if (current != null) {
+                append(REMOVE, key, null);
+                replace(index, key, null);
+            }
+            // keep the exchange as completed until its confirmed so it can be recovered
+            replace(completed, exchange.getExchangeId(), append(COMPLETE, exchange.getExchangeId(), payload));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void confirm(CamelContext camelContext, String exchangeId) {
+        confirmWithResult(camelContext, exchangeId);
+    }
+
+    @Override
+    public boolean confirmWithResult(CamelContext camelContext, String exchangeId) {
+        lock.writeLock().lock();
+        try {
+            if (!completed.containsKey(exchangeId)) {
+                return false;
+            }
+            append(CONFIRM, exchangeId, null);
+            replace(completed, exchangeId, null);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Set<String> getKeys() {
+        lock.readLock().lock();
+        try {
+            // do not allow edits to the set
+            return Collections.unmodifiableSet(new LinkedHashSet<>(index.keySet()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Set<String> scan(CamelContext camelContext) {
+        lock.readLock().lock();
+        try {
+            Set<String> answer = new LinkedHashSet<>(completed.keySet());
+            LOG.trace("Scanned and found {} exchange(s) to recover", answer.size());
+            return answer;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Exchange recover(CamelContext camelContext, String exchangeId) {
+        byte[] payload;
+        lock.readLock().lock();
+        try {
+            Location location = completed.get(exchangeId);
+            if (location == null) {
+                return null;
+            }
+            payload = read(location);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return unmarshal(camelContext, payload);
+    }
+
+    /**
+     * Forces the written records to disk.
+     */
+    public void sync() throws IOException {
+        lock.readLock().lock();
+        try {
+            if (dirty && active != null) {
+                dirty = false;
+                active.channel.force(false);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compacts the segments where the ratio of live records is below the compaction threshold.
+     *
+     * @return the number of compacted segments
+     */
+    public int compact() throws IOException {
+        compactionLock.lock();
+        try {
+            List<Segment> candidates = new ArrayList<>();
+            lock.readLock().lock();
+            try {
+                for (Segment segment : segments.values()) {
+                    if (segment != active && segment.live <= segment.size * compactionThreshold) {
+                        candidates.add(segment);
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            int answer = 0;
+            for (Segment segment : candidates) {
+                if (compact(segment)) {
+                    answer++;
+                }
+            }
+            return answer;
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(directory, "directory", this);
+        if (compactionThreshold < 0 || compactionThreshold > 1) {
+            throw new IllegalArgumentException("CompactionThreshold must be between 0 and 1, was: " + compactionThreshold);
+        }
+        inputFilter = ObjectInputFilter.Config.createFilter(deserializationFilter);
+
+        Files.createDirectories(directory.toPath());
+        lock.writeLock().lock();
+        try {
+            load();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LOG.info("Loaded {} in progress and {} completed exchanges from {} segment(s) in directory: {}", index.size(),
+                completed.size(), segments.size(), directory);
+
+        if (syncInterval > 0) {
+            ObjectHelper.notNull(camelContext, "camelContext", this);
+            executorService = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this,
+                    "FileAggregationRepository");
+            executorService.scheduleWithFixedDelay(this::onSchedule, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (executorService != null) {
+            camelContext.getExecutorServiceManager().shutdown(executorService);
+            executorService = null;
+        }
+        // wait for a compaction in progress
+        compactionLock.lock();
+        lock.writeLock().lock();
+        try {
+            if (active != null) {
+                active.channel.force(false);
+            }
+            for (Segment segment : segments.values()) {
+                IOHelper.close(segment.channel);
+            }
+            segments.clear();
+            segmentIds.set(0);
+            index.clear();
+            completed.clear();
+            active = null;
+        } finally {
+            lock.writeLock().unlock();
+            compactionLock.unlock();
+        }
+    }
+
+    private void onSchedule() {
+        try {
+            sync();
+            compact();
+        } catch (Exception e) {
+            LOG.warn("Error syncing segments in directory: {} due to {}. This exception is ignored.", directory,
+                    e.getMessage(), e);
+        }
+    }
+
+    private byte[] marshal(Exchange exchange) {
+        DefaultExchangeHolder holder = DefaultExchangeHolder.marshal(exchange, true, allowSerializedHeaders);
+        try {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream(1024);
+            try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+                oos.writeObject(holder);
+            }
+            return bos.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeCamelException("Error marshalling exchange: " + exchange.getExchangeId(), e);
+        }
+    }
+
+    private Exchange unmarshal(CamelContext camelContext, byte[] payload) {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            ois.setObjectInputFilter(inputFilter);
+            DefaultExchangeHolder holder = (DefaultExchangeHolder) ois.readObject();
+            Exchange answer = new DefaultExchange(camelContext);
+            DefaultExchangeHolder.unmarshal(answer, holder);
+            return answer;
+        } catch (IOException | ClassNotFoundException e) {
+            throw new RuntimeCamelException("Error unmarshalling exchange", e);
+        }
+    }
+
+    /**
+     * Replaces the location in the index and keeps track of the live records of the segments.
+     */
+    private static void replace(Map<String, Location> map, String id, Location location) {
+        Location old = location != null ? map.put(id, location) : map.remove(id);
+        if (old != null) {
+            old.segment.live -= old.length;
+        }
+        if (location != null) {
+            location.segment.live += location.length;
+        }
+    }
+
+    private byte[] read(Location location) {
+        ByteBuffer buffer = ByteBuffer.allocate(location.payloadLength);
+        try {
+            readFully(location.segment.channel, buffer, location.position + location.payloadOffset);
+        } catch (IOException e) {
+            throw new RuntimeCamelException("Error reading from segment: " + location.segment.path, e);
+        }
+        return buffer.array();
+    }
+
+    private Location append(byte type, String id, byte[] payload) {
+        try {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream(payload != null ? payload.length + 64 : 64);
+            DataOutputStream out = new DataOutputStream(bos);
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeByte(type);
+            out.writeLong(++sequence);
+            byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 0xFFFF) {
+                throw new IllegalArgumentException("Key is too long: " + id);
+            }
+            out.writeShort(bytes.length);
+            out.write(bytes);
+            int payloadOffset = out.size();
+            if (payload != null) {
+                out.write(payload);
+            }
+            byte[] record = bos.toByteArray();
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            buffer.putInt(0, record.length - HEADER_SIZE);
+            buffer.putInt(4, checksum(record, HEADER_SIZE, record.length - HEADER_SIZE));
+
+            if (active == null || active.size > 0 && active.size + record.length > maxSegmentSize) {
+                roll();
+            }
+            long position = active.size;
+            writeFully(active.channel, buffer, position);
+            active.size += record.length;
+            active.minSequence = Math.min(active.minSequence, sequence);
+            if (syncInterval <= 0) {
+                active.channel.force(false);
+            } else {
+                dirty = true;
+            }
+            return new Location(active, position, record.length, payloadOffset, sequence);
+        } catch (IOException e) {
+            throw new RuntimeCamelException("Error writing to segment in directory: " + directory, e);
+        }
+    }
+
+    private void roll() throws IOException {
+        if (active != null) {
+            // the previous segment must be on disk before writing to the next
+            active.channel.force(false);
+        }
+        long id = segmentIds.incrementAndGet();
+        active = openSegment(id);
+        segments.put(id, active);
+        LOG.debug("Started new segment: {}", active.path);
+    }
+
+    private Segment openSegment(long id) throws IOException {
+        Path path = directory.toPath().resolve(String.format("%016d%s", id, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        return new Segment(id, path, channel);
+    }
+
+    /**
+     * Copies the live records of the segment (and the tombstones which may still supersede records in other segments)
+     * to a new segment and deletes the segment. The segment is not written to as it is not the active segment, so the
+     * records are copied without holding the lock of the repository, and the write lock is only held to move the index
+     * to the copied records.
+     *
+     * @return <tt>true</tt> if the segment was compacted, <tt>false</tt> if the repository was stopped meanwhile
+     */
+    private boolean compact(Segment segment) throws IOException {
+        // a tombstone is only needed while there are older records in other segments
+        long minSequence = Long.MAX_VALUE;
+        lock.readLock().lock();
+        try {
+            if (segments.get(segment.id) != segment) {
+                return false;
+            }
+            for (Segment other : segments.values()) {
+                if (other != segment) {
+                    minSequence = Math.min(minSequence, other.minSequence);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Segment target = openSegment(segmentIds.incrementAndGet());
+        List<Moved> moved = new ArrayList<>();
+        int copied = 0;
+        try {
+            long position = 0;
+            while (position < segment.size) {
+                Record record = readRecord(segment, position);
+                if (record == null) {
+                    break;
+                }
+                boolean tombstone = record.type == REMOVE || record.type == CONFIRM;
+                Map<String, Location> map = record.type == PUT || record.type == REMOVE ? index : completed;
+                boolean live = !tombstone && isLive(map, record.id, segment, position);
+                if (live || tombstone && record.sequence > minSequence) {
+                    // copy the record as-is, so it keeps its sequence
+                    ByteBuffer buffer = ByteBuffer.allocate(record.length);
+                    readFully(segment.channel, buffer, position);
+                    buffer.flip();
+                    long to = target.size;
+                    writeFully(target.channel, buffer, to);
+                    target.size += record.length;
+                    target.minSequence = Math.min(target.minSequence, record.sequence);
+                    if (live) {
+                        moved.add(new Moved(
+                                map, record.id, position,
+                                new Location(target, to, record.length, record.payloadOffset, record.sequence)));
+                    }
+                    copied++;
+                }
+                position += record.length;
+            }
+            // the copied records must be on disk before the segment is deleted
+            target.channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            deleteSegment(target);
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (segments.get(segment.id) != segment) {
+                // stopped meanwhile, so the segment is kept
+                deleteSegment(target);
+                return false;
+            }
+            for (Moved move : moved) {
+                // records which are superseded while copying are no longer live
+                if (isLive(move.map, move.id, segment, move.position)) {
+                    replace(move.map, move.id, move.location);
+                }
+            }
+            if (target.size > 0) {
+                segments.put(target.id, target);
+            } else {
+                deleteSegment(target);
+            }
+            segments.remove(segment.id);
+            deleteSegment(segment);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LOG.debug("Compacted segment: {} by copying {} records to segment: {}", segment.path, copied, target.path);
+        return true;
+    }
+
+    private boolean isLive(Map<String, Location> map, String id, Segment segment, long position) {
+        lock.readLock().lock();
+        try {
+            Location current = map.get(id);
+            return current != null && current.segment == segment && current.position == position;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void deleteSegment(Segment segment) throws IOException {
+        IOHelper.close(segment.channel);
+        Files.deleteIfExists(segment.path);
+    }
+
+    /**
+     * Replays the segments to rebuild the index.
+     */
+    private void load() throws IOException {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                long id = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                Segment segment = openSegment(id);
+                segment.size = segment.channel.size();
+                segments.put(id, segment);
+                segmentIds.accumulateAndGet(id, Math::max);
+            }
+        }
+
+        // the highest sequence of the removed keys, as the records may be out of order after compaction
+        Map<String, Long> removed = new HashMap<>();
+        Map<String, Long> confirmed = new HashMap<>();
+        for (Segment segment : segments.values()) {
+            long position = 0;
+            while (position < segment.size) {
+                Record record = readRecord(segment, position);
+                if (record == null) {
+                    LOG.warn("Segment: {} is corrupt or incomplete at position: {}. Truncating the segment.", segment.path,
+                            position);
+                    segment.channel.truncate(position);
+                    segment.size = position;
+                    break;
+                }
+                sequence = Math.max(sequence, record.sequence);
+                segment.minSequence = Math.min(segment.minSequence, record.sequence);
+                Location location = new Location(segment, position, record.length, record.payloadOffset, record.sequence);
+                switch (record.type) {
+                    case PUT -> apply(index, removed, record, location);
+                    case COMPLETE -> apply(completed, confirmed, record, location);
+                    case REMOVE -> tombstone(index, removed, record);
+                    case CONFIRM -> tombstone(completed, confirmed, record);
+                    default -> LOG.warn("Unknown record type: {} in segment: {} at position: {}", record.type, segment.path,
+                            position);
+                }
+                position += record.length;
+            }
+        }
+
+        if (segments.isEmpty()) {
+            roll();
+        } else {
+            active = segments.lastEntry().getValue();
+        }
+    }
+
+    private static void apply(Map<String, Location> map, Map<String, Long> tombstones, Record record, Location location) {
+        Location current = map.get(record.id);
+        Long removed = tombstones.get(record.id);
+        if ((current == null || current.sequence < record.sequence) && (removed == null || removed < record.sequence)) {
+            replace(map, record.id, location);
+        }
+    }
+
+    private static void tombstone(Map<String, Location> map, Map<String, Long> tombstones, Record record) {
+        Location current = map.get(record.id);
+        if (current != null && current.sequence < record.sequence) {
+            replace(map, record.id, null);
+        }
+        tombstones.merge(record.id, record.sequence, Math::max);
+    }
+
+    /**
+     * Reads the record at the given position.
+     *
+     * @return the record or <tt>null</tt> if the record is incomplete or its checksum does not match
+     */
+    private static Record readRecord(Segment segment, long position) throws IOException {
+        if (segment.size - position < HEADER_SIZE) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(segment.channel, header, position);
+        int length = header.getInt(0);
+        int checksum = header.getInt(4);
+        if (length <= 0 || position + HEADER_SIZE + length > segment.size) {
+            return null;
+        }
+        ByteBuffer body = ByteBuffer.allocate(length);
+        readFully(segment.channel, body, position + HEADER_SIZE);
+        byte[] data = body.array();
+        if (checksum(data, 0, length) != checksum) {
+            return null;
+        }
+        body.flip();
+        byte type = body.get();
+        long sequence = body.getLong();
+        int idLength = body.getShort() & 0xFFFF;
+        String id = new String(data, body.position(), idLength, StandardCharsets.UTF_8);
+        int payloadOffset = HEADER_SIZE + body.position() + idLength;
+        return new Record(type, sequence, id, HEADER_SIZE + length, payloadOffset);
+    }
+
+    private static int checksum(byte[] data, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    private static final class Segment {
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private long size;
+        // the bytes of the records which are in the index
+        private long live;
+        // the lowest sequence of the records in the segment
+        private long minSequence = Long.MAX_VALUE;
+
+        private Segment(long id, Path path, FileChannel channel) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+        }
+    }
+
+    private static final class Location {
+        private final Segment segment;
+        private final long position;
+        private final int length;
+        private final int payloadOffset;
+        private final int payloadLength;
+        private final long sequence;
+
+        private Location(Segment segment, long position, int length, int payloadOffset, long sequence) {
+            this.segment = segment;
+            this.position = position;
+            this.length = length;
+            this.payloadOffset = payloadOffset;
+            this.payloadLength = length - payloadOffset;
+            this.sequence = sequence;
+        }
+    }
+
+    private static final class Moved {
+        private final Map<String, Location> map;
+        private final String id;
+        private final long position;
+        private final Location location;
+
+        private Moved(Map<String, Location> map, String id, long position, Location location) {
+            this.map = map;
+            this.id = id;
+            this.position = position;
+            this.location = location;
+        }
+    }
+
+    private static final class Record {
+        private final byte type;
+        private final long sequence;
+        private final String id;
+        private final int length;
+        private final int payloadOffset;
+
+        private Record(byte type, long sequence, String id, int length, int payloadOffset) {
+            this.type = type;
+            this.sequence = sequence;
+            this.id = id;
+            this.length = length;
+            this.payloadOffset = payloadOffset;
+        }
+    }
+}
@@ -55,6 +55,7 @@ import org.apache.camel.support.EventHelper;
 import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.MessageHelper;
 import org.apache.camel.support.PluginHelper;
+import org.apache.camel.support.jfr.RedeliveryEvent;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.StopWatch;
@@ -81,6 +82,7 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport
     // state
     protected final AtomicInteger redeliverySleepCounter = new AtomicInteger();
     protected ScheduledExecutorService executorService;
+    protected RedeliveryTimer redeliveryTimer;
     protected volatile boolean preparingShutdown;
 
     // output
@@ -639,7 +641,7 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport
     /**
      * Task to perform calling the processor and handling redelivery if it fails (more advanced than ProcessTask)
      */
-    protected class RedeliveryTask implements PooledExchangeTask, Runnable {
+    protected class RedeliveryTask extends RedeliveryTimer.Timeout implements PooledExchangeTask, Runnable {
         // state
         private Exchange original;
         private Exchange exchange;
@@ -657,6 +659,10 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport
         private Predicate continuedPredicate;
         private boolean useOriginalInMessage;
         private boolean useOriginalInBody;
+        // whether the exchange is being redelivered from a thread of the thread pool
+        private boolean redelivering;
+
+        private final Runnable redeliverTask = this::redeliver;
 
         public RedeliveryTask() {
         }
@@ -666,6 +672,12 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport
             return "RedeliveryTask";
         }
 
+        @Override
+        protected void expire() {
+            redelivering = true;
+            reactiveExecutor.schedule(redeliverTask);
+        }
+
         @Override
         public void prepare(Exchange exchange, AsyncCallback callback) {
             this.retryWhilePredicate = retryWhilePolicy;
@@ -697,6 +709,7 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport
             this.callback = null;
             this.redeliveryCounter = 0;
             this.redeliveryDelay = 0;
+            this.redelivering = false;
         }
 
         /**
@@ -798,8 +811,21 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport
                 LOG.trace("Scheduling redelivery task to run in {} millis for exchangeId: {}", redeliveryDelay,
                         exchange.getExchangeId());
             }
-            executorService.schedule(() -> reactiveExecutor.schedule(this::redeliver), redeliveryDelay,
-                    TimeUnit.MILLISECONDS);
+            if (redeliveryTimer != null) {
+                // only the first redelivery of an exchange counts towards the maximum pending redeliveries, as the next
+                // redeliveries are scheduled from the thread pool, which must not be blocked
+                if (redeliveryTimer.schedule(this, ExchangeHelper.getRouteId(exchange), redeliveryDelay, !redelivering)) {
+                    return;
+                }
+                if (!redelivering && redeliveryTimer.isStarted()) {
+                    // too many redeliveries are pending, so redeliver synchronously which holds back the caller
+                    LOG.trace("Too many pending redeliveries, will redeliver synchronously for exchangeId: {}",
+                            exchange.getExchangeId());
+                    runSynchronousRedelivery();
+                    return;
+                }
+            }
+            executorService.schedule(this::expire, redeliveryDelay, TimeUnit.MILLISECONDS);
         }
 
         private void runSynchronousRedelivery() {
@@ -890,6 +916,17 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport
             if (camelContext.getCamelContextExtension().isEventNotificationApplicable()) {
                 EventHelper.notifyExchangeRedelivery(exchange.getContext(), exchange, redeliveryCounter);
             }
+            RedeliveryEvent event = new RedeliveryEvent();
+            if (event.isEnabled()) {
+                event.routeId = ExchangeHelper.getRouteId(exchange);
+                event.exchangeId = exchange.getExchangeId();
+                event.attempt = redeliveryCounter;
+                event.maximumRedeliveries = currentRedeliveryPolicy.getMaximumRedeliveries();
+                event.delay = redeliveryDelay;
+                Exception cause = exchange.getProperty(ExchangePropertyKey.EXCEPTION_CAUGHT, Exception.class);
+                event.causedBy = cause != null ? cause.getClass().getName() : null;
+                event.commit();
+            }
 
             // process the exchange (also redelivery)
             outputAsync.process(exchange, doneSync -> {
@@ -1641,13 +1678,16 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport
             LOG.trace("Redelivery enabled: {} on error handler: {}", redeliveryEnabled, this);
         }
 
-        // we only need thread pool if redelivery is enabled
+        // we only need a timer or thread pool if redelivery is enabled
         if (redeliveryEnabled) {
             if (executorService == null) {
-                // use default shared executor service
+                // use the shared redelivery timer and thread pool unless a thread pool has been configured
                 executorService = PluginHelper.getErrorHandlerExecutorService(camelContext);
-            }
-            if (LOG.isDebugEnabled()) {
+                redeliveryTimer = RedeliveryTimer.getOrCreate(camelContext);
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Using RedeliveryTimer: {} for redeliveries on error handler: {}", redeliveryTimer, this);
+                }
+            } else if (LOG.isDebugEnabled()) {
                 LOG.debug("Using ExecutorService: {} for redeliveries on error handler: {}", executorService, this);
             }
         }
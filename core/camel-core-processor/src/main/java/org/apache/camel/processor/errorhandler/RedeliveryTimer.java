@@ -0,0 +1,423 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.errorhandler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.Configurer;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.support.CamelContextHelper;
+import org.apache.camel.support.PluginHelper;
+import org.apache.camel.support.service.ServiceSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A hashed timing wheel which schedules the asynchronous delayed redeliveries of the error handlers.
+ * <p/>
+ * A single timer is shared by all the error handlers of the {@link CamelContext}. The pending redeliveries are kept in
+ * the buckets of the wheel, which a single thread advances one bucket per tick, so scheduling a redelivery is constant
+ * time and does not allocate any task or future (the redelivery tasks are the entries of the wheel). The redeliveries
+ * are run with a precision of the tick duration. The expired redeliveries are handed over to the thread pool of the
+ * error handlers, so the timer thread is never blocked by a redelivery.
+ * <p/>
+ * The number of pending redeliveries can be capped. When the cap is reached, the error handler performs the first
+ * redelivery of an exchange synchronously, which blocks the calling thread (typically the consumer) instead of queuing
+ * more exchanges in memory. The next redeliveries of an exchange which is already being redelivered are always
+ * scheduled, so the threads of the thread pool are not blocked.
+ * <p/>
+ * To configure the timer, then bind a {@link RedeliveryTimer} to the registry, otherwise a timer with the default
+ * settings is used.
+ */
+@Metadata(label = "bean",
+          description = "A hashed timing wheel which schedules the asynchronous delayed redeliveries of the error handlers.")
+@Configurer(metadataOnly = true)
+@ManagedResource(description = "Redelivery timer")
+public class RedeliveryTimer extends ServiceSupport implements CamelContextAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RedeliveryTimer.class);
+
+    // the redeliveries which are scheduled but not yet added to the wheel (linked by their next field)
+    private final AtomicReference<Timeout> scheduled = new AtomicReference<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LongAdder redeliveryCounter = new LongAdder();
+    private final LongAdder rejectedCounter = new LongAdder();
+    private final Map<String, RouteRedeliveries> routes = new ConcurrentHashMap<>();
+    private CamelContext camelContext;
+    private ExecutorService executorService;
+    private Timeout[] wheel;
+    private long tickNanos;
+    private long startTime;
+    private long tick;
+    private Thread worker;
+    private volatile boolean running;
+
+    @Metadata(description = "The duration in millis of a tick of the wheel, which is the precision of the redelivery delays",
+              defaultValue = "10")
+    private long tickDuration = 10;
+    @Metadata(description = "The number of buckets of the wheel (rounded up to a power of two)", defaultValue = "512")
+    private int wheelSize = 512;
+    @Metadata(description = "The maximum number of pending redeliveries. When reached, the first redelivery of an exchange"
+                            + " is performed synchronously which blocks the calling thread. Use 0 or negative value for"
+                            + " unlimited.")
+    private int maxPendingRedeliveries;
+
+    /**
+     * An entry of the wheel which is expired when its delay has elapsed.
+     */
+    public abstract static class Timeout {
+
+        private final Runnable expireTask = this::expire;
+        private long deadline;
+        private long remainingRounds;
+        private long scheduledTime;
+        private RouteRedeliveries route;
+        private Timeout next;
+        private Timeout routePrev;
+        private Timeout routeNext;
+
+        /**
+         * Called by a thread of the thread pool when the delay has elapsed.
+         */
+        protected abstract void expire();
+    }
+
+    /**
+     * The pending redeliveries of a route, in the order they were scheduled (only updated by the timer thread).
+     */
+    private static final class RouteRedeliveries {
+
+        private final LongAdder pending = new LongAdder();
+        private volatile long oldestScheduledTime;
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.routePrev = tail;
+            if (tail == null) {
+                head = timeout;
+                oldestScheduledTime = timeout.scheduledTime;
+            } else {
+                tail.routeNext = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.routePrev == null) {
+                head = timeout.routeNext;
+                oldestScheduledTime = head != null ? head.scheduledTime : 0;
+            } else {
+                timeout.routePrev.routeNext = timeout.routeNext;
+            }
+            if (timeout.routeNext == null) {
+                tail = timeout.routePrev;
+            } else {
+                timeout.routeNext.routePrev = timeout.routePrev;
+            }
+            timeout.routePrev = null;
+            timeout.routeNext = null;
+        }
+    }
+
+    /**
+     * Gets the redelivery timer of the {@link CamelContext}, which is the timer from the registry if any, or a new
+     * timer with the default settings. The timer is added as a service to the {@link CamelContext}.
+     */
+    public static RedeliveryTimer getOrCreate(CamelContext camelContext) throws Exception {
+        synchronized (camelContext) {
+            RedeliveryTimer answer = camelContext.getCamelContextExtension().getContextPlugin(RedeliveryTimer.class);
+            if (answer == null) {
+                answer = CamelContextHelper.findSingleByType(camelContext, RedeliveryTimer.class);
+                if (answer == null) {
+                    answer = new RedeliveryTimer();
+                }
+                answer.setCamelContext(camelContext);
+                camelContext.getCamelContextExtension().addContextPlugin(RedeliveryTimer.class, answer);
+            }
+            if (!camelContext.hasService(answer)) {
+                // the timer must be stopped after the routes, so the pending redeliveries of the routes are done
+                camelContext.addService(answer, true, true);
+            }
+            return answer;
+        }
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * The thread pool which runs the expired redeliveries. By default the shared thread pool of the error handlers is
+     * used.
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    @ManagedAttribute(description = "The duration in millis of a tick of the wheel")
+    public long getTickDuration() {
+        return tickDuration;
+    }
+
+    public void setTickDuration(long tickDuration) {
+        this.tickDuration = tickDuration;
+    }
+
+    @ManagedAttribute(description = "The number of buckets of the wheel")
+    public int getWheelSize() {
+        return wheelSize;
+    }
+
+    public void setWheelSize(int wheelSize) {
+        this.wheelSize = wheelSize;
+    }
+
+    @ManagedAttribute(description = "The maximum number of pending redeliveries")
+    public int getMaxPendingRedeliveries() {
+        return maxPendingRedeliveries;
+    }
+
+    public void setMaxPendingRedeliveries(int maxPendingRedeliveries) {
+        this.maxPendingRedeliveries = maxPendingRedeliveries;
+    }
+
+    @ManagedAttribute(description = "Number of redeliveries waiting for their delay to elapse")
+    public int getPendingRedeliveries() {
+        return pending.get();
+    }
+
+    @ManagedAttribute(description = "Total number of redeliveries which have been scheduled")
+    public long getRedeliveryCounter() {
+        return redeliveryCounter.sum();
+    }
+
+    @ManagedAttribute(description = "Total number of redeliveries which were not scheduled as too many redeliveries were pending")
+    public long getRejectedCounter() {
+        return rejectedCounter.sum();
+    }
+
+    /**
+     * Number of redeliveries of the route waiting for their delay to elapse
+     */
+    @ManagedOperation(description = "Number of redeliveries of the route waiting for their delay to elapse")
+    public long pendingRedeliveries(String routeId) {
+        RouteRedeliveries route = routes.get(routeKey(routeId));
+        return route != null ? route.pending.sum() : 0;
+    }
+
+    /**
+     * The time in millis the oldest pending redelivery of the route has been waiting, or 0 if there are no pending
+     * redeliveries
+     */
+    @ManagedOperation(description = "The time in millis the oldest pending redelivery of the route has been waiting")
+    public long oldestRedeliveryWait(String routeId) {
+        RouteRedeliveries route = routes.get(routeKey(routeId));
+        long time = route != null ? route.oldestScheduledTime : 0;
+        return time != 0 ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - time) : 0;
+    }
+
+    /**
+     * Schedules the timeout to expire after the given delay.
+     *
+     * @param  timeout the timeout
+     * @param  routeId the id of the route of the redelivery (for statistics)
+     * @param  delay   the delay in millis
+     * @param  limited whether the timeout is rejected when the maximum number of pending redeliveries is reached
+     * @return         <tt>true</tt> if scheduled, <tt>false</tt> if too many redeliveries are pending or the timer is
+     *                 not running
+     */
+    public boolean schedule(Timeout timeout, String routeId, long delay, boolean limited) {
+        if (!running || !acquire(limited)) {
+            rejectedCounter.increment();
+            return false;
+        }
+        RouteRedeliveries route = routes.computeIfAbsent(routeKey(routeId), k -> new RouteRedeliveries());
+        route.pending.increment();
+        redeliveryCounter.increment();
+
+        timeout.route = route;
+        timeout.scheduledTime = System.nanoTime();
+        timeout.deadline = timeout.scheduledTime + TimeUnit.MILLISECONDS.toNanos(delay) - startTime;
+        Timeout head;
+        do {
+            head = scheduled.get();
+            timeout.next = head;
+        } while (!scheduled.compareAndSet(head, timeout));
+        return true;
+    }
+
+    private boolean acquire(boolean limited) {
+        int max = maxPendingRedeliveries;
+        if (max <= 0 || !limited) {
+            pending.incrementAndGet();
+            return true;
+        }
+        int current;
+        do {
+            current = pending.get();
+            if (current >= max) {
+                return false;
+            }
+        } while (!pending.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private static String routeKey(String routeId) {
+        return routeId != null ? routeId : "";
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (executorService == null) {
+            executorService = PluginHelper.getErrorHandlerExecutorService(camelContext);
+        }
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        wheel = new Timeout[size];
+        tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickDuration));
+        startTime = System.nanoTime();
+        tick = 0;
+        running = true;
+        worker = camelContext.getExecutorServiceManager().newThread("RedeliveryTimer", this::run);
+        worker.start();
+        LOG.debug("Started redelivery timer with {} buckets of {} millis", size, tickDuration);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        running = false;
+        if (worker != null) {
+            LockSupport.unpark(worker);
+            worker.join();
+            worker = null;
+        }
+        if (wheel == null) {
+            // not started
+            return;
+        }
+        // run the remaining redeliveries right away on this thread, which are rejected if the error handlers no longer
+        // allow redelivery
+        int count = pending.get();
+        if (count > 0) {
+            LOG.debug("Expiring {} pending redeliveries on stop", count);
+        }
+        transferScheduled();
+        for (int i = 0; i < wheel.length; i++) {
+            Timeout timeout = wheel[i];
+            wheel[i] = null;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                expire(timeout, false);
+                timeout = next;
+            }
+        }
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = (tick + 1) * tickNanos;
+            long sleep = deadline - (System.nanoTime() - startTime);
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+                continue;
+            }
+            transferScheduled();
+            expireBucket((int) (tick & (wheel.length - 1)));
+            tick++;
+        }
+    }
+
+    private void transferScheduled() {
+        Timeout timeout = scheduled.getAndSet(null);
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            long ticks = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (ticks - tick) / wheel.length;
+            int index = (int) (Math.max(ticks, tick) & (wheel.length - 1));
+            timeout.next = wheel[index];
+            wheel[index] = timeout;
+            timeout.route.add(timeout);
+            timeout = next;
+        }
+    }
+
+    private void expireBucket(int index) {
+        Timeout prev = null;
+        Timeout timeout = wheel[index];
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.remainingRounds <= 0) {
+                if (prev == null) {
+                    wheel[index] = next;
+                } else {
+                    prev.next = next;
+                }
+                expire(timeout, true);
+            } else {
+                timeout.remainingRounds--;
+                prev = timeout;
+            }
+            timeout = next;
+        }
+    }
+
+    private void expire(Timeout timeout, boolean async) {
+        RouteRedeliveries route = timeout.route;
+        route.remove(timeout);
+        route.pending.decrement();
+        pending.decrementAndGet();
+        timeout.next = null;
+        timeout.route = null;
+        if (async) {
+            try {
+                executorService.execute(timeout.expireTask);
+                return;
+            } catch (RejectedExecutionException e) {
+                // the thread pool is shutting down, so the redelivery is rejected by the error handler anyway
+                LOG.debug("Thread pool rejected redelivery. Will run redelivery on the timer thread.", e);
+            }
+        }
+        try {
+            timeout.expire();
+        } catch (Exception e) {
+            LOG.warn("Error running redelivery. This exception is ignored.", e);
+        }
+    }
+}
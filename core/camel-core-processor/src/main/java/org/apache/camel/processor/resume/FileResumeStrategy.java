@@ -0,0 +1,449 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resume;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.resume.Cacheable;
+import org.apache.camel.resume.Deserializable;
+import org.apache.camel.resume.Offset;
+import org.apache.camel.resume.OffsetKey;
+import org.apache.camel.resume.Resumable;
+import org.apache.camel.resume.ResumeAdapter;
+import org.apache.camel.resume.ResumeStrategy;
+import org.apache.camel.resume.ResumeStrategyConfiguration;
+import org.apache.camel.spi.annotations.JdkService;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A resume strategy that records the offsets to a local append-only file, so the consumers can resume from the last
+ * processed offsets after a restart.
+ * <p/>
+ * The offset updates are not written one by one, but are kept pending and are flushed to the file in batches, either
+ * when the number of updates reaches the flush size, or every flush interval. The batches are written and forced to
+ * disk by a background thread, so the consumers are not blocked by the disk. Only the last offset of each key is
+ * written in a batch, so high-rate consumers write a record per key and batch, instead of one per exchange. The
+ * {@link UpdateCallBack}s are called when the batch with their update is forced to disk.
+ * <p/>
+ * The file is compacted when the number of records in it exceeds the number of keys by the compaction ratio, by
+ * rewriting only the last offset of each key to a new file which replaces the old one. A partially written record at
+ * the end of the file (from a crash) is ignored when the offsets are loaded.
+ */
+@JdkService("file-resume-strategy")
+public class FileResumeStrategy extends ServiceSupport implements ResumeStrategy, CamelContextAware {
+    private static final Logger LOG = LoggerFactory.getLogger(FileResumeStrategy.class);
+
+    // the record header is the length and checksum of the record body
+    private static final int HEADER_SIZE = 8;
+    private static final int MIN_COMPACTION_RECORDS = 1000;
+
+    private final Lock pendingLock = new ReentrantLock();
+    private final Lock fileLock = new ReentrantLock();
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+    private Map<ByteBuffer, ByteBuffer> pending = new LinkedHashMap<>();
+    private List<UpdateCallBack> pendingCallBacks = new ArrayList<>();
+    private int pendingUpdates;
+    // the last offset of each key which is written to the file
+    private final Map<ByteBuffer, ByteBuffer> offsets = new HashMap<>();
+    private long records;
+    private FileChannel channel;
+    private Path path;
+    private ScheduledExecutorService executorService;
+    private CamelContext camelContext;
+    private ResumeAdapter adapter;
+    private FileResumeStrategyConfiguration resumeStrategyConfiguration;
+
+    public FileResumeStrategy() {
+    }
+
+    public FileResumeStrategy(FileResumeStrategyConfiguration resumeStrategyConfiguration) {
+        this.resumeStrategyConfiguration = resumeStrategyConfiguration;
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @Override
+    public void setAdapter(ResumeAdapter adapter) {
+        this.adapter = adapter;
+    }
+
+    @Override
+    public ResumeAdapter getAdapter() {
+        return adapter;
+    }
+
+    @Override
+    public void setResumeStrategyConfiguration(ResumeStrategyConfiguration resumeStrategyConfiguration) {
+        if (resumeStrategyConfiguration instanceof FileResumeStrategyConfiguration fileConfiguration) {
+            this.resumeStrategyConfiguration = fileConfiguration;
+        } else {
+            throw new IllegalArgumentException(
+                    "Invalid resume strategy configuration, expected: " + FileResumeStrategyConfiguration.class.getName());
+        }
+    }
+
+    @Override
+    public FileResumeStrategyConfiguration getResumeStrategyConfiguration() {
+        return resumeStrategyConfiguration;
+    }
+
+    /**
+     * Number of offset keys recorded in the file
+     */
+    public int getOffsetKeySize() {
+        fileLock.lock();
+        try {
+            return offsets.size();
+        } finally {
+            fileLock.unlock();
+        }
+    }
+
+    /**
+     * Number of records in the file
+     */
+    public long getRecordSize() {
+        fileLock.lock();
+        try {
+            return records;
+        } finally {
+            fileLock.unlock();
+        }
+    }
+
+    @Override
+    public <T extends Resumable> void updateLastOffset(T offset) throws Exception {
+        updateLastOffset(offset.getOffsetKey(), offset.getLastOffset(), null);
+    }
+
+    @Override
+    public <T extends Resumable> void updateLastOffset(T offset, UpdateCallBack updateCallBack) throws Exception {
+        updateLastOffset(offset.getOffsetKey(), offset.getLastOffset(), updateCallBack);
+    }
+
+    @Override
+    public void updateLastOffset(OffsetKey<?> offsetKey, Offset<?> offset) throws Exception {
+        updateLastOffset(offsetKey, offset, null);
+    }
+
+    @Override
+    public void updateLastOffset(OffsetKey<?> offsetKey, Offset<?> offset, UpdateCallBack updateCallBack)
+            throws Exception {
+        ByteBuffer key = toBuffer(offsetKey.serialize(), offsetKey);
+        ByteBuffer value = toBuffer(offset.serialize(), offset);
+
+        LOG.trace("Updating offset: {} with value: {}", offsetKey.getValue(), offset.getValue());
+        boolean flush;
+        pendingLock.lock();
+        try {
+            // only the last offset of the key is written in the batch
+            pending.put(key, value);
+            if (updateCallBack != null) {
+                pendingCallBacks.add(updateCallBack);
+            }
+            flush = ++pendingUpdates >= resumeStrategyConfiguration.getFlushSize();
+        } finally {
+            pendingLock.unlock();
+        }
+
+        if (adapter instanceof Cacheable cacheable) {
+            cacheable.add(offsetKey, offset);
+        }
+        if (flush && flushPending.compareAndSet(false, true)) {
+            // the batch is written by the flush thread, and not by the consumer
+            executorService.execute(() -> {
+                flushPending.set(false);
+                onSchedule();
+            });
+        }
+    }
+
+    /**
+     * Flushes the pending offset updates to the file.
+     */
+    public void flush() {
+        Map<ByteBuffer, ByteBuffer> batch;
+        List<UpdateCallBack> callBacks;
+        fileLock.lock();
+        try {
+            pendingLock.lock();
+            try {
+                if (pendingUpdates == 0 || channel == null) {
+                    return;
+                }
+                batch = pending;
+                callBacks = pendingCallBacks;
+                pending = new LinkedHashMap<>();
+                pendingCallBacks = new ArrayList<>();
+                pendingUpdates = 0;
+            } finally {
+                pendingLock.unlock();
+            }
+
+            Throwable cause = null;
+            try {
+                write(batch);
+                if (needsCompaction()) {
+                    compact();
+                }
+            } catch (Exception e) {
+                cause = e;
+                LOG.warn("Error writing {} offsets to file: {} due to {}", batch.size(), path, e.getMessage(), e);
+            }
+            for (UpdateCallBack callBack : callBacks) {
+                callBack.onUpdate(cause);
+            }
+        } finally {
+            fileLock.unlock();
+        }
+    }
+
+    @Override
+    public void loadCache() throws Exception {
+        if (!(adapter instanceof Deserializable deserializable)) {
+            LOG.warn("Cannot load the offsets for an adapter that is not deserializable: {}", adapter);
+            return;
+        }
+
+        fileLock.lock();
+        try {
+            for (Map.Entry<ByteBuffer, ByteBuffer> entry : offsets.entrySet()) {
+                if (!deserializable.deserialize(entry.getKey().duplicate(), entry.getValue().duplicate())) {
+                    LOG.debug("The adapter did not accept more offsets after {} offsets", offsets.size());
+                    break;
+                }
+            }
+        } finally {
+            fileLock.unlock();
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(resumeStrategyConfiguration, "resumeStrategyConfiguration", this);
+        File file = resumeStrategyConfiguration.getFile();
+        ObjectHelper.notNull(file, "file", this);
+        if (resumeStrategyConfiguration.getFlushSize() < 1) {
+            throw new IllegalArgumentException(
+                    "FlushSize must be positive, was: " + resumeStrategyConfiguration.getFlushSize());
+        }
+        long flushInterval = resumeStrategyConfiguration.getFlushInterval();
+        if (flushInterval <= 0 && resumeStrategyConfiguration.getFlushSize() > 1) {
+            // the last updates would be pending until more updates arrive, and be lost on a crash
+            throw new IllegalArgumentException(
+                    "FlushInterval must be positive when FlushSize is more than 1, was: " + flushInterval);
+        }
+        ObjectHelper.notNull(camelContext, "camelContext", this);
+
+        path = file.toPath();
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        fileLock.lock();
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            load();
+        } finally {
+            fileLock.unlock();
+        }
+        LOG.debug("Loaded {} offsets from {} records in file: {}", offsets.size(), records, path);
+
+        executorService = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this,
+                "FileResumeStrategy");
+        if (flushInterval > 0) {
+            executorService.scheduleWithFixedDelay(this::onSchedule, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (executorService != null) {
+            camelContext.getExecutorServiceManager().shutdownGraceful(executorService);
+            executorService = null;
+        }
+        flushPending.set(false);
+        if (channel != null) {
+            flush();
+            fileLock.lock();
+            try {
+                channel.close();
+                channel = null;
+                offsets.clear();
+                records = 0;
+            } finally {
+                fileLock.unlock();
+            }
+        }
+    }
+
+    private void onSchedule() {
+        try {
+            flush();
+        } catch (Exception e) {
+            LOG.warn("Error flushing offsets to file: {} due to {}. This exception is ignored.", path, e.getMessage(), e);
+        }
+    }
+
+    private void load() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        long position = 0;
+        long size = channel.size();
+        CRC32 crc = new CRC32();
+        while (position + HEADER_SIZE <= size) {
+            header.clear();
+            readFully(header, position);
+            int length = header.getInt(0);
+            int checksum = header.getInt(4);
+            if (length < Integer.BYTES || position + HEADER_SIZE + length > size) {
+                break;
+            }
+            ByteBuffer body = ByteBuffer.allocate(length);
+            readFully(body, position + HEADER_SIZE);
+            crc.reset();
+            crc.update(body.array());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            int keyLength = body.getInt(0);
+            if (keyLength < 0 || keyLength > length - Integer.BYTES) {
+                break;
+            }
+            byte[] key = new byte[keyLength];
+            byte[] value = new byte[length - Integer.BYTES - keyLength];
+            body.position(Integer.BYTES);
+            body.get(key).get(value);
+            offsets.put(ByteBuffer.wrap(key), ByteBuffer.wrap(value));
+            records++;
+            position += HEADER_SIZE + length;
+        }
+        if (position < size) {
+            LOG.warn("Truncating {} bytes of partially written offsets at the end of file: {}", size - position, path);
+            channel.truncate(position);
+        }
+        channel.position(position);
+    }
+
+    private void write(Map<ByteBuffer, ByteBuffer> batch) throws IOException {
+        writeRecords(channel, batch);
+        channel.force(false);
+        offsets.putAll(batch);
+        records += batch.size();
+    }
+
+    private boolean needsCompaction() {
+        return records >= MIN_COMPACTION_RECORDS
+                && records > offsets.size() * resumeStrategyConfiguration.getCompactionRatio();
+    }
+
+    private void compact() throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeRecords(out, offsets);
+            out.force(true);
+        }
+        channel.close();
+        try {
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        }
+        LOG.debug("Compacted {} records to {} offsets in file: {}", records, offsets.size(), path);
+        records = offsets.size();
+    }
+
+    private static void writeRecords(FileChannel out, Map<ByteBuffer, ByteBuffer> batch) throws IOException {
+        int size = 0;
+        for (Map.Entry<ByteBuffer, ByteBuffer> entry : batch.entrySet()) {
+            size += HEADER_SIZE + Integer.BYTES + entry.getKey().capacity() + entry.getValue().capacity();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        CRC32 crc = new CRC32();
+        for (Map.Entry<ByteBuffer, ByteBuffer> entry : batch.entrySet()) {
+            ByteBuffer key = entry.getKey().duplicate().clear();
+            ByteBuffer value = entry.getValue().duplicate().clear();
+            int start = buffer.position();
+            buffer.position(start + HEADER_SIZE);
+            buffer.putInt(key.remaining()).put(key).put(value);
+            int length = buffer.position() - start - HEADER_SIZE;
+            crc.reset();
+            crc.update(buffer.array(), start + HEADER_SIZE, length);
+            buffer.putInt(start, length);
+            buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file: " + path);
+            }
+        }
+        buffer.flip();
+    }
+
+    /**
+     * The offsets are serialized to buffers of the exact size, which are not flipped (see
+     * {@link org.apache.camel.resume.Serializable}), so the whole content of the buffer is copied.
+     */
+    private static ByteBuffer toBuffer(ByteBuffer buffer, Object source) {
+        if (buffer == null) {
+            throw new RuntimeCamelException("Cannot serialize the offset: " + source.getClass().getName());
+        }
+        ByteBuffer copy = ByteBuffer.allocate(buffer.capacity());
+        copy.put(buffer.duplicate().clear());
+        return copy.clear();
+    }
+}
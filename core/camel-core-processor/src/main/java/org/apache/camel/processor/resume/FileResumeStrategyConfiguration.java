@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resume;
+
+import java.io.File;
+
+import org.apache.camel.resume.ResumeStrategyConfiguration;
+
+/**
+ * The configuration of the {@link FileResumeStrategy}
+ */
+public class FileResumeStrategyConfiguration extends ResumeStrategyConfiguration {
+    private File file;
+    private long flushInterval = 1000;
+    private int flushSize = 100;
+    private double compactionRatio = 4;
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Sets the file where the offsets are recorded
+     */
+    public void setFile(File file) {
+        this.file = file;
+    }
+
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * Sets the interval in millis between flushing the pending offsets to the file. Use 0 to only flush when the flush
+     * size is reached, which requires a flush size of 1, as otherwise the last offsets would not be flushed until more
+     * offsets are updated.
+     */
+    public void setFlushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public int getFlushSize() {
+        return flushSize;
+    }
+
+    /**
+     * Sets the number of offset updates after which the pending offsets are flushed to the file. Use 1 to flush on
+     * every update. The offsets are flushed by a background thread, so use a
+     * {@link org.apache.camel.resume.ResumeStrategy.UpdateCallBack} to know when an offset is on disk.
+     */
+    public void setFlushSize(int flushSize) {
+        this.flushSize = flushSize;
+    }
+
+    public double getCompactionRatio() {
+        return compactionRatio;
+    }
+
+    /**
+     * Sets the ratio between the number of records in the file and the number of offset keys, above which the file is
+     * compacted so it only contains the last offset of each key.
+     */
+    public void setCompactionRatio(double compactionRatio) {
+        this.compactionRatio = compactionRatio;
+    }
+
+    @Override
+    public String resumeStrategyService() {
+        return "file-resume-strategy";
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resume;
+
+import java.io.File;
+
+import org.apache.camel.support.resume.BasicResumeStrategyConfigurationBuilder;
+
+/**
+ * A configuration builder appropriate for building configurations for the {@link FileResumeStrategy}
+ */
+public class FileResumeStrategyConfigurationBuilder
+        extends
+        BasicResumeStrategyConfigurationBuilder<FileResumeStrategyConfigurationBuilder, FileResumeStrategyConfiguration> {
+    private File file;
+    private long flushInterval = 1000;
+    private int flushSize = 100;
+    private double compactionRatio = 4;
+
+    /**
+     * Sets the file where the offsets are recorded
+     */
+    public FileResumeStrategyConfigurationBuilder withFile(File file) {
+        this.file = file;
+        return this;
+    }
+
+    /**
+     * Sets the file where the offsets are recorded
+     */
+    public FileResumeStrategyConfigurationBuilder withFile(String file) {
+        return withFile(new File(file));
+    }
+
+    /**
+     * Sets the interval in millis between flushing the pending offsets to the file. Use 0 to only flush when the flush
+     * size is reached, which requires a flush size of 1
+     */
+    public FileResumeStrategyConfigurationBuilder withFlushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+        return this;
+    }
+
+    /**
+     * Sets the number of offset updates after which the pending offsets are flushed to the file
+     */
+    public FileResumeStrategyConfigurationBuilder withFlushSize(int flushSize) {
+        this.flushSize = flushSize;
+        return this;
+    }
+
+    /**
+     * Sets the ratio between the number of records in the file and the number of offset keys, above which the file is
+     * compacted
+     */
+    public FileResumeStrategyConfigurationBuilder withCompactionRatio(double compactionRatio) {
+        this.compactionRatio = compactionRatio;
+        return this;
+    }
+
+    @Override
+    public FileResumeStrategyConfiguration build() {
+        final FileResumeStrategyConfiguration configuration = new FileResumeStrategyConfiguration();
+
+        buildCommonConfiguration(configuration);
+        configuration.setFile(file);
+        configuration.setFlushInterval(flushInterval);
+        configuration.setFlushSize(flushSize);
+        configuration.setCompactionRatio(compactionRatio);
+
+        return configuration;
+    }
+
+    /**
+     * Creates a new builder for the {@link FileResumeStrategy} configuration
+     */
+    public static FileResumeStrategyConfigurationBuilder newBuilder() {
+        return new FileResumeStrategyConfigurationBuilder();
+    }
+}
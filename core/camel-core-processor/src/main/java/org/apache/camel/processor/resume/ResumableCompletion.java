@@ -55,7 +55,8 @@ public class ResumableCompletion implements Synchronization {
             }
 
             try {
-                resumeStrategy.updateLastOffset(resumable);
+                // the strategy may record the offset asynchronously (such as in batches), so errors are reported in the callback
+                resumeStrategy.updateLastOffset(resumable, ResumableCompletion::onUpdate);
             } catch (Exception e) {
                 LOG.error("Unable to update the offset: {}", e.getMessage(), e);
             }
@@ -68,6 +69,12 @@ public class ResumableCompletion implements Synchronization {
         }
     }
 
+    private static void onUpdate(Throwable throwable) {
+        if (throwable != null) {
+            LOG.error("Unable to update the offset: {}", throwable.getMessage(), throwable);
+        }
+    }
+
     @Override
     public void onFailure(Exchange exchange) {
         Exception e = exchange.getException();
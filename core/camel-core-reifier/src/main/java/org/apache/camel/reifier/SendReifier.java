@@ -23,24 +23,49 @@ import org.apache.camel.Processor;
 import org.apache.camel.Route;
 import org.apache.camel.model.ProcessorDefinition;
 import org.apache.camel.model.ToDefinition;
+import org.apache.camel.processor.InlinedSendProcessor;
 import org.apache.camel.processor.SendProcessor;
 import org.apache.camel.support.CamelContextHelper;
 
 public class SendReifier extends ProcessorReifier<ToDefinition> {
 
+    /**
+     * Global option on {@link org.apache.camel.CamelContext#getGlobalOptions()} to inline sending to direct endpoints,
+     * by calling the processor of the route that consumes from the direct endpoint, instead of going through the direct
+     * producer and consumer. This is only done for direct endpoints without any options, and when no exchange pattern
+     * or variables are in use.
+     */
+    public static final String DIRECT_INLINING = "DirectInlining";
+
     public SendReifier(Route route, ProcessorDefinition<?> definition) {
         super(route, (ToDefinition) definition);
     }
 
     @Override
     public Processor createProcessor() throws Exception {
-        SendProcessor answer = new SendProcessor(resolveEndpoint(), parse(ExchangePattern.class, definition.getPattern()));
+        Endpoint endpoint = resolveEndpoint();
+        ExchangePattern pattern = parse(ExchangePattern.class, definition.getPattern());
+        SendProcessor answer;
+        if (isInlined(endpoint, pattern)) {
+            answer = new InlinedSendProcessor(endpoint);
+        } else {
+            answer = new SendProcessor(endpoint, pattern);
+        }
         answer.setDisabled(isDisabled(camelContext, definition));
         answer.setVariableSend(parseString(definition.getVariableSend()));
         answer.setVariableReceive(parseString(definition.getVariableReceive()));
         return answer;
     }
 
+    protected boolean isInlined(Endpoint endpoint, ExchangePattern pattern) {
+        if (!"true".equalsIgnoreCase(camelContext.getGlobalOption(DIRECT_INLINING))) {
+            return false;
+        }
+        String uri = endpoint.getEndpointUri();
+        return pattern == null && definition.getVariableSend() == null && definition.getVariableReceive() == null
+                && uri.startsWith("direct:") && uri.indexOf('?') == -1;
+    }
+
     public Endpoint resolveEndpoint() {
         Endpoint answer;
         if (definition.getEndpoint() == null) {
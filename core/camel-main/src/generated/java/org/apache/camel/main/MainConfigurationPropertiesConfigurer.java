@@ -93,6 +93,7 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         map.put("MessageHistory", boolean.class);
         map.put("Modeline", boolean.class);
         map.put("Name", java.lang.String.class);
+        map.put("ParallelRouteStartup", boolean.class);
         map.put("ProducerTemplateCacheSize", int.class);
         map.put("Profile", java.lang.String.class);
         map.put("RouteFilterExcludePattern", java.lang.String.class);
@@ -106,6 +107,7 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         map.put("RoutesReloadDirectory", java.lang.String.class);
         map.put("RoutesReloadDirectoryRecursive", boolean.class);
         map.put("RoutesReloadEnabled", boolean.class);
+        map.put("RoutesReloadIncremental", boolean.class);
         map.put("RoutesReloadPattern", java.lang.String.class);
         map.put("RoutesReloadRemoveAllRoutes", boolean.class);
         map.put("RoutesReloadRestartDuration", boolean.class);
@@ -146,6 +148,9 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         map.put("UseDataType", boolean.class);
         map.put("UseMdcLogging", boolean.class);
         map.put("UuidGenerator", java.lang.String.class);
+        map.put("YamlRoutesCacheDir", java.lang.String.class);
+        map.put("YamlRoutesCacheEnabled", boolean.class);
+        map.put("YamlRoutesCacheSize", int.class);
         ALL_OPTIONS = map;
     }
 
@@ -291,6 +296,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "messageHistory": target.setMessageHistory(property(camelContext, boolean.class, value)); return true;
         case "modeline": target.setModeline(property(camelContext, boolean.class, value)); return true;
         case "name": target.setName(property(camelContext, java.lang.String.class, value)); return true;
+        case "parallelroutestartup":
+        case "parallelRouteStartup": target.setParallelRouteStartup(property(camelContext, boolean.class, value)); return true;
         case "producertemplatecachesize":
         case "producerTemplateCacheSize": target.setProducerTemplateCacheSize(property(camelContext, int.class, value)); return true;
         case "profile": target.setProfile(property(camelContext, java.lang.String.class, value)); return true;
@@ -316,6 +323,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "routesReloadDirectoryRecursive": target.setRoutesReloadDirectoryRecursive(property(camelContext, boolean.class, value)); return true;
         case "routesreloadenabled":
         case "routesReloadEnabled": target.setRoutesReloadEnabled(property(camelContext, boolean.class, value)); return true;
+        case "routesreloadincremental":
+        case "routesReloadIncremental": target.setRoutesReloadIncremental(property(camelContext, boolean.class, value)); return true;
         case "routesreloadpattern":
         case "routesReloadPattern": target.setRoutesReloadPattern(property(camelContext, java.lang.String.class, value)); return true;
         case "routesreloadremoveallroutes":
@@ -395,6 +404,12 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "useMdcLogging": target.setUseMdcLogging(property(camelContext, boolean.class, value)); return true;
         case "uuidgenerator":
         case "uuidGenerator": target.setUuidGenerator(property(camelContext, java.lang.String.class, value)); return true;
+        case "yamlroutescachedir":
+        case "yamlRoutesCacheDir": target.setYamlRoutesCacheDir(property(camelContext, java.lang.String.class, value)); return true;
+        case "yamlroutescacheenabled":
+        case "yamlRoutesCacheEnabled": target.setYamlRoutesCacheEnabled(property(camelContext, boolean.class, value)); return true;
+        case "yamlroutescachesize":
+        case "yamlRoutesCacheSize": target.setYamlRoutesCacheSize(property(camelContext, int.class, value)); return true;
         default: return false;
         }
     }
@@ -545,6 +560,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "messageHistory": return boolean.class;
         case "modeline": return boolean.class;
         case "name": return java.lang.String.class;
+        case "parallelroutestartup":
+        case "parallelRouteStartup": return boolean.class;
         case "producertemplatecachesize":
         case "producerTemplateCacheSize": return int.class;
         case "profile": return java.lang.String.class;
@@ -570,6 +587,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "routesReloadDirectoryRecursive": return boolean.class;
         case "routesreloadenabled":
         case "routesReloadEnabled": return boolean.class;
+        case "routesreloadincremental":
+        case "routesReloadIncremental": return boolean.class;
         case "routesreloadpattern":
         case "routesReloadPattern": return java.lang.String.class;
         case "routesreloadremoveallroutes":
@@ -649,6 +668,12 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "useMdcLogging": return boolean.class;
         case "uuidgenerator":
         case "uuidGenerator": return java.lang.String.class;
+        case "yamlroutescachedir":
+        case "yamlRoutesCacheDir": return java.lang.String.class;
+        case "yamlroutescacheenabled":
+        case "yamlRoutesCacheEnabled": return boolean.class;
+        case "yamlroutescachesize":
+        case "yamlRoutesCacheSize": return int.class;
         default: return null;
         }
     }
@@ -795,6 +820,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "messageHistory": return target.isMessageHistory();
         case "modeline": return target.isModeline();
         case "name": return target.getName();
+        case "parallelroutestartup":
+        case "parallelRouteStartup": return target.isParallelRouteStartup();
         case "producertemplatecachesize":
         case "producerTemplateCacheSize": return target.getProducerTemplateCacheSize();
         case "profile": return target.getProfile();
@@ -820,6 +847,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "routesReloadDirectoryRecursive": return target.isRoutesReloadDirectoryRecursive();
         case "routesreloadenabled":
         case "routesReloadEnabled": return target.isRoutesReloadEnabled();
+        case "routesreloadincremental":
+        case "routesReloadIncremental": return target.isRoutesReloadIncremental();
         case "routesreloadpattern":
         case "routesReloadPattern": return target.getRoutesReloadPattern();
         case "routesreloadremoveallroutes":
@@ -899,6 +928,12 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "useMdcLogging": return target.isUseMdcLogging();
         case "uuidgenerator":
         case "uuidGenerator": return target.getUuidGenerator();
+        case "yamlroutescachedir":
+        case "yamlRoutesCacheDir": return target.getYamlRoutesCacheDir();
+        case "yamlroutescacheenabled":
+        case "yamlRoutesCacheEnabled": return target.isYamlRoutesCacheEnabled();
+        case "yamlroutescachesize":
+        case "yamlRoutesCacheSize": return target.getYamlRoutesCacheSize();
         default: return null;
         }
     }
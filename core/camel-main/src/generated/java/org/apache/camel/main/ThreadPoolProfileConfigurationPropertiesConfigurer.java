@@ -22,6 +22,8 @@ public class ThreadPoolProfileConfigurationPropertiesConfigurer extends org.apac
     private static final Map<String, Object> ALL_OPTIONS;
     static {
         Map<String, Object> map = new CaseInsensitiveMap();
+        map.put("Adaptive", java.lang.Boolean.class);
+        map.put("AdaptiveInterval", java.lang.Long.class);
         map.put("AllowCoreThreadTimeOut", java.lang.Boolean.class);
         map.put("Id", java.lang.String.class);
         map.put("KeepAliveTime", java.lang.Long.class);
@@ -37,6 +39,9 @@ public class ThreadPoolProfileConfigurationPropertiesConfigurer extends org.apac
     public boolean configure(CamelContext camelContext, Object obj, String name, Object value, boolean ignoreCase) {
         org.apache.camel.main.ThreadPoolProfileConfigurationProperties target = (org.apache.camel.main.ThreadPoolProfileConfigurationProperties) obj;
         switch (ignoreCase ? name.toLowerCase() : name) {
+        case "adaptive": target.setAdaptive(property(camelContext, java.lang.Boolean.class, value)); return true;
+        case "adaptiveinterval":
+        case "adaptiveInterval": target.setAdaptiveInterval(property(camelContext, java.lang.Long.class, value)); return true;
         case "allowcorethreadtimeout":
         case "allowCoreThreadTimeOut": target.setAllowCoreThreadTimeOut(property(camelContext, java.lang.Boolean.class, value)); return true;
         case "id": target.setId(property(camelContext, java.lang.String.class, value)); return true;
@@ -64,6 +69,9 @@ public class ThreadPoolProfileConfigurationPropertiesConfigurer extends org.apac
     @Override
     public Class<?> getOptionType(String name, boolean ignoreCase) {
         switch (ignoreCase ? name.toLowerCase() : name) {
+        case "adaptive": return java.lang.Boolean.class;
+        case "adaptiveinterval":
+        case "adaptiveInterval": return java.lang.Long.class;
         case "allowcorethreadtimeout":
         case "allowCoreThreadTimeOut": return java.lang.Boolean.class;
         case "id": return java.lang.String.class;
@@ -87,6 +95,9 @@ public class ThreadPoolProfileConfigurationPropertiesConfigurer extends org.apac
     public Object getOptionValue(Object obj, String name, boolean ignoreCase) {
         org.apache.camel.main.ThreadPoolProfileConfigurationProperties target = (org.apache.camel.main.ThreadPoolProfileConfigurationProperties) obj;
         switch (ignoreCase ? name.toLowerCase() : name) {
+        case "adaptive": return target.getAdaptive();
+        case "adaptiveinterval":
+        case "adaptiveInterval": return target.getAdaptiveInterval();
         case "allowcorethreadtimeout":
         case "allowCoreThreadTimeOut": return target.getAllowCoreThreadTimeOut();
         case "id": return target.getId();
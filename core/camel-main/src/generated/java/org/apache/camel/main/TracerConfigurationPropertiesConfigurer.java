@@ -31,6 +31,8 @@ public class TracerConfigurationPropertiesConfigurer extends org.apache.camel.su
         map.put("IncludeExchangeProperties", boolean.class);
         map.put("IncludeExchangeVariables", boolean.class);
         map.put("RemoveOnDump", boolean.class);
+        map.put("RingBuffer", boolean.class);
+        map.put("SamplingRate", int.class);
         map.put("Standby", boolean.class);
         map.put("TraceFilter", java.lang.String.class);
         map.put("TracePattern", java.lang.String.class);
@@ -60,6 +62,10 @@ public class TracerConfigurationPropertiesConfigurer extends org.apache.camel.su
         case "includeExchangeVariables": target.setIncludeExchangeVariables(property(camelContext, boolean.class, value)); return true;
         case "removeondump":
         case "removeOnDump": target.setRemoveOnDump(property(camelContext, boolean.class, value)); return true;
+        case "ringbuffer":
+        case "ringBuffer": target.setRingBuffer(property(camelContext, boolean.class, value)); return true;
+        case "samplingrate":
+        case "samplingRate": target.setSamplingRate(property(camelContext, int.class, value)); return true;
         case "standby": target.setStandby(property(camelContext, boolean.class, value)); return true;
         case "tracefilter":
         case "traceFilter": target.setTraceFilter(property(camelContext, java.lang.String.class, value)); return true;
@@ -98,6 +104,10 @@ public class TracerConfigurationPropertiesConfigurer extends org.apache.camel.su
         case "includeExchangeVariables": return boolean.class;
         case "removeondump":
         case "removeOnDump": return boolean.class;
+        case "ringbuffer":
+        case "ringBuffer": return boolean.class;
+        case "samplingrate":
+        case "samplingRate": return int.class;
         case "standby": return boolean.class;
         case "tracefilter":
         case "traceFilter": return java.lang.String.class;
@@ -132,6 +142,10 @@ public class TracerConfigurationPropertiesConfigurer extends org.apache.camel.su
         case "includeExchangeVariables": return target.isIncludeExchangeVariables();
         case "removeondump":
         case "removeOnDump": return target.isRemoveOnDump();
+        case "ringbuffer":
+        case "ringBuffer": return target.isRingBuffer();
+        case "samplingrate":
+        case "samplingRate": return target.getSamplingRate();
         case "standby": return target.isStandby();
         case "tracefilter":
         case "traceFilter": return target.getTraceFilter();
@@ -97,6 +97,7 @@ import org.apache.camel.support.jsse.SSLContextServerParameters;
 import org.apache.camel.support.jsse.SecureRandomParameters;
 import org.apache.camel.support.jsse.TrustAllTrustManager;
 import org.apache.camel.support.jsse.TrustManagersParameters;
+import org.apache.camel.support.metrics.DefaultCamelMetricsService;
 import org.apache.camel.support.scan.PackageScanHelper;
 import org.apache.camel.support.service.BaseService;
 import org.apache.camel.support.service.ServiceHelper;
@@ -1861,8 +1862,24 @@ public abstract class BaseMainSupport extends BaseService {
         boolean enabled = obj != null ? CamelContextHelper.parseBoolean(camelContext, obj.toString()) : true;
         if (enabled) {
             CamelMetricsService micrometer = resolveMicrometerService(camelContext);
-            setPropertiesOnTarget(camelContext, micrometer, metricsProperties, "camel.metrics.", failIfNotSet, true,
-                    autoConfiguredProperties);
+            boolean builtIn = micrometer == null;
+            if (builtIn) {
+                // fallback to use the built-in metrics when micrometer is not on classpath
+                micrometer = new DefaultCamelMetricsService();
+            }
+            // the built-in metrics supports only some of the options, and any other options are left over
+            setPropertiesOnTarget(camelContext, micrometer, metricsProperties, "camel.metrics.", failIfNotSet && !builtIn,
+                    true, autoConfiguredProperties);
+            if (builtIn) {
+                if (!metricsProperties.isEmpty()) {
+                    LOG.warn("Using built-in metrics as camel-micrometer-prometheus is not on classpath."
+                             + " The options: {} are only supported by camel-micrometer-prometheus and are ignored.",
+                            metricsProperties.keySet().stream().map(k -> "camel.metrics." + k).toList());
+                    metricsProperties.clear();
+                } else {
+                    LOG.info("Using built-in metrics as camel-micrometer-prometheus is not on classpath.");
+                }
+            }
             if (camelContext.hasService(CamelMetricsService.class) == null) {
                 // add as service so micrometer can be active
                 camelContext.addService(micrometer, true, true);
@@ -2127,6 +2144,8 @@ public abstract class BaseMainSupport extends BaseService {
         tracer.setEnabled(config.isEnabled());
         tracer.setStandby(config.isStandby());
         tracer.setBacklogSize(config.getBacklogSize());
+        tracer.setRingBuffer(config.isRingBuffer());
+        tracer.setSamplingRate(config.getSamplingRate());
         tracer.setRemoveOnDump(config.isRemoveOnDump());
         tracer.setBodyMaxChars(config.getBodyMaxChars());
         tracer.setBodyIncludeStreams(config.isBodyIncludeStreams());
@@ -2709,8 +2728,7 @@ public abstract class BaseMainSupport extends BaseService {
         if (answer == null) {
             answer = camelContext.getCamelContextExtension().getBootstrapFactoryFinder()
                     .newInstance("micrometer-prometheus", CamelMetricsService.class)
-                    .orElseThrow(() -> new IllegalArgumentException(
-                            "Cannot find CamelMetricsService on classpath. Add camel-micrometer-prometheus to classpath."));
+                    .orElse(null);
         }
         return answer;
     }
@@ -277,8 +277,18 @@ public final class DefaultConfigurationConfigurer {
                     config.getRoutesReloadDirectory(), config.isRoutesReloadDirectoryRecursive());
             reloader.setPattern(config.getRoutesReloadPattern());
             reloader.setRemoveAllRoutes(config.isRoutesReloadRemoveAllRoutes());
+            reloader.setIncremental(config.isRoutesReloadIncremental());
             camelContext.addService(reloader);
         }
+        if (config.isYamlRoutesCacheEnabled()) {
+            // the YAML routes loader reads these global options when started
+            camelContext.getGlobalOptions().put("CamelYamlRoutesCacheEnabled", "true");
+            if (config.getYamlRoutesCacheDir() != null) {
+                camelContext.getGlobalOptions().put("CamelYamlRoutesCacheDir", config.getYamlRoutesCacheDir());
+            }
+            camelContext.getGlobalOptions().put("CamelYamlRoutesCacheSize",
+                    Integer.toString(config.getYamlRoutesCacheSize()));
+        }
         if (config.getDumpRoutes() != null) {
             DumpRoutesStrategy drs = camelContext.getCamelContextExtension().getContextPlugin(DumpRoutesStrategy.class);
             drs.setInclude(config.getDumpRoutesInclude());
@@ -336,6 +346,9 @@ public final class DefaultConfigurationConfigurer {
         if (config.isSourceLocationEnabled()) {
             camelContext.setSourceLocationEnabled(true);
         }
+        if (config.isParallelRouteStartup()) {
+            camelContext.setParallelRouteStartup(true);
+        }
 
         camelContext.setTracing(config.isTracing());
         camelContext.setTracingStandby(config.isTracingStandby());
@@ -79,6 +79,7 @@ public abstract class DefaultConfigurationProperties<T> {
     @Metadata(defaultValue = "%-4.4s [%-12.12s] [%-33.33s]")
     private String tracingLoggingFormat;
     private boolean sourceLocationEnabled;
+    private boolean parallelRouteStartup;
     private boolean messageHistory;
     private boolean logMask;
     private boolean logExhaustedMessageBody;
@@ -128,7 +129,11 @@ public abstract class DefaultConfigurationProperties<T> {
     private String routesReloadPattern;
     @Metadata(defaultValue = "true")
     private boolean routesReloadRemoveAllRoutes = true;
+    private boolean routesReloadIncremental;
     private boolean routesReloadRestartDuration;
+    private boolean yamlRoutesCacheEnabled;
+    private String yamlRoutesCacheDir;
+    private int yamlRoutesCacheSize = 1000;
     private String groovyScriptPattern = "classpath:camel-groovy/*,classpath:camel-groovy-compiled/*";
     @Metadata(label = "advanced")
     private boolean groovyPreloadCompiled;
@@ -724,6 +729,21 @@ public abstract class DefaultConfigurationProperties<T> {
         this.sourceLocationEnabled = sourceLocationEnabled;
     }
 
+    public boolean isParallelRouteStartup() {
+        return parallelRouteStartup;
+    }
+
+    /**
+     * Whether routes should be created, warmed up and started in parallel during startup.
+     *
+     * Routes are started in their startup order, where each route with an explicit startupOrder is started on its own,
+     * and consecutive routes with an auto assigned startup order are started concurrently as a group. This can speed up
+     * startup when having many routes.
+     */
+    public void setParallelRouteStartup(boolean parallelRouteStartup) {
+        this.parallelRouteStartup = parallelRouteStartup;
+    }
+
     public boolean isLogMask() {
         return logMask;
     }
@@ -1373,6 +1393,22 @@ public abstract class DefaultConfigurationProperties<T> {
         this.routesReloadRemoveAllRoutes = routesReloadRemoveAllRoutes;
     }
 
+    public boolean isRoutesReloadIncremental() {
+        return routesReloadIncremental;
+    }
+
+    /**
+     * Whether to only reload the routes whose definitions have changed.
+     *
+     * When enabled then the routes from the changed files are compared with the existing routes, and only the routes
+     * that are added or changed are restarted, while unchanged routes keep running, and routes that no longer exist in
+     * the changed files are removed. This takes precedence over routesReloadRemoveAllRoutes when reloading route files.
+     * The changes of each route are reported in the RouteReloadedEvent.
+     */
+    public void setRoutesReloadIncremental(boolean routesReloadIncremental) {
+        this.routesReloadIncremental = routesReloadIncremental;
+    }
+
     public boolean isRoutesReloadRestartDuration() {
         return routesReloadRestartDuration;
     }
@@ -1385,6 +1421,41 @@ public abstract class DefaultConfigurationProperties<T> {
         this.routesReloadRestartDuration = routesReloadRestartDuration;
     }
 
+    public boolean isYamlRoutesCacheEnabled() {
+        return yamlRoutesCacheEnabled;
+    }
+
+    /**
+     * Whether to cache the parsed YAML routes keyed by the hash of their content, so loading the same routes again
+     * (such as when reloading routes, or on the next start when a cache directory is configured) skips parsing.
+     */
+    public void setYamlRoutesCacheEnabled(boolean yamlRoutesCacheEnabled) {
+        this.yamlRoutesCacheEnabled = yamlRoutesCacheEnabled;
+    }
+
+    public String getYamlRoutesCacheDir() {
+        return yamlRoutesCacheDir;
+    }
+
+    /**
+     * Directory where the parsed YAML routes are cached, so they survive restarts. If not configured then the routes
+     * are only cached in memory.
+     */
+    public void setYamlRoutesCacheDir(String yamlRoutesCacheDir) {
+        this.yamlRoutesCacheDir = yamlRoutesCacheDir;
+    }
+
+    public int getYamlRoutesCacheSize() {
+        return yamlRoutesCacheSize;
+    }
+
+    /**
+     * Maximum number of parsed YAML routes cached in memory.
+     */
+    public void setYamlRoutesCacheSize(int yamlRoutesCacheSize) {
+        this.yamlRoutesCacheSize = yamlRoutesCacheSize;
+    }
+
     public boolean isJmxUpdateRouteEnabled() {
         return jmxUpdateRouteEnabled;
     }
@@ -2077,6 +2148,18 @@ public abstract class DefaultConfigurationProperties<T> {
         return (T) this;
     }
 
+    /**
+     * Whether routes should be created, warmed up and started in parallel during startup.
+     *
+     * Routes are started in their startup order, where each route with an explicit startupOrder is started on its own,
+     * and consecutive routes with an auto assigned startup order are started concurrently as a group. This can speed up
+     * startup when having many routes.
+     */
+    public T withParallelRouteStartup(boolean parallelRouteStartup) {
+        this.parallelRouteStartup = parallelRouteStartup;
+        return (T) this;
+    }
+
     /**
      * Sets whether log mask is enabled or not.
      *
@@ -2604,6 +2687,19 @@ public abstract class DefaultConfigurationProperties<T> {
         return (T) this;
     }
 
+    /**
+     * Whether to only reload the routes whose definitions have changed.
+     *
+     * When enabled then the routes from the changed files are compared with the existing routes, and only the routes
+     * that are added or changed are restarted, while unchanged routes keep running, and routes that no longer exist in
+     * the changed files are removed. This takes precedence over routesReloadRemoveAllRoutes when reloading route files.
+     * The changes of each route are reported in the RouteReloadedEvent.
+     */
+    public T withRoutesReloadIncremental(boolean routesReloadIncremental) {
+        this.routesReloadIncremental = routesReloadIncremental;
+        return (T) this;
+    }
+
     /**
      * Whether to restart max duration when routes are reloaded. For example if max duration is 60 seconds, and a route
      * is reloaded after 25 seconds, then this will restart the count and wait 60 seconds again.
@@ -2613,6 +2709,32 @@ public abstract class DefaultConfigurationProperties<T> {
         return (T) this;
     }
 
+    /**
+     * Whether to cache the parsed YAML routes keyed by the hash of their content, so loading the same routes again
+     * (such as when reloading routes, or on the next start when a cache directory is configured) skips parsing.
+     */
+    public T withYamlRoutesCacheEnabled(boolean yamlRoutesCacheEnabled) {
+        this.yamlRoutesCacheEnabled = yamlRoutesCacheEnabled;
+        return (T) this;
+    }
+
+    /**
+     * Directory where the parsed YAML routes are cached, so they survive restarts. If not configured then the routes
+     * are only cached in memory.
+     */
+    public T withYamlRoutesCacheDir(String yamlRoutesCacheDir) {
+        this.yamlRoutesCacheDir = yamlRoutesCacheDir;
+        return (T) this;
+    }
+
+    /**
+     * Maximum number of parsed YAML routes cached in memory.
+     */
+    public T withYamlRoutesCacheSize(int yamlRoutesCacheSize) {
+        this.yamlRoutesCacheSize = yamlRoutesCacheSize;
+        return (T) this;
+    }
+
     /**
      * Controls whether to pool (reuse) exchanges or create new fresh exchanges (default). Using pooled will reduce JVM
      * garbage collection overhead by avoiding to re-create Exchange instances per message each consumer receives.
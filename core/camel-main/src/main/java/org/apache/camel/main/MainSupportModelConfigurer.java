@@ -180,7 +180,9 @@ public final class MainSupportModelConfigurer {
                 .keepAliveTime(tp.getKeepAliveTime(), tp.getTimeUnit())
                 .maxQueueSize(tp.getMaxQueueSize())
                 .allowCoreThreadTimeOut(tp.getAllowCoreThreadTimeOut())
-                .rejectedPolicy(tp.getRejectedPolicy()).build();
+                .rejectedPolicy(tp.getRejectedPolicy())
+                .adaptive(tp.getAdaptive())
+                .adaptiveInterval(tp.getAdaptiveInterval()).build();
 
         for (ThreadPoolProfileConfigurationProperties config : tp.getConfig().values()) {
             ThreadPoolProfileBuilder builder = new ThreadPoolProfileBuilder(config.getId(), dp);
@@ -189,7 +191,9 @@ public final class MainSupportModelConfigurer {
                     .keepAliveTime(config.getKeepAliveTime(), config.getTimeUnit())
                     .maxQueueSize(config.getMaxQueueSize())
                     .allowCoreThreadTimeOut(config.getAllowCoreThreadTimeOut())
-                    .rejectedPolicy(config.getRejectedPolicy()).build();
+                    .rejectedPolicy(config.getRejectedPolicy())
+                    .adaptive(config.getAdaptive())
+                    .adaptiveInterval(config.getAdaptiveInterval()).build();
             if (!tpp.isEmpty()) {
                 camelContext.getExecutorServiceManager().registerThreadPoolProfile(tpp);
             }
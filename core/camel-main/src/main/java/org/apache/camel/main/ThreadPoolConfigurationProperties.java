@@ -40,6 +40,8 @@ public class ThreadPoolConfigurationProperties implements BootstrapCloseable {
     private Integer maxQueueSize;
     private Boolean allowCoreThreadTimeOut;
     private ThreadPoolRejectedPolicy rejectedPolicy;
+    private Boolean adaptive;
+    private Long adaptiveInterval;
 
     // profile specific values
     private Map<String, ThreadPoolProfileConfigurationProperties> config = new HashMap<>();
@@ -138,6 +140,31 @@ public class ThreadPoolConfigurationProperties implements BootstrapCloseable {
         this.rejectedPolicy = rejectedPolicy;
     }
 
+    public Boolean getAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Sets default whether the thread pool adapts its core pool size to the load, between the pool size and the max
+     * pool size. The thread pool grows when tasks are waiting in the queue and more threads improve the throughput, and
+     * shrinks when the threads are mostly idle. This requires a bounded task queue.
+     */
+    public void setAdaptive(Boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    public Long getAdaptiveInterval() {
+        return adaptiveInterval;
+    }
+
+    /**
+     * Sets the default interval in millis the load is measured over, before an adaptive thread pool decides whether to
+     * resize.
+     */
+    public void setAdaptiveInterval(Long adaptiveInterval) {
+        this.adaptiveInterval = adaptiveInterval;
+    }
+
     public Map<String, ThreadPoolProfileConfigurationProperties> getConfig() {
         return config;
     }
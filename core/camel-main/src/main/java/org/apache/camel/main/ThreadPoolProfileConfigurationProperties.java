@@ -32,6 +32,8 @@ public class ThreadPoolProfileConfigurationProperties {
     private Integer maxQueueSize;
     private Boolean allowCoreThreadTimeOut;
     private ThreadPoolRejectedPolicy rejectedPolicy;
+    private Boolean adaptive;
+    private Long adaptiveInterval;
 
     public String getId() {
         return id;
@@ -123,4 +125,28 @@ public class ThreadPoolProfileConfigurationProperties {
         this.rejectedPolicy = rejectedPolicy;
     }
 
+    public Boolean getAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Sets whether the thread pool adapts its core pool size to the load, between the pool size and the max pool size.
+     * The thread pool grows when tasks are waiting in the queue and more threads improve the throughput, and shrinks
+     * when the threads are mostly idle. This requires a bounded task queue.
+     */
+    public void setAdaptive(Boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    public Long getAdaptiveInterval() {
+        return adaptiveInterval;
+    }
+
+    /**
+     * Sets the interval in millis the load is measured over, before an adaptive thread pool decides whether to resize.
+     */
+    public void setAdaptiveInterval(Long adaptiveInterval) {
+        this.adaptiveInterval = adaptiveInterval;
+    }
+
 }
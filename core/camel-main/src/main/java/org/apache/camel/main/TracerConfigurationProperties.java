@@ -36,6 +36,10 @@ public class TracerConfigurationProperties implements BootstrapCloseable {
     private int backlogSize = 100;
     @Metadata(label = "advanced", defaultValue = "true")
     private boolean removeOnDump = true;
+    @Metadata(label = "advanced")
+    private boolean ringBuffer;
+    @Metadata(label = "advanced", defaultValue = "1")
+    private int samplingRate = 1;
     @Metadata(label = "advanced", defaultValue = "32768")
     private int bodyMaxChars = 32 * 1024;
     @Metadata
@@ -116,6 +120,33 @@ public class TracerConfigurationProperties implements BootstrapCloseable {
         this.removeOnDump = removeOnDump;
     }
 
+    public boolean isRingBuffer() {
+        return ringBuffer;
+    }
+
+    /**
+     * Whether to keep the traced messages in a preallocated ring buffer (of the backlog size) instead of a queue. The
+     * newest messages overwrite the oldest, and the messages are formatted when they are dumped instead of when they
+     * are traced, which lowers the overhead of tracing. Only messages whose body, headers, properties and variables are
+     * immutable (such as strings and numbers) are formatted when dumped, as other messages may be changed after they
+     * were traced.
+     */
+    public void setRingBuffer(boolean ringBuffer) {
+        this.ringBuffer = ringBuffer;
+    }
+
+    public int getSamplingRate() {
+        return samplingRate;
+    }
+
+    /**
+     * To only trace 1 out of N exchanges. The exchanges are sampled by their correlation id (or exchange id), so all
+     * the messages of a sampled exchange are traced.
+     */
+    public void setSamplingRate(int samplingRate) {
+        this.samplingRate = samplingRate;
+    }
+
     public int getBodyMaxChars() {
         return bodyMaxChars;
     }
@@ -262,6 +293,27 @@ public class TracerConfigurationProperties implements BootstrapCloseable {
         return this;
     }
 
+    /**
+     * Whether to keep the traced messages in a preallocated ring buffer (of the backlog size) instead of a queue. The
+     * newest messages overwrite the oldest, and the messages are formatted when they are dumped instead of when they
+     * are traced, which lowers the overhead of tracing. Only messages whose body, headers, properties and variables are
+     * immutable (such as strings and numbers) are formatted when dumped, as other messages may be changed after they
+     * were traced.
+     */
+    public TracerConfigurationProperties withRingBuffer(boolean ringBuffer) {
+        this.ringBuffer = ringBuffer;
+        return this;
+    }
+
+    /**
+     * To only trace 1 out of N exchanges. The exchanges are sampled by their correlation id (or exchange id), so all
+     * the messages of a sampled exchange are traced.
+     */
+    public TracerConfigurationProperties withSamplingRate(int samplingRate) {
+        this.samplingRate = samplingRate;
+        return this;
+    }
+
     /**
      * Whether to trace routes that is created from Rest DSL.
      */
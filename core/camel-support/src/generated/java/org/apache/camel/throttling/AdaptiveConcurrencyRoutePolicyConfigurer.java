@@ -0,0 +1,102 @@
+/* Generated by camel build tools - do NOT edit this file! */
+package org.apache.camel.throttling;
+
+import javax.annotation.processing.Generated;
+import java.util.Map;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.spi.ExtendedPropertyConfigurerGetter;
+import org.apache.camel.spi.PropertyConfigurerGetter;
+import org.apache.camel.spi.ConfigurerStrategy;
+import org.apache.camel.spi.GeneratedPropertyConfigurer;
+import org.apache.camel.util.CaseInsensitiveMap;
+import org.apache.camel.throttling.AdaptiveConcurrencyRoutePolicy;
+
+/**
+ * Generated by camel build tools - do NOT edit this file!
+ */
+@Generated("org.apache.camel.maven.packaging.GenerateConfigurerMojo")
+@SuppressWarnings("unchecked")
+public class AdaptiveConcurrencyRoutePolicyConfigurer extends org.apache.camel.support.component.PropertyConfigurerSupport implements GeneratedPropertyConfigurer, PropertyConfigurerGetter {
+
+    @Override
+    public boolean configure(CamelContext camelContext, Object obj, String name, Object value, boolean ignoreCase) {
+        org.apache.camel.throttling.AdaptiveConcurrencyRoutePolicy target = (org.apache.camel.throttling.AdaptiveConcurrencyRoutePolicy) obj;
+        switch (ignoreCase ? name.toLowerCase() : name) {
+        case "backoffratio":
+        case "backoffRatio": target.setBackoffRatio(property(camelContext, double.class, value)); return true;
+        case "initiallimit":
+        case "initialLimit": target.setInitialLimit(property(camelContext, int.class, value)); return true;
+        case "limitalgorithm":
+        case "limitAlgorithm": target.setLimitAlgorithm(property(camelContext, org.apache.camel.throttling.AdaptiveConcurrencyRoutePolicy.LimitAlgorithm.class, value)); return true;
+        case "logginglevel":
+        case "loggingLevel": target.setLoggingLevel(property(camelContext, org.apache.camel.LoggingLevel.class, value)); return true;
+        case "maxlimit":
+        case "maxLimit": target.setMaxLimit(property(camelContext, int.class, value)); return true;
+        case "minlimit":
+        case "minLimit": target.setMinLimit(property(camelContext, int.class, value)); return true;
+        case "rejectexchanges":
+        case "rejectExchanges": target.setRejectExchanges(property(camelContext, boolean.class, value)); return true;
+        case "timeout": target.setTimeout(property(camelContext, long.class, value)); return true;
+        case "tolerance": target.setTolerance(property(camelContext, double.class, value)); return true;
+        case "window": target.setWindow(property(camelContext, long.class, value)); return true;
+        case "windowsize":
+        case "windowSize": target.setWindowSize(property(camelContext, int.class, value)); return true;
+        default: return false;
+        }
+    }
+
+    @Override
+    public Class<?> getOptionType(String name, boolean ignoreCase) {
+        switch (ignoreCase ? name.toLowerCase() : name) {
+        case "backoffratio":
+        case "backoffRatio": return double.class;
+        case "initiallimit":
+        case "initialLimit": return int.class;
+        case "limitalgorithm":
+        case "limitAlgorithm": return org.apache.camel.throttling.AdaptiveConcurrencyRoutePolicy.LimitAlgorithm.class;
+        case "logginglevel":
+        case "loggingLevel": return org.apache.camel.LoggingLevel.class;
+        case "maxlimit":
+        case "maxLimit": return int.class;
+        case "minlimit":
+        case "minLimit": return int.class;
+        case "rejectexchanges":
+        case "rejectExchanges": return boolean.class;
+        case "timeout": return long.class;
+        case "tolerance": return double.class;
+        case "window": return long.class;
+        case "windowsize":
+        case "windowSize": return int.class;
+        default: return null;
+        }
+    }
+
+    @Override
+    public Object getOptionValue(Object obj, String name, boolean ignoreCase) {
+        org.apache.camel.throttling.AdaptiveConcurrencyRoutePolicy target = (org.apache.camel.throttling.AdaptiveConcurrencyRoutePolicy) obj;
+        switch (ignoreCase ? name.toLowerCase() : name) {
+        case "backoffratio":
+        case "backoffRatio": return target.getBackoffRatio();
+        case "initiallimit":
+        case "initialLimit": return target.getInitialLimit();
+        case "limitalgorithm":
+        case "limitAlgorithm": return target.getLimitAlgorithm();
+        case "logginglevel":
+        case "loggingLevel": return target.getLoggingLevel();
+        case "maxlimit":
+        case "maxLimit": return target.getMaxLimit();
+        case "minlimit":
+        case "minLimit": return target.getMinLimit();
+        case "rejectexchanges":
+        case "rejectExchanges": return target.isRejectExchanges();
+        case "timeout": return target.getTimeout();
+        case "tolerance": return target.getTolerance();
+        case "window": return target.getWindow();
+        case "windowsize":
+        case "windowSize": return target.getWindowSize();
+        default: return null;
+        }
+    }
+}
+
@@ -28,6 +28,7 @@ import org.apache.camel.spi.CamelEvent;
 import org.apache.camel.spi.EventFactory;
 import org.apache.camel.spi.EventNotifier;
 import org.apache.camel.spi.ManagementStrategy;
+import org.apache.camel.spi.RouteReloadChange;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -227,6 +228,47 @@ public final class EventHelper {
         return answer;
     }
 
+    public static boolean notifyThreadPoolResized(
+            CamelContext context, Object threadPool, String threadPoolId, int oldPoolSize, int newPoolSize, String reason) {
+        ManagementStrategy management = context.getManagementStrategy();
+        if (management == null) {
+            return false;
+        }
+
+        EventFactory factory = management.getEventFactory();
+        if (factory == null) {
+            return false;
+        }
+
+        List<EventNotifier> notifiers = management.getStartedEventNotifiers();
+        if (notifiers == null || notifiers.isEmpty()) {
+            return false;
+        }
+
+        boolean answer = false;
+        CamelEvent event = null;
+        for (EventNotifier notifier : notifiers) {
+            if (notifier.isDisabled()) {
+                continue;
+            }
+            if (notifier.isIgnoreServiceEvents()) {
+                continue;
+            }
+
+            if (event == null) {
+                // only create event once
+                event = factory.createThreadPoolResizedEvent(context, threadPool, threadPoolId, oldPoolSize, newPoolSize,
+                        reason);
+                if (event == null) {
+                    // factory could not create event so exit
+                    return false;
+                }
+            }
+            answer |= doNotifyEvent(notifier, event);
+        }
+        return answer;
+    }
+
     public static boolean notifyRouteStarting(CamelContext context, Route route) {
         ManagementStrategy management = context.getManagementStrategy();
         if (management == null) {
@@ -541,6 +583,11 @@ public final class EventHelper {
     }
 
     public static boolean notifyRouteReloaded(CamelContext context, Route route, int index, int total) {
+        return notifyRouteReloaded(context, route, index, total, null);
+    }
+
+    public static boolean notifyRouteReloaded(
+            CamelContext context, Route route, int index, int total, RouteReloadChange change) {
         ManagementStrategy management = context.getManagementStrategy();
         if (management == null) {
             return false;
@@ -568,7 +615,9 @@ public final class EventHelper {
 
             if (event == null) {
                 // only create event once
-                event = factory.createRouteReloaded(route, index, total);
+                event = change != null
+                        ? factory.createRouteReloaded(route, index, total, change)
+                        : factory.createRouteReloaded(route, index, total);
                 if (event == null) {
                     // factory could not create event so exit
                     return false;
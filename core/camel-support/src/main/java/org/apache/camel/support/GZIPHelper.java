@@ -20,22 +20,103 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
+import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
+import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ParallelGZIPOutputStream;
 import org.apache.camel.util.StringHelper;
+import org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy;
 
 /**
  * Helper class to help wrapping content into GZIP input and output streams.
+ * <p/>
+ * When a {@link CamelContext} is given, then content of at least the {@link #PARALLEL_THRESHOLD parallel threshold}
+ * size is compressed in parallel using {@link ParallelGZIPOutputStream}, on a thread pool of the CamelContext bounded
+ * by the number of processors. Such content is compressed as the returned stream is read, instead of compressing all
+ * the content up front.
  */
 public final class GZIPHelper {
 
+    /**
+     * Global option on {@link CamelContext#getGlobalOptions()} with the size in bytes from which content is compressed
+     * in parallel. Use 0 to disable parallel compression. Is default {@link #DEFAULT_PARALLEL_THRESHOLD}.
+     */
+    public static final String PARALLEL_THRESHOLD = "CamelGZIPParallelThreshold";
+
+    /**
+     * The default size in bytes from which content is compressed in parallel.
+     */
+    public static final long DEFAULT_PARALLEL_THRESHOLD = 1024 * 1024;
+
+    private static final Lock LOCK = new ReentrantLock();
+
     private GZIPHelper() {
     }
 
+    /**
+     * The size in bytes from which content is compressed in parallel with the given CamelContext, or 0 if parallel
+     * compression is disabled.
+     */
+    public static long getParallelThreshold(CamelContext camelContext) {
+        String threshold = camelContext != null ? camelContext.getGlobalOption(PARALLEL_THRESHOLD) : null;
+        return threshold != null ? Math.max(0, Long.parseLong(threshold)) : DEFAULT_PARALLEL_THRESHOLD;
+    }
+
+    private static boolean isParallel(CamelContext camelContext, long size) {
+        if (camelContext == null) {
+            return false;
+        }
+        long threshold = getParallelThreshold(camelContext);
+        return threshold > 0 && size >= threshold;
+    }
+
+    private static ExecutorService getParallelExecutor(CamelContext camelContext) {
+        ParallelExecutor answer = camelContext.getCamelContextExtension().getContextPlugin(ParallelExecutor.class);
+        if (answer == null) {
+            LOCK.lock();
+            try {
+                answer = camelContext.getCamelContextExtension().getContextPlugin(ParallelExecutor.class);
+                if (answer == null) {
+                    answer = new ParallelExecutor();
+                    camelContext.getCamelContextExtension().addContextPlugin(ParallelExecutor.class, answer);
+                }
+            } finally {
+                LOCK.unlock();
+            }
+        }
+        return answer.getExecutorService(camelContext);
+    }
+
+    /**
+     * Creates an output stream which compresses to the given stream, where content of at least the parallel threshold
+     * size is compressed in parallel.
+     *
+     * @param  out          the output stream to write the compressed content to
+     * @param  size         the size of the content, or -1 if unknown
+     * @param  camelContext the CamelContext which thread pool is used for parallel compression, or <tt>null</tt> to not
+     *                      compress in parallel
+     * @return              the output stream to write the content to, which must be closed or finished
+     * @throws IOException  if writing the GZIP header failed
+     */
+    public static OutputStream newGzipOutputStream(OutputStream out, long size, CamelContext camelContext)
+            throws IOException {
+        if (isParallel(camelContext, size)) {
+            return new ParallelGZIPOutputStream(out, getParallelExecutor(camelContext));
+        } else {
+            return new GZIPOutputStream(out);
+        }
+    }
+
     public static InputStream uncompressGzip(String contentEncoding, InputStream in) throws IOException {
         if (isGzip(contentEncoding)) {
             return new GZIPInputStream(in);
@@ -45,7 +126,22 @@ public final class GZIPHelper {
     }
 
     public static InputStream compressGzip(String contentEncoding, InputStream in) throws IOException {
-        if (isGzip(contentEncoding)) {
+        return compressGzip(contentEncoding, in, null);
+    }
+
+    /**
+     * Compresses the stream if the content encoding is gzip. If the stream has at least the parallel threshold of bytes
+     * available (such as from a file), then the returned stream compresses in parallel while it is read, and closes the
+     * given stream when all of it has been read.
+     *
+     * @param camelContext the CamelContext which thread pool is used for parallel compression, or <tt>null</tt> to not
+     *                     compress in parallel
+     */
+    public static InputStream compressGzip(String contentEncoding, InputStream in, CamelContext camelContext)
+            throws IOException {
+        if (isGzip(contentEncoding) && isParallel(camelContext, in.available())) {
+            return new CompressingInputStream(in, getParallelExecutor(camelContext));
+        } else if (isGzip(contentEncoding)) {
             ByteArrayOutputStream os = new ByteArrayOutputStream();
             GZIPOutputStream gzip = new GZIPOutputStream(os);
             try {
@@ -62,7 +158,21 @@ public final class GZIPHelper {
     }
 
     public static InputStream compressGzip(String contentEncoding, byte[] data) throws IOException {
-        if (isGzip(contentEncoding)) {
+        return compressGzip(contentEncoding, data, null);
+    }
+
+    /**
+     * Compresses the data if the content encoding is gzip. If the data has at least the parallel threshold of bytes,
+     * then the returned stream compresses in parallel while it is read.
+     *
+     * @param camelContext the CamelContext which thread pool is used for parallel compression, or <tt>null</tt> to not
+     *                     compress in parallel
+     */
+    public static InputStream compressGzip(String contentEncoding, byte[] data, CamelContext camelContext)
+            throws IOException {
+        if (isGzip(contentEncoding) && isParallel(camelContext, data.length)) {
+            return new CompressingInputStream(new ByteArrayInputStream(data), getParallelExecutor(camelContext));
+        } else if (isGzip(contentEncoding)) {
             ByteArrayOutputStream os = null;
             GZIPOutputStream gzip = null;
             try {
@@ -81,11 +191,21 @@ public final class GZIPHelper {
     }
 
     public static byte[] compressGZIP(byte[] data) throws IOException {
+        return compressGZIP(data, null);
+    }
+
+    /**
+     * Compresses the data, in parallel if the data has at least the parallel threshold of bytes.
+     *
+     * @param camelContext the CamelContext which thread pool is used for parallel compression, or <tt>null</tt> to not
+     *                     compress in parallel
+     */
+    public static byte[] compressGZIP(byte[] data, CamelContext camelContext) throws IOException {
         ByteArrayOutputStream os = new ByteArrayOutputStream();
-        GZIPOutputStream gzip = new GZIPOutputStream(os);
+        OutputStream gzip = newGzipOutputStream(os, data.length, camelContext);
         try {
             gzip.write(data);
-            gzip.finish();
+            gzip.close();
             return os.toByteArray();
         } finally {
             IOHelper.close(gzip, "gzip");
@@ -108,4 +228,140 @@ public final class GZIPHelper {
     public static boolean isGzip(String header) {
         return StringHelper.containsIgnoreCase(header, "gzip");
     }
+
+    /**
+     * An input stream which reads the compressed content of the given stream, by compressing it in parallel as it is
+     * read, so only the blocks being compressed are kept in memory.
+     */
+    private static final class CompressingInputStream extends InputStream {
+
+        private final InputStream in;
+        private final ChunkOutputStream chunk = new ChunkOutputStream();
+        private final ParallelGZIPOutputStream gzip;
+        private final byte[] readBuffer = new byte[ParallelGZIPOutputStream.DEFAULT_BLOCK_SIZE];
+        private int pos;
+        private boolean eof;
+        private boolean closed;
+
+        private CompressingInputStream(InputStream in, ExecutorService executor) throws IOException {
+            this.in = in;
+            this.gzip = new ParallelGZIPOutputStream(chunk, executor);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            return chunk.get(pos++);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int n = Math.min(len, chunk.size() - pos);
+            chunk.get(pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return chunk.size() - pos;
+        }
+
+        private boolean fill() throws IOException {
+            // feed the compressor until it has written compressed data to read
+            while (pos == chunk.size()) {
+                if (eof) {
+                    return false;
+                }
+                chunk.reset();
+                pos = 0;
+                int n = in.read(readBuffer);
+                if (n < 0) {
+                    eof = true;
+                    gzip.finish();
+                    IOHelper.close(in, "input stream");
+                } else {
+                    gzip.write(readBuffer, 0, n);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            eof = true;
+            try {
+                // finish so the blocks being compressed are done before the stream is closed
+                gzip.close();
+            } finally {
+                // discard what is not read
+                chunk.reset();
+                pos = 0;
+                IOHelper.close(in, "input stream");
+            }
+        }
+    }
+
+    /**
+     * Holds the thread pool of a CamelContext for compressing in parallel, which is created on first use, and shutdown
+     * by the CamelContext when it is stopped.
+     */
+    private static final class ParallelExecutor {
+
+        private final Lock lock = new ReentrantLock();
+        private volatile ExecutorService executorService;
+
+        ExecutorService getExecutorService(CamelContext camelContext) {
+            ExecutorService answer = executorService;
+            if (answer == null || answer.isShutdown()) {
+                lock.lock();
+                try {
+                    if (executorService == null || executorService.isShutdown()) {
+                        // when the pool is busy the caller compresses the block itself
+                        int threads = Runtime.getRuntime().availableProcessors();
+                        ThreadPoolProfile profile = new ThreadPoolProfile("GZIPHelper");
+                        profile.setPoolSize(threads);
+                        profile.setMaxPoolSize(threads);
+                        profile.setMaxQueueSize(threads * 4);
+                        profile.setKeepAliveTime(60L);
+                        profile.setTimeUnit(TimeUnit.SECONDS);
+                        profile.setAllowCoreThreadTimeOut(true);
+                        profile.setRejectedPolicy(ThreadPoolRejectedPolicy.CallerRuns);
+                        executorService = camelContext.getExecutorServiceManager()
+                                .newThreadPool(GZIPHelper.class, "GZIPHelper", profile);
+                    }
+                    answer = executorService;
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return answer;
+        }
+    }
+
+    /**
+     * A byte array output stream which gives access to the written bytes without copying them.
+     */
+    private static final class ChunkOutputStream extends ByteArrayOutputStream {
+
+        int get(int index) {
+            return buf[index] & 0xFF;
+        }
+
+        void get(int index, byte[] b, int off, int len) {
+            System.arraycopy(buf, index, b, off, len);
+        }
+    }
 }
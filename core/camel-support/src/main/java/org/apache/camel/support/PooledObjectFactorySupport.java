@@ -16,23 +16,25 @@
  */
 package org.apache.camel.support;
 
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.spi.PooledObjectFactory;
 import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.concurrent.StripedObjectPool;
 
 /**
  * Base class for building {@link PooledObjectFactory} based factories.
+ * <p/>
+ * The objects are pooled in a {@link StripedObjectPool} so threads acquiring and releasing objects concurrently do not
+ * contend on a single queue.
  */
 public abstract class PooledObjectFactorySupport<T> extends ServiceSupport implements PooledObjectFactory<T> {
 
     protected final Object source;
     protected UtilizationStatistics statistics;
     protected CamelContext camelContext;
-    protected BlockingQueue<T> pool;
+    protected StripedObjectPool<T> pool;
     protected int capacity = 100;
     protected boolean statisticsEnabled;
 
@@ -48,10 +50,10 @@ public abstract class PooledObjectFactorySupport<T> extends ServiceSupport imple
     protected void doBuild() throws Exception {
         super.doBuild();
         if (isPooled()) {
-            this.pool = new ArrayBlockingQueue<>(capacity);
+            this.pool = new StripedObjectPool<>(capacity);
         }
         if (isStatisticsEnabled()) {
-            this.statistics = new UtilizationStatistics();
+            this.statistics = new UtilizationStatistics(pool);
         }
     }
 
@@ -140,6 +142,11 @@ public abstract class PooledObjectFactorySupport<T> extends ServiceSupport imple
         public final LongAdder acquired = new LongAdder();
         public final LongAdder released = new LongAdder();
         public final LongAdder discarded = new LongAdder();
+        private final StripedObjectPool<?> pool;
+
+        public UtilizationStatistics(StripedObjectPool<?> pool) {
+            this.pool = pool;
+        }
 
         @Override
         public void reset() {
@@ -147,6 +154,9 @@ public abstract class PooledObjectFactorySupport<T> extends ServiceSupport imple
             acquired.reset();
             released.reset();
             discarded.reset();
+            if (pool != null) {
+                pool.resetStatistics();
+            }
         }
 
         @Override
@@ -169,6 +179,16 @@ public abstract class PooledObjectFactorySupport<T> extends ServiceSupport imple
             return discarded.longValue();
         }
 
+        @Override
+        public long getMissCounter() {
+            return pool != null ? pool.getMissCounter() : 0;
+        }
+
+        @Override
+        public long getContentionCounter() {
+            return pool != null ? pool.getContentionCounter() : 0;
+        }
+
     }
 
 }
@@ -286,6 +286,34 @@ public final class ResourceHelper {
         }
     }
 
+    /**
+     * Whether the two resources are loading the same resource, where file and classpath resources of a project refer to
+     * the same resource when they are in src/main/resources and target/classes.
+     *
+     * @param  source the resource
+     * @param  target the other resource
+     * @return        <tt>true</tt> if both resources are loading the same resource
+     */
+    public static boolean isSameLocation(Resource source, Resource target) {
+        if (source == null || target == null) {
+            return false;
+        }
+
+        // use URI to match as file/classpath resources may refer to the same uri
+        URI u1 = source.getURI();
+        URI u2 = target.getURI();
+        boolean answer = u1.equals(u2);
+        if (!answer) {
+            // file and classpath may refer to the same when they have src/main/resources && target/classes
+            String s1 = u1.toString().replace("src/main/resources/", "").replace("src/test/resources/", "")
+                    .replace("target/classes/", "");
+            String s2 = u2.toString().replace("src/main/resources/", "").replace("src/test/resources/", "")
+                    .replace("target/classes/", "");
+            answer = s1.equals(s2);
+        }
+        return answer;
+    }
+
     /**
      * Create a {@link Resource} from bytes.
      *
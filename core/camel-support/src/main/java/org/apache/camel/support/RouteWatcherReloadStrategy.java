@@ -18,12 +18,14 @@ package org.apache.camel.support;
 
 import java.io.File;
 import java.io.InputStream;
-import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.StringJoiner;
@@ -37,6 +39,7 @@ import org.apache.camel.spi.PropertiesComponent;
 import org.apache.camel.spi.PropertiesReload;
 import org.apache.camel.spi.PropertiesSource;
 import org.apache.camel.spi.Resource;
+import org.apache.camel.spi.RouteReloadChange;
 import org.apache.camel.util.AntPathMatcher;
 import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.IOHelper;
@@ -67,6 +70,7 @@ public class RouteWatcherReloadStrategy extends FileWatcherResourceReloadStrateg
 
     private String pattern;
     private boolean removeAllRoutes = true;
+    private boolean incremental;
     private final List<Resource> previousSources = new ArrayList<>();
 
     public RouteWatcherReloadStrategy() {
@@ -109,6 +113,24 @@ public class RouteWatcherReloadStrategy extends FileWatcherResourceReloadStrateg
         this.removeAllRoutes = removeAllRoutes;
     }
 
+    @Override
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Whether to only reload the routes whose definitions have changed.
+     *
+     * When enabled then the routes from the changed files are compared with the existing routes, and only the routes
+     * that are added or changed are (re)started, while unchanged routes keep running, and routes that no longer exist
+     * in the changed files are removed. This takes precedence over removeAllRoutes when reloading route files, but
+     * reloading properties or groovy files still reloads all the routes. Routes should be assigned ids so they can be
+     * compared with the existing routes.
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
     @Override
     protected void doStart() throws Exception {
         ObjectHelper.notNull(getFolder(), "folder", this);
@@ -246,6 +268,11 @@ public class RouteWatcherReloadStrategy extends FileWatcherResourceReloadStrateg
 
     @SuppressWarnings("unchecked")
     protected void onRouteReload(Collection<Resource> resources, boolean removeEverything) {
+        if (incremental && resources != null && !removeEverything && previousSources.isEmpty()) {
+            onChangedRouteReload(resources);
+            return;
+        }
+
         // remember all existing resources
         List<Resource> sources = new ArrayList<>();
 
@@ -380,6 +407,121 @@ public class RouteWatcherReloadStrategy extends FileWatcherResourceReloadStrateg
         }
     }
 
+    /**
+     * Reloads only the routes from the given resources whose definitions have changed.
+     */
+    @SuppressWarnings("unchecked")
+    protected void onChangedRouteReload(Collection<Resource> resources) {
+        List<Resource> sources = new ArrayList<>();
+        for (Resource resource : resources) {
+            if (Files.exists(Paths.get(resource.getURI()))) {
+                sources.add(resource);
+            }
+        }
+        Collection<Resource> extras
+                = getCamelContext().getRegistry().lookupByNameAndType(RELOAD_RESOURCES, Collection.class);
+        if (extras != null) {
+            for (Resource extra : extras) {
+                if (!sources.contains(extra)) {
+                    sources.add(extra);
+                }
+            }
+        }
+
+        // the routes currently loaded from the changed resources
+        Set<String> existing = new LinkedHashSet<>();
+        for (Route route : getCamelContext().getRoutes()) {
+            if (equalResourceLocation(resources, route.getSourceResource())) {
+                existing.add(route.getRouteId());
+            }
+        }
+
+        // just in case remember this set of sources as what was attempted previously to update
+        // in case the update fails with an exception (the next reload will then reload all routes)
+        previousSources.clear();
+        previousSources.addAll(sources);
+
+        try {
+            List<RouteReloadChange> changes
+                    = new ArrayList<>(PluginHelper.getRoutesLoader(getCamelContext()).updateChangedRoutes(sources));
+
+            // update okay, so clear as we do not need to remember those anymore
+            previousSources.clear();
+
+            // remove the routes which no longer exist in the changed resources
+            for (RouteReloadChange change : changes) {
+                existing.remove(change.getRouteId());
+            }
+            for (String id : existing) {
+                getCamelContext().getRouteController().stopRoute(id);
+                getCamelContext().removeRoute(id);
+                changes.add(new RouteReloadChange(id, RouteReloadChange.Kind.Removed, null));
+            }
+
+            logChangedRoutes(changes);
+
+            // fire events for the routes added or updated
+            List<RouteReloadChange> reloaded = changes.stream()
+                    .filter(c -> c.getKind() == RouteReloadChange.Kind.Added
+                            || c.getKind() == RouteReloadChange.Kind.Updated)
+                    .toList();
+            int index = 1;
+            for (RouteReloadChange change : reloaded) {
+                Route route = getCamelContext().getRoute(change.getRouteId());
+                if (route != null) {
+                    EventHelper.notifyRouteReloaded(getCamelContext(), route, index++, reloaded.size(), change);
+                }
+            }
+        } catch (Exception e) {
+            throw RuntimeCamelException.wrapRuntimeException(e);
+        }
+    }
+
+    private void logChangedRoutes(List<RouteReloadChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Map<RouteReloadChange.Kind, Integer> counters = new EnumMap<>(RouteReloadChange.Kind.class);
+        List<String> lines = new ArrayList<>();
+        int started = 0;
+        for (RouteReloadChange change : changes) {
+            counters.merge(change.getKind(), 1, Integer::sum);
+            String id = change.getRouteId();
+            Route route = getCamelContext().getRoute(id);
+            if (route == null) {
+                lines.add(String.format("    %s %s", change.getKind(), id));
+                continue;
+            }
+            ServiceStatus status = getCamelContext().getRouteController().getRouteStatus(id);
+            if (ServiceStatus.Started.equals(status)) {
+                started++;
+            }
+            // use basic endpoint uri to not log verbose details or potential sensitive data
+            String uri = URISupport.sanitizeUri(route.getEndpoint().getEndpointBaseUri());
+            String loc = route.getSourceLocationShort();
+            if (loc == null) {
+                loc = "";
+            }
+            lines.add(String.format("    %s %s %s (%s) (source: %s)", change.getKind(), status, id, uri, loc));
+            if (change.getDiff() != null) {
+                LOG.debug("Route: {} changed: {}", id, change.getDiff());
+            }
+        }
+        LOG.info("Routes reloaded summary (total:{} started:{} added:{} updated:{} unchanged:{} removed:{})",
+                changes.size(), started,
+                counters.getOrDefault(RouteReloadChange.Kind.Added, 0),
+                counters.getOrDefault(RouteReloadChange.Kind.Updated, 0),
+                counters.getOrDefault(RouteReloadChange.Kind.Unchanged, 0),
+                counters.getOrDefault(RouteReloadChange.Kind.Removed, 0));
+        // if we are default/verbose then log each route line
+        if (getCamelContext().getStartupSummaryLevel() == StartupSummaryLevel.Default
+                || getCamelContext().getStartupSummaryLevel() == StartupSummaryLevel.Verbose) {
+            for (String line : lines) {
+                LOG.info(line);
+            }
+        }
+    }
+
     /**
      * Whether the target is loading any of the given sources
      */
@@ -399,23 +541,7 @@ public class RouteWatcherReloadStrategy extends FileWatcherResourceReloadStrateg
      * Whether the two resources are loading the same resource
      */
     private static boolean equalResourceLocation(Resource source, Resource target) {
-        if (source == null || target == null) {
-            return false;
-        }
-
-        // use URI to match as file/classpath resources may refer to the same uri
-        URI u1 = source.getURI();
-        URI u2 = target.getURI();
-        boolean answer = u1.equals(u2);
-        if (!answer) {
-            // file and classpath may refer to the same when they have src/main/resources && target/classes
-            String s1 = u1.toString().replace("src/main/resources/", "").replace("src/test/resources/", "")
-                    .replace("target/classes/", "");
-            String s2 = u2.toString().replace("src/main/resources/", "").replace("src/test/resources/", "")
-                    .replace("target/classes/", "");
-            answer = s1.equals(s2);
-        }
-        return answer;
+        return ResourceHelper.isSameLocation(source, target);
     }
 
 }
@@ -67,6 +67,14 @@ public class DefaultProducerCache extends ServiceSupport implements ProducerCach
         this.maxCacheSize = cacheSize <= 0 ? CamelContextHelper.getMaximumCachePoolSize(camelContext) : cacheSize;
         if (cacheSize >= 0) {
             this.producers = createServicePool(camelContext, maxCacheSize);
+            String size = camelContext.getGlobalOption(MAXIMUM_POOL_SIZE);
+            if (size != null) {
+                this.producers.setMaxPoolSize(Integer.parseInt(size));
+            }
+            String timeout = camelContext.getGlobalOption(IDLE_TIMEOUT);
+            if (timeout != null) {
+                this.producers.setIdleTimeout(Long.parseLong(timeout));
+            }
         } else {
             // no cache then empty
             this.producers = null;
@@ -127,6 +135,7 @@ public class DefaultProducerCache extends ServiceSupport implements ProducerCach
         // copy reference to avoid need for synchronization and be thread safe
         AsyncProducer lastUsedProducerRef = lastUsedProducer;
         if (lastUsedProducerRef != null && endpoint == lastUsedProducerRef.getEndpoint() && endpoint.isSingletonProducer()) {
+            producers.onHit();
             return lastUsedProducerRef;
         }
 
@@ -144,6 +153,29 @@ public class DefaultProducerCache extends ServiceSupport implements ProducerCach
         }
     }
 
+    @Override
+    public AsyncProducer acquireProducer(Endpoint endpoint, AcquireCallback callback) {
+        if (producers == null || endpoint.isSingletonProducer()) {
+            // singletons are never waited for
+            return acquireProducer(endpoint);
+        }
+
+        try {
+            AsyncProducer producer = producers.acquire(endpoint, (p, cause) -> {
+                if (cause != null && !(cause instanceof RejectedExecutionException)) {
+                    cause = new FailedToCreateProducerException(endpoint, cause);
+                }
+                callback.onAcquired(p, cause);
+            });
+            if (producer != null && statistics != null) {
+                statistics.onHit(endpoint.getEndpointUri());
+            }
+            return producer;
+        } catch (Exception e) {
+            throw new FailedToCreateProducerException(endpoint, e);
+        }
+    }
+
     @Override
     public void releaseProducer(Endpoint endpoint, AsyncProducer producer) {
         producers.release(endpoint, producer);
@@ -243,7 +275,22 @@ public class DefaultProducerCache extends ServiceSupport implements ProducerCach
         AsyncProducer producer;
         try {
             // get the producer and we do not mind if its pooled as we can handle returning it back to the pool
-            producer = acquireProducer(endpoint);
+            if (producers != null && producers.getMaxPoolSize() > 0 && producers.isStarted()) {
+                // the pool of the endpoint may be exhausted, so do not block but continue when a producer is released
+                producer = acquireProducer(endpoint, (p, cause) -> {
+                    if (cause != null) {
+                        exchange.setException(cause);
+                        callback.done(false);
+                    } else {
+                        doInAsyncProducer(endpoint, exchange, doneSync -> callback.done(false), producerCallback, p);
+                    }
+                });
+                if (producer == null) {
+                    return false;
+                }
+            } else {
+                producer = acquireProducer(endpoint);
+            }
 
             if (producer == null) {
                 if (isStopped()) {
@@ -263,6 +310,12 @@ public class DefaultProducerCache extends ServiceSupport implements ProducerCach
             return true;
         }
 
+        return doInAsyncProducer(endpoint, exchange, callback, producerCallback, producer);
+    }
+
+    private boolean doInAsyncProducer(
+            Endpoint endpoint, Exchange exchange, AsyncCallback callback, AsyncProducerCallback producerCallback,
+            AsyncProducer producer) {
         try {
             // record timing for sending the exchange using the producer
             StopWatch watch;
@@ -388,6 +441,7 @@ public class DefaultProducerCache extends ServiceSupport implements ProducerCach
             if (statistics != null) {
                 statistics.clear();
             }
+            resetStatistics();
         } finally {
             lock.unlock();
         }
@@ -405,6 +459,63 @@ public class DefaultProducerCache extends ServiceSupport implements ProducerCach
         return statistics;
     }
 
+    @Override
+    public int getMaximumPoolSize() {
+        return producers != null ? Math.max(0, producers.getMaxPoolSize()) : 0;
+    }
+
+    /**
+     * The maximum number of non-singleton producers per endpoint (in use or idle). When the pool of an endpoint is
+     * exhausted, then the callers wait for a producer to be released. Use 0 or negative value for unlimited.
+     */
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        if (producers != null) {
+            producers.setMaxPoolSize(maximumPoolSize);
+        }
+    }
+
+    @Override
+    public long getIdleTimeout() {
+        return producers != null ? Math.max(0, producers.getIdleTimeout()) : 0;
+    }
+
+    /**
+     * The time in millis after which an idle non-singleton producer is stopped. Use 0 or negative value to keep the
+     * idle producers.
+     */
+    public void setIdleTimeout(long idleTimeout) {
+        if (producers != null) {
+            producers.setIdleTimeout(idleTimeout);
+        }
+    }
+
+    @Override
+    public long getHits() {
+        return producers != null ? producers.getHits() : 0;
+    }
+
+    @Override
+    public long getMisses() {
+        return producers != null ? producers.getMisses() : 0;
+    }
+
+    @Override
+    public long getWaits() {
+        return producers != null ? producers.getWaits() : 0;
+    }
+
+    @Override
+    public long getWaitTime() {
+        return producers != null ? producers.getWaitTime() : 0;
+    }
+
+    @Override
+    public void resetStatistics() {
+        if (producers != null) {
+            producers.resetStatistics();
+        }
+    }
+
     @Override
     public String toString() {
         return "ProducerCache for source: " + source + ", capacity: " + getCapacity();
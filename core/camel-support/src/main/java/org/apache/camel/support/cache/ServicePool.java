@@ -16,14 +16,21 @@
  */
 package org.apache.camel.support.cache;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import org.apache.camel.Endpoint;
@@ -41,6 +48,11 @@ import static java.util.Objects.requireNonNull;
 /**
  * A base class for a pool for either producers or consumers used by {@link org.apache.camel.spi.ProducerCache} and
  * {@link org.apache.camel.spi.ConsumerCache}.
+ * <p/>
+ * Non-singleton producers or consumers are pooled per endpoint. The number of producers or consumers per endpoint can
+ * be limited, in which case the callers wait for one to be released when the pool of the endpoint is exhausted, either
+ * by blocking or by being called back when one is available. The idle producers or consumers can be stopped after an
+ * idle timeout.
  */
 abstract class ServicePool<S extends Service> extends ServiceSupport implements NonManagedService {
 
@@ -54,10 +66,24 @@ abstract class ServicePool<S extends Service> extends ServiceSupport implements
     private final ConcurrentMap<Endpoint, Pool<S>> singlePoolEvicted = new ConcurrentHashMap<>();
     private final int capacity;
     private final Map<S, S> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder waitTime = new LongAdder();
+    private int maxPoolSize;
+    private long idleTimeout;
 
     private interface Pool<S> {
         S acquire() throws Exception;
 
+        /**
+         * Acquires without blocking, or returns <tt>null</tt> and calls the callback when acquired. Pools which never
+         * block acquire right away.
+         */
+        default S acquire(BiConsumer<S, Throwable> callback) throws Exception {
+            return acquire();
+        }
+
         void release(S s);
 
         int size();
@@ -76,6 +102,76 @@ abstract class ServicePool<S extends Service> extends ServiceSupport implements
         this.cache = capacity > 0 ? LRUCacheFactory.newLRUCache(capacity, this::onEvict) : null;
     }
 
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    /**
+     * The maximum number of non-singleton producers or consumers per endpoint, in use or idle. When the pool of an
+     * endpoint is exhausted, the callers wait for a producer or consumer to be released. Use 0 or negative value for
+     * unlimited.
+     */
+    public void setMaxPoolSize(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * The time in millis after which an idle non-singleton producer or consumer is stopped. Use 0 or negative value to
+     * keep the idle producers and consumers.
+     */
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Number of times a producer or consumer was acquired from the pool
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of times a producer or consumer had to be created
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of times a producer or consumer had to be waited for, as the pool of the endpoint was exhausted
+     */
+    public long getWaits() {
+        return waits.sum();
+    }
+
+    /**
+     * The total time in millis waited for producers or consumers
+     */
+    public long getWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(waitTime.sum());
+    }
+
+    /**
+     * Records a hit of a producer or consumer which is acquired without the pool
+     */
+    void onHit() {
+        hits.increment();
+    }
+
+    /**
+     * Resets the statistics
+     */
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        waits.reset();
+        waitTime.reset();
+    }
+
     /**
      * This callback is invoked by LRUCache from a separate background cleanup thread. Therefore, we mark the entries to
      * be evicted from this thread only, and then let SinglePool and MultiPool handle the evictions (stop the
@@ -120,6 +216,32 @@ abstract class ServicePool<S extends Service> extends ServiceSupport implements
         return s;
     }
 
+    /**
+     * Tries to acquire the producer/consumer with the given key without blocking. If the pool of the endpoint is
+     * exhausted, then <tt>null</tt> is returned, and the callback is called with the producer/consumer when one is
+     * released (or with the cause if it could not be acquired).
+     *
+     * @param  endpoint the endpoint
+     * @param  callback the callback when the producer/consumer could not be acquired right away
+     * @return          the acquired producer/consumer, or <tt>null</tt> if the callback will be called
+     */
+    public S acquire(Endpoint endpoint, BiConsumer<S, Throwable> callback) throws Exception {
+        if (!isStarted()) {
+            throw new RejectedExecutionException("Pool is not started");
+        }
+        BiConsumer<S, Throwable> cb = cache != null ? (s, cause) -> {
+            if (s != null) {
+                cache.putIfAbsent(s, s);
+            }
+            callback.accept(s, cause);
+        } : callback;
+        S s = getOrCreatePool(endpoint).acquire(cb);
+        if (s != null && cache != null) {
+            cache.putIfAbsent(s, s);
+        }
+        return s;
+    }
+
     /**
      * Releases the producer/consumer back to the pool
      *
@@ -214,10 +336,15 @@ abstract class ServicePool<S extends Service> extends ServiceSupport implements
                         S tempS = creator.apply(endpoint);
                         endpoint.getCamelContext().addService(tempS, true, true);
                         s = tempS;
+                        misses.increment();
+                    } else {
+                        hits.increment();
                     }
                 } finally {
                     lock.unlock();
                 }
+            } else {
+                hits.increment();
             }
             LOG.trace("Acquired service: {}", s);
             return s;
@@ -290,54 +417,279 @@ abstract class ServicePool<S extends Service> extends ServiceSupport implements
      */
     private class MultiplePool implements Pool<S> {
         private final Endpoint endpoint;
-        private final BlockingQueue<S> queue;
         private final Deque<S> evicts;
+        private final Lock poolLock = new ReentrantLock();
+        private final Condition released = poolLock.newCondition();
+        // the idle producers/consumers as a stack (the most recently used on top) with the time they were released
+        private final Object[] idle;
+        private final long[] idleSince;
+        private final Deque<BiConsumer<S, Throwable>> waiters = new ArrayDeque<>();
+        private int idleSize;
+        // number of producers/consumers created, in use or idle
+        private int active;
 
         MultiplePool(Endpoint endpoint) {
             this.endpoint = endpoint;
-            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.idle = new Object[Math.max(1, capacity)];
+            this.idleSince = new long[idle.length];
             this.evicts = new ConcurrentLinkedDeque<>();
         }
 
         private void cleanupEvicts() {
             for (S evict = evicts.pollFirst(); evict != null; evict = evicts.pollFirst()) {
+                poolLock.lock();
+                try {
+                    removeIdle(evict);
+                    active--;
+                } finally {
+                    poolLock.unlock();
+                }
                 doStop(evict);
             }
         }
 
+        private void cleanupIdle() {
+            if (idleTimeout <= 0) {
+                return;
+            }
+            List<S> expired = null;
+            poolLock.lock();
+            try {
+                long oldest = System.currentTimeMillis() - idleTimeout;
+                int count = 0;
+                // the least recently used are at the bottom of the stack
+                while (count < idleSize && idleSince[count] < oldest) {
+                    count++;
+                }
+                if (count > 0) {
+                    expired = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        expired.add(idleAt(i));
+                    }
+                    System.arraycopy(idle, count, idle, 0, idleSize - count);
+                    System.arraycopy(idleSince, count, idleSince, 0, idleSize - count);
+                    for (int i = idleSize - count; i < idleSize; i++) {
+                        idle[i] = null;
+                    }
+                    idleSize -= count;
+                    active -= count;
+                }
+            } finally {
+                poolLock.unlock();
+            }
+            if (expired != null) {
+                LOG.debug("Stopping {} idle services from endpoint: {}", expired.size(), endpoint);
+                expired.forEach(this::doStop);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private S idleAt(int index) {
+            return (S) idle[index];
+        }
+
+        private S pollIdle() {
+            if (idleSize == 0) {
+                return null;
+            }
+            S s = idleAt(--idleSize);
+            idle[idleSize] = null;
+            return s;
+        }
+
+        private void removeIdle(S s) {
+            for (int i = 0; i < idleSize; i++) {
+                if (idle[i] == s) {
+                    System.arraycopy(idle, i + 1, idle, i, idleSize - i - 1);
+                    System.arraycopy(idleSince, i + 1, idleSince, i, idleSize - i - 1);
+                    idle[--idleSize] = null;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Takes an idle producer/consumer, or reserves room for a new one.
+         *
+         * @return the idle producer/consumer, this pool if a new one must be created, or <tt>null</tt> if exhausted
+         */
+        private Object poll() {
+            S s = pollIdle();
+            if (s != null) {
+                hits.increment();
+                return s;
+            }
+            if (maxPoolSize <= 0 || active < maxPoolSize) {
+                active++;
+                misses.increment();
+                return this;
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private S create(Object polled) throws Exception {
+            if (polled != this) {
+                return (S) polled;
+            }
+            try {
+                S s = creator.apply(endpoint);
+                s.start();
+                return s;
+            } catch (Exception e) {
+                onCreateFailed();
+                throw e;
+            }
+        }
+
+        private void onCreateFailed() {
+            BiConsumer<S, Throwable> waiter;
+            poolLock.lock();
+            try {
+                // let a waiter try creating instead
+                waiter = waiters.poll();
+                if (waiter == null) {
+                    active--;
+                    released.signal();
+                }
+            } finally {
+                poolLock.unlock();
+            }
+            if (waiter != null) {
+                endpoint.getCamelContext().getCamelContextExtension().getReactiveExecutor().schedule(() -> {
+                    S s;
+                    try {
+                        s = create(this);
+                    } catch (Exception e) {
+                        waiter.accept(null, e);
+                        return;
+                    }
+                    waiter.accept(s, null);
+                });
+            }
+        }
+
         @Override
         public S acquire() throws Exception {
             cleanupEvicts();
+            cleanupIdle();
 
-            S s = queue.poll();
-            if (s == null) {
-                s = creator.apply(endpoint);
-                s.start();
+            Object polled;
+            poolLock.lock();
+            try {
+                polled = poll();
+                if (polled == null) {
+                    // the pool is exhausted so wait for a release
+                    waits.increment();
+                    long start = System.nanoTime();
+                    try {
+                        while (polled == null) {
+                            if (!isStarted()) {
+                                throw new RejectedExecutionException("Pool is stopped");
+                            }
+                            released.await(1, TimeUnit.SECONDS);
+                            polled = poll();
+                        }
+                    } finally {
+                        waitTime.add(System.nanoTime() - start);
+                    }
+                }
+            } finally {
+                poolLock.unlock();
             }
-            return s;
+            return create(polled);
+        }
+
+        @Override
+        public S acquire(BiConsumer<S, Throwable> callback) throws Exception {
+            cleanupEvicts();
+            cleanupIdle();
+
+            Object polled;
+            poolLock.lock();
+            try {
+                polled = poll();
+                if (polled == null) {
+                    waits.increment();
+                    long start = System.nanoTime();
+                    waiters.add((s, cause) -> {
+                        waitTime.add(System.nanoTime() - start);
+                        callback.accept(s, cause);
+                    });
+                    return null;
+                }
+            } finally {
+                poolLock.unlock();
+            }
+            return create(polled);
         }
 
         @Override
         public void release(S s) {
             cleanupEvicts();
 
-            if (!queue.offer(s)) {
-                // there is no room so let's just stop and discard this
+            BiConsumer<S, Throwable> waiter;
+            boolean stop = false;
+            poolLock.lock();
+            try {
+                waiter = waiters.poll();
+                if (waiter == null) {
+                    if (idleSize < idle.length) {
+                        idle[idleSize] = s;
+                        idleSince[idleSize] = System.currentTimeMillis();
+                        idleSize++;
+                        released.signal();
+                    } else {
+                        // there is no room so let's just stop and discard this
+                        active--;
+                        stop = true;
+                    }
+                }
+            } finally {
+                poolLock.unlock();
+            }
+            if (waiter != null) {
+                // hand over to the waiter, which continues routing using the reactive executor
+                LOG.trace("Handing over service: {} to waiter", s);
+                endpoint.getCamelContext().getCamelContextExtension().getReactiveExecutor()
+                        .schedule(() -> waiter.accept(s, null));
+            } else if (stop) {
                 doStop(s);
             }
+            cleanupIdle();
         }
 
         @Override
         public int size() {
-            return queue.size();
+            poolLock.lock();
+            try {
+                return idleSize;
+            } finally {
+                poolLock.unlock();
+            }
         }
 
         @Override
         public void stop() {
-            ArrayList<S> list = new ArrayList<>();
-            queue.drainTo(list);
+            List<S> list = new ArrayList<>();
+            List<BiConsumer<S, Throwable>> rejected;
+            poolLock.lock();
+            try {
+                for (S s = pollIdle(); s != null; s = pollIdle()) {
+                    list.add(s);
+                }
+                active -= list.size();
+                rejected = new ArrayList<>(waiters);
+                waiters.clear();
+                released.signalAll();
+            } finally {
+                poolLock.unlock();
+            }
             pool.remove(endpoint);
             list.forEach(this::doStop);
+            for (BiConsumer<S, Throwable> waiter : rejected) {
+                waiter.accept(null, new RejectedExecutionException("Pool is stopped"));
+            }
         }
 
         @Override
@@ -349,6 +701,7 @@ abstract class ServicePool<S extends Service> extends ServiceSupport implements
         @Override
         public void cleanUp() {
             cleanupEvicts();
+            cleanupIdle();
         }
 
         void doStop(Service s) {
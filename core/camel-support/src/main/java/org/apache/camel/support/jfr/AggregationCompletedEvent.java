@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event when the aggregator completes an aggregated exchange.
+ */
+@Name("org.apache.camel.AggregationCompleted")
+@Label("Aggregation Completed")
+@Description("An aggregated exchange is completed by the aggregator")
+@Category({ "Camel", "EIP" })
+@StackTrace(false)
+public final class AggregationCompletedEvent extends Event {
+
+    @Label("Route Id")
+    public String routeId;
+
+    @Label("Aggregator Id")
+    public String aggregatorId;
+
+    @Label("Correlation Key")
+    public String correlationKey;
+
+    @Label("Completed By")
+    public String completedBy;
+
+    @Label("Size")
+    @Description("The number of exchanges aggregated")
+    public int size;
+
+    @Label("Discarded")
+    public boolean discarded;
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event when an exchange is completed by the route which created it.
+ * <p/>
+ * This event is disabled by default as it is emitted for every exchange.
+ */
+@Name("org.apache.camel.ExchangeCompleted")
+@Label("Exchange Completed")
+@Description("An exchange is completed")
+@Category({ "Camel", "Exchange" })
+@Enabled(false)
+@StackTrace(false)
+public final class ExchangeCompletedEvent extends Event {
+
+    @Label("Route Id")
+    public String routeId;
+
+    @Label("Exchange Id")
+    public String exchangeId;
+
+    @Label("Failed")
+    public boolean failed;
+
+    @Label("Elapsed")
+    @Description("The time since the exchange was created")
+    @Timespan(Timespan.MILLISECONDS)
+    public long elapsed;
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event with the duration of a processor (step) in a route processing an exchange.
+ * <p/>
+ * This event is disabled by default as it is emitted for every processor an exchange is routed through.
+ */
+@Name("org.apache.camel.ProcessorStep")
+@Label("Processor Step")
+@Description("A processor in a route processing an exchange")
+@Category({ "Camel", "Exchange" })
+@Enabled(false)
+@StackTrace(false)
+public final class ProcessorStepEvent extends Event {
+
+    @Label("Route Id")
+    public String routeId;
+
+    @Label("Node Id")
+    public String nodeId;
+
+    @Label("Node Label")
+    public String nodeLabel;
+
+    @Label("Exchange Id")
+    public String exchangeId;
+
+    @Label("Failed")
+    public boolean failed;
+}
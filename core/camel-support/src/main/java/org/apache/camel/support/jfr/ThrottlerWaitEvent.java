@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event with the duration an exchange is blocked by the throttler waiting for a permit.
+ */
+@Name("org.apache.camel.ThrottlerWait")
+@Label("Throttler Wait")
+@Description("An exchange is waiting for a permit from the throttler")
+@Category({ "Camel", "EIP" })
+@StackTrace(false)
+public final class ThrottlerWaitEvent extends Event {
+
+    @Label("Route Id")
+    public String routeId;
+
+    @Label("Throttler Id")
+    public String throttlerId;
+
+    @Label("Mode")
+    public String mode;
+
+    @Label("Correlation Key")
+    public String correlationKey;
+
+    @Label("Exchange Id")
+    public String exchangeId;
+}
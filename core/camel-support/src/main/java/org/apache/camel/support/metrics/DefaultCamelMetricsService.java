@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.NamedNode;
+import org.apache.camel.Processor;
+import org.apache.camel.Route;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.CamelMetricsService;
+import org.apache.camel.spi.ManagementInterceptStrategy;
+import org.apache.camel.support.LifecycleStrategySupport;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Built-in {@link CamelMetricsService} which records the number of exchanges and their latency per route and per
+ * processor (node) with low overhead, without depending on a metrics library.
+ * <p/>
+ * The routes are instrumented with a {@link ManagementInterceptStrategy} when they are created, which adds an advice to
+ * the internal processor of the route and of each channel. The latencies are recorded into lock-free
+ * {@link LatencyHistogram}s, so percentiles such as p50, p99 and p999 can be computed at any time from a snapshot.
+ * <p/>
+ * Every window interval a background thread takes a {@link MetricsSnapshot} of the rates, latency percentiles and
+ * inflight exchanges of the routes over a sliding window, which can be read cheaply by any number of clients.
+ * <p/>
+ * The service must be added to the {@link CamelContext} before the routes are created, and routes which are
+ * instrumented by JMX management are not instrumented by this service.
+ */
+@ManagedResource(description = "Built-in Camel metrics")
+public class DefaultCamelMetricsService extends ServiceSupport implements CamelMetricsService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultCamelMetricsService.class);
+
+    private final Map<String, RouteMetrics> routes = new ConcurrentHashMap<>();
+    private final Map<String, ExchangeMetricsWindow> windows = new ConcurrentHashMap<>();
+    private final List<Consumer<MetricsSnapshot>> snapshotListeners = new CopyOnWriteArrayList<>();
+    private CamelContext camelContext;
+    private boolean nodeMetricsEnabled = true;
+    private long windowInterval = 1000;
+    private int windowSize = 60;
+    private ScheduledExecutorService windowExecutor;
+    private long lastTick;
+    private volatile MetricsSnapshot snapshot = MetricsSnapshot.EMPTY;
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @ManagedAttribute(description = "Whether the processors (nodes) of the routes are instrumented")
+    public boolean isNodeMetricsEnabled() {
+        return nodeMetricsEnabled;
+    }
+
+    /**
+     * Whether to record metrics for each processor (node) of the routes, or only for the routes.
+     */
+    public void setNodeMetricsEnabled(boolean nodeMetricsEnabled) {
+        this.nodeMetricsEnabled = nodeMetricsEnabled;
+    }
+
+    @ManagedAttribute(description = "Interval in millis between the snapshots of the sliding window")
+    public long getWindowInterval() {
+        return windowInterval;
+    }
+
+    /**
+     * Interval in millis between the snapshots of the sliding window.
+     */
+    public void setWindowInterval(long windowInterval) {
+        this.windowInterval = windowInterval;
+    }
+
+    @ManagedAttribute(description = "Number of intervals in the sliding window")
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Number of intervals in the sliding window, which is one minute by default. Use 0 to not take snapshots.
+     */
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    @ManagedAttribute(description = "Number of instrumented routes")
+    public int getRouteSize() {
+        return routes.size();
+    }
+
+    /**
+     * Gets the metrics of the given route
+     *
+     * @param  routeId the route id
+     * @return         the metrics or <tt>null</tt> if the route is not instrumented
+     */
+    public RouteMetrics getRouteMetrics(String routeId) {
+        return routes.get(routeId);
+    }
+
+    /**
+     * The metrics of all the instrumented routes
+     */
+    public Collection<RouteMetrics> getRouteMetrics() {
+        return Collections.unmodifiableCollection(routes.values());
+    }
+
+    /**
+     * The latest snapshot of the routes over the sliding window. The snapshot is empty until the first window interval
+     * has elapsed.
+     */
+    public MetricsSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Adds a listener which is called with each new snapshot, from the thread taking the snapshots. The listener should
+     * return quickly, as it delays the next snapshot.
+     */
+    public void addSnapshotListener(Consumer<MetricsSnapshot> listener) {
+        snapshotListeners.add(listener);
+    }
+
+    public void removeSnapshotListener(Consumer<MetricsSnapshot> listener) {
+        snapshotListeners.remove(listener);
+    }
+
+    /**
+     * Resets the metrics of all the routes
+     */
+    @ManagedOperation(description = "Reset the metrics")
+    public void reset() {
+        routes.values().forEach(RouteMetrics::reset);
+    }
+
+    @Override
+    protected void doInit() throws Exception {
+        ObjectHelper.notNull(camelContext, "camelContext", this);
+
+        if (!camelContext.getRoutes().isEmpty()) {
+            LOG.warn(
+                    "The built-in metrics service is added after routes are created. The existing routes are not instrumented.");
+        }
+        camelContext.addLifecycleStrategy(new MetricsLifecycleStrategy());
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (windowSize > 0 && windowInterval > 0) {
+            lastTick = System.nanoTime();
+            windowExecutor = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this,
+                    "MetricsSnapshot");
+            windowExecutor.scheduleAtFixedRate(this::takeSnapshot, windowInterval, windowInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (windowExecutor != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(windowExecutor);
+            windowExecutor = null;
+        }
+        windows.clear();
+        snapshot = MetricsSnapshot.EMPTY;
+    }
+
+    @Override
+    protected void doShutdown() throws Exception {
+        routes.clear();
+    }
+
+    /**
+     * Takes a snapshot of the routes, which adds the exchanges completed since the previous snapshot to the sliding
+     * window.
+     */
+    protected void takeSnapshot() {
+        long now = System.nanoTime();
+        long nanos = now - lastTick;
+        lastTick = now;
+
+        windows.keySet().retainAll(routes.keySet());
+        List<MetricsSnapshot.RouteStatistics> answer = new ArrayList<>(routes.size());
+        for (RouteMetrics metrics : routes.values()) {
+            ExchangeMetricsWindow window = windows.get(metrics.getRouteId());
+            if (window == null) {
+                // the first interval of a new route starts now
+                window = new ExchangeMetricsWindow(metrics.getRoute(), windowSize);
+                windows.put(metrics.getRouteId(), window);
+                answer.add(window.statistics());
+            } else {
+                answer.add(window.tick(nanos));
+            }
+        }
+        answer.sort(Comparator.comparing(MetricsSnapshot.RouteStatistics::getRouteId));
+        MetricsSnapshot next = new MetricsSnapshot(System.currentTimeMillis(), windowInterval * windowSize, answer);
+        snapshot = next;
+
+        for (Consumer<MetricsSnapshot> listener : snapshotListeners) {
+            try {
+                listener.accept(next);
+            } catch (Exception e) {
+                LOG.debug("Error notifying metrics snapshot listener: {}. This exception is ignored.", listener, e);
+            }
+        }
+    }
+
+    private final class MetricsLifecycleStrategy extends LifecycleStrategySupport {
+
+        @Override
+        public void onRouteContextCreate(Route route) {
+            if (isStopping() || isShutdown()) {
+                return;
+            }
+            if (route.getManagementInterceptStrategy() != null) {
+                LOG.debug("Route: {} is already instrumented by: {}", route.getRouteId(),
+                        route.getManagementInterceptStrategy());
+                return;
+            }
+            RouteMetrics metrics = new RouteMetrics(route.getRouteId());
+            routes.put(route.getRouteId(), metrics);
+            route.setManagementInterceptStrategy(new MetricsInterceptStrategy(metrics));
+        }
+
+        @Override
+        public void onRoutesRemove(Collection<Route> removed) {
+            for (Route route : removed) {
+                routes.remove(route.getRouteId());
+            }
+        }
+    }
+
+    private final class MetricsInterceptStrategy implements ManagementInterceptStrategy {
+
+        private final RouteMetrics metrics;
+
+        private MetricsInterceptStrategy(RouteMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public InstrumentationProcessor<?> createProcessor(NamedNode definition, Processor target) {
+            if (!nodeMetricsEnabled) {
+                return null;
+            }
+            String id = definition.getId() != null ? definition.getId() : definition.getShortName();
+            return new MetricsInstrumentationProcessor(metrics.getOrCreateNode(id));
+        }
+
+        @Override
+        public InstrumentationProcessor<?> createProcessor(String type) {
+            return new MetricsInstrumentationProcessor(metrics.getRoute());
+        }
+    }
+}
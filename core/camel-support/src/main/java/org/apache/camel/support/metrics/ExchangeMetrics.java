@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The exchange counters and latency of a route or a processor (node) in a route.
+ * <p/>
+ * The counters are striped (see {@link LongAdder}) so they can be updated concurrently from the routing threads without
+ * contention.
+ */
+public final class ExchangeMetrics {
+
+    private final String id;
+    private final LongAdder started = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    public ExchangeMetrics(String id) {
+        this.id = id;
+    }
+
+    /**
+     * The route or node id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Called when an exchange is started.
+     */
+    public void onStarted() {
+        started.increment();
+    }
+
+    /**
+     * Called when an exchange is completed.
+     *
+     * @param nanos  the time the exchange took in nanoseconds
+     * @param failed whether the exchange failed
+     */
+    public void onCompleted(long nanos, boolean failed) {
+        if (failed) {
+            this.failed.increment();
+        }
+        latency.record(nanos);
+    }
+
+    /**
+     * Total number of exchanges completed
+     */
+    public long getExchangesTotal() {
+        return latency.getCount();
+    }
+
+    /**
+     * Number of exchanges failed
+     */
+    public long getExchangesFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * Number of exchanges currently being processed
+     */
+    public long getExchangesInflight() {
+        return Math.max(0, started.sum() - latency.getCount());
+    }
+
+    /**
+     * The latency histogram
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * Resets the counters and latency (exchanges currently being processed are still counted as inflight)
+     */
+    public void reset() {
+        long inflight = getExchangesInflight();
+        started.reset();
+        started.add(inflight);
+        failed.reset();
+        latency.reset();
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.metrics;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * The statistics of an {@link ExchangeMetrics} over a sliding window of a number of intervals.
+ * <p/>
+ * Each {@link #tick(long)} takes the changes of the latency histogram since the previous tick as a sparse interval, and
+ * adds it to a rolling sum of the histogram buckets, from which the interval which falls out of the window is
+ * subtracted again. So the routing threads only update the cumulative counters, and the cost of the window is paid by
+ * the thread calling tick.
+ * <p/>
+ * This class is not thread safe, and must only be used by one thread at a time.
+ */
+final class ExchangeMetricsWindow {
+
+    private final ExchangeMetrics metrics;
+    private final int size;
+    private final Deque<Interval> intervals = new ArrayDeque<>();
+    private final long[] last = new long[LatencyHistogram.BUCKET_COUNT];
+    private final long[] window = new long[LatencyHistogram.BUCKET_COUNT];
+    private int[] changedIndexes = new int[64];
+    private long[] changedCounts = new long[64];
+    private long lastSum;
+    private long lastFailed;
+    private long windowCount;
+    private long windowSum;
+    private long windowFailed;
+    private long windowNanos;
+
+    ExchangeMetricsWindow(ExchangeMetrics metrics, int size) {
+        this.metrics = metrics;
+        this.size = size;
+        restart();
+    }
+
+    /**
+     * Adds the exchanges completed since the previous tick as a new interval to the window.
+     *
+     * @param  nanos the length of the interval in nanoseconds
+     * @return       the statistics over the window
+     */
+    MetricsSnapshot.RouteStatistics tick(long nanos) {
+        LatencyHistogram histogram = metrics.getLatency();
+        int changed = 0;
+        long count = 0;
+        for (int i = 0; i < last.length; i++) {
+            long c = histogram.getCount(i);
+            long delta = c - last[i];
+            if (delta == 0) {
+                continue;
+            }
+            if (delta < 0) {
+                // the metrics have been reset, so start over
+                restart();
+                return statistics();
+            }
+            if (changed == changedIndexes.length) {
+                changedIndexes = Arrays.copyOf(changedIndexes, changed * 2);
+                changedCounts = Arrays.copyOf(changedCounts, changed * 2);
+            }
+            changedIndexes[changed] = i;
+            changedCounts[changed] = delta;
+            changed++;
+            last[i] = c;
+            window[i] += delta;
+            count += delta;
+        }
+        long sum = histogram.getSum();
+        long failed = metrics.getExchangesFailed();
+        Interval interval = new Interval(
+                Arrays.copyOf(changedIndexes, changed), Arrays.copyOf(changedCounts, changed), count,
+                sum - lastSum, Math.max(0, failed - lastFailed), nanos);
+        lastSum = sum;
+        lastFailed = failed;
+
+        intervals.add(interval);
+        windowCount += interval.count;
+        windowSum += interval.sum;
+        windowFailed += interval.failed;
+        windowNanos += interval.nanos;
+        if (intervals.size() > size) {
+            Interval oldest = intervals.poll();
+            for (int i = 0; i < oldest.indexes.length; i++) {
+                window[oldest.indexes[i]] -= oldest.counts[i];
+            }
+            windowCount -= oldest.count;
+            windowSum -= oldest.sum;
+            windowFailed -= oldest.failed;
+            windowNanos -= oldest.nanos;
+        }
+        return statistics(count, nanos);
+    }
+
+    /**
+     * The statistics over the window, without adding an interval.
+     */
+    MetricsSnapshot.RouteStatistics statistics() {
+        return statistics(0, 0);
+    }
+
+    private MetricsSnapshot.RouteStatistics statistics(long intervalCount, long intervalNanos) {
+        long histogramMax = metrics.getLatency().getMax();
+        long max = 0;
+        for (int i = window.length - 1; i >= 0; i--) {
+            if (window[i] > 0) {
+                max = i == window.length - 1 ? histogramMax : Math.min(LatencyHistogram.highestValueAt(i), histogramMax);
+                break;
+            }
+        }
+        return new MetricsSnapshot.RouteStatistics(
+                metrics.getId(), metrics.getExchangesTotal(), metrics.getExchangesFailed(),
+                metrics.getExchangesInflight(), windowCount, windowFailed,
+                perSecond(intervalCount, intervalNanos), perSecond(windowCount, windowNanos),
+                perSecond(windowFailed, windowNanos), windowCount == 0 ? 0 : (double) windowSum / windowCount,
+                percentile(50, max), percentile(90, max), percentile(99, max), percentile(99.9, max), max);
+    }
+
+    private long percentile(double percentile, long max) {
+        return LatencyHistogram.valueAtPercentile(window, windowCount, max, percentile);
+    }
+
+    private static double perSecond(long count, long nanos) {
+        return nanos <= 0 ? 0 : count * 1_000_000_000d / nanos;
+    }
+
+    private void restart() {
+        LatencyHistogram histogram = metrics.getLatency();
+        for (int i = 0; i < last.length; i++) {
+            last[i] = histogram.getCount(i);
+        }
+        Arrays.fill(window, 0);
+        intervals.clear();
+        lastSum = histogram.getSum();
+        lastFailed = metrics.getExchangesFailed();
+        windowCount = 0;
+        windowSum = 0;
+        windowFailed = 0;
+        windowNanos = 0;
+    }
+
+    private static final class Interval {
+
+        private final int[] indexes;
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long failed;
+        private final long nanos;
+
+        private Interval(int[] indexes, long[] counts, long count, long sum, long failed, long nanos) {
+            this.indexes = indexes;
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.failed = failed;
+            this.nanos = nanos;
+        }
+    }
+}
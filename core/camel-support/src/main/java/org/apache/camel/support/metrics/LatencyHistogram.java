@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds, in the style of HdrHistogram.
+ * <p/>
+ * The values are counted in log-linear buckets: values below 128 are counted exactly, and larger values are counted in
+ * buckets which are 1/64 of their power of two, which bounds the error of the percentiles to about 1.6%. Values above
+ * {@link #MAX_TRACKABLE_VALUE} (about 137 seconds) are counted in the last bucket, but the maximum is tracked exactly.
+ * <p/>
+ * Recording a value is an atomic increment of its bucket and a few striped updates without any locking or allocation,
+ * so the histogram can be updated concurrently from the routing threads. Reading the percentiles takes a
+ * {@link Snapshot} which is not atomic with respect to concurrent updates, but is consistent in itself.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The largest value which is counted in its own bucket.
+     */
+    public static final long MAX_TRACKABLE_VALUE = (1L << 37) - 1;
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_HALF_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_COUNT = SUB_BUCKET_HALF_COUNT << 1;
+    static final int BUCKET_COUNT = indexOf(MAX_TRACKABLE_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+    /**
+     * Records the value.
+     *
+     * @param nanos the latency in nanoseconds (negative values are recorded as zero)
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts.incrementAndGet(indexOf(Math.min(nanos, MAX_TRACKABLE_VALUE)));
+        count.increment();
+        sum.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    /**
+     * Number of recorded values
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    long getCount(int index) {
+        return counts.get(index);
+    }
+
+    long getSum() {
+        return sum.sum();
+    }
+
+    long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Takes a snapshot of the histogram.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long c = counts.get(i);
+            copy[i] = c;
+            total += c;
+        }
+        return new Snapshot(copy, total, sum.sum(), max.get());
+    }
+
+    /**
+     * Resets the histogram.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        // the buckets of each power of two are the upper half of the sub buckets shifted to its magnitude
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + (sub - SUB_BUCKET_HALF_COUNT);
+    }
+
+    static long lowestValueAt(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+        int sub = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return (long) sub << shift;
+    }
+
+    static long valueAtPercentile(long[] counts, long count, long max, double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        double p = Math.max(0, Math.min(100, percentile));
+        long target = Math.max(1, (long) Math.ceil(p / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                if (i == counts.length - 1) {
+                    // the last bucket also counts the values above the trackable value
+                    return max;
+                }
+                // the highest value in the bucket, but never above the exact maximum
+                return Math.min(highestValueAt(i), max);
+            }
+        }
+        return max;
+    }
+
+    static long highestValueAt(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+        return lowestValueAt(index) + (1L << shift) - 1;
+    }
+
+    /**
+     * A point in time copy of a {@link LatencyHistogram}.
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        /**
+         * Number of recorded values
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * The largest recorded value in nanoseconds
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * The mean of the recorded values in nanoseconds
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Gets the value at the given percentile, such as 99.9 for p999.
+         *
+         * @param  percentile the percentile (0-100)
+         * @return            the value in nanoseconds, or 0 if no values are recorded
+         */
+        public long getValueAtPercentile(double percentile) {
+            return valueAtPercentile(counts, count, max, percentile);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.metrics;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.Ordered;
+import org.apache.camel.spi.CamelInternalProcessorAdvice;
+import org.apache.camel.spi.ManagementInterceptStrategy.InstrumentationProcessor;
+import org.apache.camel.support.processor.DelegateAsyncProcessor;
+
+/**
+ * Records the exchanges processed by a route or a node into its {@link ExchangeMetrics}.
+ * <p/>
+ * This is used as an advice of the internal processor of the route or channel, or it wraps the output of the error
+ * handler when redelivery is possible, so each redelivery attempt is measured.
+ */
+final class MetricsInstrumentationProcessor extends DelegateAsyncProcessor
+        implements InstrumentationProcessor<Object>, CamelInternalProcessorAdvice<Object>, Ordered {
+
+    private final ExchangeMetrics metrics;
+
+    MetricsInstrumentationProcessor(ExchangeMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        final long start = System.nanoTime();
+        metrics.onStarted();
+        return processor.process(exchange, doneSync -> {
+            try {
+                metrics.onCompleted(System.nanoTime() - start, exchange.isFailed());
+            } finally {
+                callback.done(doneSync);
+            }
+        });
+    }
+
+    @Override
+    public Object before(Exchange exchange) {
+        metrics.onStarted();
+        return System.nanoTime();
+    }
+
+    @Override
+    public void after(Exchange exchange, Object data) {
+        if (data instanceof Long start) {
+            metrics.onCompleted(System.nanoTime() - start, exchange.isFailed());
+        }
+    }
+
+    @Override
+    public void setCounter(Object object) {
+        // the metrics are given when created
+    }
+
+    @Override
+    public int getOrder() {
+        // we want to be last, so the other advices are not included in the latency
+        return Ordered.LOWEST;
+    }
+
+    @Override
+    public String toString() {
+        return "MetricsInstrumentationProcessor[" + metrics.getId() + "]";
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.metrics;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A point in time view of the metrics of the routes over a sliding window, which is taken periodically by the
+ * {@link DefaultCamelMetricsService}.
+ * <p/>
+ * The snapshot is immutable, so it can be read by any number of clients (such as dashboards polling every second)
+ * without touching the counters of the routes.
+ */
+public final class MetricsSnapshot {
+
+    static final MetricsSnapshot EMPTY = new MetricsSnapshot(0, 0, Collections.emptyList());
+
+    private final long timestamp;
+    private final long window;
+    private final List<RouteStatistics> routes;
+
+    MetricsSnapshot(long timestamp, long window, List<RouteStatistics> routes) {
+        this.timestamp = timestamp;
+        this.window = window;
+        this.routes = Collections.unmodifiableList(routes);
+    }
+
+    /**
+     * The time the snapshot was taken (epoch millis), or 0 if no snapshot has been taken yet
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * The length of the sliding window in millis
+     */
+    public long getWindow() {
+        return window;
+    }
+
+    /**
+     * The statistics of the routes, sorted by route id
+     */
+    public List<RouteStatistics> getRoutes() {
+        return routes;
+    }
+
+    /**
+     * Gets the statistics of the given route
+     *
+     * @param  routeId the route id
+     * @return         the statistics or <tt>null</tt> if the route is not in the snapshot
+     */
+    public RouteStatistics getRoute(String routeId) {
+        for (RouteStatistics route : routes) {
+            if (route.getRouteId().equals(routeId)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The statistics of a route. The rates are exchanges per second, and the latencies are in nanoseconds.
+     */
+    public static final class RouteStatistics {
+
+        private final String routeId;
+        private final long exchangesTotal;
+        private final long exchangesFailed;
+        private final long exchangesInflight;
+        private final long windowExchanges;
+        private final long windowFailures;
+        private final double rate;
+        private final double meanRate;
+        private final double failureRate;
+        private final double mean;
+        private final long p50;
+        private final long p90;
+        private final long p99;
+        private final long p999;
+        private final long max;
+
+        RouteStatistics(String routeId, long exchangesTotal, long exchangesFailed, long exchangesInflight,
+                        long windowExchanges, long windowFailures, double rate, double meanRate, double failureRate,
+                        double mean, long p50, long p90, long p99, long p999, long max) {
+            this.routeId = routeId;
+            this.exchangesTotal = exchangesTotal;
+            this.exchangesFailed = exchangesFailed;
+            this.exchangesInflight = exchangesInflight;
+            this.windowExchanges = windowExchanges;
+            this.windowFailures = windowFailures;
+            this.rate = rate;
+            this.meanRate = meanRate;
+            this.failureRate = failureRate;
+            this.mean = mean;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.p999 = p999;
+            this.max = max;
+        }
+
+        /**
+         * The route id
+         */
+        public String getRouteId() {
+            return routeId;
+        }
+
+        /**
+         * Total number of exchanges completed since the route was started (or reset)
+         */
+        public long getExchangesTotal() {
+            return exchangesTotal;
+        }
+
+        /**
+         * Total number of exchanges failed since the route was started (or reset)
+         */
+        public long getExchangesFailed() {
+            return exchangesFailed;
+        }
+
+        /**
+         * Number of exchanges being processed when the snapshot was taken
+         */
+        public long getExchangesInflight() {
+            return exchangesInflight;
+        }
+
+        /**
+         * Number of exchanges completed in the window
+         */
+        public long getWindowExchanges() {
+            return windowExchanges;
+        }
+
+        /**
+         * Number of exchanges failed in the window
+         */
+        public long getWindowFailures() {
+            return windowFailures;
+        }
+
+        /**
+         * Exchanges completed per second in the last interval
+         */
+        public double getRate() {
+            return rate;
+        }
+
+        /**
+         * Exchanges completed per second over the window
+         */
+        public double getMeanRate() {
+            return meanRate;
+        }
+
+        /**
+         * Exchanges failed per second over the window
+         */
+        public double getFailureRate() {
+            return failureRate;
+        }
+
+        /**
+         * The mean latency over the window
+         */
+        public double getMean() {
+            return mean;
+        }
+
+        /**
+         * The median latency over the window
+         */
+        public long getP50() {
+            return p50;
+        }
+
+        /**
+         * The 90th percentile latency over the window
+         */
+        public long getP90() {
+            return p90;
+        }
+
+        /**
+         * The 99th percentile latency over the window
+         */
+        public long getP99() {
+            return p99;
+        }
+
+        /**
+         * The 99.9th percentile latency over the window
+         */
+        public long getP999() {
+            return p999;
+        }
+
+        /**
+         * The maximum latency over the window, within the error of the histogram buckets
+         */
+        public long getMax() {
+            return max;
+        }
+    }
+}
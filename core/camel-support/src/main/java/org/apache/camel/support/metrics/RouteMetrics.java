@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.metrics;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The metrics of a route and its processors (nodes).
+ */
+public final class RouteMetrics {
+
+    private final String routeId;
+    private final ExchangeMetrics route;
+    private final Map<String, ExchangeMetrics> nodes = new ConcurrentHashMap<>();
+
+    public RouteMetrics(String routeId) {
+        this.routeId = routeId;
+        this.route = new ExchangeMetrics(routeId);
+    }
+
+    /**
+     * The route id
+     */
+    public String getRouteId() {
+        return routeId;
+    }
+
+    /**
+     * The metrics of the exchanges routed by the route
+     */
+    public ExchangeMetrics getRoute() {
+        return route;
+    }
+
+    /**
+     * Gets the metrics of the given node
+     *
+     * @param  nodeId the node id
+     * @return        the metrics or <tt>null</tt> if the node is not instrumented
+     */
+    public ExchangeMetrics getNode(String nodeId) {
+        return nodes.get(nodeId);
+    }
+
+    /**
+     * The metrics of the nodes of the route
+     */
+    public Collection<ExchangeMetrics> getNodes() {
+        return Collections.unmodifiableCollection(nodes.values());
+    }
+
+    ExchangeMetrics getOrCreateNode(String nodeId) {
+        return nodes.computeIfAbsent(nodeId, ExchangeMetrics::new);
+    }
+
+    /**
+     * Resets the metrics of the route and its nodes
+     */
+    public void reset() {
+        route.reset();
+        nodes.values().forEach(ExchangeMetrics::reset);
+    }
+}
@@ -16,16 +16,25 @@
  */
 package org.apache.camel.support.processor.state;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
 import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.api.management.ManagedAttribute;
 import org.apache.camel.api.management.ManagedOperation;
@@ -41,9 +50,16 @@ import org.slf4j.LoggerFactory;
 
 /**
  * This {@link FileStateRepository} class is a file-based implementation of a {@link StateRepository}.
+ * <p/>
+ * By default the states are appended to the file store by the thread which sets the state, and the file store is
+ * rewritten from the 1st level cache by that thread when the max file store size is hit. When async write is enabled,
+ * the states are only put in the 1st level cache and in a pending batch, and a background thread appends the pending
+ * batch to the file store every flush interval. When the max file store size is hit, the background thread writes a
+ * snapshot of the 1st level cache to a new file which then replaces the file store, so the threads which set the states
+ * are never blocked by the writes to disk. The async write mode requires the {@link CamelContext} to be set.
  */
 @ManagedResource(description = "File based state repository")
-public class FileStateRepository extends ServiceSupport implements StateRepository<String, String> {
+public class FileStateRepository extends ServiceSupport implements StateRepository<String, String>, CamelContextAware {
 
     private static final Logger LOG = LoggerFactory.getLogger(FileStateRepository.class);
 
@@ -54,6 +70,13 @@ public class FileStateRepository extends ServiceSupport implements StateReposito
     private final Lock cacheAndStoreLock = new ReentrantLock();
     private File fileStore;
     private long maxFileStoreSize = 1024 * 1000L; // 1mb store file
+    private boolean asyncWrite;
+    private long flushInterval = 1000;
+    // the states which are not written to the file store yet, when using async write
+    private Map<String, String> pending = new LinkedHashMap<>();
+    private final Lock writeLock = new ReentrantLock();
+    private ScheduledExecutorService executorService;
+    private CamelContext camelContext;
 
     public FileStateRepository() {
         // default use a 1st level cache
@@ -113,7 +136,10 @@ public class FileStateRepository extends ServiceSupport implements StateReposito
         cacheAndStoreLock.lock();
         try {
             cache.put(key, value);
-            if (fileStore.length() < maxFileStoreSize) {
+            if (asyncWrite) {
+                // the background writer appends the pending states to the file store
+                pending.put(key, value);
+            } else if (fileStore.length() < maxFileStoreSize) {
                 // just append to store
                 appendToStore(key, value);
             } else {
@@ -143,17 +169,71 @@ public class FileStateRepository extends ServiceSupport implements StateReposito
     public void reset() throws IOException {
         lock.lock();
         try {
+            writeLock.lock();
+            try {
+                cacheAndStoreLock.lock();
+                try {
+                    // trunk and clear, before we reload the store
+                    trunkStore();
+                    pending.clear();
+                    cache.clear();
+                    loadStore();
+                } finally {
+                    cacheAndStoreLock.unlock();
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the pending states to the file store, when using async write. If the max file store size is hit, then the
+     * file store is compacted by replacing it with a snapshot of the 1st level cache.
+     */
+    @ManagedOperation(description = "Writes the pending states to the file store")
+    public void flush() {
+        writeLock.lock();
+        try {
+            // only the writer changes the file store, so its size is checked before locking the cache
+            boolean compact = fileStore.length() >= maxFileStoreSize;
+            Map<String, String> batch;
+            Map<String, String> snapshot = null;
             cacheAndStoreLock.lock();
             try {
-                // trunk and clear, before we reload the store
-                trunkStore();
-                cache.clear();
-                loadStore();
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new LinkedHashMap<>();
+                if (compact) {
+                    // the snapshot includes the pending states
+                    snapshot = new HashMap<>(cache);
+                }
             } finally {
                 cacheAndStoreLock.unlock();
             }
+
+            if (snapshot != null) {
+                compactStore(snapshot);
+            } else {
+                LOG.debug("Appending {} states to state filestore: {}", batch.size(), fileStore);
+                writeStates(batch, true);
+            }
         } finally {
-            lock.unlock();
+            writeLock.unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "Number of states which are not written to the file store yet")
+    public int getPendingSize() {
+        cacheAndStoreLock.lock();
+        try {
+            return pending.size();
+        } finally {
+            cacheAndStoreLock.unlock();
         }
     }
 
@@ -195,6 +275,58 @@ public class FileStateRepository extends ServiceSupport implements StateReposito
         }
     }
 
+    /**
+     * Writes the states to the file store in one batch
+     */
+    private void writeStates(Map<String, String> states, boolean append) {
+        File storeParentDirectory = fileStore.getParentFile();
+        if (storeParentDirectory != null && !storeParentDirectory.exists() && !storeParentDirectory.mkdirs()) {
+            LOG.warn("Parent directory of file store {} cannot be created.", fileStore);
+        }
+        try (OutputStream os = new BufferedOutputStream(new FileOutputStream(fileStore, append))) {
+            writeStates(os, states);
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
+    private static void writeStates(OutputStream os, Map<String, String> states) throws IOException {
+        for (Map.Entry<String, String> entry : states.entrySet()) {
+            os.write(entry.getKey().getBytes());
+            os.write(KEY_VALUE_DELIMITER.getBytes());
+            os.write(entry.getValue().getBytes());
+            os.write(STORE_DELIMITER.getBytes());
+        }
+    }
+
+    /**
+     * Compacts the file store by writing the snapshot to a new file which then replaces the file store, so the file
+     * store is valid at all times.
+     */
+    private void compactStore(Map<String, String> snapshot) {
+        LOG.info("Compacting state filestore: {}", fileStore);
+        File tmp = new File(fileStore.getPath() + ".tmp");
+        try {
+            try (OutputStream os = new BufferedOutputStream(new FileOutputStream(tmp))) {
+                writeStates(os, snapshot);
+            }
+            Files.move(tmp.toPath(), fileStore.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            FileUtil.deleteFile(tmp);
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
+    private void onSchedule() {
+        try {
+            flush();
+        } catch (Exception e) {
+            LOG.warn("Error writing to state filestore: {} due to {}. This exception is ignored.", fileStore, e.getMessage(),
+                    e);
+        }
+    }
+
     /**
      * Trunks the file store when the max store size is hit by rewriting the 1st level cache to the file store.
      */
@@ -262,14 +394,41 @@ public class FileStateRepository extends ServiceSupport implements StateReposito
         if (init.compareAndSet(false, true)) {
             loadStore();
         }
+
+        if (asyncWrite) {
+            ObjectHelper.notNull(camelContext, "camelContext", this);
+            executorService = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this,
+                    "FileStateRepository");
+            executorService.scheduleWithFixedDelay(this::onSchedule, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
     protected void doStop() throws Exception {
-        // reset will trunk and clear the cache
-        trunkStore();
-        cache.clear();
-        init.set(false);
+        if (executorService != null) {
+            camelContext.getExecutorServiceManager().shutdownGraceful(executorService);
+            executorService = null;
+        }
+        writeLock.lock();
+        try {
+            // reset will trunk and clear the cache
+            trunkStore();
+            pending.clear();
+            cache.clear();
+            init.set(false);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
     }
 
     public File getFileStore() {
@@ -307,4 +466,33 @@ public class FileStateRepository extends ServiceSupport implements StateReposito
     public void setMaxFileStoreSize(long maxFileStoreSize) {
         this.maxFileStoreSize = maxFileStoreSize;
     }
+
+    @ManagedAttribute(description = "Whether the states are written to the file store by a background thread")
+    public boolean isAsyncWrite() {
+        return asyncWrite;
+    }
+
+    /**
+     * Sets whether the states are written to the file store in batches by a background thread, which also compacts the
+     * file store when the max file store size is hit. This requires the {@link CamelContext} to be set.
+     * <p/>
+     * The default is false.
+     */
+    public void setAsyncWrite(boolean asyncWrite) {
+        this.asyncWrite = asyncWrite;
+    }
+
+    @ManagedAttribute(description = "Interval in millis between writing the pending states to the file store")
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * Sets the interval in millis between writing the pending states to the file store, when using async write.
+     * <p/>
+     * The default is 1000.
+     */
+    public void setFlushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
 }
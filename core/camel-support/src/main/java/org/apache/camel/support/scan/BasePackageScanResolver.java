@@ -25,7 +25,9 @@ import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelContextAware;
@@ -40,7 +42,9 @@ import org.slf4j.LoggerFactory;
 public abstract class BasePackageScanResolver extends ServiceSupport implements CamelContextAware {
     protected String[] acceptableSchemes = {};
     private final Set<ClassLoader> classLoaders = new LinkedHashSet<>();
+    private final Map<ClassLoader, Map<String, ClasspathIndex>> classpathIndexes = new ConcurrentHashMap<>();
     private CamelContext camelContext;
+    private boolean useClasspathIndex = true;
 
     public BasePackageScanResolver() {
         initialize();
@@ -74,6 +78,13 @@ public abstract class BasePackageScanResolver extends ServiceSupport implements
         }
     }
 
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        clearClasspathIndexes();
+    }
+
     @Override
     public CamelContext getCamelContext() {
         return camelContext;
@@ -98,6 +109,72 @@ public abstract class BasePackageScanResolver extends ServiceSupport implements
         }
     }
 
+    public boolean isUseClasspathIndex() {
+        return useClasspathIndex;
+    }
+
+    /**
+     * Whether to use the classpath index generated at build time (see {@link ClasspathIndex}) to find the classes and
+     * resources in the JARs that have one, instead of reading all the entries of the JARs. JARs without an index are
+     * always scanned. This is enabled by default.
+     */
+    public void setUseClasspathIndex(boolean useClasspathIndex) {
+        this.useClasspathIndex = useClasspathIndex;
+    }
+
+    /**
+     * Finds the build-time index of the JAR the given URL belongs to.
+     *
+     * @param  loader      the classloader which returned the URL
+     * @param  url         the URL of the package in the JAR
+     * @param  packageName the package path
+     * @return             the index, or <tt>null</tt> if the JAR has no index and must be scanned
+     */
+    protected ClasspathIndex findClasspathIndex(ClassLoader loader, URL url, String packageName) {
+        if (!useClasspathIndex) {
+            return null;
+        }
+        String root = ClasspathIndex.rootOf(url, packageName);
+        if (root == null) {
+            return null;
+        }
+        return classpathIndexes.computeIfAbsent(loader, ClasspathIndex::loadIndexes).get(root);
+    }
+
+    /**
+     * Whether a JAR nested in another JAR (such as <tt>BOOT-INF/lib/foo.jar</tt> in a Spring Boot fat JAR) has a
+     * classpath index loaded, in which case its classes and resources are found through the index and the JAR does not
+     * need to be scanned when scanning the outer JAR.
+     *
+     * @param name      the name of the nested JAR entry
+     * @param resources whether the index must include the resources
+     */
+    protected boolean isIndexedNestedJar(String name, boolean resources) {
+        if (!useClasspathIndex) {
+            return false;
+        }
+        String suffix = name + "!/";
+        for (Map<String, ClasspathIndex> indexes : classpathIndexes.values()) {
+            for (Map.Entry<String, ClasspathIndex> entry : indexes.entrySet()) {
+                String root = entry.getKey();
+                if (root.endsWith(suffix) && root.length() > suffix.length()) {
+                    char c = root.charAt(root.length() - suffix.length() - 1);
+                    if ((c == '!' || c == '/') && (!resources || entry.getValue().hasResources())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Clears the loaded classpath indexes.
+     */
+    protected void clearClasspathIndexes() {
+        classpathIndexes.clear();
+    }
+
     protected boolean isAcceptableScheme(String urlPath) {
         if (urlPath != null) {
             for (String scheme : acceptableSchemes) {
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.scan;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.apache.camel.spi.PackageScanFilter;
+import org.apache.camel.spi.annotations.ClasspathIndexProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The index of the classes and resources of a JAR, generated at build time by {@link ClasspathIndexProcessor}.
+ * <p/>
+ * The package scan resolvers use the index to find the candidate classes and resources of a JAR without reading all its
+ * entries. Only the classes which may match the scan filter are loaded, and they are still checked with the filter.
+ */
+public final class ClasspathIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClasspathIndex.class);
+
+    private final List<Entry> classes;
+    private final List<String> resources;
+
+    private ClasspathIndex(List<Entry> classes, List<String> resources) {
+        this.classes = classes;
+        this.resources = resources;
+    }
+
+    /**
+     * Loads all the indexes visible from the classloader.
+     *
+     * @return the indexes by the URL of the root of the JAR they index (such as <tt>jar:file:/lib/foo.jar!/</tt>)
+     */
+    public static Map<String, ClasspathIndex> loadIndexes(ClassLoader classLoader) {
+        Map<String, ClasspathIndex> answer = new HashMap<>();
+        try {
+            Enumeration<URL> urls = classLoader.getResources(ClasspathIndexProcessor.INDEX_LOCATION);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                String root = rootOf(url, ClasspathIndexProcessor.INDEX_LOCATION);
+                if (root != null && !answer.containsKey(root)) {
+                    ClasspathIndex index = load(url);
+                    if (index != null) {
+                        answer.put(root, index);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOG.debug("Cannot load classpath indexes from classloader: {}", classLoader, e);
+        }
+        LOG.debug("Loaded {} classpath indexes from classloader: {}", answer.size(), classLoader);
+        return answer;
+    }
+
+    /**
+     * Gets the URL of the root of the JAR or directory the URL of the given path belongs to.
+     *
+     * @param  url  the URL of the path such as <tt>jar:file:/lib/foo.jar!/org/foo/</tt>
+     * @param  path the path such as <tt>org/foo</tt>
+     * @return      the URL of the root such as <tt>jar:file:/lib/foo.jar!/</tt>, or <tt>null</tt> if the URL does not
+     *              end with the path
+     */
+    public static String rootOf(URL url, String path) {
+        String s = url.toString();
+        if (!path.isEmpty() && !path.endsWith("/") && s.endsWith("/")) {
+            path = path + "/";
+        }
+        if (s.endsWith(path)) {
+            return s.substring(0, s.length() - path.length());
+        }
+        return null;
+    }
+
+    private static ClasspathIndex load(URL url) {
+        List<Entry> classes = new ArrayList<>();
+        List<String> resources = null;
+        boolean valid = false;
+
+        try {
+            URLConnection con = url.openConnection();
+            // disable cache mainly to avoid jar file locking on Windows
+            con.setUseCaches(false);
+            try (InputStream is = con.getInputStream();
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith(ClasspathIndexProcessor.CLASS_ENTRY)) {
+                        String[] parts = line.substring(ClasspathIndexProcessor.CLASS_ENTRY.length()).split(" ");
+                        if (parts.length == 3) {
+                            classes.add(new Entry(parts[0], toSet(parts[1]), toSet(parts[2])));
+                        }
+                    } else if (line.startsWith(ClasspathIndexProcessor.RESOURCE_ENTRY) && resources != null) {
+                        resources.add(line.substring(ClasspathIndexProcessor.RESOURCE_ENTRY.length()));
+                    } else if (line.equals(ClasspathIndexProcessor.INDEX_VERSION)) {
+                        valid = true;
+                    } else if (line.equals(ClasspathIndexProcessor.INDEX_RESOURCES)) {
+                        resources = new ArrayList<>();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOG.debug("Cannot read classpath index: {}. The JAR will be scanned.", url, e);
+            return null;
+        }
+
+        if (!valid) {
+            LOG.debug("Unsupported classpath index: {}. The JAR will be scanned.", url);
+            return null;
+        }
+        LOG.trace("Loaded classpath index: {} with {} classes", url, classes.size());
+        return new ClasspathIndex(classes, resources);
+    }
+
+    private static Set<String> toSet(String names) {
+        if ("-".equals(names)) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(Arrays.asList(names.split(",")));
+    }
+
+    /**
+     * Whether the resources of the JAR are indexed.
+     */
+    public boolean hasResources() {
+        return resources != null;
+    }
+
+    /**
+     * Finds the classes which may match the filter.
+     *
+     * @param  parent the package path (such as <tt>org/foo</tt>) the classes must be in
+     * @param  filter the filter
+     * @return        the candidate classes as class file names (such as <tt>org/foo/Bar.class</tt>)
+     */
+    public List<String> findClasses(String parent, PackageScanFilter filter) {
+        List<String> answer = new ArrayList<>();
+        for (Entry entry : classes) {
+            if (entry.path.startsWith(parent) && isCandidate(filter, entry)) {
+                answer.add(entry.path);
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Finds the entries of the JAR in the given package accepted by the filter, or all the entries which are not class
+     * files if there is no filter.
+     *
+     * @param  packageName the package path such as <tt>org/foo/</tt>
+     * @param  filter      optional filter
+     * @return             the entry names
+     */
+    public List<String> findResources(String packageName, Predicate<String> filter) {
+        List<String> answer = new ArrayList<>();
+        if (resources == null) {
+            return answer;
+        }
+        for (String name : resources) {
+            if (name.startsWith(packageName) && (filter == null || filter.test(name))) {
+                answer.add(name);
+            }
+        }
+        if (filter != null) {
+            for (Entry entry : classes) {
+                if (entry.path.startsWith(packageName) && filter.test(entry.path)) {
+                    answer.add(entry.path);
+                }
+            }
+        }
+        return answer;
+    }
+
+    private static boolean isCandidate(PackageScanFilter filter, Entry entry) {
+        if (filter instanceof AnnotatedWithPackageScanFilter annotated) {
+            return entry.annotations.contains(annotated.getAnnotation().getName());
+        } else if (filter instanceof AnnotatedWithAnyPackageScanFilter annotated) {
+            for (Class<? extends Annotation> annotation : annotated.getAnnotations()) {
+                if (entry.annotations.contains(annotation.getName())) {
+                    return true;
+                }
+            }
+            return false;
+        } else if (filter instanceof AssignableToPackageScanFilter assignable) {
+            for (Class<?> parent : assignable.getParents()) {
+                if (entry.name.equals(parent.getName()) || entry.superTypes.contains(parent.getName())) {
+                    return true;
+                }
+            }
+            return false;
+        } else if (filter instanceof CompositePackageScanFilter composite) {
+            for (PackageScanFilter f : composite.getFilters()) {
+                if (!isCandidate(f, entry)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        // unknown filter so the class must be loaded to check it
+        return true;
+    }
+
+    private static final class Entry {
+        private final String name;
+        private final String path;
+        private final Set<String> annotations;
+        private final Set<String> superTypes;
+
+        Entry(String name, Set<String> annotations, Set<String> superTypes) {
+            this.name = name;
+            this.path = name.replace('.', '/') + ".class";
+            this.annotations = annotations;
+            this.superTypes = superTypes;
+        }
+    }
+}
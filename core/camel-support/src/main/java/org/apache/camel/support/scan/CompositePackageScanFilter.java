@@ -41,6 +41,10 @@ public class CompositePackageScanFilter implements PackageScanFilter {
         filters.add(filter);
     }
 
+    public Set<PackageScanFilter> getFilters() {
+        return filters;
+    }
+
     @Override
     public boolean matches(Class<?> type) {
         for (PackageScanFilter filter : filters) {
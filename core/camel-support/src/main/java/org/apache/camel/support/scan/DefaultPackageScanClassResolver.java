@@ -194,6 +194,15 @@ public class DefaultPackageScanClassResolver extends BasePackageScanResolver
                     LOG.trace("Loading from directory using file: {}", file);
                     loadImplementationsInDirectory(test, packageName, file, classes);
                 } else {
+                    ClasspathIndex index = findClasspathIndex(loader, url, packageName);
+                    if (index != null) {
+                        LOG.trace("Loading from jar using classpath index: {}", url);
+                        for (String entry : index.findClasses(packageName, test)) {
+                            addIfMatching(test, entry, classes);
+                        }
+                        continue;
+                    }
+
                     InputStream stream = null;
                     try {
                         if (urlPath.startsWith("http:") || urlPath.startsWith("https:")
@@ -405,6 +414,7 @@ public class DefaultPackageScanClassResolver extends BasePackageScanResolver
             jarCache.clear();
             jarCache = null;
         }
+        clearClasspathIndexes();
     }
 
     @Override
@@ -167,6 +167,14 @@ public class DefaultPackageScanResourceResolver extends BasePackageScanResolver
                     LOG.trace("Loading from directory using file: {}", file);
                     loadImplementationsInDirectory(subPattern, packageName, file, resources, filter);
                 } else {
+                    ClasspathIndex index = findClasspathIndex(classLoader, url, packageName);
+                    if (index != null && index.hasResources()) {
+                        LOG.trace("Loading from jar using classpath index: {}", url);
+                        addMatchingResources(url, packageName, subPattern, index.findResources(packageName, filter),
+                                resources);
+                        continue;
+                    }
+
                     InputStream stream;
                     if (urlPath.startsWith("http:") || urlPath.startsWith("https:")
                             || urlPath.startsWith("sonicfs:")
@@ -212,6 +220,11 @@ public class DefaultPackageScanResourceResolver extends BasePackageScanResolver
             Predicate<String> filter) {
 
         List<String> entries = doLoadImplementationsInJar(packageName, stream, urlPath, filter);
+        addMatchingResources(url, packageName, subPattern, entries, resources);
+    }
+
+    private void addMatchingResources(
+            URL url, String packageName, String subPattern, List<String> entries, Set<Resource> resources) {
         for (String name : entries) {
             String shortName = name.substring(packageName.length());
             boolean match = PATH_MATCHER.match(subPattern, shortName);
@@ -78,7 +78,8 @@ public class DefaultStartupStepRecorder extends ServiceSupport implements Startu
     };
 
     private final AtomicInteger stepCounter = new AtomicInteger();
-    private final Deque<Integer> currentSteps = new ArrayDeque<>();
+    // the steps are nested per thread, as routes may be started concurrently
+    private final ThreadLocal<Deque<StartupStep>> currentSteps = ThreadLocal.withInitial(ArrayDeque::new);
 
     private boolean enabled;
     private int maxDepth = -1;
@@ -87,10 +88,6 @@ public class DefaultStartupStepRecorder extends ServiceSupport implements Startu
     private String recordingDir;
     private String recordingProfile = "default";
 
-    public DefaultStartupStepRecorder() {
-        currentSteps.offerFirst(0);
-    }
-
     public boolean isEnabled() {
         return enabled;
     }
@@ -156,35 +153,64 @@ public class DefaultStartupStepRecorder extends ServiceSupport implements Startu
     @Override
     public void doStop() throws Exception {
         enabled = false;
-        currentSteps.clear();
+        currentSteps.remove();
     }
 
-    public StartupStep beginStep(Class<?> type, String name, String description) {
+    public synchronized StartupStep beginStep(Class<?> type, String name, String description) {
         if (enabled) {
-            int level = currentSteps.size() - 1;
+            StartupStep parent = currentSteps.get().peekFirst();
+            if (parent == DISABLED_STEP) {
+                // the step is continued from another thread, and is not recorded
+                return DISABLED_STEP;
+            }
+            int level = parent != null ? parent.getLevel() + 1 : 0;
             if (maxDepth != -1 && level >= maxDepth) {
                 return DISABLED_STEP;
             }
             int id = stepCounter.incrementAndGet();
-            Integer parent = currentSteps.peekFirst();
-            int pid = parent != null ? parent : 0;
+            int pid = parent != null ? parent.getId() : 0;
             StartupStep step = createStartupStep(type.getSimpleName(), name, description, id, pid, level);
             onBeginStep(step);
-            currentSteps.offerFirst(id);
+            currentSteps.get().offerFirst(step);
             return step;
         } else {
             return DISABLED_STEP;
         }
     }
 
-    public void endStep(StartupStep step) {
+    public synchronized void endStep(StartupStep step) {
         if (step != DISABLED_STEP) {
-            currentSteps.pollFirst();
+            detachStep(step);
             step.endStep();
             onEndStep(step);
         }
     }
 
+    /**
+     * Continues the given step, which was begun by another thread, on the current thread. The steps begun by the
+     * current thread are then recorded as children of the given step, until {@link #detachStep(StartupStep)} is called.
+     * This is used when routes are started concurrently by a thread pool.
+     *
+     * @param step the step begun by another thread
+     */
+    public void attachStep(StartupStep step) {
+        currentSteps.get().offerFirst(step);
+    }
+
+    /**
+     * Stops continuing the given step on the current thread.
+     *
+     * @param step the step which was attached
+     * @see        #attachStep(StartupStep)
+     */
+    public void detachStep(StartupStep step) {
+        Deque<StartupStep> steps = currentSteps.get();
+        steps.remove(step);
+        if (steps.isEmpty()) {
+            currentSteps.remove();
+        }
+    }
+
     public StartupStep createStartupStep(String type, String name, String description, int id, int parentId, int level) {
         return new DefaultStartupStep(type, name, description, id, parentId, level, System.currentTimeMillis());
     }
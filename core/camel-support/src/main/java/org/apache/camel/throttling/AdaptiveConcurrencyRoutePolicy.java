@@ -0,0 +1,672 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.throttling;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.Consumer;
+import org.apache.camel.Exchange;
+import org.apache.camel.LoggingLevel;
+import org.apache.camel.Route;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.CamelLogger;
+import org.apache.camel.spi.Configurer;
+import org.apache.camel.spi.InflightRepository;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.spi.SynchronizationRouteAware;
+import org.apache.camel.support.RoutePolicySupport;
+import org.apache.camel.support.SynchronizationAdapter;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A throttle based {@link org.apache.camel.spi.RoutePolicy} which limits the number of concurrent inflight exchanges of
+ * a route, where the limit is adjusted automatically from the measured latency of the route.
+ * <p/>
+ * The latency of each exchange is measured from when the exchange begins until it is done with the route, using a
+ * completion callback on the exchange. The samples are collected in windows, and at the end of each window the limit is
+ * updated by one of the {@link LimitAlgorithm}s. The limit grows while the latency stays stable, and shrinks when the
+ * latency goes up (which means the exchanges are queueing up downstream), or when exchanges fail or exceed the timeout.
+ * If the inflight repository has browsing enabled then inflight exchanges taking longer than the timeout are detected
+ * as well, so the limit also shrinks when the downstream system hangs.
+ * <p/>
+ * When the number of inflight exchanges is above the limit, then the consumer is suspended until enough exchanges are
+ * done, in the same way as {@link ThrottlingInflightRoutePolicy}. Alternatively the exchanges above the limit can be
+ * rejected with a {@link RejectedExecutionException}, which is useful for consumers which cannot be suspended.
+ * <p/>
+ * If the policy is used by several routes then they share the limit.
+ */
+@Metadata(label = "bean",
+          description = "A throttle based RoutePolicy which limits the number of concurrent inflight exchanges, where the limit is adjusted automatically from the measured latency.",
+          annotations = { "interfaceName=org.apache.camel.spi.RoutePolicy" })
+@Configurer(metadataOnly = true)
+@ManagedResource(description = "Adaptive concurrency limit route policy")
+public class AdaptiveConcurrencyRoutePolicy extends RoutePolicySupport implements CamelContextAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptiveConcurrencyRoutePolicy.class);
+
+    // the number of windows the long term latency of the gradient algorithm is averaged over
+    private static final int LONG_WINDOWS = 600;
+    // the number of windows after which the vegas algorithm measures the no load latency again
+    private static final int PROBE_WINDOWS = 100;
+
+    public enum LimitAlgorithm {
+        /**
+         * Additive increase, multiplicative decrease: the limit grows by one per window, and is reduced by the backoff
+         * ratio when exchanges fail or exceed the timeout.
+         */
+        Aimd,
+        /**
+         * Estimates the number of queued exchanges by comparing the latency with the lowest latency measured (no load),
+         * and grows the limit while few exchanges are queued, and shrinks it when many exchanges are queued.
+         */
+        Vegas,
+        /**
+         * Adjusts the limit by the gradient between the long term and the current latency, so the limit shrinks as soon
+         * as the latency goes up more than the tolerance.
+         */
+        Gradient
+    }
+
+    private final List<Route> routes = new CopyOnWriteArrayList<>();
+    private final Lock lock = new ReentrantLock();
+    private CamelContext camelContext;
+    @Metadata(description = "The algorithm used to adjust the limit.", enums = "Aimd,Vegas,Gradient",
+              defaultValue = "Gradient")
+    private LimitAlgorithm limitAlgorithm = LimitAlgorithm.Gradient;
+    @Metadata(description = "The limit of concurrent inflight exchanges to start with.", defaultValue = "20")
+    private int initialLimit = 20;
+    @Metadata(description = "The lowest limit of concurrent inflight exchanges.", defaultValue = "1")
+    private int minLimit = 1;
+    @Metadata(description = "The highest limit of concurrent inflight exchanges.", defaultValue = "1000")
+    private int maxLimit = 1000;
+    @Metadata(description = "Time in millis after which an exchange counts as dropped, which reduces the limit. Use 0 to only count failed exchanges as dropped.",
+              defaultValue = "5000")
+    private long timeout = 5000;
+    @Metadata(description = "The ratio the limit is multiplied with when exchanges are dropped.", defaultValue = "0.9")
+    private double backoffRatio = 0.9;
+    @Metadata(description = "How much higher than the long term latency the current latency may be, before the gradient algorithm reduces the limit.",
+              defaultValue = "1.5")
+    private double tolerance = 1.5;
+    @Metadata(description = "The minimum time in millis of a window of latency samples.", defaultValue = "100")
+    private long window = 100;
+    @Metadata(description = "The minimum number of latency samples in a window.", defaultValue = "10")
+    private int windowSize = 10;
+    @Metadata(description = "Whether to reject the exchanges above the limit, instead of suspending the consumer.",
+              defaultValue = "false")
+    private boolean rejectExchanges;
+    @Metadata(description = "Sets the logging level to report the throttling activity.",
+              javaType = "org.apache.camel.LoggingLevel", defaultValue = "INFO", enums = "TRACE,DEBUG,INFO,WARN,ERROR,OFF")
+    private LoggingLevel loggingLevel = LoggingLevel.INFO;
+    private CamelLogger logger;
+
+    // the samples of the current window
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder latencySum = new LongAdder();
+    private final LongAccumulator latencyMin = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator inflightMax = new LongAccumulator(Math::max, 0);
+    private final AtomicBoolean dropped = new AtomicBoolean();
+    private final AtomicLong windowStart = new AtomicLong();
+
+    // the state of the limit, which is updated under the lock
+    private volatile double limit;
+    private volatile long latency;
+    private double noLoadLatency;
+    private double longLatency;
+    private int windows;
+
+    private final LongAdder rejectedCounter = new LongAdder();
+    private final LongAdder throttledCounter = new LongAdder();
+    private final LongAdder droppedCounter = new LongAdder();
+    private volatile boolean throttling;
+
+    public AdaptiveConcurrencyRoutePolicy() {
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveConcurrencyRoutePolicy[" + limitAlgorithm + " " + minLimit + "-" + maxLimit + "]";
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @Override
+    public void onInit(Route route) {
+        // we need to remember the routes we apply for
+        routes.add(route);
+    }
+
+    @Override
+    public void onRemove(Route route) {
+        routes.remove(route);
+    }
+
+    @Override
+    public void onExchangeBegin(Route route, Exchange exchange) {
+        int inflight = getInflight(exchange);
+        inflightMax.accumulate(inflight);
+
+        if (inflight > (int) limit) {
+            if (rejectExchanges) {
+                rejectedCounter.increment();
+                exchange.setException(new RejectedExecutionException(
+                        "Exchange rejected as the concurrency limit " + (int) limit + " of route " + route.getRouteId()
+                                                                     + " is reached"));
+                // do not route the exchange
+                exchange.setRouteStop(true);
+                return;
+            }
+            suspend(inflight, route.getConsumer());
+        }
+
+        exchange.getExchangeExtension().addOnCompletion(new LatencySample(route, System.nanoTime()));
+        updateLimit(false);
+    }
+
+    @Override
+    public void onExchangeDone(Route route, Exchange exchange) {
+        if (throttling) {
+            int inflight = getInflight(exchange);
+            if (inflight <= (int) limit) {
+                resume(inflight);
+            }
+        }
+    }
+
+    /**
+     * Records the latency of an exchange which is done with the route.
+     *
+     * @param latency the latency in nanos
+     * @param failed  whether the exchange failed
+     */
+    protected void onSample(long latency, boolean failed) {
+        samples.increment();
+        latencySum.add(latency);
+        latencyMin.accumulate(latency);
+        if (failed || timeout > 0 && latency > TimeUnit.MILLISECONDS.toNanos(timeout)) {
+            droppedCounter.increment();
+            dropped.set(true);
+        }
+        updateLimit(true);
+    }
+
+    private void updateLimit(boolean sampled) {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        long elapsed = now - start;
+        long windowNanos = TimeUnit.MILLISECONDS.toNanos(window);
+        // end the window when it has enough samples, or else when it has been open for long (to detect hanging exchanges)
+        boolean end = elapsed >= windowNanos && (sampled && samples.sum() >= windowSize || elapsed >= windowNanos * 10);
+        if (!end || !windowStart.compareAndSet(start, now)) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            long count = samples.sumThenReset();
+            long sum = latencySum.sumThenReset();
+            long min = latencyMin.getThenReset();
+            int inflight = (int) inflightMax.getThenReset();
+            boolean drop = dropped.getAndSet(false);
+            if (!drop && timeout > 0 && isHanging()) {
+                droppedCounter.increment();
+                drop = true;
+            }
+            if (count > 0 || drop) {
+                endWindow(count, sum, min, inflight, drop);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (throttling && !rejectExchanges) {
+            // the limit may have grown
+            int inflight = getInflight(null);
+            if (inflight <= (int) limit) {
+                resume(inflight);
+            }
+        }
+    }
+
+    /**
+     * Updates the limit from the samples of a window, which must be called under the lock.
+     *
+     * @param count    the number of samples
+     * @param sum      the sum of the latencies in nanos
+     * @param min      the lowest latency in nanos
+     * @param inflight the highest number of inflight exchanges
+     * @param drop     whether exchanges were dropped
+     */
+    void endWindow(long count, long sum, long min, int inflight, boolean drop) {
+        double current = limit;
+        double avg = count > 0 ? (double) sum / count : 0;
+        double answer = switch (limitAlgorithm) {
+            case Aimd -> aimd(current, inflight, drop);
+            case Vegas -> vegas(current, inflight, drop, count > 0 ? min : 0, avg);
+            case Gradient -> gradient(current, inflight, drop, avg);
+        };
+        answer = Math.max(minLimit, Math.min(maxLimit, answer));
+        if (count > 0) {
+            latency = (long) avg;
+        }
+        windows++;
+        limit = answer;
+        if ((int) answer != (int) current) {
+            LOG.debug("Concurrency limit changed from {} to {} (latency: {}ms, inflight: {}, dropped: {})", (int) current,
+                    (int) answer, TimeUnit.NANOSECONDS.toMillis((long) avg), inflight, drop);
+        }
+    }
+
+    private double aimd(double current, int inflight, boolean drop) {
+        if (drop) {
+            return current * backoffRatio;
+        } else if (inflight * 2 >= current) {
+            // only grow when the limit is in use
+            return current + 1;
+        }
+        return current;
+    }
+
+    private double vegas(double current, int inflight, boolean drop, long min, double avg) {
+        double log = Math.max(1, Math.log10(current));
+        if (drop) {
+            return current - log;
+        }
+        if (noLoadLatency == 0 || min < noLoadLatency || windows % PROBE_WINDOWS == 0) {
+            // the lowest latency is the latency without queueing, which is measured again now and then as it may change
+            noLoadLatency = min;
+        }
+        if (avg == 0 || inflight * 2 < current) {
+            // only adjust when the limit is in use
+            return current;
+        }
+        // the estimated number of exchanges queueing up downstream
+        double queue = Math.ceil(current * (1 - noLoadLatency / avg));
+        double alpha = 3 * log;
+        double beta = 6 * log;
+        if (queue <= log) {
+            return current + beta;
+        } else if (queue < alpha) {
+            return current + log;
+        } else if (queue > beta) {
+            return current - log;
+        }
+        return current;
+    }
+
+    private double gradient(double current, int inflight, boolean drop, double avg) {
+        if (avg == 0) {
+            return drop ? current * backoffRatio : current;
+        }
+        if (longLatency == 0) {
+            longLatency = avg;
+        } else {
+            longLatency = longLatency + (avg - longLatency) / LONG_WINDOWS;
+            if (longLatency / avg > 2) {
+                // the latency went down a lot, so let the long term latency catch up faster
+                longLatency = longLatency * 0.95;
+            }
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longLatency / avg));
+        if (drop) {
+            gradient = Math.min(gradient, backoffRatio);
+        }
+        if (gradient >= 1.0 && inflight * 2 < current) {
+            // only grow when the limit is in use
+            return current;
+        }
+        // allow a few exchanges to queue up, so the latency keeps being measured under load
+        double answer = current * gradient + Math.sqrt(current);
+        // smooth the change
+        return current * 0.8 + answer * 0.2;
+    }
+
+    private boolean isHanging() {
+        InflightRepository repository = camelContext.getInflightRepository();
+        if (!repository.isInflightBrowseEnabled()) {
+            return false;
+        }
+        for (Route route : routes) {
+            InflightRepository.InflightExchange oldest = repository.oldest(route.getRouteId());
+            if (oldest != null && oldest.getDuration() > timeout) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int getInflight(Exchange exchange) {
+        InflightRepository repository = exchange != null
+                ? exchange.getContext().getInflightRepository() : camelContext.getInflightRepository();
+        if (routes.size() == 1) {
+            return repository.size(routes.get(0).getRouteId());
+        }
+        int answer = 0;
+        for (Route route : routes) {
+            answer += repository.size(route.getRouteId());
+        }
+        return answer;
+    }
+
+    private void suspend(int inflight, Consumer consumer) {
+        lock.lock();
+        try {
+            if (suspendOrStopConsumer(consumer)) {
+                throttling = true;
+                throttledCounter.increment();
+                getLogger().log("Throttling consumer: " + inflight + " > " + (int) limit
+                                + " inflight exchange by suspending consumer: " + consumer);
+            }
+        } catch (Exception e) {
+            handleException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void resume(int inflight) {
+        lock.lock();
+        try {
+            for (Route route : routes) {
+                Consumer consumer = route.getConsumer();
+                if (resumeOrStartConsumer(consumer)) {
+                    getLogger().log("Throttling consumer: " + inflight + " <= " + (int) limit
+                                    + " inflight exchange by resuming consumer: " + consumer);
+                }
+            }
+            throttling = false;
+        } catch (Exception e) {
+            handleException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "The algorithm used to adjust the limit")
+    public LimitAlgorithm getLimitAlgorithm() {
+        return limitAlgorithm;
+    }
+
+    /**
+     * The algorithm used to adjust the limit.
+     * <p/>
+     * Is default {@link LimitAlgorithm#Gradient}.
+     */
+    public void setLimitAlgorithm(LimitAlgorithm limitAlgorithm) {
+        this.limitAlgorithm = limitAlgorithm;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    /**
+     * The limit of concurrent inflight exchanges to start with.
+     * <p/>
+     * Is default 20.
+     */
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    @ManagedAttribute(description = "The lowest limit of concurrent inflight exchanges")
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    /**
+     * The lowest limit of concurrent inflight exchanges.
+     * <p/>
+     * Is default 1.
+     */
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    @ManagedAttribute(description = "The highest limit of concurrent inflight exchanges")
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * The highest limit of concurrent inflight exchanges.
+     * <p/>
+     * Is default 1000.
+     */
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Time in millis after which an exchange counts as dropped, which reduces the limit. Use 0 to only count failed
+     * exchanges as dropped.
+     * <p/>
+     * Is default 5000.
+     */
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    /**
+     * The ratio the limit is multiplied with when exchanges are dropped.
+     * <p/>
+     * Is default 0.9.
+     */
+    public void setBackoffRatio(double backoffRatio) {
+        if (backoffRatio < 0.5 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Must be a ratio between 0.5 and 1, was: " + backoffRatio);
+        }
+        this.backoffRatio = backoffRatio;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * How much higher than the long term latency the current latency may be, before the gradient algorithm reduces the
+     * limit.
+     * <p/>
+     * Is default 1.5.
+     */
+    public void setTolerance(double tolerance) {
+        if (tolerance < 1) {
+            throw new IllegalArgumentException("Must be at least 1, was: " + tolerance);
+        }
+        this.tolerance = tolerance;
+    }
+
+    public long getWindow() {
+        return window;
+    }
+
+    /**
+     * The minimum time in millis of a window of latency samples.
+     * <p/>
+     * Is default 100.
+     */
+    public void setWindow(long window) {
+        this.window = window;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * The minimum number of latency samples in a window.
+     * <p/>
+     * Is default 10.
+     */
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public boolean isRejectExchanges() {
+        return rejectExchanges;
+    }
+
+    /**
+     * Whether to reject the exchanges above the limit with a {@link RejectedExecutionException}, instead of suspending
+     * the consumer.
+     */
+    public void setRejectExchanges(boolean rejectExchanges) {
+        this.rejectExchanges = rejectExchanges;
+    }
+
+    public LoggingLevel getLoggingLevel() {
+        return loggingLevel;
+    }
+
+    public CamelLogger getLogger() {
+        if (logger == null) {
+            logger = createLogger();
+        }
+        return logger;
+    }
+
+    /**
+     * Sets the logger to use for logging throttling activity.
+     *
+     * @param logger the logger
+     */
+    public void setLogger(CamelLogger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Sets the logging level to report the throttling activity.
+     * <p/>
+     * Is default <tt>INFO</tt> level.
+     *
+     * @param loggingLevel the logging level
+     */
+    public void setLoggingLevel(LoggingLevel loggingLevel) {
+        this.loggingLevel = loggingLevel;
+    }
+
+    protected CamelLogger createLogger() {
+        return new CamelLogger(LOG, getLoggingLevel());
+    }
+
+    @ManagedAttribute(description = "The current limit of concurrent inflight exchanges")
+    public int getCurrentLimit() {
+        return (int) limit;
+    }
+
+    @ManagedAttribute(description = "The average latency in millis of the last window of samples")
+    public long getLatency() {
+        return TimeUnit.NANOSECONDS.toMillis(latency);
+    }
+
+    @ManagedAttribute(description = "Number of exchanges rejected as the limit was reached")
+    public long getRejectedCounter() {
+        return rejectedCounter.longValue();
+    }
+
+    @ManagedAttribute(description = "Number of times the consumer was suspended as the limit was reached")
+    public long getThrottledCounter() {
+        return throttledCounter.longValue();
+    }
+
+    @ManagedAttribute(description = "Number of exchanges which failed or exceeded the timeout")
+    public long getDroppedCounter() {
+        return droppedCounter.longValue();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(camelContext, "CamelContext", this);
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException(
+                    "MinLimit must be >= 1 and MaxLimit must be >= MinLimit, was " + minLimit + " and " + maxLimit);
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        noLoadLatency = 0;
+        longLatency = 0;
+        windows = 0;
+        windowStart.set(System.nanoTime());
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        ServiceHelper.stopService(logger);
+        throttling = false;
+    }
+
+    /**
+     * Completion callback which records the latency of the exchange when it is done with the route.
+     */
+    private final class LatencySample extends SynchronizationAdapter implements SynchronizationRouteAware {
+
+        private final Route route;
+        private final long start;
+
+        private LatencySample(Route route, long start) {
+            this.route = route;
+            this.start = start;
+        }
+
+        @Override
+        public SynchronizationRouteAware getRouteSynchronization() {
+            return this;
+        }
+
+        @Override
+        public void onBeforeRoute(Route route, Exchange exchange) {
+            // NO-OP
+        }
+
+        @Override
+        public void onAfterRoute(Route route, Exchange exchange) {
+            if (route == this.route) {
+                onSample(System.nanoTime() - start, exchange.isFailed());
+            }
+        }
+    }
+
+}
@@ -34,6 +34,7 @@ import org.apache.camel.StaticService;
 import org.apache.camel.spi.ThreadPoolFactory;
 import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.concurrent.AdaptiveThreadPoolExecutor;
 import org.apache.camel.util.concurrent.RejectableScheduledThreadPoolExecutor;
 import org.apache.camel.util.concurrent.RejectableThreadPoolExecutor;
 import org.apache.camel.util.concurrent.SizedScheduledExecutorService;
@@ -66,6 +67,10 @@ public class DefaultThreadPoolFactory extends ServiceSupport implements CamelCon
     public ExecutorService newThreadPool(ThreadPoolProfile profile, ThreadFactory factory) {
         // allow core thread timeout is default true if not configured
         boolean allow = profile.getAllowCoreThreadTimeOut() != null ? profile.getAllowCoreThreadTimeOut() : true;
+        if (isAdaptive(profile)
+                && ThreadPoolFactoryType.from(factory, profile) == ThreadPoolFactoryType.PLATFORM) {
+            return newAdaptiveThreadPool(profile, allow, factory);
+        }
         return newThreadPool(profile.getPoolSize(),
                 profile.getMaxPoolSize(),
                 profile.getKeepAliveTime(),
@@ -76,6 +81,28 @@ public class DefaultThreadPoolFactory extends ServiceSupport implements CamelCon
                 factory);
     }
 
+    private static boolean isAdaptive(ThreadPoolProfile profile) {
+        // adapting requires room to grow, and a bounded task queue as the pool only grows when tasks are waiting
+        return Boolean.TRUE.equals(profile.getAdaptive()) && profile.getMaxPoolSize() > profile.getPoolSize()
+                && profile.getMaxQueueSize() > 0;
+    }
+
+    protected ExecutorService newAdaptiveThreadPool(
+            ThreadPoolProfile profile, boolean allowCoreThreadTimeOut, ThreadFactory threadFactory) {
+        long interval = profile.getAdaptiveInterval() != null ? profile.getAdaptiveInterval() : 1000;
+        AdaptiveThreadPoolExecutor answer = new AdaptiveThreadPoolExecutor(
+                profile.getPoolSize(), profile.getMaxPoolSize(), profile.getKeepAliveTime(), profile.getTimeUnit(),
+                new LinkedBlockingQueue<>(profile.getMaxQueueSize()), interval);
+        answer.setThreadFactory(threadFactory);
+        answer.allowCoreThreadTimeOut(allowCoreThreadTimeOut);
+        RejectedExecutionHandler rejectedExecutionHandler = profile.getRejectedExecutionHandler();
+        if (rejectedExecutionHandler == null) {
+            rejectedExecutionHandler = new ThreadPoolExecutor.CallerRunsPolicy();
+        }
+        answer.setRejectedExecutionHandler(rejectedExecutionHandler);
+        return answer;
+    }
+
     public ExecutorService newThreadPool(
             int corePoolSize, int maxPoolSize, long keepAliveTime, TimeUnit timeUnit, int maxQueueSize,
             boolean allowCoreThreadTimeOut,
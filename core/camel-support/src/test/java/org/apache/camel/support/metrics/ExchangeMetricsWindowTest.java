@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The unit test for the class {@link ExchangeMetricsWindow}.
+ */
+class ExchangeMetricsWindowTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void shouldComputeRatesAndPercentilesOfInterval() {
+        ExchangeMetrics metrics = new ExchangeMetrics("foo");
+        ExchangeMetricsWindow window = new ExchangeMetricsWindow(metrics, 10);
+        for (long i = 1; i <= 100; i++) {
+            complete(metrics, i * 1000, i % 10 == 0);
+        }
+        metrics.onStarted();
+
+        MetricsSnapshot.RouteStatistics statistics = window.tick(2 * SECOND);
+        assertEquals("foo", statistics.getRouteId());
+        assertEquals(100, statistics.getExchangesTotal());
+        assertEquals(10, statistics.getExchangesFailed());
+        assertEquals(1, statistics.getExchangesInflight());
+        assertEquals(100, statistics.getWindowExchanges());
+        assertEquals(10, statistics.getWindowFailures());
+        assertEquals(50, statistics.getRate(), 0.001);
+        assertEquals(50, statistics.getMeanRate(), 0.001);
+        assertEquals(5, statistics.getFailureRate(), 0.001);
+        assertEquals(50500, statistics.getMean(), 0.1);
+        assertWithinError(50000, statistics.getP50());
+        assertWithinError(90000, statistics.getP90());
+        assertWithinError(99000, statistics.getP99());
+        assertEquals(100000, statistics.getMax());
+    }
+
+    @Test
+    void shouldSlideWindow() {
+        ExchangeMetrics metrics = new ExchangeMetrics("foo");
+        ExchangeMetricsWindow window = new ExchangeMetricsWindow(metrics, 2);
+
+        // a slow interval which falls out of the window after two more intervals
+        for (int i = 0; i < 10; i++) {
+            complete(metrics, 5_000_000, false);
+        }
+        window.tick(SECOND);
+        for (int i = 0; i < 20; i++) {
+            complete(metrics, 1000, false);
+        }
+        MetricsSnapshot.RouteStatistics statistics = window.tick(SECOND);
+        assertEquals(30, statistics.getWindowExchanges());
+        assertEquals(20, statistics.getRate(), 0.001);
+        assertEquals(15, statistics.getMeanRate(), 0.001);
+        assertWithinError(5_000_000, statistics.getMax());
+
+        for (int i = 0; i < 40; i++) {
+            complete(metrics, 1000, false);
+        }
+        statistics = window.tick(SECOND);
+        assertEquals(70, statistics.getExchangesTotal());
+        assertEquals(60, statistics.getWindowExchanges());
+        assertEquals(40, statistics.getRate(), 0.001);
+        assertEquals(30, statistics.getMeanRate(), 0.001);
+        assertEquals(1000, statistics.getMean(), 0.1);
+        assertWithinError(1000, statistics.getP999());
+        assertWithinError(1000, statistics.getMax());
+
+        statistics = window.tick(SECOND);
+        statistics = window.tick(SECOND);
+        assertEquals(0, statistics.getWindowExchanges());
+        assertEquals(0, statistics.getMeanRate());
+        assertEquals(0, statistics.getP99());
+        assertEquals(0, statistics.getMax());
+    }
+
+    @Test
+    void shouldRestartWhenReset() {
+        ExchangeMetrics metrics = new ExchangeMetrics("foo");
+        ExchangeMetricsWindow window = new ExchangeMetricsWindow(metrics, 10);
+        complete(metrics, 1000, false);
+        assertEquals(1, window.tick(SECOND).getWindowExchanges());
+
+        metrics.reset();
+        assertEquals(0, window.tick(SECOND).getWindowExchanges());
+        complete(metrics, 1000, true);
+        MetricsSnapshot.RouteStatistics statistics = window.tick(SECOND);
+        assertEquals(1, statistics.getWindowExchanges());
+        assertEquals(1, statistics.getWindowFailures());
+        assertTrue(statistics.getMean() > 0);
+    }
+
+    private static void complete(ExchangeMetrics metrics, long nanos, boolean failed) {
+        metrics.onStarted();
+        metrics.onCompleted(nanos, failed);
+    }
+
+    private static void assertWithinError(long expected, long actual) {
+        assertTrue(Math.abs(expected - actual) <= expected / 64, "expected " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The unit test for the class {@link LatencyHistogram}.
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void shouldMapValuesToBucketsWithBoundedError() {
+        for (long value = 0; value < 1_000_000; value += 7) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.lowestValueAt(index) <= value, "value " + value);
+            assertTrue(LatencyHistogram.highestValueAt(index) >= value, "value " + value);
+        }
+        int index = LatencyHistogram.indexOf(LatencyHistogram.MAX_TRACKABLE_VALUE);
+        long width = LatencyHistogram.highestValueAt(index) - LatencyHistogram.lowestValueAt(index) + 1;
+        assertTrue(width <= LatencyHistogram.lowestValueAt(index) / 64);
+    }
+
+    @Test
+    void shouldComputePercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(1000000, snapshot.getMax());
+        assertEquals(500500, snapshot.getMean(), 0.1);
+        assertWithinError(500000, snapshot.getValueAtPercentile(50));
+        assertWithinError(990000, snapshot.getValueAtPercentile(99));
+        assertWithinError(999000, snapshot.getValueAtPercentile(99.9));
+        assertEquals(1000000, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    void shouldResetAndIgnoreNegativeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(2, histogram.getCount());
+        assertEquals(0, histogram.snapshot().getValueAtPercentile(50));
+        assertEquals(Long.MAX_VALUE, histogram.snapshot().getValueAtPercentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.snapshot().getValueAtPercentile(99));
+    }
+
+    private static void assertWithinError(long expected, long actual) {
+        assertTrue(Math.abs(expected - actual) <= expected / 64, "expected " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.scan;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.apache.camel.spi.annotations.ClasspathIndexProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClasspathIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldFindClassesUsingIndex() throws Exception {
+        Path src = dir.resolve("src");
+        Path classes = dir.resolve("classes");
+        Files.createDirectories(src.resolve("foo"));
+        Files.createDirectories(classes);
+
+        Path marker = write(src, "foo/Marker.java", "package foo;\n"
+                                                    + "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)\n"
+                                                    + "public @interface Marker {}\n");
+        Path bar = write(src, "foo/Bar.java", "package foo;\n@Marker\npublic class Bar {}\n");
+        Path baz = write(src, "foo/Baz.java", "package foo;\npublic class Baz {}\n");
+        compile(classes, true, marker, bar, baz);
+        assertEquals(List.of("C foo.Bar", "C foo.Baz", "C foo.Marker"), indexedClasses(classes));
+
+        // incremental compilation of some sources keeps the classes of the previous index
+        write(src, "foo/Baz.java", "package foo;\n@Marker\npublic class Baz {}\n");
+        compile(classes, true, baz);
+        assertEquals(List.of("C foo.Bar", "C foo.Baz", "C foo.Marker"), indexedClasses(classes));
+
+        // a class compiled without the processor is not in the index
+        Path hidden = write(src, "foo/Hidden.java", "package foo;\n@Marker\npublic class Hidden {}\n");
+        compile(classes, false, hidden);
+
+        Path jar = jar(classes, dir.resolve("foo.jar"));
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { jar.toUri().toURL() }, null)) {
+            @SuppressWarnings("unchecked")
+            Class<? extends Annotation> annotation = (Class<? extends Annotation>) loader.loadClass("foo.Marker");
+
+            Map<String, ClasspathIndex> indexes = ClasspathIndex.loadIndexes(loader);
+            assertEquals(1, indexes.size());
+            ClasspathIndex index = indexes.values().iterator().next();
+            assertEquals(List.of("foo/Bar.class", "foo/Baz.class"),
+                    index.findClasses("foo", new AnnotatedWithPackageScanFilter(annotation)));
+
+            DefaultPackageScanClassResolver resolver = new DefaultPackageScanClassResolver();
+            resolver.addClassLoader(loader);
+            assertEquals(Set.of("foo.Bar", "foo.Baz"), names(resolver.findAnnotated(annotation, "foo")));
+
+            // without the index the JAR is scanned
+            resolver = new DefaultPackageScanClassResolver();
+            resolver.addClassLoader(loader);
+            resolver.setUseClasspathIndex(false);
+            assertEquals(Set.of("foo.Bar", "foo.Baz", "foo.Hidden"), names(resolver.findAnnotated(annotation, "foo")));
+        }
+    }
+
+    private static Path write(Path src, String name, String content) throws IOException {
+        Path file = src.resolve(name);
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private static void compile(Path classes, boolean index, Path... sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull(compiler, "JDK compiler");
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fm = compiler.getStandardFileManager(diagnostics, null, null)) {
+            List<String> options = new ArrayList<>(List.of("-d", classes.toString(), "-classpath", classes.toString()));
+            if (!index) {
+                options.add("-proc:none");
+            }
+            JavaCompiler.CompilationTask task
+                    = compiler.getTask(null, fm, diagnostics, options, null, fm.getJavaFileObjects(sources));
+            if (index) {
+                task.setProcessors(List.of(new ClasspathIndexProcessor()));
+            }
+            assertTrue(task.call(), diagnostics.getDiagnostics().toString());
+        }
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            assertTrue(diagnostic.getKind() != Diagnostic.Kind.WARNING && diagnostic.getKind() != Diagnostic.Kind.ERROR,
+                    diagnostic.toString());
+        }
+    }
+
+    private static List<String> indexedClasses(Path classes) throws IOException {
+        List<String> answer = new ArrayList<>();
+        for (String line : Files.readAllLines(classes.resolve(ClasspathIndexProcessor.INDEX_LOCATION))) {
+            if (line.startsWith(ClasspathIndexProcessor.CLASS_ENTRY)) {
+                answer.add(line.substring(0, line.indexOf(' ', ClasspathIndexProcessor.CLASS_ENTRY.length())));
+            }
+        }
+        return answer;
+    }
+
+    private static Path jar(Path classes, Path jar) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar));
+             Stream<Path> paths = Files.walk(classes)) {
+            for (Path path : paths.sorted().toList()) {
+                String name = classes.relativize(path).toString().replace('\\', '/');
+                if (name.isEmpty()) {
+                    continue;
+                }
+                if (Files.isDirectory(path)) {
+                    out.putNextEntry(new JarEntry(name + "/"));
+                } else {
+                    out.putNextEntry(new JarEntry(name));
+                    Files.copy(path, out);
+                }
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private static Set<String> names(Set<Class<?>> classes) {
+        return classes.stream().map(Class::getName).collect(Collectors.toSet());
+    }
+}
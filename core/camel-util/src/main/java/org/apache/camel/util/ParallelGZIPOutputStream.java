@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * An output stream which writes the GZIP format like {@link java.util.zip.GZIPOutputStream}, but compresses blocks of
+ * the data in parallel, in the style of pigz.
+ * <p/>
+ * The data is split into blocks, which are compressed concurrently by the given executor. Each block is compressed with
+ * the last 32 KB of the previous block as dictionary, and ends with a sync flush, so the compressed blocks are written
+ * in order as one deflate stream with a single GZIP header and trailer. The output can be read by any GZIP decoder, and
+ * the compression ratio is close to compressing on a single thread.
+ * <p/>
+ * The compressed blocks are written to the underlying stream as soon as they are done, and at most the given number of
+ * blocks are pending, so the memory used does not depend on the size of the data.
+ */
+public class ParallelGZIPOutputStream extends FilterOutputStream {
+
+    public static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    private final Executor executor;
+    private final int blockSize;
+    private final int maxPending;
+    private final int level;
+    private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+    private final CRC32 crc = new CRC32();
+    private byte[] block;
+    private int count;
+    private byte[] dictionary;
+    private long size;
+    private boolean finished;
+    private boolean closed;
+
+    /**
+     * Creates a new output stream with the default block size and compression level, which keeps up to two blocks per
+     * processor pending.
+     *
+     * @param  out         the output stream
+     * @param  executor    the executor to compress the blocks
+     * @throws IOException if writing the GZIP header failed
+     */
+    public ParallelGZIPOutputStream(OutputStream out, Executor executor) throws IOException {
+        this(out, executor, DEFAULT_BLOCK_SIZE, 2 * Runtime.getRuntime().availableProcessors(), Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Creates a new output stream.
+     *
+     * @param  out         the output stream
+     * @param  executor    the executor to compress the blocks
+     * @param  blockSize   the size of the blocks, which must be at least 32 KB
+     * @param  maxPending  the maximum number of blocks which are compressed or waiting to be written
+     * @param  level       the compression level
+     * @throws IOException if writing the GZIP header failed
+     */
+    public ParallelGZIPOutputStream(OutputStream out, Executor executor, int blockSize, int maxPending,
+                                    int level) throws IOException {
+        super(out);
+        ObjectHelper.notNull(executor, "executor");
+        if (blockSize < DICTIONARY_SIZE) {
+            throw new IllegalArgumentException("Block size must be at least " + DICTIONARY_SIZE + ", was: " + blockSize);
+        }
+        if (maxPending < 1) {
+            throw new IllegalArgumentException("Max pending must be positive, was: " + maxPending);
+        }
+        this.executor = executor;
+        this.blockSize = blockSize;
+        this.maxPending = maxPending;
+        this.level = level;
+        this.block = new byte[blockSize];
+        writeHeader();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        block[count++] = (byte) b;
+        if (count == blockSize) {
+            submit(false);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        while (len > 0) {
+            int n = Math.min(len, blockSize - count);
+            System.arraycopy(b, off, block, count, n);
+            count += n;
+            off += n;
+            len -= n;
+            if (count == blockSize) {
+                submit(false);
+            }
+        }
+    }
+
+    /**
+     * Writes the blocks which are compressed so far, and flushes the underlying stream. The data in the current block
+     * is not flushed, as blocks are only compressed when they are full.
+     */
+    @Override
+    public void flush() throws IOException {
+        writeCompleted(false);
+        out.flush();
+    }
+
+    /**
+     * Finishes writing the compressed data to the underlying stream without closing it.
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        submit(true);
+        writeCompleted(true);
+        writeTrailer();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            try {
+                finish();
+            } finally {
+                closed = true;
+                out.close();
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (finished) {
+            throw new IOException("Stream is finished");
+        }
+    }
+
+    private void submit(boolean last) throws IOException {
+        byte[] data = block;
+        int length = count;
+        byte[] dict = dictionary;
+        crc.update(data, 0, length);
+        size += length;
+        if (!last) {
+            // the end of this block is the dictionary of the next block, and the block is handed over to the task
+            dictionary = Arrays.copyOfRange(data, length - DICTIONARY_SIZE, length);
+            block = new byte[blockSize];
+            count = 0;
+        }
+
+        FutureTask<byte[]> task = new FutureTask<>(() -> deflate(data, length, dict, last));
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // compress on this thread instead
+            task.run();
+        }
+        pending.add(task);
+        writeCompleted(false);
+    }
+
+    private byte[] deflate(byte[] data, int length, byte[] dict, boolean last) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if (dict != null) {
+                deflater.setDictionary(dict);
+            }
+            deflater.setInput(data, 0, length);
+            ByteArrayOutputStream bos = new ByteArrayOutputStream(length / 2 + 64);
+            byte[] buf = new byte[IOHelper.DEFAULT_BUFFER_SIZE];
+            int n;
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    n = deflater.deflate(buf);
+                    bos.write(buf, 0, n);
+                }
+            } else {
+                // end on a byte boundary so the next block can be appended
+                do {
+                    n = deflater.deflate(buf, 0, buf.length, Deflater.SYNC_FLUSH);
+                    bos.write(buf, 0, n);
+                } while (n == buf.length);
+            }
+            return bos.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void writeCompleted(boolean all) throws IOException {
+        // write the blocks in order, and wait for the oldest block when too many blocks are pending
+        while (!pending.isEmpty() && (all || pending.size() > maxPending || pending.peek().isDone())) {
+            Future<byte[]> future = pending.poll();
+            try {
+                out.write(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelPending();
+                throw new InterruptedIOException("Interrupted while compressing");
+            } catch (ExecutionException e) {
+                cancelPending();
+                throw new IOException("Error compressing", e.getCause());
+            }
+        }
+    }
+
+    private void cancelPending() {
+        for (Future<byte[]> future : pending) {
+            future.cancel(false);
+        }
+        pending.clear();
+    }
+
+    private void writeHeader() throws IOException {
+        out.write(new byte[] {
+                (byte) GZIP_MAGIC, (byte) (GZIP_MAGIC >> 8), Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff });
+    }
+
+    private void writeTrailer() throws IOException {
+        byte[] trailer = new byte[8];
+        writeInt((int) crc.getValue(), trailer, 0);
+        // the size modulo 2^32
+        writeInt((int) size, trailer, 4);
+        out.write(trailer);
+    }
+
+    private static void writeInt(int i, byte[] buf, int offset) {
+        buf[offset] = (byte) i;
+        buf[offset + 1] = (byte) (i >> 8);
+        buf[offset + 2] = (byte) (i >> 16);
+        buf[offset + 3] = (byte) (i >> 24);
+    }
+
+}
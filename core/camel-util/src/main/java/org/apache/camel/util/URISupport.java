@@ -629,7 +629,7 @@ public final class URISupport {
         String[] parts = CamelURIParser.fastParseUri(uri);
         if (parts != null) {
             // we optimized specially if an empty array is returned
-            if (parts == URI_ALREADY_NORMALIZED) {
+            if (parts == URI_ALREADY_NORMALIZED || isAlreadyNormalized(uri, parts)) {
                 return uri;
             }
             // use the faster and more simple normalizer
@@ -748,6 +748,69 @@ public final class URISupport {
         }
     }
 
+    /**
+     * Whether the uri with parameters is already normalized, which is when the uri is in camel style (scheme://path)
+     * and the parameters are already sorted. This allows to skip parsing the parameters.
+     */
+    private static boolean isAlreadyNormalized(String uri, String[] parts) {
+        String scheme = parts[0];
+        String query = parts[2];
+        if (query == null || query.isEmpty()
+                || uri.length() != scheme.length() + 3 + parts[1].length() + 1 + query.length()
+                || !uri.startsWith("://", scheme.length())) {
+            return false;
+        }
+        // raw values can contain & so they must be parsed
+        if (query.contains(RAW_TOKEN_PREFIX) || query.charAt(query.length() - 1) == '&') {
+            return false;
+        }
+
+        int prevStart = -1;
+        int prevEnd = -1;
+        int start = 0;
+        int len = query.length();
+        while (start < len) {
+            int end = query.indexOf('&', start);
+            if (end == -1) {
+                end = len;
+            }
+            if (end == start) {
+                // empty parameter
+                return false;
+            }
+            int keyEnd = query.indexOf('=', start);
+            if (keyEnd == -1 || keyEnd > end) {
+                keyEnd = end;
+            }
+            int plus = query.indexOf('+', start);
+            if (plus != -1 && plus < keyEnd) {
+                // the key is decoded when parsed which may change its order
+                return false;
+            }
+            if (prevStart != -1 && compareKeys(query, prevStart, prevEnd, start, keyEnd) > 0) {
+                return false;
+            }
+            prevStart = start;
+            prevEnd = keyEnd;
+            start = end + 1;
+        }
+        return true;
+    }
+
+    private static int compareKeys(String query, int start1, int end1, int start2, int end2) {
+        int len1 = end1 - start1;
+        int len2 = end2 - start2;
+        int min = Math.min(len1, len2);
+        for (int i = 0; i < min; i++) {
+            char ch1 = query.charAt(start1 + i);
+            char ch2 = query.charAt(start2 + i);
+            if (ch1 != ch2) {
+                return ch1 - ch2;
+            }
+        }
+        return len1 - len2;
+    }
+
     private static String buildReorderingParameters(String scheme, String path, String query) throws URISyntaxException {
         Map<String, Object> parameters = null;
         if (query.indexOf('&') != -1) {
@@ -0,0 +1,294 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link RejectableThreadPoolExecutor} which resizes its core pool size between a minimum and maximum pool size,
+ * based on the measured load.
+ * <p/>
+ * The executor measures the arrival rate, throughput, service time, average task queue length and thread utilization
+ * over a sampling interval. The queue wait time is derived from the queue length and throughput using Little's law, and
+ * the number of threads needed is the task rate (including the waiting tasks) multiplied by the service time.
+ * <p/>
+ * When tasks are waiting in the queue and the threads are busy, then the pool grows towards the number of threads
+ * needed. The pool uses hill climbing to find out whether more threads help at all: if a resize did not improve the
+ * throughput (such as when the tasks are bound by the CPU or a shared resource), then the resize is undone and the pool
+ * does not grow above that size for a number of intervals. When the threads are mostly idle, then the pool shrinks
+ * gradually.
+ * <p/>
+ * The load is evaluated when tasks are submitted and completed. An idle pool has no tasks, so the owner of the executor
+ * should call {@link #evaluateLoad()} periodically as well, for the pool to shrink when it becomes idle.
+ */
+public class AdaptiveThreadPoolExecutor extends RejectableThreadPoolExecutor {
+
+    /**
+     * Listener which is notified when the executor resizes its pool.
+     */
+    @FunctionalInterface
+    public interface ResizeListener {
+
+        /**
+         * The core pool size was changed.
+         *
+         * @param executor    the executor
+         * @param oldPoolSize the old core pool size
+         * @param newPoolSize the new core pool size
+         * @param reason      the reason of the resize
+         */
+        void onResize(AdaptiveThreadPoolExecutor executor, int oldPoolSize, int newPoolSize, String reason);
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptiveThreadPoolExecutor.class);
+
+    private static final double TARGET_UTILIZATION = 0.85;
+    private static final double LOW_UTILIZATION = 0.5;
+    private static final double MIN_THROUGHPUT_GAIN = 0.05;
+    private static final int HOLD_INTERVALS = 10;
+
+    private final int minPoolSize;
+    private final long intervalNanos;
+    private final List<ResizeListener> listeners = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<long[]> taskStart = ThreadLocal.withInitial(() -> new long[1]);
+    private final AtomicLong lastEvaluation = new AtomicLong(System.nanoTime());
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder busyTime = new LongAdder();
+    private final LongAdder queueLength = new LongAdder();
+    private final LongAdder queueSamples = new LongAdder();
+    private final LongAdder resizeCounter = new LongAdder();
+
+    // hill climbing state, which is only updated by the thread evaluating the load
+    private int lastChange;
+    private double throughputBeforeChange;
+    private int ceiling;
+    private int holdIntervals;
+
+    // the measurements of the last interval
+    private volatile double throughput;
+    private volatile double utilization;
+    private volatile long queueWaitTime;
+    private volatile long serviceTime;
+    private volatile String lastResizeReason;
+
+    /**
+     * Creates a new adaptive executor, which starts with the minimum pool size as its core pool size.
+     *
+     * @param minPoolSize   the minimum core pool size
+     * @param maxPoolSize   the maximum pool size
+     * @param keepAliveTime the keep alive time for idle threads
+     * @param unit          the unit of the keep alive time
+     * @param workQueue     the task queue, which must be bounded for the executor to be able to grow
+     * @param interval      the sampling interval in millis, of the load evaluation
+     */
+    public AdaptiveThreadPoolExecutor(int minPoolSize, int maxPoolSize, long keepAliveTime, TimeUnit unit,
+                                      BlockingQueue<Runnable> workQueue, long interval) {
+        super(minPoolSize, maxPoolSize, keepAliveTime, unit, workQueue);
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Interval must be positive, was: " + interval);
+        }
+        this.minPoolSize = minPoolSize;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(interval);
+        this.ceiling = maxPoolSize;
+    }
+
+    public void addResizeListener(ResizeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeResizeListener(ResizeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * The minimum core pool size
+     */
+    public int getMinPoolSize() {
+        return minPoolSize;
+    }
+
+    /**
+     * The sampling interval in millis
+     */
+    public long getInterval() {
+        return TimeUnit.NANOSECONDS.toMillis(intervalNanos);
+    }
+
+    /**
+     * Number of times the core pool size was changed
+     */
+    public long getResizeCounter() {
+        return resizeCounter.longValue();
+    }
+
+    /**
+     * The reason of the last resize, or <tt>null</tt> if the executor has not been resized
+     */
+    public String getLastResizeReason() {
+        return lastResizeReason;
+    }
+
+    /**
+     * The completed tasks per second during the last interval
+     */
+    public double getThroughput() {
+        return throughput;
+    }
+
+    /**
+     * The ratio of time the threads were running tasks during the last interval
+     */
+    public double getUtilization() {
+        return utilization;
+    }
+
+    /**
+     * The average time in millis the tasks waited in the queue during the last interval
+     */
+    public long getAverageQueueWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(queueWaitTime);
+    }
+
+    /**
+     * The average time in millis to run a task during the last interval
+     */
+    public long getAverageServiceTime() {
+        return TimeUnit.NANOSECONDS.toMillis(serviceTime);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        submitted.increment();
+        queueLength.add(getQueue().size());
+        queueSamples.increment();
+        super.execute(command);
+        evaluateLoad();
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        super.beforeExecute(t, r);
+        taskStart.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    protected void afterExecute(Runnable r, Throwable t) {
+        busyTime.add(System.nanoTime() - taskStart.get()[0]);
+        completed.increment();
+        super.afterExecute(r, t);
+        evaluateLoad();
+    }
+
+    /**
+     * Evaluates the load and resizes the pool, if the sampling interval has elapsed since the last evaluation.
+     */
+    public void evaluateLoad() {
+        long now = System.nanoTime();
+        long last = lastEvaluation.get();
+        long elapsed = now - last;
+        // only one thread evaluates the load per interval
+        if (elapsed >= intervalNanos && lastEvaluation.compareAndSet(last, now) && !isShutdown()) {
+            resize(elapsed);
+        }
+    }
+
+    private void resize(long elapsed) {
+        long arrivals = submitted.sumThenReset();
+        long done = completed.sumThenReset();
+        long busy = busyTime.sumThenReset();
+        long samples = queueSamples.sumThenReset();
+        long length = queueLength.sumThenReset();
+
+        double seconds = elapsed / 1_000_000_000d;
+        double arrivalRate = arrivals / seconds;
+        double avgQueueLength = samples > 0 ? (double) length / samples : getQueue().size();
+        int threads = Math.max(1, getPoolSize());
+        long service = done > 0 ? busy / done : serviceTime;
+
+        throughput = done / seconds;
+        utilization = Math.min(1d, (double) busy / (threads * elapsed));
+        serviceTime = service;
+        // Little's law: the average wait is the average queue length divided by the throughput
+        queueWaitTime = throughput > 0 ? (long) (avgQueueLength / throughput * 1_000_000_000d) : 0;
+
+        int core = getCorePoolSize();
+        int max = getMaximumPoolSize();
+        if (holdIntervals > 0 && --holdIntervals == 0) {
+            // explore again as the workload may have changed
+            ceiling = max;
+        }
+        // Little's law: the number of busy threads is the task rate multiplied by the service time, where the task rate
+        // includes the tasks waiting in the queue so a burst of tasks is worked off within the next interval
+        double demand = Math.max(arrivalRate, throughput) + avgQueueLength / seconds;
+        int needed = (int) Math.ceil(demand * service / 1_000_000_000d / TARGET_UTILIZATION);
+
+        int target = core;
+        String reason = null;
+        if (lastChange > 0 && avgQueueLength >= 1
+                && throughput < throughputBeforeChange * (1 + MIN_THROUGHPUT_GAIN)) {
+            // the previous increase did not improve the throughput so undo it, and hold the pool at this size
+            target = core - lastChange;
+            ceiling = target;
+            holdIntervals = HOLD_INTERVALS;
+            reason = "no throughput gain from " + core + " threads";
+        } else if (avgQueueLength >= 1 && utilization >= TARGET_UTILIZATION) {
+            // grow towards the needed threads, but at most double the pool at a time
+            target = Math.max(core + 1, Math.min(needed, core * 2));
+            target = Math.min(target, ceiling);
+            reason = String.format("queue wait %dms, utilization %.0f%%", TimeUnit.NANOSECONDS.toMillis(queueWaitTime),
+                    utilization * 100);
+        } else if (avgQueueLength < 1 && utilization < LOW_UTILIZATION && core > minPoolSize) {
+            // shrink gradually towards the needed threads
+            target = Math.max(needed, core - Math.max(1, core / 4));
+            reason = String.format("utilization %.0f%%", utilization * 100);
+        }
+        target = Math.max(minPoolSize, Math.min(max, target));
+
+        lastChange = 0;
+        if (target != core) {
+            lastChange = target - core;
+            throughputBeforeChange = throughput;
+            setCorePoolSize(target);
+            resizeCounter.increment();
+            lastResizeReason = reason;
+            LOG.debug("Resized core pool size from {} to {} due to {}: {}", core, target, reason, this);
+            for (ResizeListener listener : listeners) {
+                try {
+                    listener.onResize(this, core, target, reason);
+                } catch (Exception e) {
+                    // must not fail the thread running the task
+                    LOG.warn("Error notifying resize listener: {}. This exception is ignored.", listener, e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "[adaptive: " + minPoolSize + "-" + getMaximumPoolSize() + "]";
+    }
+
+}
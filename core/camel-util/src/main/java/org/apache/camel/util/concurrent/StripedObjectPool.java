@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded object pool which spreads the objects over a number of thread-affine stripes.
+ * <p/>
+ * Each stripe holds a small magazine of objects, and a thread always uses the stripe selected from its thread id, so
+ * threads acquiring and releasing objects do not contend with each other as they would on a single shared queue. When a
+ * magazine becomes full it is moved as a whole onto a shared lock-free overflow stack, and an empty magazine is
+ * refilled from this stack, so objects released on one thread can be reused by another thread.
+ * <p/>
+ * The stripes are guarded by a spin lock which is only held for a few instructions. If the stripe of the calling thread
+ * is busy then the other stripes are tried, before waiting for its own stripe, which is counted as contention.
+ * <p/>
+ * The total number of pooled objects never exceeds the capacity.
+ */
+public final class StripedObjectPool<T> {
+
+    private static final int MAX_MAGAZINE_SIZE = 16;
+
+    private final int capacity;
+    private final int magazineSize;
+    private final int overflowCapacity;
+    private final Stripe[] stripes;
+    private final int mask;
+    private final AtomicReference<Node> overflow = new AtomicReference<>();
+    private final AtomicInteger overflowSize = new AtomicInteger();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder contention = new LongAdder();
+
+    /**
+     * Creates a new pool using a number of stripes based on the available processors.
+     *
+     * @param capacity the maximum number of pooled objects
+     */
+    public StripedObjectPool(int capacity) {
+        this(capacity, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new pool.
+     *
+     * @param capacity    the maximum number of pooled objects
+     * @param concurrency the expected number of concurrent threads, which is used for the number of stripes
+     */
+    public StripedObjectPool(int capacity, int concurrency) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive, was: " + capacity);
+        }
+        this.capacity = capacity;
+        // use a power of two number of stripes, with room for at least 2 objects per stripe
+        int count = Integer.highestOneBit(Math.max(1, Math.min(concurrency, capacity / 2)));
+        this.magazineSize = Math.max(1, Math.min(MAX_MAGAZINE_SIZE, capacity / (2 * count)));
+        this.overflowCapacity = capacity - count * magazineSize;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(magazineSize);
+        }
+        this.mask = count - 1;
+    }
+
+    /**
+     * Acquires an object from the pool.
+     *
+     * @return the object, or <tt>null</tt> if the pool has no free object
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        Stripe stripe = lock();
+        try {
+            if (stripe.count == 0) {
+                Node node = popOverflow();
+                if (node != null) {
+                    stripe.items = node.items;
+                    stripe.count = node.count;
+                }
+            }
+            if (stripe.count > 0) {
+                int index = --stripe.count;
+                Object answer = stripe.items[index];
+                stripe.items[index] = null;
+                return (T) answer;
+            }
+        } finally {
+            stripe.unlock();
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Releases the object back to the pool.
+     *
+     * @param  object the object
+     * @return        <tt>true</tt> if the object was added, <tt>false</tt> if the pool is full
+     */
+    public boolean offer(T object) {
+        Stripe stripe = lock();
+        try {
+            if (stripe.count == magazineSize) {
+                if (!reserveOverflow(magazineSize)) {
+                    return false;
+                }
+                pushOverflow(new Node(stripe.items, stripe.count));
+                stripe.items = new Object[magazineSize];
+                stripe.count = 0;
+            }
+            stripe.items[stripe.count++] = object;
+            return true;
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * The current number of pooled objects.
+     */
+    public int size() {
+        int answer = overflowSize.get();
+        for (Stripe stripe : stripes) {
+            answer += stripe.count;
+        }
+        return answer;
+    }
+
+    /**
+     * The capacity of the pool.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * The number of stripes.
+     */
+    public int getStripes() {
+        return stripes.length;
+    }
+
+    /**
+     * Number of times an object was requested but the pool had no free object.
+     */
+    public long getMissCounter() {
+        return misses.longValue();
+    }
+
+    /**
+     * Number of times a thread found its own stripe locked by another thread.
+     */
+    public long getContentionCounter() {
+        return contention.longValue();
+    }
+
+    /**
+     * Resets the miss and contention counters.
+     */
+    public void resetStatistics() {
+        misses.reset();
+        contention.reset();
+    }
+
+    /**
+     * Removes all the pooled objects.
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            while (!stripe.tryLock()) {
+                Thread.onSpinWait();
+            }
+            try {
+                for (int i = 0; i < stripe.count; i++) {
+                    stripe.items[i] = null;
+                }
+                stripe.count = 0;
+            } finally {
+                stripe.unlock();
+            }
+        }
+        Node node = overflow.getAndSet(null);
+        while (node != null) {
+            overflowSize.addAndGet(-node.count);
+            node = node.next;
+        }
+    }
+
+    private Stripe lock() {
+        @SuppressWarnings("deprecation")
+        long id = Thread.currentThread().getId();
+        // spread the thread ids which are often sequential
+        int index = (int) (id * 0x9E3779B97F4A7C15L >>> 32) & mask;
+        Stripe stripe = stripes[index];
+        if (stripe.tryLock()) {
+            return stripe;
+        }
+        contention.increment();
+        for (int i = 1; i < stripes.length; i++) {
+            Stripe other = stripes[(index + i) & mask];
+            if (other.tryLock()) {
+                return other;
+            }
+        }
+        // all stripes are busy, but they are only locked for a few instructions, so wait for our own stripe
+        while (!stripe.tryLock()) {
+            Thread.yield();
+        }
+        return stripe;
+    }
+
+    private boolean reserveOverflow(int count) {
+        for (;;) {
+            int size = overflowSize.get();
+            if (size + count > overflowCapacity) {
+                return false;
+            }
+            if (overflowSize.compareAndSet(size, size + count)) {
+                return true;
+            }
+        }
+    }
+
+    private void pushOverflow(Node node) {
+        // a new node is used for every push, which avoids the ABA problem of the lock-free stack
+        Node head;
+        do {
+            head = overflow.get();
+            node.next = head;
+        } while (!overflow.compareAndSet(head, node));
+    }
+
+    private Node popOverflow() {
+        Node head;
+        do {
+            head = overflow.get();
+            if (head == null) {
+                return null;
+            }
+        } while (!overflow.compareAndSet(head, head.next));
+        overflowSize.addAndGet(-head.count);
+        return head;
+    }
+
+    private static final class Stripe extends AtomicBoolean {
+
+        Object[] items;
+        int count;
+
+        Stripe(int size) {
+            this.items = new Object[size];
+        }
+
+        boolean tryLock() {
+            return !get() && compareAndSet(false, true);
+        }
+
+        void unlock() {
+            set(false);
+        }
+    }
+
+    private static final class Node {
+
+        final Object[] items;
+        final int count;
+        Node next;
+
+        Node(Object[] items, int count) {
+            this.items = items;
+            this.count = count;
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ByteBufferInputStreamTest {
+
+    @Test
+    public void testRead() {
+        ByteBuffer buffer = ByteBuffer.wrap("Hello World".getBytes(StandardCharsets.US_ASCII));
+        buffer.position(6);
+
+        ByteBufferInputStream is = new ByteBufferInputStream(buffer);
+        assertEquals(5, is.available());
+        assertEquals('W', is.read());
+
+        byte[] data = new byte[10];
+        assertEquals(4, is.read(data, 0, 10));
+        assertEquals("orld", new String(data, 0, 4, StandardCharsets.US_ASCII));
+        assertEquals(-1, is.read());
+        assertEquals(-1, is.read(data, 0, 10));
+
+        // the given buffer is not changed
+        assertEquals(6, buffer.position());
+    }
+
+    @Test
+    public void testMarkReset() {
+        ByteBufferInputStream is = new ByteBufferInputStream(ByteBuffer.wrap(new byte[] { 1, 2, 3, 4 }));
+        assertTrue(is.markSupported());
+        assertEquals(1, is.skip(1));
+        is.mark(0);
+        assertEquals(2, is.read());
+        assertEquals(3, is.read());
+        is.reset();
+        assertArrayEquals(new byte[] { 2, 3, 4 }, is.readAllBytes());
+        assertEquals(0, is.available());
+    }
+
+    @Test
+    public void testDirectBuffer() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(100000);
+        for (int i = 0; i < buffer.capacity(); i++) {
+            buffer.put((byte) i);
+        }
+        buffer.flip();
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        assertEquals(100000, new ByteBufferInputStream(buffer).transferTo(bos));
+        byte[] data = bos.toByteArray();
+        assertEquals(100000, data.length);
+        assertEquals((byte) 99999, data[99999]);
+
+        ByteBufferInputStream is = new ByteBufferInputStream(buffer);
+        is.skip(99990);
+        assertEquals(10, is.getBuffer().remaining());
+        assertTrue(is.getBuffer().isReadOnly());
+    }
+}
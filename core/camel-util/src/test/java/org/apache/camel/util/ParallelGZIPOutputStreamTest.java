@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelGZIPOutputStreamTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        for (int size : new int[] { 0, 1, 32 * 1024, 100000, 1000000 }) {
+            byte[] data = data(size);
+            byte[] compressed = compress(data, 32 * 1024);
+            assertArrayEquals(data, uncompress(compressed), "Size " + size);
+        }
+    }
+
+    @Test
+    public void testSingleByteWrites() throws Exception {
+        byte[] data = data(70000);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ParallelGZIPOutputStream gzip
+                = new ParallelGZIPOutputStream(bos, executor, 32 * 1024, 2, Deflater.DEFAULT_COMPRESSION)) {
+            for (byte b : data) {
+                gzip.write(b);
+            }
+        }
+        assertArrayEquals(data, uncompress(bos.toByteArray()));
+    }
+
+    @Test
+    public void testCompressionRatio() throws Exception {
+        byte[] data = data(2000000);
+        byte[] compressed = compress(data, ParallelGZIPOutputStream.DEFAULT_BLOCK_SIZE);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bos)) {
+            gzip.write(data);
+        }
+        // the dictionary of the previous block keeps the ratio close to compressing on a single thread
+        assertTrue(compressed.length < bos.size() * 1.05, compressed.length + " vs " + bos.size());
+    }
+
+    @Test
+    public void testFinished() throws Exception {
+        ParallelGZIPOutputStream gzip = new ParallelGZIPOutputStream(new ByteArrayOutputStream(), executor);
+        gzip.finish();
+        assertThrows(IOException.class, () -> gzip.write(1));
+    }
+
+    private byte[] compress(byte[] data, int blockSize) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ParallelGZIPOutputStream gzip
+                = new ParallelGZIPOutputStream(bos, executor, blockSize, 4, Deflater.DEFAULT_COMPRESSION)) {
+            gzip.write(data);
+        }
+        return bos.toByteArray();
+    }
+
+    private static byte[] uncompress(byte[] data) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return gzip.readAllBytes();
+        }
+    }
+
+    private static byte[] data(int size) {
+        // compressible text with some randomness
+        Random random = new Random(size);
+        StringBuilder sb = new StringBuilder(size + 32);
+        while (sb.length() < size) {
+            sb.append("line ").append(random.nextInt(1000)).append(" of the test data\n");
+        }
+        return sb.substring(0, size).getBytes();
+    }
+}
@@ -34,6 +34,7 @@ import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -90,6 +91,26 @@ public class URISupportTest {
         assertNotSame(out1, out2);
     }
 
+    @Test
+    public void testNormalizeEndpointUriAlreadyNormalized() throws Exception {
+        String uri = "seda://foo?concurrentConsumers=2&size=100&timeout=5000";
+        assertSame(uri, URISupport.normalizeUri(uri));
+
+        uri = "seda://foo?a=1&a=2&b=3";
+        assertSame(uri, URISupport.normalizeUri(uri));
+
+        uri = "seda://foo?size=100&concurrentConsumers=2";
+        assertEquals("seda://foo?concurrentConsumers=2&size=100", URISupport.normalizeUri(uri));
+
+        uri = "seda://foo?sizeA=1&size=2";
+        assertEquals("seda://foo?size=2&sizeA=1", URISupport.normalizeUri(uri));
+
+        uri = "seda:foo?concurrentConsumers=2&size=100";
+        assertEquals("seda://foo?concurrentConsumers=2&size=100", URISupport.normalizeUri(uri));
+
+        assertThrows(URISyntaxException.class, () -> URISupport.normalizeUri("seda://foo?a=1&b=2&"));
+    }
+
     @Test
     public void testNormalizeEndpointUriWithFragments() throws Exception {
         String out1 = URISupport.normalizeUri("irc://someserver/#camel?user=davsclaus");
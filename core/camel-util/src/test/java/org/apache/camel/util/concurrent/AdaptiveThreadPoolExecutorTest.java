@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveThreadPoolExecutorTest {
+
+    @Test
+    public void testGrowAndShrink() throws Exception {
+        AdaptiveThreadPoolExecutor executor
+                = new AdaptiveThreadPoolExecutor(1, 8, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(1000), 50);
+        List<int[]> resizes = new CopyOnWriteArrayList<>();
+        executor.addResizeListener((e, oldSize, newSize, reason) -> resizes.add(new int[] { oldSize, newSize }));
+
+        try {
+            // tasks which wait (such as on IO) so more threads improve the throughput
+            CountDownLatch latch = new CountDownLatch(200);
+            for (int i = 0; i < 200; i++) {
+                executor.execute(() -> {
+                    sleep(10);
+                    latch.countDown();
+                });
+            }
+            assertTrue(latch.await(20, TimeUnit.SECONDS));
+            int grown = executor.getCorePoolSize();
+            assertTrue(grown > 1, "Should have grown, was: " + grown);
+            assertTrue(executor.getResizeCounter() > 0);
+            assertEquals(executor.getResizeCounter(), resizes.size());
+            assertTrue(resizes.get(0)[1] > resizes.get(0)[0]);
+
+            // a few short tasks keeps the threads mostly idle
+            for (int i = 0; i < 40 && executor.getCorePoolSize() > 1; i++) {
+                executor.execute(() -> {
+                });
+                sleep(20);
+            }
+            assertEquals(1, executor.getCorePoolSize());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testShrinkWhenIdle() throws Exception {
+        AdaptiveThreadPoolExecutor executor
+                = new AdaptiveThreadPoolExecutor(1, 8, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(1000), 20);
+        try {
+            // a pool which has grown, such as after a burst of tasks
+            executor.setCorePoolSize(4);
+            executor.prestartAllCoreThreads();
+            assertEquals(4, executor.getPoolSize());
+
+            // no tasks are running, so the load must be evaluated from outside
+            for (int i = 0; i < 100 && executor.getCorePoolSize() > 1; i++) {
+                sleep(20);
+                executor.evaluateLoad();
+            }
+            assertEquals(1, executor.getCorePoolSize());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBounds() throws Exception {
+        AdaptiveThreadPoolExecutor executor
+                = new AdaptiveThreadPoolExecutor(2, 3, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(1000), 20);
+        try {
+            CountDownLatch latch = new CountDownLatch(100);
+            for (int i = 0; i < 100; i++) {
+                executor.execute(() -> {
+                    sleep(5);
+                    latch.countDown();
+                });
+            }
+            assertTrue(latch.await(20, TimeUnit.SECONDS));
+            assertTrue(executor.getCorePoolSize() >= 2);
+            assertTrue(executor.getCorePoolSize() <= 3);
+            assertTrue(executor.getLargestPoolSize() <= 3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StripedObjectPoolTest {
+
+    @Test
+    public void testCapacity() {
+        StripedObjectPool<Object> pool = new StripedObjectPool<>(100, 4);
+
+        int added = 0;
+        for (int i = 0; i < 200; i++) {
+            if (pool.offer(new Object())) {
+                added++;
+            }
+        }
+        // a single thread can fill its own stripe and the overflow stack
+        assertTrue(added <= 100);
+        assertEquals(added, pool.size());
+
+        Set<Object> objects = new HashSet<>();
+        Object o;
+        while ((o = pool.poll()) != null) {
+            objects.add(o);
+        }
+        assertEquals(added, objects.size());
+        assertEquals(0, pool.size());
+        assertEquals(1, pool.getMissCounter());
+    }
+
+    @Test
+    public void testSmallCapacity() {
+        StripedObjectPool<Object> pool = new StripedObjectPool<>(1, 8);
+        assertEquals(1, pool.getStripes());
+
+        assertTrue(pool.offer("a"));
+        assertFalse(pool.offer("b"));
+        assertEquals("a", pool.poll());
+        assertNull(pool.poll());
+    }
+
+    @Test
+    public void testClear() {
+        StripedObjectPool<Object> pool = new StripedObjectPool<>(50, 2);
+        for (int i = 0; i < 50; i++) {
+            pool.offer(new Object());
+        }
+        assertTrue(pool.size() > 0);
+
+        pool.clear();
+        assertEquals(0, pool.size());
+        assertNull(pool.poll());
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        StripedObjectPool<Object> pool = new StripedObjectPool<>(64, 4);
+        AtomicInteger outstanding = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch latch = new CountDownLatch(8);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    Object o = pool.poll();
+                    if (o == null) {
+                        o = new Object();
+                        outstanding.incrementAndGet();
+                    }
+                    if (!pool.offer(o)) {
+                        outstanding.decrementAndGet();
+                    }
+                }
+                latch.countDown();
+            });
+        }
+        assertTrue(latch.await(20, TimeUnit.SECONDS));
+        executor.shutdownNow();
+
+        // no object is lost or pooled twice
+        assertEquals(outstanding.get(), pool.size());
+        assertTrue(pool.size() <= 64);
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dsl.yaml;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.snakeyaml.engine.v2.common.Anchor;
+import org.snakeyaml.engine.v2.common.FlowStyle;
+import org.snakeyaml.engine.v2.common.ScalarStyle;
+import org.snakeyaml.engine.v2.exceptions.Mark;
+import org.snakeyaml.engine.v2.nodes.MappingNode;
+import org.snakeyaml.engine.v2.nodes.Node;
+import org.snakeyaml.engine.v2.nodes.NodeTuple;
+import org.snakeyaml.engine.v2.nodes.ScalarNode;
+import org.snakeyaml.engine.v2.nodes.SequenceNode;
+import org.snakeyaml.engine.v2.nodes.Tag;
+
+/**
+ * Compact binary encoding of a composed YAML {@link Node} tree.
+ * <p/>
+ * The encoding keeps everything the YAML DSL deserializers rely on: node types, tags, scalar values and styles, flow
+ * styles, anchors, merge tags and the line and column of the start marks used for source line numbers and error
+ * reporting. Strings are written once and then referenced by index, and nodes shared through aliases are written once
+ * and referenced by id, so the decoded tree has the same shape as the one produced by the composer. The decoded tree
+ * has no end marks and its start marks do not carry the source snippet.
+ */
+final class YamlNodeCodec {
+
+    private static final int MAGIC = 0x43594e43;
+    private static final int VERSION = 1;
+
+    private static final int REF = 0;
+    private static final int SCALAR = 1;
+    private static final int SEQUENCE = 2;
+    private static final int MAPPING = 3;
+
+    private static final int FLAG_START_MARK = 1;
+    private static final int FLAG_ANCHOR = 1 << 1;
+    private static final int FLAG_RECURSIVE = 1 << 2;
+    private static final int FLAG_MERGE_TAG = 1 << 3;
+
+    private static final int[] NO_BUFFER = new int[0];
+
+    private YamlNodeCodec() {
+    }
+
+    /**
+     * Encodes the node tree.
+     */
+    static byte[] encode(Node root) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(4096);
+        DataOutputStream out = new DataOutputStream(bos);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        new Encoder(out).writeNode(root);
+        out.flush();
+        return bos.toByteArray();
+    }
+
+    /**
+     * Decodes a node tree previously encoded with {@link #encode(Node)}.
+     *
+     * @param  data        the encoded tree
+     * @param  label       the name of the source (the resource location) used in the marks
+     * @return             the node tree
+     * @throws IOException if the data is not a valid encoded tree
+     */
+    static Node decode(byte[] data, String label) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+            throw new IOException("Unsupported encoded YAML node tree");
+        }
+        return new Decoder(in, label).readNode();
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed encoded YAML node tree");
+    }
+
+    private static final class Encoder {
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final Map<Node, Integer> nodes = new IdentityHashMap<>();
+
+        Encoder(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeNode(Node node) throws IOException {
+            Integer id = nodes.get(node);
+            if (id != null) {
+                // alias to a node already written
+                out.writeByte(REF);
+                writeVarInt(out, id);
+                return;
+            }
+            nodes.put(node, nodes.size());
+
+            int flags = 0;
+            if (node.getStartMark().isPresent()) {
+                flags |= FLAG_START_MARK;
+            }
+            if (node.getAnchor().isPresent()) {
+                flags |= FLAG_ANCHOR;
+            }
+            if (node.isRecursive()) {
+                flags |= FLAG_RECURSIVE;
+            }
+            if (node instanceof MappingNode mn && mn.hasMergeTag()) {
+                flags |= FLAG_MERGE_TAG;
+            }
+
+            if (node instanceof ScalarNode sn) {
+                out.writeByte(SCALAR);
+                writeHeader(node, flags);
+                writeString(sn.getScalarStyle().name());
+                writeString(sn.getValue());
+            } else if (node instanceof SequenceNode sn) {
+                out.writeByte(SEQUENCE);
+                writeHeader(node, flags);
+                writeString(sn.getFlowStyle().name());
+                List<Node> values = sn.getValue();
+                writeVarInt(out, values.size());
+                for (Node value : values) {
+                    writeNode(value);
+                }
+            } else if (node instanceof MappingNode mn) {
+                out.writeByte(MAPPING);
+                writeHeader(node, flags);
+                writeString(mn.getFlowStyle().name());
+                List<NodeTuple> values = mn.getValue();
+                writeVarInt(out, values.size());
+                for (NodeTuple tuple : values) {
+                    writeNode(tuple.getKeyNode());
+                    writeNode(tuple.getValueNode());
+                }
+            } else {
+                throw new IOException("Unsupported node type: " + node.getNodeType());
+            }
+        }
+
+        private void writeHeader(Node node, int flags) throws IOException {
+            out.writeByte(flags);
+            writeString(node.getTag().getValue());
+            if ((flags & FLAG_ANCHOR) != 0) {
+                writeString(node.getAnchor().get().getValue());
+            }
+            if ((flags & FLAG_START_MARK) != 0) {
+                writeMark(node.getStartMark().get());
+            }
+        }
+
+        private void writeMark(Mark mark) throws IOException {
+            writeVarInt(out, mark.getLine());
+            writeVarInt(out, mark.getColumn());
+        }
+
+        private void writeString(String value) throws IOException {
+            Integer index = strings.get(value);
+            if (index != null) {
+                writeVarInt(out, index + 1);
+            } else {
+                // 0 means a new string which gets the next index
+                strings.put(value, strings.size());
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(out, 0);
+                writeVarInt(out, bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static final class Decoder {
+        private final DataInputStream in;
+        private final String label;
+        private final List<String> strings = new ArrayList<>();
+        private final List<Node> nodes = new ArrayList<>();
+        private final Map<String, Tag> tags = new HashMap<>();
+
+        Decoder(DataInputStream in, String label) {
+            this.in = in;
+            this.label = label;
+        }
+
+        Node readNode() throws IOException {
+            int kind = in.readUnsignedByte();
+            if (kind == REF) {
+                int id = readVarInt(in);
+                if (id >= nodes.size()) {
+                    throw new IOException("Malformed encoded YAML node tree");
+                }
+                return nodes.get(id);
+            }
+
+            int flags = in.readUnsignedByte();
+            Tag tag = tags.computeIfAbsent(readString(), Tag::new);
+            Optional<Anchor> anchor = (flags & FLAG_ANCHOR) != 0 ? Optional.of(new Anchor(readString())) : Optional.empty();
+            Optional<Mark> start = (flags & FLAG_START_MARK) != 0 ? Optional.of(readMark()) : Optional.empty();
+
+            Node node;
+            if (kind == SCALAR) {
+                ScalarStyle style = ScalarStyle.valueOf(readString());
+                node = new ScalarNode(tag, true, readString(), style, start, Optional.empty());
+                nodes.add(node);
+            } else if (kind == SEQUENCE) {
+                FlowStyle style = FlowStyle.valueOf(readString());
+                int size = readVarInt(in);
+                List<Node> values = new ArrayList<>(size);
+                // register the node before its children as they may refer to it
+                node = new SequenceNode(tag, true, values, style, start, Optional.empty());
+                nodes.add(node);
+                for (int i = 0; i < size; i++) {
+                    values.add(readNode());
+                }
+            } else if (kind == MAPPING) {
+                FlowStyle style = FlowStyle.valueOf(readString());
+                int size = readVarInt(in);
+                List<NodeTuple> values = new ArrayList<>(size);
+                MappingNode mn = new MappingNode(tag, true, values, style, start, Optional.empty());
+                mn.setHasMergeTag((flags & FLAG_MERGE_TAG) != 0);
+                node = mn;
+                nodes.add(node);
+                for (int i = 0; i < size; i++) {
+                    Node key = readNode();
+                    Node value = readNode();
+                    values.add(new NodeTuple(key, value));
+                }
+            } else {
+                throw new IOException("Malformed encoded YAML node tree");
+            }
+
+            if (anchor.isPresent()) {
+                node.setAnchor(anchor);
+            }
+            node.setRecursive((flags & FLAG_RECURSIVE) != 0);
+            return node;
+        }
+
+        private Mark readMark() throws IOException {
+            int line = readVarInt(in);
+            int column = readVarInt(in);
+            return new Mark(label, 0, line, column, NO_BUFFER, 0);
+        }
+
+        private String readString() throws IOException {
+            int index = readVarInt(in);
+            if (index == 0) {
+                byte[] bytes = new byte[readVarInt(in)];
+                in.readFully(bytes);
+                String value = new String(bytes, StandardCharsets.UTF_8);
+                strings.add(value);
+                return value;
+            }
+            if (index > strings.size()) {
+                throw new IOException("Malformed encoded YAML node tree");
+            }
+            return strings.get(index - 1);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dsl.yaml;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.dsl.support.RouteBuilderLoaderSupport;
+import org.apache.camel.dsl.yaml.common.YamlDeserializationContext;
+import org.apache.camel.dsl.yaml.common.exception.YamlDeserializationException;
+import org.apache.camel.dsl.yaml.deserializers.BeansDeserializer;
+import org.apache.camel.dsl.yaml.deserializers.CustomResolver;
+import org.apache.camel.dsl.yaml.deserializers.ModelDeserializersResolver;
+import org.apache.camel.spi.Resource;
+import org.snakeyaml.engine.v2.api.LoadSettings;
+import org.snakeyaml.engine.v2.api.YamlUnicodeReader;
+import org.snakeyaml.engine.v2.composer.Composer;
+import org.snakeyaml.engine.v2.nodes.Node;
+import org.snakeyaml.engine.v2.nodes.NodeTuple;
+import org.snakeyaml.engine.v2.nodes.NodeType;
+import org.snakeyaml.engine.v2.parser.Parser;
+import org.snakeyaml.engine.v2.parser.ParserImpl;
+import org.snakeyaml.engine.v2.scanner.StreamReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.camel.dsl.yaml.common.YamlDeserializerSupport.asText;
+
+public abstract class YamlRoutesBuilderLoaderSupport extends RouteBuilderLoaderSupport {
+
+    /**
+     * Global option to enable the routes cache (configured from camel.main.yamlRoutesCacheEnabled)
+     */
+    public static final String CACHE_ENABLED = "CamelYamlRoutesCacheEnabled";
+    /**
+     * Global option for the directory of the routes cache (configured from camel.main.yamlRoutesCacheDir)
+     */
+    public static final String CACHE_DIR = "CamelYamlRoutesCacheDir";
+    /**
+     * Global option for the size of the routes cache (configured from camel.main.yamlRoutesCacheSize)
+     */
+    public static final String CACHE_SIZE = "CamelYamlRoutesCacheSize";
+
+    private static final Logger LOG = LoggerFactory.getLogger(YamlRoutesBuilderLoaderSupport.class);
+
+    // need to use shared bean deserializer
+    final BeansDeserializer beansDeserializer = new BeansDeserializer();
+
+    private boolean cacheEnabled;
+    private String cacheDir;
+    private int cacheSize = 1000;
+    private volatile YamlRoutesCache cache;
+
+    public YamlRoutesBuilderLoaderSupport(String extension) {
+        super(extension);
+    }
+
+    protected YamlDeserializationContext newYamlDeserializationContext(LoadSettings settings, Resource resource) {
+        YamlDeserializationContext ctx = new YamlDeserializationContext(settings);
+
+        ctx.setResource(resource);
+        ctx.setCamelContext(getCamelContext());
+        ctx.addResolvers(new CustomResolver(beansDeserializer));
+        ctx.addResolvers(new ModelDeserializersResolver());
+        return ctx;
+    }
+
+    @Override
+    public RouteBuilder doLoadRouteBuilder(Resource resource) throws Exception {
+        if (!resource.exists()) {
+            throw new FileNotFoundException("Resource not found: " + resource.getLocation());
+        }
+
+        // need a local settings because we want the label to be the resource we parse so the parser
+        // can show parsing errors referring to actual resource file being parsed.
+        LoadSettings local = LoadSettings.builder().setLabel(resource.getLocation()).build();
+        final YamlDeserializationContext ctx = newYamlDeserializationContext(local, resource);
+
+        return parseNode(local, resource)
+                .map(node -> builder(ctx, node))
+                .orElseThrow(() -> new YamlDeserializationException("Unable to parse resource: " + resource.getLocation()));
+    }
+
+    /**
+     * Parses the resource into a YAML node tree, using the routes cache when enabled so a resource which content has
+     * already been parsed does not have to be parsed again.
+     *
+     * @param  settings the load settings
+     * @param  resource the resource to parse
+     * @return          the root node, or empty if the resource has no document
+     */
+    protected Optional<Node> parseNode(LoadSettings settings, Resource resource) throws Exception {
+        YamlRoutesCache routesCache = getOrCreateCache();
+        if (routesCache == null) {
+            try (InputStream is = resourceInputStream(resource)) {
+                return compose(settings, is);
+            }
+        }
+
+        byte[] content;
+        try (InputStream is = resourceInputStream(resource)) {
+            content = is.readAllBytes();
+        }
+        String key = YamlRoutesCache.key(content);
+        Node node = routesCache.get(key, resource.getLocation());
+        if (node != null) {
+            return Optional.of(node);
+        }
+
+        Optional<Node> answer = compose(settings, new ByteArrayInputStream(content));
+        if (answer.isPresent()) {
+            routesCache.put(key, answer.get());
+        }
+        return answer;
+    }
+
+    private static Optional<Node> compose(LoadSettings settings, InputStream is) {
+        final StreamReader reader = new StreamReader(settings, new YamlUnicodeReader(is));
+        final Parser parser = new ParserImpl(settings, reader);
+        final Composer composer = new Composer(settings, parser);
+        return composer.getSingleNode();
+    }
+
+    private YamlRoutesCache getOrCreateCache() {
+        if (!cacheEnabled) {
+            return null;
+        }
+        YamlRoutesCache answer = cache;
+        if (answer == null) {
+            synchronized (this) {
+                answer = cache;
+                if (answer == null) {
+                    Path dir = cacheDir != null ? Paths.get(cacheDir) : null;
+                    answer = new YamlRoutesCache(dir, cacheSize);
+                    cache = answer;
+                }
+            }
+        }
+        return answer;
+    }
+
+    @ManagedAttribute(description = "Whether parsed YAML routes are cached")
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    /**
+     * Whether to cache the parsed YAML routes keyed by the hash of their content, so loading the same routes again
+     * (such as when reloading routes, or on the next start when a cache directory is configured) skips parsing.
+     */
+    public void setCacheEnabled(boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+    }
+
+    @ManagedAttribute(description = "Directory where parsed YAML routes are cached")
+    public String getCacheDir() {
+        return cacheDir;
+    }
+
+    /**
+     * Directory where the parsed YAML routes are stored in binary form so they are reused across restarts. If not set
+     * the routes are only cached in memory.
+     */
+    public void setCacheDir(String cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    @ManagedAttribute(description = "Maximum number of parsed YAML routes cached in memory")
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Maximum number of parsed YAML routes cached in memory (default 1000).
+     */
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    @ManagedAttribute(description = "Number of YAML routes loaded from the cache")
+    public long getCacheHits() {
+        YamlRoutesCache answer = cache;
+        return answer != null ? answer.getHits() : 0;
+    }
+
+    @ManagedAttribute(description = "Number of YAML routes that had to be parsed")
+    public long getCacheMisses() {
+        YamlRoutesCache answer = cache;
+        return answer != null ? answer.getMisses() : 0;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+
+        if (getCamelContext() != null) {
+            // the global options (such as set by camel-main) take precedence
+            Map<String, String> options = getCamelContext().getGlobalOptions();
+            String value = options.get(CACHE_ENABLED);
+            if (value != null) {
+                cacheEnabled = Boolean.parseBoolean(value);
+            }
+            value = options.get(CACHE_DIR);
+            if (value != null) {
+                cacheDir = value;
+            }
+            value = options.get(CACHE_SIZE);
+            if (value != null) {
+                cacheSize = Integer.parseInt(value);
+            }
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        YamlRoutesCache answer = cache;
+        if (answer != null) {
+            LOG.debug("YAML routes cache hits: {} misses: {}", answer.getHits(), answer.getMisses());
+            answer.clear();
+        }
+    }
+
+    protected abstract RouteBuilder builder(YamlDeserializationContext ctx, Node node);
+
+    protected boolean anyTupleMatches(List<NodeTuple> list, String aKey, String aValue) {
+        return anyTupleMatches(list, aKey, Predicate.isEqual(aValue));
+    }
+
+    protected boolean anyTupleMatches(List<NodeTuple> list, String aKey, Predicate<String> predicate) {
+        for (NodeTuple tuple : list) {
+            final String key = asText(tuple.getKeyNode());
+            final Node val = tuple.getValueNode();
+            if (Objects.equals(aKey, key) && NodeType.SCALAR.equals(val.getNodeType())) {
+                String value = asText(tuple.getValueNode());
+                if (predicate.test(value)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    protected String extractTupleValue(List<NodeTuple> list, String aKey) {
+        for (NodeTuple tuple : list) {
+            final String key = asText(tuple.getKeyNode());
+            final Node val = tuple.getValueNode();
+            if (Objects.equals(aKey, key) && NodeType.SCALAR.equals(val.getNodeType())) {
+                return asText(tuple.getValueNode());
+            }
+        }
+        return null;
+    }
+
+}
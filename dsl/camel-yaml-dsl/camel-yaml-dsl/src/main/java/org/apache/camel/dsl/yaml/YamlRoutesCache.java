@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dsl.yaml;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.support.LRUCacheFactory;
+import org.snakeyaml.engine.v2.nodes.Node;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of parsed YAML routes keyed by the hash of the resource content.
+ * <p/>
+ * The composed node tree is kept in its binary encoding (see {@link YamlNodeCodec}) in memory and, when a directory is
+ * configured, on disk so it survives restarts. A fresh tree is decoded on every lookup because the deserializers
+ * attach state to the nodes. Any problem reading or writing the cache is logged and treated as a cache miss.
+ */
+final class YamlRoutesCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(YamlRoutesCache.class);
+
+    private static final String FILE_EXTENSION = ".yamlbin";
+
+    private final Path directory;
+    private final Map<String, byte[]> memory;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    YamlRoutesCache(Path directory, int maxSize) {
+        this.directory = directory;
+        this.memory = LRUCacheFactory.newLRUCache(16, maxSize);
+    }
+
+    /**
+     * Computes the cache key of the given resource content.
+     */
+    static String key(byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Gets the node tree for the given key.
+     *
+     * @param  key   the hash of the resource content
+     * @param  label the resource location used in the marks of the nodes
+     * @return       the node tree, or <tt>null</tt> if not cached
+     */
+    Node get(String key, String label) {
+        byte[] data = memory.get(key);
+        if (data == null && directory != null) {
+            Path file = directory.resolve(key + FILE_EXTENSION);
+            if (Files.exists(file)) {
+                try {
+                    data = Files.readAllBytes(file);
+                    memory.put(key, data);
+                } catch (IOException e) {
+                    LOG.debug("Error reading cached YAML routes from file: {}. This exception is ignored.", file, e);
+                }
+            }
+        }
+        if (data != null) {
+            try {
+                Node node = YamlNodeCodec.decode(data, label);
+                hits.increment();
+                LOG.trace("Using cached YAML routes for: {}", label);
+                return node;
+            } catch (IOException e) {
+                LOG.debug("Error decoding cached YAML routes for: {}. This exception is ignored.", label, e);
+                memory.remove(key);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Stores the node tree parsed from the resource content with the given key.
+     */
+    void put(String key, Node node) {
+        byte[] data;
+        try {
+            data = YamlNodeCodec.encode(node);
+        } catch (IOException e) {
+            LOG.debug("Error encoding YAML routes. This exception is ignored.", e);
+            return;
+        }
+        memory.put(key, data);
+
+        if (directory != null) {
+            Path file = directory.resolve(key + FILE_EXTENSION);
+            try {
+                Files.createDirectories(directory);
+                // write to a temporary file and then move so readers never see a partial file
+                Path tmp = Files.createTempFile(directory, key, ".tmp");
+                try {
+                    Files.write(tmp, data);
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(tmp);
+                }
+            } catch (IOException e) {
+                LOG.warn("Error writing cached YAML routes to file: {} due to: {}. This exception is ignored.", file,
+                        e.getMessage());
+            }
+        }
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    int size() {
+        return memory.size();
+    }
+
+    void clear() {
+        memory.clear();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dsl.yaml
+
+
+import org.apache.camel.component.mock.MockEndpoint
+import org.apache.camel.dsl.yaml.support.MockRestConsumerFactory
+import org.apache.camel.main.Main
+import org.apache.camel.support.PluginHelper
+import spock.lang.Specification
+
+class MainTest extends Specification {
+
+    def 'load routes with main'() {
+        given:
+            def main = new Main()
+            main.bind("restConsumerFactory", new MockRestConsumerFactory())
+            main.configure().withRoutesIncludePattern('routes/ro*.yaml')
+        when:
+            main.start()
+            main.camelContext.getEndpoint("mock:result", MockEndpoint.class).expectedBodiesReceived("Hello World")
+            main.camelTemplate.sendBody("direct:start", "Hello World")
+        then:
+            main.camelContext.getEndpoint("mock:result", MockEndpoint.class).assertIsSatisfied()
+    }
+
+    def 'load routes with main and the routes cache'() {
+        given:
+            def main = new Main()
+            main.bind("restConsumerFactory", new MockRestConsumerFactory())
+            main.configure()
+                .withRoutesIncludePattern('routes/ro*.yaml')
+                .withYamlRoutesCacheEnabled(true)
+                .withYamlRoutesCacheSize(10)
+        when:
+            main.start()
+            def loader = PluginHelper.getRoutesLoader(main.camelContext).getRoutesLoader('yaml')
+        then:
+            with(loader as YamlRoutesBuilderLoaderSupport) {
+                cacheEnabled
+                cacheDir == null
+                cacheSize == 10
+                // the routes are parsed once when pre-parsed, and taken from the cache when loaded
+                cacheMisses == 1
+                cacheHits > 0
+            }
+        cleanup:
+            main.stop()
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.dsl.yaml
+
+import org.snakeyaml.engine.v2.api.LoadSettings
+import org.snakeyaml.engine.v2.common.FlowStyle
+import org.snakeyaml.engine.v2.common.ScalarStyle
+import org.snakeyaml.engine.v2.composer.Composer
+import org.snakeyaml.engine.v2.nodes.MappingNode
+import org.snakeyaml.engine.v2.nodes.Node
+import org.snakeyaml.engine.v2.nodes.ScalarNode
+import org.snakeyaml.engine.v2.nodes.SequenceNode
+import org.snakeyaml.engine.v2.nodes.Tag
+import org.snakeyaml.engine.v2.parser.ParserImpl
+import org.snakeyaml.engine.v2.scanner.StreamReader
+import spock.lang.Specification
+
+class YamlNodeCodecTest extends Specification {
+
+    static Node compose(String text) {
+        def settings = LoadSettings.builder().setLabel('routes.yaml').build()
+        return new Composer(settings, new ParserImpl(settings, new StreamReader(settings, text))).singleNode.get()
+    }
+
+    static Node roundTrip(Node node) {
+        return YamlNodeCodec.decode(YamlNodeCodec.encode(node), 'cached.yaml')
+    }
+
+    static void assertSameTree(Node expected, Node actual) {
+        assert actual.class == expected.class
+        assert actual.tag == expected.tag
+        assert actual.anchor.map { it.value } == expected.anchor.map { it.value }
+        assert actual.startMark.get().line == expected.startMark.get().line
+        assert actual.startMark.get().column == expected.startMark.get().column
+        if (expected instanceof ScalarNode) {
+            assert actual.value == expected.value
+            assert actual.scalarStyle == expected.scalarStyle
+        } else if (expected instanceof SequenceNode) {
+            assert actual.flowStyle == expected.flowStyle
+            assert actual.value.size() == expected.value.size()
+            expected.value.eachWithIndex { Node value, int i -> assertSameTree(value, actual.value[i]) }
+        } else {
+            assert actual.flowStyle == expected.flowStyle
+            assert actual.hasMergeTag() == expected.hasMergeTag()
+            assert actual.value.size() == expected.value.size()
+            expected.value.eachWithIndex { tuple, int i ->
+                assertSameTree(tuple.keyNode, actual.value[i].keyNode)
+                assertSameTree(tuple.valueNode, actual.value[i].valueNode)
+            }
+        }
+    }
+
+    def "round trip keeps the node tree"() {
+        given:
+            def node = compose '''
+                - route:
+                    id: "my-route"
+                    from:
+                      uri: 'direct:start'
+                      parameters: { timeout: 1000, tags: [ a, b ] }
+                      steps:
+                        - setBody:
+                            constant: !!str 123
+                        - log: |
+                            Hello
+                            World
+                        - log: >
+                            folded
+                            text
+                        - to: direct:result
+            '''
+        when:
+            def decoded = roundTrip(node)
+        then:
+            assertSameTree(node, decoded)
+
+            with(decoded as SequenceNode) {
+                flowStyle == FlowStyle.BLOCK
+                with(value[0].value[0].valueNode.value[1].valueNode as MappingNode) {
+                    startMark.get().line == 4
+                    with(value[1].valueNode as MappingNode) {
+                        flowStyle == FlowStyle.FLOW
+                        (value[1].valueNode as SequenceNode).flowStyle == FlowStyle.FLOW
+                    }
+                }
+            }
+    }
+
+    def "round trip keeps tags and scalar styles"() {
+        given:
+            def node = compose '''
+                plain: direct:start
+                singleQuoted: 'single'
+                doubleQuoted: "double"
+                literal: |
+                  literal
+                folded: >
+                  folded
+                tagged: !!str 123
+                number: 123
+            '''
+        when:
+            def decoded = roundTrip(node) as MappingNode
+            def values = decoded.value.collectEntries { [(it.keyNode.value): it.valueNode] }
+        then:
+            values.plain.scalarStyle == ScalarStyle.PLAIN
+            values.singleQuoted.scalarStyle == ScalarStyle.SINGLE_QUOTED
+            values.doubleQuoted.scalarStyle == ScalarStyle.DOUBLE_QUOTED
+            values.literal.scalarStyle == ScalarStyle.LITERAL
+            values.literal.value == 'literal\n'
+            values.folded.scalarStyle == ScalarStyle.FOLDED
+            values.tagged.tag == Tag.STR
+            values.tagged.value == '123'
+            values.number.tag == Tag.INT
+    }
+
+    def "round trip keeps anchors, aliases and merge keys"() {
+        given:
+            def node = compose '''
+                base: &base
+                  uri: direct:a
+                  parameters:
+                    timeout: 1000
+                copy: *base
+                merged:
+                  <<: *base
+                  uri: direct:b
+            '''
+            // the core schema does not resolve merge keys, so flag the mapping as a schema with merge keys does
+            (node.value[2].valueNode as MappingNode).setHasMergeTag(true)
+        when:
+            def decoded = roundTrip(node) as MappingNode
+        then:
+            assertSameTree(node, decoded)
+
+            def base = decoded.value[0].valueNode
+            base.anchor.get().value == 'base'
+            // the alias refers to the same decoded node
+            decoded.value[1].valueNode.is(base)
+            with(decoded.value[2].valueNode as MappingNode) {
+                hasMergeTag()
+                value[0].valueNode.is(base)
+            }
+    }
+
+    def "round trip keeps start marks but not end marks"() {
+        given:
+            def node = compose '''
+                - from:
+                    uri: direct:start
+            '''
+        when:
+            def decoded = roundTrip(node)
+            def uri = decoded.value[0].valueNode.value[0].valueNode
+        then:
+            // the marks refer to the label given when decoding
+            uri.startMark.get().name == 'cached.yaml'
+            uri.startMark.get().line == node.value[0].valueNode.value[0].valueNode.startMark.get().line
+            uri.startMark.get().column == node.value[0].valueNode.value[0].valueNode.startMark.get().column
+            !uri.endMark.isPresent()
+            !decoded.endMark.isPresent()
+    }
+
+    def "reject data which is not an encoded node tree"() {
+        when:
+            YamlNodeCodec.decode('not an encoded tree'.bytes, 'cached.yaml')
+        then:
+            thrown(IOException)
+    }
+}
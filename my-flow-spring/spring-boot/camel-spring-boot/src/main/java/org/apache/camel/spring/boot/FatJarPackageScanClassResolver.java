@@ -95,6 +95,11 @@ public class FatJarPackageScanClassResolver extends DefaultPackageScanClassResol
                 if (!entry.isDirectory() && name.endsWith(".class")) {
                     entries.add(cleanupSpringBootClassName(name));
                 } else if (inspectNestedJars && !entry.isDirectory() && isSpringBootNestedJar(name)) {
+                    if (isIndexedNestedJar(name, false)) {
+                        // the classes of this jar are found using its classpath index
+                        LOG.trace("Skipping nested jar with classpath index: {}", name);
+                        continue;
+                    }
                     String nestedUrl = urlPath + "!/" + name;
                     LOG.trace("Inspecting nested jar: {}", nestedUrl);
 
@@ -67,6 +67,11 @@ public class FatJarPackageScanResourceResolver extends DefaultPackageScanResourc
             while ((entry = jarStream.getNextJarEntry()) != null) {
                 String name = entry.getName().trim();
                 if (inspectNestedJars && !entry.isDirectory() && isSpringBootNestedJar(name)) {
+                    if (isIndexedNestedJar(name, true)) {
+                        // the resources of this jar are found using its classpath index
+                        LOG.trace("Skipping nested jar with classpath index: {}", name);
+                        continue;
+                    }
                     String nestedUrl = urlPath + "!/" + name;
                     LOG.trace("Inspecting nested jar: {}", nestedUrl);
                     List<String> nestedEntries = doLoadImplementationsInJar(packageName, jarStream, nestedUrl, false,
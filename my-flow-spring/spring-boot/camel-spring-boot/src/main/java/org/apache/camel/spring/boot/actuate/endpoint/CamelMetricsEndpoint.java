@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.actuate.endpoint;
+
+import java.util.Comparator;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import org.apache.camel.support.metrics.DefaultCamelMetricsService;
+import org.apache.camel.support.metrics.ExchangeMetrics;
+import org.apache.camel.support.metrics.LatencyHistogram;
+import org.apache.camel.support.metrics.RouteMetrics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import static java.util.stream.Collectors.toList;
+
+/*
+ * Spring Boot Management Endpoint to expose the built-in Camel metrics (exchange counters and latency percentiles) of the routes.
+ */
+@Endpoint(id = "camelmetrics")
+public class CamelMetricsEndpoint {
+
+    private final DefaultCamelMetricsService metricsService;
+
+    public CamelMetricsEndpoint(DefaultCamelMetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    @ReadOperation
+    public List<MetricsEndpointInfo> readMetrics() {
+        return metricsService.getRouteMetrics().stream()
+                .sorted(Comparator.comparing(RouteMetrics::getRouteId))
+                .map(m -> new MetricsEndpointInfo(m.getRoute()))
+                .collect(toList());
+    }
+
+    @ReadOperation
+    public RouteMetricsEndpointInfo readRouteMetrics(@Selector String id) {
+        RouteMetrics metrics = metricsService.getRouteMetrics(id);
+        if (metrics != null) {
+            return new RouteMetricsEndpointInfo(metrics);
+        }
+
+        return null;
+    }
+
+    @WriteOperation
+    public void reset() {
+        metricsService.reset();
+    }
+
+    /**
+     * Container for exposing the metrics of a route or a node. The latencies are in milliseconds.
+     */
+    @JsonPropertyOrder({ "id", "exchangesTotal", "exchangesFailed", "exchangesInflight", "mean", "max", "p50", "p99",
+            "p999" })
+    public static class MetricsEndpointInfo {
+
+        private final String id;
+        private final long exchangesTotal;
+        private final long exchangesFailed;
+        private final long exchangesInflight;
+        private final double mean;
+        private final double max;
+        private final double p50;
+        private final double p99;
+        private final double p999;
+
+        public MetricsEndpointInfo(ExchangeMetrics metrics) {
+            LatencyHistogram.Snapshot snapshot = metrics.getLatency().snapshot();
+
+            this.id = metrics.getId();
+            this.exchangesTotal = snapshot.getCount();
+            this.exchangesFailed = metrics.getExchangesFailed();
+            this.exchangesInflight = metrics.getExchangesInflight();
+            this.mean = toMillis(snapshot.getMean());
+            this.max = toMillis(snapshot.getMax());
+            this.p50 = toMillis(snapshot.getValueAtPercentile(50));
+            this.p99 = toMillis(snapshot.getValueAtPercentile(99));
+            this.p999 = toMillis(snapshot.getValueAtPercentile(99.9));
+        }
+
+        private static double toMillis(double nanos) {
+            return nanos / 1_000_000d;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public long getExchangesTotal() {
+            return exchangesTotal;
+        }
+
+        public long getExchangesFailed() {
+            return exchangesFailed;
+        }
+
+        public long getExchangesInflight() {
+            return exchangesInflight;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public double getMax() {
+            return max;
+        }
+
+        public double getP50() {
+            return p50;
+        }
+
+        public double getP99() {
+            return p99;
+        }
+
+        public double getP999() {
+            return p999;
+        }
+    }
+
+    /**
+     * Container for exposing the metrics of a route together with the metrics of its nodes.
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class RouteMetricsEndpointInfo extends MetricsEndpointInfo {
+
+        private final List<MetricsEndpointInfo> nodes;
+
+        public RouteMetricsEndpointInfo(RouteMetrics metrics) {
+            super(metrics.getRoute());
+
+            this.nodes = metrics.getNodes().stream()
+                    .sorted(Comparator.comparing(ExchangeMetrics::getId))
+                    .map(MetricsEndpointInfo::new)
+                    .collect(toList());
+        }
+
+        public List<MetricsEndpointInfo> getNodes() {
+            return nodes;
+        }
+    }
+}
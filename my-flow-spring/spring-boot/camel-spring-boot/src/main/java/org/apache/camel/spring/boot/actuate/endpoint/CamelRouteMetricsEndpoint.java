@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.actuate.endpoint;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import org.apache.camel.support.metrics.DefaultCamelMetricsService;
+import org.apache.camel.support.metrics.MetricsSnapshot;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import static java.util.stream.Collectors.toList;
+
+/*
+ * Spring Boot Management Endpoint to expose the rates, latency percentiles and inflight exchanges of the routes over a
+ * sliding window. The endpoint reads the latest snapshot of the built-in Camel metrics, so it does not use JMX, and
+ * reading it does not touch the counters of the routes.
+ */
+@Endpoint(id = "camelroutemetrics")
+public class CamelRouteMetricsEndpoint {
+
+    private final DefaultCamelMetricsService metricsService;
+
+    public CamelRouteMetricsEndpoint(DefaultCamelMetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    @ReadOperation
+    public SnapshotEndpointInfo readSnapshot(@Nullable String routeId) {
+        return new SnapshotEndpointInfo(metricsService.getSnapshot(), routeId);
+    }
+
+    /**
+     * Container for exposing a snapshot of the routes.
+     */
+    @JsonPropertyOrder({ "timestamp", "window", "routes" })
+    public static class SnapshotEndpointInfo {
+
+        private final long timestamp;
+        private final long window;
+        private final List<RouteStatisticsEndpointInfo> routes;
+
+        public SnapshotEndpointInfo(MetricsSnapshot snapshot, String routeId) {
+            this.timestamp = snapshot.getTimestamp();
+            this.window = snapshot.getWindow();
+            this.routes = snapshot.getRoutes().stream()
+                    .filter(r -> routeId == null || routeId.equals(r.getRouteId()))
+                    .map(RouteStatisticsEndpointInfo::new)
+                    .collect(toList());
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public long getWindow() {
+            return window;
+        }
+
+        public List<RouteStatisticsEndpointInfo> getRoutes() {
+            return routes;
+        }
+    }
+
+    /**
+     * Container for exposing the statistics of a route. The rates are exchanges per second, and the latencies are in
+     * milliseconds.
+     */
+    @JsonPropertyOrder({ "id", "exchangesTotal", "exchangesFailed", "exchangesInflight", "windowExchanges",
+            "windowFailures", "rate", "meanRate", "failureRate", "mean", "p50", "p90", "p99", "p999", "max" })
+    public static class RouteStatisticsEndpointInfo {
+
+        private final String id;
+        private final long exchangesTotal;
+        private final long exchangesFailed;
+        private final long exchangesInflight;
+        private final long windowExchanges;
+        private final long windowFailures;
+        private final double rate;
+        private final double meanRate;
+        private final double failureRate;
+        private final double mean;
+        private final double p50;
+        private final double p90;
+        private final double p99;
+        private final double p999;
+        private final double max;
+
+        public RouteStatisticsEndpointInfo(MetricsSnapshot.RouteStatistics statistics) {
+            this.id = statistics.getRouteId();
+            this.exchangesTotal = statistics.getExchangesTotal();
+            this.exchangesFailed = statistics.getExchangesFailed();
+            this.exchangesInflight = statistics.getExchangesInflight();
+            this.windowExchanges = statistics.getWindowExchanges();
+            this.windowFailures = statistics.getWindowFailures();
+            this.rate = statistics.getRate();
+            this.meanRate = statistics.getMeanRate();
+            this.failureRate = statistics.getFailureRate();
+            this.mean = toMillis(statistics.getMean());
+            this.p50 = toMillis(statistics.getP50());
+            this.p90 = toMillis(statistics.getP90());
+            this.p99 = toMillis(statistics.getP99());
+            this.p999 = toMillis(statistics.getP999());
+            this.max = toMillis(statistics.getMax());
+        }
+
+        private static double toMillis(double nanos) {
+            return nanos / 1_000_000d;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public long getExchangesTotal() {
+            return exchangesTotal;
+        }
+
+        public long getExchangesFailed() {
+            return exchangesFailed;
+        }
+
+        public long getExchangesInflight() {
+            return exchangesInflight;
+        }
+
+        public long getWindowExchanges() {
+            return windowExchanges;
+        }
+
+        public long getWindowFailures() {
+            return windowFailures;
+        }
+
+        public double getRate() {
+            return rate;
+        }
+
+        public double getMeanRate() {
+            return meanRate;
+        }
+
+        public double getFailureRate() {
+            return failureRate;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public double getP50() {
+            return p50;
+        }
+
+        public double getP90() {
+            return p90;
+        }
+
+        public double getP99() {
+            return p99;
+        }
+
+        public double getP999() {
+            return p999;
+        }
+
+        public double getMax() {
+            return max;
+        }
+    }
+}
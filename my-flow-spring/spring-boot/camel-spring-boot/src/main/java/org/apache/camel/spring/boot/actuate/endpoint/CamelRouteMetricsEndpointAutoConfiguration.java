@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.actuate.endpoint;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.spring.boot.CamelAutoConfiguration;
+import org.apache.camel.support.metrics.DefaultCamelMetricsService;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.autoconfigure.endpoint.expose.EndpointExposure;
+import org.springframework.boot.actuate.autoconfigure.web.server.ConditionalOnManagementPort;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/*
+ * Auto configuration for the {@link CamelRouteMetricsEndpoint}, and the server-sent events stream of its snapshots in
+ * servlet web applications.
+ *
+ * The stream is a controller, not an actuator operation, so it is only configured when enabled explicitly, and when
+ * the endpoint is exposed over HTTP on the same port as the application. It is mapped below the path of the endpoint,
+ * so it is secured as the endpoint.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties({ CamelRouteMetricsEndpointProperties.class })
+@ConditionalOnAvailableEndpoint(endpoint = CamelRouteMetricsEndpoint.class)
+@ConditionalOnBean(CamelAutoConfiguration.class)
+@AutoConfigureAfter({ CamelAutoConfiguration.class, CamelMetricsEndpointAutoConfiguration.class })
+public class CamelRouteMetricsEndpointAutoConfiguration {
+
+    @Bean
+    @ConditionalOnClass(CamelContext.class)
+    @ConditionalOnMissingBean
+    public DefaultCamelMetricsService camelMetricsService(CamelContext camelContext) throws Exception {
+        DefaultCamelMetricsService answer = camelContext.hasService(DefaultCamelMetricsService.class);
+        if (answer == null) {
+            // must be added before the routes are created so they are instrumented
+            answer = new DefaultCamelMetricsService();
+            camelContext.addService(answer);
+        }
+        return answer;
+    }
+
+    @Bean
+    @ConditionalOnClass(CamelContext.class)
+    @ConditionalOnMissingBean
+    public CamelRouteMetricsEndpoint camelRouteMetricsEndpoint(DefaultCamelMetricsService metricsService) {
+        return new CamelRouteMetricsEndpoint(metricsService);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(SseEmitter.class)
+    @ConditionalOnProperty(prefix = "management.endpoint.camelroutemetrics.stream", name = "enabled",
+                           havingValue = "true")
+    @ConditionalOnAvailableEndpoint(endpoint = CamelRouteMetricsEndpoint.class, exposure = EndpointExposure.WEB)
+    @ConditionalOnManagementPort(ManagementPortType.SAME)
+    static class StreamConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public CamelRouteMetricsStreamController camelRouteMetricsStreamController(
+                CamelContext camelContext, DefaultCamelMetricsService metricsService,
+                CamelRouteMetricsEndpointProperties properties) {
+            return new CamelRouteMetricsStreamController(camelContext, metricsService, properties);
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.actuate.endpoint;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("management.endpoint.camelroutemetrics")
+public class CamelRouteMetricsEndpointProperties {
+
+    private final Stream stream = new Stream();
+
+    public Stream getStream() {
+        return stream;
+    }
+
+    public static class Stream {
+
+        /**
+         * Whether the snapshots are streamed as server-sent events at <base-path>/camelroutemetrics/stream. The stream
+         * is only available when the camelroutemetrics endpoint is exposed over HTTP on the server port of the
+         * application, so it is secured as the endpoint.
+         */
+        private boolean enabled;
+
+        /**
+         * How long sending to a client may take before the client is considered stalled, and is removed.
+         */
+        private Duration stalledTimeout = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getStalledTimeout() {
+            return stalledTimeout;
+        }
+
+        public void setStalledTimeout(Duration stalledTimeout) {
+            this.stalledTimeout = stalledTimeout;
+        }
+    }
+
+}
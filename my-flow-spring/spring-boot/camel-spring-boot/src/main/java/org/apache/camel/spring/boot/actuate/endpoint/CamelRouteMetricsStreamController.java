@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spring.boot.actuate.endpoint;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.spring.boot.actuate.endpoint.CamelRouteMetricsEndpoint.SnapshotEndpointInfo;
+import org.apache.camel.support.metrics.DefaultCamelMetricsService;
+import org.apache.camel.support.metrics.MetricsSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/*
+ * Streams the snapshots of the {@link CamelRouteMetricsEndpoint} as server-sent events, so dashboards receive the
+ * statistics of the routes every window interval without polling.
+ *
+ * The stream is mapped below the path of the camelroutemetrics endpoint, so the security which applies to the actuator
+ * endpoints, such as EndpointRequest matchers, applies to the stream as well. It is only configured when enabled
+ * with management.endpoint.camelroutemetrics.stream.enabled, and when the endpoint is exposed over HTTP on the server
+ * port of the application.
+ *
+ * Each client is sent to by its own task, so a slow client only delays its own stream. When a client is slow the
+ * snapshots in between are skipped, and a client which does not take a snapshot within the stalled timeout is removed.
+ */
+@RestController
+public class CamelRouteMetricsStreamController implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CamelRouteMetricsStreamController.class);
+
+    private final CamelContext camelContext;
+    private final DefaultCamelMetricsService metricsService;
+    private final long stalledTimeout;
+    private final ExecutorService executor;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Consumer<MetricsSnapshot> listener = this::onSnapshot;
+
+    public CamelRouteMetricsStreamController(CamelContext camelContext, DefaultCamelMetricsService metricsService,
+                                             CamelRouteMetricsEndpointProperties properties) {
+        this.camelContext = camelContext;
+        this.metricsService = metricsService;
+        this.stalledTimeout = properties.getStream().getStalledTimeout().toNanos();
+        // a thread per client which is being sent to, so a blocked client does not hold up the others
+        this.executor = camelContext.getExecutorServiceManager().newCachedThreadPool(this, "CamelRouteMetricsStream");
+        metricsService.addSnapshotListener(listener);
+    }
+
+    @GetMapping(path = "${management.endpoints.web.base-path:/actuator}/"
+                       + "${management.endpoints.web.path-mapping.camelroutemetrics:camelroutemetrics}/stream",
+                produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) @Nullable String routeId) {
+        // no timeout, as the stream ends when the client disconnects
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscriber subscriber = new Subscriber(emitter, routeId);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscribers.add(subscriber);
+
+        MetricsSnapshot snapshot = metricsService.getSnapshot();
+        if (snapshot.getTimestamp() > 0) {
+            subscriber.offer(snapshot);
+        }
+        return emitter;
+    }
+
+    private void onSnapshot(MetricsSnapshot snapshot) {
+        // only hands over the snapshot, so the metrics service is never blocked by a client
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(snapshot);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.removed = true;
+        subscribers.remove(subscriber);
+    }
+
+    @Override
+    public void destroy() {
+        metricsService.removeSnapshotListener(listener);
+        for (Subscriber subscriber : subscribers) {
+            remove(subscriber);
+            subscriber.emitter.complete();
+        }
+        camelContext.getExecutorServiceManager().shutdownNow(executor);
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final String routeId;
+        // the latest snapshot to send, which is not null while a send is scheduled or in progress
+        private final AtomicReference<MetricsSnapshot> pending = new AtomicReference<>();
+        private volatile long sending;
+        private volatile boolean removed;
+
+        private Subscriber(SseEmitter emitter, String routeId) {
+            this.emitter = emitter;
+            this.routeId = routeId;
+        }
+
+        void offer(MetricsSnapshot snapshot) {
+            if (pending.getAndSet(snapshot) == null) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    remove(this);
+                }
+                return;
+            }
+            // the previous snapshot is not sent yet, and is replaced by this one
+            long started = sending;
+            if (started != 0 && System.nanoTime() - started > stalledTimeout) {
+                LOG.debug("Client of route metrics stream is stalled. The client is removed.");
+                remove(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            MetricsSnapshot snapshot = pending.get();
+            while (snapshot != null && !removed) {
+                if (!send(snapshot)) {
+                    remove(this);
+                    return;
+                }
+                // send the snapshot which was taken meanwhile, if any
+                if (pending.compareAndSet(snapshot, null)) {
+                    return;
+                }
+                snapshot = pending.get();
+            }
+            if (removed) {
+                // the client took too long, and is completed when the send it was blocked in returns
+                emitter.complete();
+            }
+        }
+
+        private boolean send(MetricsSnapshot snapshot) {
+            sending = System.nanoTime();
+            try {
+                emitter.send(SseEmitter.event()
+                        .name("metrics")
+                        .id(Long.toString(snapshot.getTimestamp()))
+                        .data(new SnapshotEndpointInfo(snapshot, routeId), MediaType.APPLICATION_JSON));
+                return true;
+            } catch (Exception e) {
+                LOG.debug("Cannot send route metrics to client. The client is removed.", e);
+                return false;
+            } finally {
+                sending = 0;
+            }
+        }
+    }
+}
@@ -44,14 +44,15 @@ public class CamelThreadPoolAutoConfiguration {
         final ThreadPoolProfile dp = new ThreadPoolProfileBuilder("default", defaultProfile).poolSize(tp.getPoolSize())
                 .maxPoolSize(tp.getMaxPoolSize()).keepAliveTime(tp.getKeepAliveTime(), tp.getTimeUnit())
                 .maxQueueSize(tp.getMaxQueueSize()).allowCoreThreadTimeOut(tp.getAllowCoreThreadTimeOut())
-                .rejectedPolicy(tp.getRejectedPolicy()).build();
+                .rejectedPolicy(tp.getRejectedPolicy()).adaptive(tp.getAdaptive())
+                .adaptiveInterval(tp.getAdaptiveInterval()).build();
 
         tp.getConfig().forEach((k, v) -> {
             ThreadPoolProfileBuilder builder = new ThreadPoolProfileBuilder(k, dp);
             final ThreadPoolProfile tpp = builder.poolSize(v.getPoolSize()).maxPoolSize(v.getMaxPoolSize())
                     .keepAliveTime(v.getKeepAliveTime(), v.getTimeUnit()).maxQueueSize(v.getMaxQueueSize())
                     .allowCoreThreadTimeOut(v.getAllowCoreThreadTimeOut()).rejectedPolicy(v.getRejectedPolicy())
-                    .build();
+                    .adaptive(v.getAdaptive()).adaptiveInterval(v.getAdaptiveInterval()).build();
             if (!tpp.isEmpty()) {
                 camelContext.getExecutorServiceManager().registerThreadPoolProfile(tpp);
             }
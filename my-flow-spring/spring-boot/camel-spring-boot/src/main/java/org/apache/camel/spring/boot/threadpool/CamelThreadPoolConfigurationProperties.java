@@ -63,6 +63,19 @@ public class CamelThreadPoolConfigurationProperties {
      */
     private ThreadPoolRejectedPolicy rejectedPolicy;
 
+    /**
+     * Sets default whether the thread pool adapts its core pool size to the load, between the pool size and the max
+     * pool size. The thread pool grows when tasks are waiting in the queue and more threads improve the throughput, and
+     * shrinks when the threads are mostly idle. This requires a bounded task queue.
+     */
+    private Boolean adaptive;
+
+    /**
+     * Sets the default interval in millis the load is measured over, before an adaptive thread pool decides whether to
+     * resize.
+     */
+    private Long adaptiveInterval;
+
     /**
      * Adds a configuration for a specific thread pool profile (inherits default values)
      */
@@ -124,6 +137,22 @@ public class CamelThreadPoolConfigurationProperties {
         this.rejectedPolicy = rejectedPolicy;
     }
 
+    public Boolean getAdaptive() {
+        return adaptive;
+    }
+
+    public void setAdaptive(Boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    public Long getAdaptiveInterval() {
+        return adaptiveInterval;
+    }
+
+    public void setAdaptiveInterval(Long adaptiveInterval) {
+        this.adaptiveInterval = adaptiveInterval;
+    }
+
     public Map<String, ThreadPoolProfileConfigurationProperties> getConfig() {
         return config;
     }
@@ -134,7 +163,8 @@ public class CamelThreadPoolConfigurationProperties {
 
     public boolean isEmpty() {
         return poolSize == null && maxPoolSize == null && keepAliveTime == null && timeUnit == null
-                && maxQueueSize == null && allowCoreThreadTimeOut == null && rejectedPolicy == null && config.isEmpty();
+                && maxQueueSize == null && allowCoreThreadTimeOut == null && rejectedPolicy == null && adaptive == null
+                && adaptiveInterval == null && config.isEmpty();
     }
 
     @ConfigurationProperties(prefix = "camel.threadpool.config")
@@ -182,6 +212,19 @@ public class CamelThreadPoolConfigurationProperties {
          */
         private ThreadPoolRejectedPolicy rejectedPolicy;
 
+        /**
+         * Sets whether the thread pool adapts its core pool size to the load, between the pool size and the max pool
+         * size. The thread pool grows when tasks are waiting in the queue and more threads improve the throughput,
+         * and shrinks when the threads are mostly idle. This requires a bounded task queue.
+         */
+        private Boolean adaptive;
+
+        /**
+         * Sets the interval in millis the load is measured over, before an adaptive thread pool decides whether to
+         * resize.
+         */
+        private Long adaptiveInterval;
+
         public String getId() {
             return id;
         }
@@ -246,5 +289,21 @@ public class CamelThreadPoolConfigurationProperties {
             this.rejectedPolicy = rejectedPolicy;
         }
 
+        public Boolean getAdaptive() {
+            return adaptive;
+        }
+
+        public void setAdaptive(Boolean adaptive) {
+            this.adaptive = adaptive;
+        }
+
+        public Long getAdaptiveInterval() {
+            return adaptiveInterval;
+        }
+
+        public void setAdaptiveInterval(Long adaptiveInterval) {
+            this.adaptiveInterval = adaptiveInterval;
+        }
+
     }
 }
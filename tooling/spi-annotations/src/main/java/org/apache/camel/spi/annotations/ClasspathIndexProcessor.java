@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi.annotations;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor which generates an index of the classes (and optionally resources) of a module, so the package
+ * scan resolvers can find annotated classes, implementations and resources in a JAR without walking its entries and
+ * loading every class at startup.
+ * <p/>
+ * The index is written to {@link #INDEX_LOCATION} and lists every type compiled in the module together with the names
+ * of its annotations (including meta-annotations and annotations of its super classes) and of all its super types. The
+ * index is a superset: the resolvers still check every candidate class with the actual scan filter.
+ * <p/>
+ * The processor is not registered as a service, so it must be enabled explicitly in the compiler configuration, for
+ * example with Maven:
+ *
+ * <pre>
+ * &lt;annotationProcessors&gt;
+ *     &lt;annotationProcessor&gt;org.apache.camel.spi.annotations.ClasspathIndexProcessor&lt;/annotationProcessor&gt;
+ * &lt;/annotationProcessors&gt;
+ * </pre>
+ *
+ * The resources are only indexed when the <tt>camel.classpathIndex.resources=true</tt> processor option is set, and
+ * requires the resources to already be copied into the class output directory when compiling (as Maven does).
+ */
+public class ClasspathIndexProcessor extends AbstractProcessor {
+
+    /**
+     * Location of the index in the JAR.
+     */
+    public static final String INDEX_LOCATION = "META-INF/camel/classpath-index";
+
+    /**
+     * Version of the index format.
+     */
+    public static final String INDEX_VERSION = "version=1";
+
+    /**
+     * Marker present in the index when the resources of the JAR are indexed.
+     */
+    public static final String INDEX_RESOURCES = "resources=true";
+
+    /**
+     * Prefix of a class entry: <tt>C name annotation,... supertype,...</tt> (a dash denotes an empty list)
+     */
+    public static final String CLASS_ENTRY = "C ";
+
+    /**
+     * Prefix of a resource entry: <tt>R path</tt>
+     */
+    public static final String RESOURCE_ENTRY = "R ";
+
+    /**
+     * Processor option to enable indexing resources.
+     */
+    public static final String RESOURCES_OPTION = "camel.classpathIndex.resources";
+
+    private final Map<String, String> entries = new TreeMap<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of("*");
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Set.of(RESOURCES_OPTION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+
+        for (Element element : roundEnv.getRootElements()) {
+            if (element instanceof TypeElement type) {
+                addType(type);
+            }
+        }
+        // do not claim the annotations
+        return false;
+    }
+
+    private void addType(TypeElement type) {
+        String name = processingEnv.getElementUtils().getBinaryName(type).toString();
+
+        Set<String> names = new TreeSet<>();
+        Set<String> supers = new TreeSet<>();
+        collectAnnotations(type, names);
+        collectSuperTypes(type.asType(), supers, names);
+        entries.put(name, name + " " + join(names) + " " + join(supers));
+
+        for (Element enclosed : type.getEnclosedElements()) {
+            if (enclosed instanceof TypeElement nested) {
+                addType(nested);
+            }
+        }
+    }
+
+    private void collectAnnotations(Element element, Set<String> names) {
+        // include the meta-annotations so annotations such as @Converter on a custom annotation are found
+        Deque<AnnotationMirror> pending = new ArrayDeque<>(element.getAnnotationMirrors());
+        while (!pending.isEmpty()) {
+            Element annotation = pending.pop().getAnnotationType().asElement();
+            String name = processingEnv.getElementUtils().getBinaryName((TypeElement) annotation).toString();
+            // skip the annotations of the java language such as @Retention and @Documented
+            if (!name.startsWith("java.lang.annotation.") && names.add(name)) {
+                pending.addAll(annotation.getAnnotationMirrors());
+            }
+        }
+    }
+
+    private void collectSuperTypes(TypeMirror type, Set<String> supers, Set<String> names) {
+        for (TypeMirror superType : processingEnv.getTypeUtils().directSupertypes(type)) {
+            if (superType.getKind() == TypeKind.DECLARED) {
+                TypeElement element = (TypeElement) ((DeclaredType) superType).asElement();
+                String name = processingEnv.getElementUtils().getBinaryName(element).toString();
+                if (supers.add(name)) {
+                    // inherited annotations are visible on the sub classes
+                    collectAnnotations(element, names);
+                    collectSuperTypes(superType, supers, names);
+                }
+            }
+        }
+    }
+
+    private void writeIndex() {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        boolean indexResources = Boolean.parseBoolean(processingEnv.getOptions().get(RESOURCES_OPTION));
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            // keep the classes from the previous index on incremental compilation where only some sources are compiled
+            readPreviousIndex(file);
+            Set<String> resources = indexResources ? findResources(file) : null;
+            try (Writer writer = file.openWriter()) {
+                writer.write("# Generated by camel ClasspathIndexProcessor - do not edit this file!\n");
+                writer.write(INDEX_VERSION + "\n");
+                if (resources != null) {
+                    writer.write(INDEX_RESOURCES + "\n");
+                }
+                for (String entry : entries.values()) {
+                    writer.write(CLASS_ENTRY + entry + "\n");
+                }
+                if (resources != null) {
+                    for (String resource : resources) {
+                        writer.write(RESOURCE_ENTRY + resource + "\n");
+                    }
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Cannot write classpath index " + INDEX_LOCATION + " due to " + e.getMessage());
+        }
+    }
+
+    private void readPreviousIndex(FileObject file) {
+        // the filer does not allow to read a resource and then create it in the same compilation, so the previous
+        // index is read from the file which is only truncated when opening the writer
+        Path path;
+        try {
+            path = Paths.get(file.toUri());
+        } catch (Exception e) {
+            // not on the file system
+            return;
+        }
+        if (!Files.isRegularFile(path)) {
+            return;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(CLASS_ENTRY)) {
+                    String entry = line.substring(CLASS_ENTRY.length());
+                    String name = entry.substring(0, entry.indexOf(' '));
+                    // only keep classes which still exist
+                    if (!entries.containsKey(name)
+                            && processingEnv.getElementUtils().getTypeElement(name.replace('$', '.')) != null) {
+                        entries.put(name, entry);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "Cannot read previous classpath index " + INDEX_LOCATION + " due to " + e.getMessage());
+        }
+    }
+
+    private static Set<String> findResources(FileObject file) throws IOException {
+        Path index = Paths.get(file.toUri());
+        Path dir = index;
+        for (int i = 0; i < INDEX_LOCATION.split("/").length; i++) {
+            dir = dir.getParent();
+        }
+        final Path root = dir;
+
+        Set<String> answer = new TreeSet<>();
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.filter(Files::isRegularFile)
+                    .filter(p -> !p.getFileName().toString().endsWith(".class"))
+                    .filter(p -> !p.equals(index))
+                    .map(p -> root.relativize(p).toString().replace('\\', '/'))
+                    .forEach(answer::add);
+        }
+        return answer;
+    }
+
+    private static String join(Set<String> names) {
+        return names.isEmpty() ? "-" : String.join(",", names);
+    }
+}